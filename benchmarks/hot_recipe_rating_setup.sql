@@ -0,0 +1,47 @@
+-- Seeds the data for hot_recipe_rating.sql: one hot recipe and 1M users to rate it.
+--
+-- Run against a scratch database after the application has created the schema once (so
+-- uk_ratings_user_recipe and the rating counters exist):
+--
+--   psql "$SPRING_DATASOURCE_URL" -f benchmarks/hot_recipe_rating_setup.sql
+--
+-- Rerun it before every pgbench run: it is idempotent and resets the hot recipe to unrated.
+
+\timing on
+BEGIN;
+
+INSERT INTO emails (id, address, created_at, updated_at)
+SELECT md5('bench-email-' || g)::uuid, 'bench-' || g || '@bench.local', now(), now()
+FROM generate_series(1, 1000000) AS g
+ON CONFLICT DO NOTHING;
+
+INSERT INTO users (
+    id, email_id, password_hash, first_name, last_name, is_account_non_expired,
+    is_account_non_locked, is_credentials_non_expired, is_enabled, created_at, updated_at
+)
+SELECT md5('bench-user-' || g)::uuid, md5('bench-email-' || g)::uuid,
+    'bench-password', 'Bench', 'Rater', true, true, true, true, now(), now()
+FROM generate_series(1, 1000000) AS g
+ON CONFLICT DO NOTHING;
+
+INSERT INTO recipes (
+    id, user_id, name, instructions, prep_time_minutes, cook_time_minutes,
+    estimated_calories, difficulty, created_at, updated_at
+)
+VALUES (
+    md5('bench-hot-recipe')::uuid, md5('bench-user-1')::uuid, 'Hot bench recipe',
+    'bench', 10, 20, 400, 'easy', now(), now()
+)
+ON CONFLICT (id) DO NOTHING;
+
+DELETE FROM ratings WHERE recipe_id = md5('bench-hot-recipe')::uuid;
+
+UPDATE recipes
+SET rating_count = 0, rating_sum = 0, rating_count_0 = 0, rating_count_1 = 0,
+    rating_count_2 = 0, rating_count_3 = 0, rating_count_4 = 0, rating_count_5 = 0,
+    bayesian_score = 0
+WHERE id = md5('bench-hot-recipe')::uuid;
+
+COMMIT;
+
+VACUUM ANALYZE ratings, recipes, users;
@@ -0,0 +1,89 @@
+-- Recipe name search: LIKE scan vs. tsvector/pg_trgm indexes at 1M recipes.
+--
+-- Run against a scratch database after the application has created the schema once with
+-- flavormetrics.search.backend=postgres (so search_vector and both GIN indexes exist) and at
+-- least one user has registered:
+--
+--   psql "$SPRING_DATASOURCE_URL" -f benchmarks/recipe_search.sql
+--
+-- Everything runs in one transaction and is rolled back at the end.
+
+\timing on
+BEGIN;
+
+INSERT INTO tags (id, name)
+SELECT gen_random_uuid(), t
+FROM unnest(ARRAY['vegan', 'spicy', 'quick', 'dessert', 'breakfast', 'italian']) AS t
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO recipes (
+    id, user_id, name, instructions, prep_time_minutes, cook_time_minutes,
+    estimated_calories, difficulty, created_at, updated_at
+)
+SELECT gen_random_uuid(),
+    (SELECT id FROM users LIMIT 1),
+    (ARRAY['Tomato', 'Chicken', 'Beef', 'Lentil', 'Mushroom', 'Pumpkin', 'Garlic'])[1 + g % 7]
+        || ' '
+        || (ARRAY['soup', 'stew', 'curry', 'salad', 'pie', 'risotto', 'tacos', 'pasta'])[1 + g % 8]
+        || ' #' || g,
+    'bench', 10, 20, 400, 'easy',
+    now() - g * interval '1 second', now()
+FROM generate_series(1, 1000000) AS g;
+
+INSERT INTO recipes_tags (recipe_id, tag_id)
+SELECT r.id, t.id
+FROM recipes r
+JOIN LATERAL (SELECT id FROM tags ORDER BY random() LIMIT 1) t ON true
+WHERE r.instructions = 'bench';
+
+UPDATE recipes r
+SET search_vector =
+    setweight(to_tsvector('english', coalesce(r.name, '')), 'A')
+    || setweight(to_tsvector('english', coalesce((
+        SELECT string_agg(t.name, ' ')
+        FROM recipes_tags rt
+        JOIN tags t ON t.id = rt.tag_id
+        WHERE rt.recipe_id = r.id
+    ), '')), 'B')
+WHERE r.instructions = 'bench';
+
+ANALYZE recipes;
+
+-- Current path: case-sensitive LIKE, one sequential scan per keystroke.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id
+FROM recipes r
+WHERE r.name LIKE '%curry%'
+ORDER BY r.created_at DESC, r.id DESC
+LIMIT 20;
+
+-- New path, whole word: GIN on search_vector, ranked.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id
+FROM recipes r
+WHERE r.search_vector @@ to_tsquery('english', 'curry:*')
+OR lower(r.name) LIKE '%curry%'
+ORDER BY coalesce(ts_rank_cd(r.search_vector, to_tsquery('english', 'curry:*')), 0) DESC,
+    similarity(lower(r.name), 'curry') DESC,
+    r.id
+LIMIT 20;
+
+-- New path, partial word inside a name: pg_trgm GIN on lower(name).
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id
+FROM recipes r
+WHERE r.search_vector @@ to_tsquery('english', 'urr:*')
+OR lower(r.name) LIKE '%urr%'
+ORDER BY coalesce(ts_rank_cd(r.search_vector, to_tsquery('english', 'urr:*')), 0) DESC,
+    similarity(lower(r.name), 'urr') DESC,
+    r.id
+LIMIT 20;
+
+-- Selective query, where the index wins most clearly.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id FROM recipes r WHERE r.name LIKE '%#123456%' LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id FROM recipes r WHERE lower(r.name) LIKE '%#123456%' LIMIT 20;
+
+ROLLBACK;
@@ -0,0 +1,27 @@
+package com.flavormetrics.api.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The caching advice is ordered outside the transactional one, so evictions run after the
+ * surrounding transaction has committed and a concurrent read cannot repopulate the cache with
+ * the pre-update row.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+  /**
+   * The application starts with lazy initialization, which would otherwise keep the registrar
+   * that publishes the cache hit/miss metrics from ever being created.
+   */
+  @Bean
+  static LazyInitializationExcludeFilter eagerCacheMetrics() {
+    return LazyInitializationExcludeFilter.forBeanTypes(CacheMetricsRegistrar.class);
+  }
+}
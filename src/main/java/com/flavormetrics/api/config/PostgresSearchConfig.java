@@ -0,0 +1,45 @@
+package com.flavormetrics.api.config;
+
+import com.flavormetrics.api.service.impl.PostgresRecipeSearchService;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the PostgreSQL-specific search column and indexes, which {@code ddl-auto} cannot
+ * express, and backfills vectors for rows written before the column existed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "flavormetrics.search.backend", havingValue = "postgres")
+public class PostgresSearchConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(PostgresSearchConfig.class);
+
+  private static final List<String> DDL = List.of(
+    "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+    "ALTER TABLE recipes ADD COLUMN IF NOT EXISTS search_vector tsvector",
+    "CREATE INDEX IF NOT EXISTS idx_recipes_search_vector ON recipes USING GIN (search_vector)",
+    "CREATE INDEX IF NOT EXISTS idx_recipes_name_trgm" +
+    " ON recipes USING GIN (lower(name) gin_trgm_ops)"
+  );
+
+  @Bean
+  CommandLineRunner initSearchIndexes(
+    JdbcTemplate jdbcTemplate,
+    TransactionTemplate transactionTemplate,
+    PostgresRecipeSearchService searchService
+  ) {
+    return args -> {
+      log.info("Initializing search indexes...");
+      transactionTemplate.executeWithoutResult(status -> DDL.forEach(jdbcTemplate::execute));
+      searchService.backfillSearchVectors();
+      log.info("Search indexes initialized.");
+    };
+  }
+}
@@ -0,0 +1,19 @@
+package com.flavormetrics.api.config;
+
+import com.flavormetrics.api.recommendation.BayesianAverage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RatingConfig {
+
+  /** A fixed prior keeps the adjusted mean a pure function of the recipe's own counters. */
+  @Bean
+  BayesianAverage bayesianAverage(
+    @Value("${flavormetrics.ratings.prior-mean:3.0}") double priorMean,
+    @Value("${flavormetrics.ratings.prior-weight:10}") double priorWeight
+  ) {
+    return new BayesianAverage(priorMean, priorWeight);
+  }
+}
@@ -0,0 +1,9 @@
+package com.flavormetrics.api.constants;
+
+public final class CacheConstants {
+
+  public static final String RECIPES = "recipes";
+  public static final String EXCLUSIONS = "exclusions";
+
+  private CacheConstants() {}
+}
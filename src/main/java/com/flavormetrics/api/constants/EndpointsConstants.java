@@ -26,10 +26,20 @@ public final class EndpointsConstants {
     "/api/v1/recipe/all",
     "/api/v1/recipe/byId/**",
     "/api/v1/recipe/byName/**",
-    "/api/v1/recipe/byFilter"
+    "/api/v1/recipe/suggest",
+    "/api/v1/recipe/trending",
+    "/api/v1/recipe/top-rated",
+    "/api/v1/recipe/byFilter",
+    "/api/v1/recipe/summary",
+    "/api/v1/recipe/byFilter/summary",
+    "/api/v1/recipe/byFilter/facets",
+    "/api/v1/rating/*/summary"
   );
 
-  public static final List<String> ADMIN_ENDPOINTS = List.of("/api/admin/**");
+  public static final List<String> ADMIN_ENDPOINTS = List.of(
+    API_MAIN_ENDPOINT + "/users/**",
+    API_MAIN_ENDPOINT + "/admin/**"
+  );
 
   private EndpointsConstants() {}
 }
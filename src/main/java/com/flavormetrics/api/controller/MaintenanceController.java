@@ -0,0 +1,116 @@
+package com.flavormetrics.api.controller;
+
+import com.flavormetrics.api.model.response.ApiErrorResponse;
+import com.flavormetrics.api.service.RatingService;
+import com.flavormetrics.api.service.RecipeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class MaintenanceController {
+
+  private final RatingService ratingService;
+  private final RecipeService recipeService;
+
+  public MaintenanceController(RatingService ratingService, RecipeService recipeService) {
+    this.ratingService = ratingService;
+    this.recipeService = recipeService;
+  }
+
+  @Operation(
+    summary = "Rebuild the rating aggregates of every recipe from the ratings table",
+    description = "Requires to be authenticated as admin"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = Map.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "403",
+        description = "Unauthorized",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @PostMapping("/ratings/rebuild")
+  public ResponseEntity<Map<String, Integer>> rebuildRatingAggregates() {
+    return ResponseEntity.ok(Map.of("updated", ratingService.rebuildRatingAggregates()));
+  }
+
+  @Operation(
+    summary = "Recompute the allergen and tag bitmasks of every recipe from its associations",
+    description = "Requires to be authenticated as admin"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = Map.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "403",
+        description = "Unauthorized",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @PostMapping("/recipes/masks/rebuild")
+  public ResponseEntity<Map<String, Integer>> rebuildRecipeMasks() {
+    return ResponseEntity.ok(Map.of("updated", recipeService.rebuildMasks()));
+  }
+}
@@ -1,7 +1,12 @@
 package com.flavormetrics.api.controller;
 
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.KeysetCursor;
 import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.model.RatingSummary;
 import com.flavormetrics.api.model.response.ApiErrorResponse;
+import com.flavormetrics.api.service.RatingExportService;
 import com.flavormetrics.api.service.RatingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,25 +14,33 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/rating")
 public class RatingController {
 
   private final RatingService ratingService;
+  private final RatingExportService ratingExportService;
 
-  public RatingController(RatingService ratingService) {
+  public RatingController(RatingService ratingService, RatingExportService ratingExportService) {
     this.ratingService = ratingService;
+    this.ratingExportService = ratingExportService;
   }
 
   @Operation(summary = "Create e new rating", description = "Requires to be authenticated")
@@ -161,4 +174,187 @@ public class RatingController {
   public ResponseEntity<Set<RatingDto>> getAllRatingsByUser(@PathVariable UUID userId) {
     return ResponseEntity.ok(ratingService.findAllRatingsByUserId(userId));
   }
+
+  @Operation(
+    summary = "Get a page of a recipe's ratings, newest first",
+    description = "Requires to be authenticated"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = DataWithPagination.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+    }
+  )
+  @GetMapping("/{recipeId}/page")
+  public ResponseEntity<DataWithPagination<List<RatingEntry>>> getRatingsPageByRecipeId(
+    @PathVariable UUID recipeId,
+    @RequestParam(value = "pageSize", defaultValue = "50") @Min(1) @Max(500) int pageSize,
+    @RequestParam(value = "cursor", required = false) String cursor
+  ) {
+    return ResponseEntity.ok(
+      ratingService.findRatingsByRecipeId(recipeId, KeysetCursor.decode(cursor), pageSize)
+    );
+  }
+
+  @Operation(
+    summary = "Stream all of a recipe's ratings as newline-delimited JSON",
+    description = "Requires to be authenticated"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = RatingEntry.class),
+          mediaType = "application/x-ndjson"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+    }
+  )
+  @GetMapping(value = "/{recipeId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportByRecipeId(@PathVariable UUID recipeId) {
+    StreamingResponseBody body = out -> ratingExportService.exportNdjsonByRecipeId(recipeId, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  @Operation(
+    summary = "Get a page of a user's ratings, newest first",
+    description = "Requires to be authenticated"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = DataWithPagination.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+    }
+  )
+  @GetMapping("/byUser/{userId}/page")
+  public ResponseEntity<DataWithPagination<List<RatingEntry>>> getRatingsPageByUser(
+    @PathVariable UUID userId,
+    @RequestParam(value = "pageSize", defaultValue = "50") @Min(1) @Max(500) int pageSize,
+    @RequestParam(value = "cursor", required = false) String cursor
+  ) {
+    return ResponseEntity.ok(
+      ratingService.findRatingsByUserId(userId, KeysetCursor.decode(cursor), pageSize)
+    );
+  }
+
+  @Operation(
+    summary = "Stream all of a user's ratings as newline-delimited JSON",
+    description = "Requires to be authenticated"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = RatingEntry.class),
+          mediaType = "application/x-ndjson"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+    }
+  )
+  @GetMapping(value = "/byUser/{userId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportByUser(@PathVariable UUID userId) {
+    StreamingResponseBody body = out -> ratingExportService.exportNdjsonByUserId(userId, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  @Operation(
+    summary = "Get a recipe's rating distribution, count, mean and Bayesian mean",
+    description = "Read from per-recipe counters, without loading the ratings"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = RatingSummary.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Recipe not found",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @GetMapping("/{recipeId}/summary")
+  public ResponseEntity<RatingSummary> getSummary(@PathVariable UUID recipeId) {
+    return ResponseEntity.ok(ratingService.getSummary(recipeId));
+  }
 }
@@ -1,9 +1,18 @@
 package com.flavormetrics.api.controller;
 
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.mapper.ETagMapper;
 import com.flavormetrics.api.model.*;
 import com.flavormetrics.api.model.request.AddRecipeRequest;
 import com.flavormetrics.api.model.response.ApiErrorResponse;
+import com.flavormetrics.api.model.response.BulkImportResponse;
+import com.flavormetrics.api.service.FacetService;
+import com.flavormetrics.api.service.RecipeExportService;
+import com.flavormetrics.api.service.RecipeImportService;
 import com.flavormetrics.api.service.RecipeService;
+import com.flavormetrics.api.service.SuggestionService;
+import com.flavormetrics.api.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,14 +21,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -33,7 +47,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/recipe")
@@ -42,9 +58,26 @@ public class RecipeController {
   private static final Logger log = LoggerFactory.getLogger(RecipeController.class);
 
   private final RecipeService recipeService;
+  private final SuggestionService suggestionService;
+  private final FacetService facetService;
+  private final TrendingService trendingService;
+  private final RecipeExportService recipeExportService;
+  private final RecipeImportService recipeImportService;
 
-  public RecipeController(RecipeService recipeService) {
+  public RecipeController(
+    RecipeService recipeService,
+    SuggestionService suggestionService,
+    FacetService facetService,
+    TrendingService trendingService,
+    RecipeExportService recipeExportService,
+    RecipeImportService recipeImportService
+  ) {
     this.recipeService = recipeService;
+    this.suggestionService = suggestionService;
+    this.facetService = facetService;
+    this.trendingService = trendingService;
+    this.recipeExportService = recipeExportService;
+    this.recipeImportService = recipeImportService;
   }
 
   @Operation(summary = "Create e new recipe", description = "Requires to be authenticated")
@@ -104,6 +137,52 @@ public class RecipeController {
     );
   }
 
+  @Operation(
+    summary = "Create many recipes from a JSON array streamed in the request body",
+    description = "Requires to be authenticated. Every element is an AddRecipeRequest; the " +
+    "response reports the created id or the error of each element by its index."
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = BulkImportResponse.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkImportResponse> bulkCreate(InputStream body) {
+    return ResponseEntity.ok(recipeImportService.importAll(body));
+  }
+
   @Operation(
     summary = "Get a recipe by given id",
     description = "Can be accessed without authentication"
@@ -118,6 +197,10 @@ public class RecipeController {
           mediaType = "application/json"
         )
       ),
+      @ApiResponse(
+        responseCode = "304",
+        description = "Recipe has not changed since the ETag sent in If-None-Match"
+      ),
       @ApiResponse(
         responseCode = "404",
         description = "Recipe not found",
@@ -153,8 +236,13 @@ public class RecipeController {
     }
   )
   @GetMapping("/byId/{id}")
-  public ResponseEntity<RecipeDto> getById(@PathVariable("id") UUID id) {
-    return ResponseEntity.ok(recipeService.getById(id));
+  public ResponseEntity<RecipeDto> getById(@PathVariable("id") UUID id, WebRequest request) {
+    String eTag = ETagMapper.toETag(recipeService.getVersionById(id));
+    trendingService.recordView(id);
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(eTag).body(recipeService.getById(id));
   }
 
   @Operation(summary = "Update a recipe by id", description = "Requires to be authenticated")
@@ -317,10 +405,74 @@ public class RecipeController {
   )
   @GetMapping("/all")
   public ResponseEntity<DataWithPagination<List<RecipeDto>>> getALL(
-    @RequestParam("pageNumber") @Min(0) int pageNumber,
-    @RequestParam("pageSize") @Min(1) int pageSize
+    @RequestParam(value = "pageNumber", required = false) @Min(0) Integer pageNumber,
+    @RequestParam("pageSize") @Min(1) int pageSize,
+    @RequestParam(value = "cursor", required = false) String cursor
   ) {
-    return ResponseEntity.ok(recipeService.findAll(pageNumber, pageSize));
+    DataWithPagination<List<RecipeDto>> page = isKeysetRequest(pageNumber, cursor)
+      ? recipeService.findAll(KeysetCursor.decode(cursor), pageSize)
+      : recipeService.findAll(pageNumber, pageSize);
+    return ResponseEntity.ok().eTag(ETagMapper.recipesETag(page.data(), page)).body(page);
+  }
+
+  @Operation(
+    summary = "Get a summary of all recipes",
+    description = "Can be accessed without authentication"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = RecipeSummaryDto.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "403",
+        description = "Unauthorized",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @GetMapping("/summary")
+  public ResponseEntity<DataWithPagination<List<RecipeSummaryDto>>> getAllSummaries(
+    @RequestParam(value = "pageNumber", required = false) @Min(0) Integer pageNumber,
+    @RequestParam("pageSize") @Min(1) int pageSize,
+    @RequestParam(value = "cursor", required = false) String cursor
+  ) {
+    DataWithPagination<List<RecipeSummaryDto>> page = isKeysetRequest(pageNumber, cursor)
+      ? recipeService.findAllSummaries(KeysetCursor.decode(cursor), pageSize)
+      : recipeService.findAllSummaries(pageNumber, pageSize);
+    return ResponseEntity.ok().eTag(ETagMapper.summariesETag(page)).body(page);
   }
 
   @Operation(
@@ -376,10 +528,16 @@ public class RecipeController {
     @PathVariable("email") @NotBlank @Email(
       regexp = "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+"
     ) String email,
-    @RequestParam("pageNumber") @Min(0) int pageNumber,
-    @RequestParam("pageSize") @Min(1) int pageSize
+    @RequestParam(value = "pageNumber", required = false) @Min(0) Integer pageNumber,
+    @RequestParam("pageSize") @Min(1) int pageSize,
+    @RequestParam(value = "cursor", required = false) String cursor
   ) {
-    return ResponseEntity.ok(recipeService.findAllByUserEmail(email, pageNumber, pageSize));
+    DataWithPagination<RecipeByOwner> page = isKeysetRequest(pageNumber, cursor)
+      ? recipeService.findAllByUserEmail(email, KeysetCursor.decode(cursor), pageSize)
+      : recipeService.findAllByUserEmail(email, pageNumber, pageSize);
+    return ResponseEntity.ok()
+      .eTag(ETagMapper.recipesETag(page.data().recipes(), page))
+      .body(page);
   }
 
   @Operation(
@@ -433,15 +591,93 @@ public class RecipeController {
   @PostMapping("/byFilter")
   public ResponseEntity<DataWithPagination<List<RecipeDto>>> getAllByFilter(
     @RequestBody @Valid RecipeFilter filter,
-    @RequestParam("pageNumber") @Min(0) int pageNumber,
-    @RequestParam("pageSize") @Min(1) int pageSize
+    @RequestParam(value = "pageNumber", required = false) @Min(0) Integer pageNumber,
+    @RequestParam("pageSize") @Min(1) int pageSize,
+    @RequestParam(value = "cursor", required = false) String cursor
   ) {
+    if (isKeysetRequest(pageNumber, cursor)) {
+      return ResponseEntity.ok(
+        recipeService.findAllByRecipeFilter(filter, KeysetCursor.decode(cursor), pageSize)
+      );
+    }
     return ResponseEntity.ok(recipeService.findAllByRecipeFilter(filter, pageNumber, pageSize));
   }
 
+  @Operation(
+    summary = "Get a summary of all recipes by specified filter",
+    description = "Can be accessed without authentication"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = RecipeSummaryDto.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "403",
+        description = "Unauthorized",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @PostMapping("/byFilter/summary")
+  public ResponseEntity<DataWithPagination<List<RecipeSummaryDto>>> getAllSummariesByFilter(
+    @RequestBody @Valid RecipeFilter filter,
+    @RequestParam(value = "pageNumber", required = false) @Min(0) Integer pageNumber,
+    @RequestParam("pageSize") @Min(1) int pageSize,
+    @RequestParam(value = "cursor", required = false) String cursor
+  ) {
+    if (isKeysetRequest(pageNumber, cursor)) {
+      return ResponseEntity.ok(
+        recipeService.findAllSummariesByRecipeFilter(
+          filter,
+          KeysetCursor.decode(cursor),
+          pageSize
+        )
+      );
+    }
+    return ResponseEntity.ok(
+      recipeService.findAllSummariesByRecipeFilter(filter, pageNumber, pageSize)
+    );
+  }
+
   @Operation(
     summary = "Get recommendations by profile",
-    description = "Requires to be authenticated and a profile created"
+    description = "Requires to be authenticated and a profile created. Pages requested with the" +
+    " same seed (by default one per user and day) come from one shuffle and never overlap." +
+    " Without pageNumber, or with a cursor, the recommendations are walked by cursor: pass the" +
+    " returned nextCursor to get the next page."
   )
   @ApiResponses(
     value = {
@@ -489,10 +725,15 @@ public class RecipeController {
   )
   @GetMapping("/recommendations")
   public ResponseEntity<DataWithPagination<Set<RecipeDto>>> getRecommendations(
-    @RequestParam @Min(0) int pageNumber,
-    @RequestParam @Min(1) int pageSize
+    @RequestParam(value = "pageNumber", required = false) @Min(0) Integer pageNumber,
+    @RequestParam @Min(1) int pageSize,
+    @RequestParam(value = "seed", required = false) Long seed,
+    @RequestParam(value = "cursor", required = false) String cursor
   ) {
-    return ResponseEntity.ok(recipeService.getRecommendations(pageNumber, pageSize));
+    if (isKeysetRequest(pageNumber, cursor)) {
+      return ResponseEntity.ok(recipeService.getRecommendations(cursor, pageSize, seed));
+    }
+    return ResponseEntity.ok(recipeService.getRecommendations(pageNumber, pageSize, seed));
   }
 
   @Operation(
@@ -598,32 +839,218 @@ public class RecipeController {
   }
 
   @GetMapping("/byName")
-  public DataWithPagination<List<RecipeDto>> searchByName(
+  public ResponseEntity<DataWithPagination<List<RecipeDto>>> searchByName(
     @RequestParam String name,
-    @RequestParam int page,
-    @RequestParam int size
+    @RequestParam(required = false) Integer page,
+    @RequestParam int size,
+    @RequestParam(required = false) String cursor
   ) {
     log.info("Searching for recipe by name {}", name);
-    return recipeService.searchByName(
-      new DataWithPagination<>(
-        name,
-        new Pagination() {
-          @Override
-          public int pageSize() {
-            return size;
-          }
+    DataWithPagination<List<RecipeDto>> result;
+    if (isKeysetRequest(page, cursor)) {
+      result = recipeService.searchByName(name, cursor, size);
+    } else {
+      result = recipeService.searchByName(
+        new DataWithPagination<>(
+          name,
+          new Pagination() {
+            @Override
+            public int pageSize() {
+              return size;
+            }
 
-          @Override
-          public int pageNumber() {
-            return page;
-          }
+            @Override
+            public int pageNumber() {
+              return page;
+            }
 
-          @Override
-          public int totalPages() {
-            return 0;
+            @Override
+            public int totalPages() {
+              return 0;
+            }
           }
-        }
-      )
-    );
+        )
+      );
+    }
+    return ResponseEntity.ok().eTag(ETagMapper.recipesETag(result.data(), result)).body(result);
+  }
+
+  @Operation(
+    summary = "Filter recipes by facets and count the values of every facet",
+    description = "Can be accessed without authentication"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = FacetResult.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @PostMapping("/byFilter/facets")
+  public ResponseEntity<FacetResult> getFacets(
+    @RequestBody @Valid FacetQuery query,
+    @RequestParam(value = "pageNumber", defaultValue = "0") @Min(0) int pageNumber,
+    @RequestParam("pageSize") @Min(1) int pageSize
+  ) {
+    return ResponseEntity.ok(facetService.search(query, pageNumber, pageSize));
+  }
+
+  @Operation(
+    summary = "Complete a partially typed recipe, tag, ingredient or allergy name",
+    description = "Can be accessed without authentication"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = SuggestionDto.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @GetMapping("/suggest")
+  public ResponseEntity<List<SuggestionDto>> suggest(
+    @RequestParam String prefix,
+    @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit
+  ) {
+    return ResponseEntity.ok(suggestionService.suggest(prefix, limit));
+  }
+
+  @Operation(
+    summary = "Stream the whole catalog as newline-delimited JSON, oldest update first",
+    description = "Requires to be authenticated"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = RecipeExportRow.class),
+          mediaType = "application/x-ndjson"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+      @ApiResponse(
+        responseCode = "401",
+        description = "Unauthenticated",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = String.class)
+        )
+      ),
+    }
+  )
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> export(
+    @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime updatedSince,
+    @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime updatedBefore
+  ) {
+    StreamingResponseBody body = out ->
+      recipeExportService.exportNdjson(updatedSince, updatedBefore, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  @Operation(
+    summary = "Get the recipes with the most recent views and ratings",
+    description = "Can be accessed without authentication"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = TrendingRecipe.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @GetMapping("/trending")
+  public ResponseEntity<List<TrendingRecipe>> getTrending(
+    @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit
+  ) {
+    return ResponseEntity.ok(trendingService.findTop(limit));
+  }
+
+  @Operation(
+    summary = "Get the recipes with the highest Bayesian rating",
+    description = "Can be accessed without authentication"
+  )
+  @ApiResponses(
+    value = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Operation success",
+        content = @Content(
+          schema = @Schema(implementation = TopRatedRecipe.class),
+          mediaType = "application/json"
+        )
+      ),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request data",
+        content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ApiErrorResponse.class)
+        )
+      ),
+    }
+  )
+  @GetMapping("/top-rated")
+  public ResponseEntity<List<TopRatedRecipe>> getTopRated(
+    @RequestParam(required = false) DifficultyType difficulty,
+    @RequestParam(required = false) DietaryPreferenceType dietaryPreference,
+    @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit
+  ) {
+    return ResponseEntity.ok(recipeService.findTopRated(difficulty, dietaryPreference, limit));
+  }
+
+  /**
+   * List endpoints fall back to keyset pagination when the client sends a cursor or omits the
+   * page number, so deep scrolling never pays for OFFSET scans or COUNT queries.
+   */
+  private static boolean isKeysetRequest(Integer pageNumber, String cursor) {
+    return cursor != null || pageNumber == null;
   }
 }
@@ -8,7 +8,17 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "ratings")
+@Table(
+  name = "ratings",
+  indexes = {
+    @Index(name = "idx_ratings_recipe_created_at_id", columnList = "recipe_id, created_at, id"),
+    @Index(name = "idx_ratings_user_created_at_id", columnList = "user_id, created_at, id"),
+  },
+  uniqueConstraints = @UniqueConstraint(
+    name = "uk_ratings_user_recipe",
+    columnNames = { "user_id", "recipe_id" }
+  )
+)
 public class Rating {
 
   @Id
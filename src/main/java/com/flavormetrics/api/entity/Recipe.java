@@ -1,17 +1,38 @@
 package com.flavormetrics.api.entity;
 
+import com.flavormetrics.api.enums.AllergyType;
 import com.flavormetrics.api.enums.DietaryPreferenceType;
 import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.enums.TagType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "recipes")
+@Table(
+  name = "recipes",
+  indexes = {
+    @Index(name = "idx_recipes_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_recipes_user_created_at_id", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_recipes_random_key_id", columnList = "random_key, id"),
+    @Index(name = "idx_recipes_updated_at_id", columnList = "updated_at, id"),
+    @Index(name = "idx_recipes_bayesian_score_id", columnList = "bayesian_score DESC, id"),
+    @Index(
+      name = "idx_recipes_difficulty_bayesian_score_id",
+      columnList = "difficulty, bayesian_score DESC, id"
+    ),
+    @Index(
+      name = "idx_recipes_dietary_bayesian_score_id",
+      columnList = "dietary_preferences, bayesian_score DESC, id"
+    ),
+  }
+)
 public class Recipe {
 
   @Id
@@ -48,6 +69,62 @@ public class Recipe {
   @Column(name = "dietary_preferences")
   private DietaryPreferenceType dietaryPreferences;
 
+  @ColumnDefault("0")
+  @Column(name = "rating_count", nullable = false, insertable = false, updatable = false)
+  private int ratingCount;
+
+  @ColumnDefault("0")
+  @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+  private long ratingSum;
+
+  /** Number of ratings per score, kept in step with {@link #ratingCount} by the same updates. */
+  @ColumnDefault("0")
+  @Column(name = "rating_count_0", nullable = false, insertable = false, updatable = false)
+  private int ratingCount0;
+
+  @ColumnDefault("0")
+  @Column(name = "rating_count_1", nullable = false, insertable = false, updatable = false)
+  private int ratingCount1;
+
+  @ColumnDefault("0")
+  @Column(name = "rating_count_2", nullable = false, insertable = false, updatable = false)
+  private int ratingCount2;
+
+  @ColumnDefault("0")
+  @Column(name = "rating_count_3", nullable = false, insertable = false, updatable = false)
+  private int ratingCount3;
+
+  @ColumnDefault("0")
+  @Column(name = "rating_count_4", nullable = false, insertable = false, updatable = false)
+  private int ratingCount4;
+
+  @ColumnDefault("0")
+  @Column(name = "rating_count_5", nullable = false, insertable = false, updatable = false)
+  private int ratingCount5;
+
+  /**
+   * {@link com.flavormetrics.api.recommendation.BayesianAverage} of the ratings, kept in step with
+   * the counters by the rating services. 0 until the first rating, so unrated recipes rank last.
+   */
+  @ColumnDefault("0")
+  @Column(name = "bayesian_score", nullable = false, insertable = false, updatable = false)
+  private double bayesianScore;
+
+  /** Uniform in [0, 1); fixes the recipe's place in the shuffled recommendation order. */
+  @ColumnDefault("random()")
+  @Column(name = "random_key", nullable = false, updatable = false)
+  private double randomKey = ThreadLocalRandom.current().nextDouble();
+
+  /** {@link AllergyType#maskOf} of the allergy names, kept in step by {@link #setAllergies}. */
+  @ColumnDefault("0")
+  @Column(name = "allergen_mask", nullable = false)
+  private long allergenMask;
+
+  /** {@link TagType#maskOf} of the tag names, kept in step by {@link #setTags}. */
+  @ColumnDefault("0")
+  @Column(name = "tag_mask", nullable = false)
+  private long tagMask;
+
   @UpdateTimestamp
   @Column(name = "updated_at", columnDefinition = "timestamp not null default current_timestamp")
   private LocalDateTime updatedAt;
@@ -100,17 +177,34 @@ public class Recipe {
   }
 
   public Float getAverageRating() {
-    if (ratings.isEmpty()) {
-      return 0f;
-    }
-    float sum = 0f;
-    for (Rating r : ratings) {
-      sum += r.getScore();
-    }
-    if (sum == 0) {
+    if (ratingCount == 0) {
       return 0f;
     }
-    return sum / ratings.size();
+    return (float) ratingSum / ratingCount;
+  }
+
+  public int getRatingCount() {
+    return ratingCount;
+  }
+
+  public long getRatingSum() {
+    return ratingSum;
+  }
+
+  public double getBayesianScore() {
+    return bayesianScore;
+  }
+
+  public double getRandomKey() {
+    return randomKey;
+  }
+
+  public long getAllergenMask() {
+    return allergenMask;
+  }
+
+  public long getTagMask() {
+    return tagMask;
   }
 
   public UUID getId() {
@@ -203,6 +297,7 @@ public class Recipe {
 
   public void setTags(Set<Tag> tags) {
     this.tags = Optional.ofNullable(tags).map(HashSet::new).orElse(new HashSet<>());
+    this.tagMask = TagType.maskOf(this.tags.stream().map(Tag::getName).toList());
   }
 
   public Set<Ingredient> getIngredients() {
@@ -227,6 +322,7 @@ public class Recipe {
 
   public void setAllergies(Set<Allergy> allergies) {
     this.allergies = Optional.ofNullable(allergies).map(HashSet::new).orElse(new HashSet<>());
+    this.allergenMask = AllergyType.maskOf(this.allergies.stream().map(Allergy::getName).toList());
   }
 
   public User getUser() {
@@ -0,0 +1,74 @@
+package com.flavormetrics.api.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A recipe's trending score as of {@link #getScoredAt()}, written when the in-memory leaderboard
+ * is snapshotted and read back at startup.
+ *
+ * <p>Each snapshot replaces the previous one, so {@link #isNew()} is always true and saving skips
+ * the select a merge would issue.
+ */
+@Entity
+@Table(name = "trending_scores")
+public class TrendingScore implements Persistable<UUID> {
+
+  @Id
+  @Column(name = "recipe_id", nullable = false)
+  private UUID recipeId;
+
+  @Column(name = "score", nullable = false)
+  private double score;
+
+  @Column(name = "scored_at", nullable = false)
+  private Instant scoredAt;
+
+  public TrendingScore() {
+    // for JPA
+  }
+
+  public TrendingScore(UUID recipeId, double score, Instant scoredAt) {
+    this.recipeId = recipeId;
+    this.score = score;
+    this.scoredAt = scoredAt;
+  }
+
+  @Override
+  public UUID getId() {
+    return recipeId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+
+  public UUID getRecipeId() {
+    return recipeId;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public Instant getScoredAt() {
+    return scoredAt;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof TrendingScore that)) {
+      return false;
+    }
+    return Objects.equals(recipeId, that.recipeId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(recipeId);
+  }
+}
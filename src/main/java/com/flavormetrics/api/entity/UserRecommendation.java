@@ -0,0 +1,108 @@
+package com.flavormetrics.api.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One entry of a user's materialized recommendation list. The primary key {@code (user_id,
+ * rank)} makes a page a single index range read. Ranks may have gaps once deleted recipes are
+ * pruned from a list, so pages are read by position rather than by rank.
+ *
+ * <p>Rows are only ever inserted after the user's previous list was deleted, so {@link #isNew()}
+ * is always true and saving skips the select a merge would issue.
+ */
+@Entity
+@Table(
+  name = "user_recommendations",
+  indexes = @Index(name = "idx_user_recommendations_recipe_id", columnList = "recipe_id")
+)
+@IdClass(UserRecommendation.Key.class)
+public class UserRecommendation implements Persistable<UserRecommendation.Key> {
+
+  @Id
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Id
+  @Column(name = "rank", nullable = false)
+  private int rank;
+
+  @Column(name = "recipe_id", nullable = false)
+  private UUID recipeId;
+
+  public UserRecommendation() {
+    // for JPA
+  }
+
+  public UserRecommendation(UUID userId, int rank, UUID recipeId) {
+    this.userId = userId;
+    this.rank = rank;
+    this.recipeId = recipeId;
+  }
+
+  @Override
+  public Key getId() {
+    return new Key(userId, rank);
+  }
+
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+
+  public UUID getUserId() {
+    return userId;
+  }
+
+  public int getRank() {
+    return rank;
+  }
+
+  public UUID getRecipeId() {
+    return recipeId;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof UserRecommendation that)) {
+      return false;
+    }
+    return rank == that.rank && Objects.equals(userId, that.userId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(userId, rank);
+  }
+
+  public static class Key implements Serializable {
+
+    private UUID userId;
+    private int rank;
+
+    public Key() {
+      // for JPA
+    }
+
+    public Key(UUID userId, int rank) {
+      this.userId = userId;
+      this.rank = rank;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key key)) {
+        return false;
+      }
+      return rank == key.rank && Objects.equals(userId, key.userId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(userId, rank);
+    }
+  }
+}
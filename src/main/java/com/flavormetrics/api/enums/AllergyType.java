@@ -1,5 +1,8 @@
 package com.flavormetrics.api.enums;
 
+import java.util.Collection;
+import java.util.Locale;
+
 public enum AllergyType {
   DAIRY("Allergy to dairy products"),
   EGGS("Allergy to eggs"),
@@ -16,6 +19,9 @@ public enum AllergyType {
   SULFITES("Sensitivity to sulfites"),
   LUPIN("Allergy to lupin");
 
+  /** Bit standing for every allergy whose name matches none of the constants. */
+  public static final long OTHER = 1L << 63;
+
   private final String description;
 
   AllergyType(String description) {
@@ -25,4 +31,32 @@ public enum AllergyType {
   public String getDescription() {
     return description;
   }
+
+  public long bit() {
+    return 1L << ordinal();
+  }
+
+  /**
+   * Folds allergy names into a bitset with one bit per constant, matched case-insensitively with
+   * spaces and hyphens read as underscores; any other name sets {@link #OTHER}.
+   */
+  public static long maskOf(Collection<String> names) {
+    long mask = 0;
+    for (String name : names) {
+      if (name != null) {
+        mask |= bitOf(name);
+      }
+    }
+    return mask;
+  }
+
+  public static long bitOf(String name) {
+    String normalized = name.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+    for (AllergyType type : values()) {
+      if (type.name().equals(normalized)) {
+        return type.bit();
+      }
+    }
+    return OTHER;
+  }
 }
@@ -0,0 +1,8 @@
+package com.flavormetrics.api.enums;
+
+public enum SuggestionType {
+  recipe,
+  tag,
+  ingredient,
+  allergy,
+}
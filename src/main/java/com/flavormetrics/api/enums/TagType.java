@@ -1,5 +1,8 @@
 package com.flavormetrics.api.enums;
 
+import java.util.Collection;
+import java.util.Locale;
+
 public enum TagType {
   VEGAN,
   VEGETARIAN,
@@ -32,5 +35,29 @@ public enum TagType {
   GREEK,
   ASIAN,
   HEALTHY,
-  LOW_SUGAR,
+  LOW_SUGAR;
+
+  public long bit() {
+    return 1L << ordinal();
+  }
+
+  /**
+   * Folds tag names into a bitset with one bit per constant, matched case-insensitively with spaces
+   * and hyphens read as underscores; other names add nothing.
+   */
+  public static long maskOf(Collection<String> names) {
+    long mask = 0;
+    for (String name : names) {
+      if (name == null) {
+        continue;
+      }
+      String normalized = name.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+      for (TagType type : values()) {
+        if (type.name().equals(normalized)) {
+          mask |= type.bit();
+        }
+      }
+    }
+    return mask;
+  }
 }
@@ -0,0 +1,6 @@
+package com.flavormetrics.api.event;
+
+import java.util.UUID;
+
+/** Published inside the writing transaction after a user's profile was removed. */
+public record ProfileDeletedEvent(UUID userId) {}
@@ -0,0 +1,6 @@
+package com.flavormetrics.api.event;
+
+import java.util.UUID;
+
+/** Published inside the writing transaction after a user rated a recipe. */
+public record RatingSavedEvent(UUID userId, UUID recipeId, int score) {}
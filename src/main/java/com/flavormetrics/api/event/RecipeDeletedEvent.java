@@ -0,0 +1,15 @@
+package com.flavormetrics.api.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Published inside the writing transaction after recipes were deleted. */
+public record RecipeDeletedEvent(List<UUID> recipeIds) {
+  public RecipeDeletedEvent {
+    recipeIds = List.copyOf(recipeIds);
+  }
+
+  public RecipeDeletedEvent(UUID recipeId) {
+    this(List.of(recipeId));
+  }
+}
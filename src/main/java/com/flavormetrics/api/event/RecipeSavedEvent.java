@@ -0,0 +1,15 @@
+package com.flavormetrics.api.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Published inside the writing transaction after recipes were created or updated. */
+public record RecipeSavedEvent(List<UUID> recipeIds) {
+  public RecipeSavedEvent {
+    recipeIds = List.copyOf(recipeIds);
+  }
+
+  public RecipeSavedEvent(UUID recipeId) {
+    this(List.of(recipeId));
+  }
+}
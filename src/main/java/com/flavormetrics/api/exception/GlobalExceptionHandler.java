@@ -94,9 +94,13 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(response.code()).body(response);
   }
 
-  @ExceptionHandler(value = InvalidImageException.class)
+  @ExceptionHandler(
+    value = {
+      InvalidImageException.class, InvalidCursorException.class, InvalidImportException.class,
+    }
+  )
   public ResponseEntity<ApiErrorResponse> handleInvalidFileException(
-    InvalidImageException e,
+    RuntimeException e,
     HttpServletRequest request
   ) {
     var response = new ApiErrorResponse(
@@ -108,6 +112,20 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(response.code()).body(response);
   }
 
+  @ExceptionHandler(value = RatingBufferFullException.class)
+  public ResponseEntity<ApiErrorResponse> handleRatingBufferFullException(
+    RatingBufferFullException e,
+    HttpServletRequest request
+  ) {
+    var response = new ApiErrorResponse(
+      503,
+      HttpStatus.SERVICE_UNAVAILABLE.name(),
+      e.getMessage(),
+      request.getRequestURI()
+    );
+    return ResponseEntity.status(response.code()).body(response);
+  }
+
   @ExceptionHandler(value = MethodArgumentNotValidException.class)
   public ResponseEntity<ValidationError> handleMethodArgumentNotValidException(
     MethodArgumentNotValidException e,
@@ -0,0 +1,12 @@
+package com.flavormetrics.api.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException() {
+    super("Invalid pagination cursor");
+  }
+
+  public InvalidCursorException(Throwable cause) {
+    super("Invalid pagination cursor", cause);
+  }
+}
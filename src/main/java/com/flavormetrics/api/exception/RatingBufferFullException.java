@@ -0,0 +1,8 @@
+package com.flavormetrics.api.exception;
+
+public class RatingBufferFullException extends RuntimeException {
+
+  public RatingBufferFullException() {
+    super("Too many ratings are waiting to be saved, please retry shortly");
+  }
+}
@@ -2,20 +2,17 @@ package com.flavormetrics.api.factory;
 
 import com.flavormetrics.api.entity.Allergy;
 import com.flavormetrics.api.model.AllergyDto;
-import com.flavormetrics.api.model.projection.AllergyProjection;
-import com.flavormetrics.api.repository.AllergyRepository;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class AllergyFactory {
 
-  private final AllergyRepository allergyRepository;
+  private final DictionaryCache dictionaryCache;
 
-  AllergyFactory(AllergyRepository allergyRepository) {
-    this.allergyRepository = allergyRepository;
+  AllergyFactory(DictionaryCache dictionaryCache) {
+    this.dictionaryCache = dictionaryCache;
   }
 
   @Transactional
@@ -23,35 +20,25 @@ public class AllergyFactory {
     if (allergies == null) {
       throw new IllegalArgumentException("AddRecipeRequest cannot be null");
     }
+    return Set.copyOf(resolveAll(allergies).values());
+  }
 
-    List<String> allergyNames = Optional.of(allergies)
-      .orElse(Collections.emptySet())
-      .stream()
-      .map(AllergyDto::name)
-      .toList();
-
-    List<AllergyProjection> existing = allergyRepository.getIdsAndNames(allergyNames);
-    List<String> existingNames = existing.stream().map(AllergyProjection::getName).toList();
-
-    List<Allergy> newAllergies;
-    if (!existing.isEmpty()) {
-      newAllergies = Optional.of(allergies)
-        .orElse(Collections.emptySet())
-        .stream()
-        .filter(a -> !existingNames.contains(a.name()))
-        .map(Allergy::new)
-        .toList();
-    } else {
-      newAllergies = allergyNames.stream().map(Allergy::new).toList();
+  /**
+   * Batch form of {@link #checkIfExistsOrElseSave}: takes known names from the {@link
+   * DictionaryCache}, creates the rest with one upsert and returns every allergy keyed by name.
+   * New allergies get the description of their {@link com.flavormetrics.api.enums.AllergyType},
+   * like {@link Allergy#Allergy(AllergyDto)}.
+   */
+  @Transactional
+  public Map<String, Allergy> resolveAll(Collection<AllergyDto> allergies) {
+    List<AllergyDto> described = new ArrayList<>(allergies.size());
+    for (AllergyDto allergy : allergies) {
+      described.add(new AllergyDto(new Allergy(allergy)));
     }
-
-    List<Allergy> finalAllergies = existing.stream().map(Allergy::new).collect(Collectors.toList());
-
-    if (!newAllergies.isEmpty()) {
-      List<Allergy> saved = allergyRepository.saveAll(newAllergies);
-      finalAllergies.addAll(saved);
+    Map<String, Allergy> byName = new HashMap<>();
+    for (AllergyDto stored : dictionaryCache.resolveAllergies(described).values()) {
+      byName.put(stored.name(), new Allergy(stored));
     }
-
-    return Set.copyOf(finalAllergies);
+    return byName;
   }
 }
@@ -0,0 +1,121 @@
+package com.flavormetrics.api.factory;
+
+import com.flavormetrics.api.model.AllergyDto;
+import com.flavormetrics.api.model.IngredientDto;
+import com.flavormetrics.api.model.TagDto;
+import com.flavormetrics.api.repository.DictionaryRepository;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tag, allergy and ingredient rows keyed by name, shared by the three dictionary factories.
+ *
+ * <p>The dictionaries only ever grow, so a name resolved once keeps its id. Lookups that hit the
+ * cache skip the database; misses go through one {@link DictionaryRepository} upsert and are
+ * cached once the surrounding transaction commits, so a rolled-back insert never leaves an id
+ * behind that does not exist. Names are matched exactly, the way the unique indexes compare them.
+ */
+@Component
+public class DictionaryCache {
+
+  private static final Logger log = LoggerFactory.getLogger(DictionaryCache.class);
+
+  private final DictionaryRepository dictionaryRepository;
+  private final Map<String, TagDto> tags = new ConcurrentHashMap<>();
+  private final Map<String, AllergyDto> allergies = new ConcurrentHashMap<>();
+  private final Map<String, IngredientDto> ingredients = new ConcurrentHashMap<>();
+
+  DictionaryCache(DictionaryRepository dictionaryRepository) {
+    this.dictionaryRepository = dictionaryRepository;
+  }
+
+  public Map<String, TagDto> resolveTags(Collection<TagDto> requested) {
+    return resolve(requested, TagDto::name, tags, dictionaryRepository::upsertTags);
+  }
+
+  public Map<String, AllergyDto> resolveAllergies(Collection<AllergyDto> requested) {
+    return resolve(requested, AllergyDto::name, allergies, dictionaryRepository::upsertAllergies);
+  }
+
+  /** Cached ingredients keep the quantity and unit they were first stored with. */
+  public Map<String, IngredientDto> resolveIngredients(Collection<IngredientDto> requested) {
+    return resolve(
+      requested,
+      IngredientDto::name,
+      ingredients,
+      dictionaryRepository::upsertIngredients
+    );
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    long start = System.nanoTime();
+    putAll(tags, dictionaryRepository.findAllTags(), TagDto::name);
+    putAll(allergies, dictionaryRepository.findAllAllergies(), AllergyDto::name);
+    putAll(ingredients, dictionaryRepository.findAllIngredients(), IngredientDto::name);
+    log.info(
+      "Dictionary cache warmed with {} tags, {} allergies and {} ingredients in {} ms",
+      tags.size(),
+      allergies.size(),
+      ingredients.size(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+
+  private static <T> Map<String, T> resolve(
+    Collection<T> requested,
+    Function<T, String> name,
+    Map<String, T> cache,
+    Function<List<T>, List<T>> upsert
+  ) {
+    Map<String, T> resolved = new HashMap<>();
+    Set<String> seen = new HashSet<>();
+    List<T> misses = new ArrayList<>();
+    for (T row : requested) {
+      String key = name.apply(row);
+      if (!seen.add(key)) {
+        continue;
+      }
+      T cached = cache.get(key);
+      if (cached != null) {
+        resolved.put(key, cached);
+      } else {
+        misses.add(row);
+      }
+    }
+    if (misses.isEmpty()) {
+      return resolved;
+    }
+    List<T> stored = upsert.apply(misses);
+    stored.forEach(row -> resolved.put(name.apply(row), row));
+    afterCommit(() -> putAll(cache, stored, name));
+    return resolved;
+  }
+
+  private static <T> void putAll(Map<String, T> cache, List<T> rows, Function<T, String> name) {
+    rows.forEach(row -> cache.put(name.apply(row), row));
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+      new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      }
+    );
+  }
+}
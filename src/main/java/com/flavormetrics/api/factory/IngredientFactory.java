@@ -3,19 +3,17 @@ package com.flavormetrics.api.factory;
 import com.flavormetrics.api.entity.Ingredient;
 import com.flavormetrics.api.model.IngredientDto;
 import com.flavormetrics.api.model.request.AddRecipeRequest;
-import com.flavormetrics.api.repository.IngredientRepository;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class IngredientFactory {
 
-  private final IngredientRepository ingredientRepository;
+  private final DictionaryCache dictionaryCache;
 
-  IngredientFactory(IngredientRepository ingredientRepository) {
-    this.ingredientRepository = ingredientRepository;
+  IngredientFactory(DictionaryCache dictionaryCache) {
+    this.dictionaryCache = dictionaryCache;
   }
 
   @Transactional
@@ -23,42 +21,22 @@ public class IngredientFactory {
     if (req == null) {
       throw new IllegalArgumentException("AddRecipeRequest cannot be null");
     }
-
-    Set<IngredientDto> ingredientsFromReq = Optional.ofNullable(req.ingredients()).orElse(
-      Collections.emptySet()
+    return Set.copyOf(
+      resolveAll(Optional.ofNullable(req.ingredients()).orElse(Collections.emptySet())).values()
     );
+  }
 
-    List<String> ingredientsFromReqAsNames = ingredientsFromReq
-      .stream()
-      .map(IngredientDto::name)
-      .toList();
-
-    List<IngredientDto> existingIngredients = ingredientRepository.getIdsAndNames(
-      ingredientsFromReqAsNames
-    );
-    List<String> existingNames = existingIngredients.stream().map(IngredientDto::name).toList();
-
-    List<Ingredient> newIngredients;
-    if (!existingIngredients.isEmpty()) {
-      newIngredients = ingredientsFromReq
-        .stream()
-        .filter(n -> !existingNames.contains(n.name()))
-        .map(Ingredient::new)
-        .toList();
-    } else {
-      newIngredients = ingredientsFromReq.stream().map(Ingredient::new).toList();
-    }
-
-    List<Ingredient> finalIngredients = existingIngredients
-      .stream()
-      .map(Ingredient::new)
-      .collect(Collectors.toList());
-
-    if (!newIngredients.isEmpty()) {
-      List<Ingredient> saved = ingredientRepository.saveAll(newIngredients);
-      finalIngredients.addAll(saved);
+  /**
+   * Batch form of {@link #checkIfExistsOrElseSave}: takes known names from the {@link
+   * DictionaryCache}, creates the rest with one upsert and returns every ingredient keyed by name.
+   * When a name repeats, the first quantity and unit are the ones saved.
+   */
+  @Transactional
+  public Map<String, Ingredient> resolveAll(Collection<IngredientDto> ingredients) {
+    Map<String, Ingredient> byName = new HashMap<>();
+    for (IngredientDto stored : dictionaryCache.resolveIngredients(ingredients).values()) {
+      byName.put(stored.name(), new Ingredient(stored));
     }
-
-    return Set.copyOf(finalIngredients);
+    return byName;
   }
 }
@@ -0,0 +1,126 @@
+package com.flavormetrics.api.factory;
+
+import com.flavormetrics.api.model.AllergyDto;
+import com.flavormetrics.api.model.IngredientDto;
+import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RecipeDto;
+import com.flavormetrics.api.model.TagDto;
+import com.flavormetrics.api.model.projection.RecipeAllergyProjection;
+import com.flavormetrics.api.model.projection.RecipeIngredientProjection;
+import com.flavormetrics.api.model.projection.RecipeProjection;
+import com.flavormetrics.api.model.projection.RecipeTagProjection;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds {@link RecipeDto} pages from a list of recipe ids.
+ *
+ * <p>The base rows and each association are loaded with one {@code IN} query apiece, so a page
+ * costs the same number of statements regardless of its size. The returned list keeps the order
+ * of the given ids; ids that no longer exist are skipped.
+ */
+@Component
+public class RecipeDtoFactory {
+
+  private final RecipeRepository recipeRepository;
+  private final RatingRepository ratingRepository;
+
+  RecipeDtoFactory(RecipeRepository recipeRepository, RatingRepository ratingRepository) {
+    this.recipeRepository = recipeRepository;
+    this.ratingRepository = ratingRepository;
+  }
+
+  @Transactional(readOnly = true)
+  public List<RecipeDto> createAll(List<UUID> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    Map<UUID, RecipeProjection> rows = recipeRepository
+      .findRowsByIds(ids)
+      .stream()
+      .collect(Collectors.toMap(RecipeProjection::getId, Function.identity()));
+
+    Map<UUID, Set<TagDto>> tags = recipeRepository
+      .findTagsByRecipeIds(ids)
+      .stream()
+      .collect(
+        Collectors.groupingBy(
+          RecipeTagProjection::getRecipeId,
+          Collectors.mapping(t -> new TagDto(t.getId(), t.getName()), Collectors.toSet())
+        )
+      );
+
+    Map<UUID, Set<IngredientDto>> ingredients = recipeRepository
+      .findIngredientsByRecipeIds(ids)
+      .stream()
+      .collect(
+        Collectors.groupingBy(
+          RecipeIngredientProjection::getRecipeId,
+          Collectors.mapping(
+            i -> new IngredientDto(i.getId(), i.getName(), i.getQuantity(), i.getUnit()),
+            Collectors.toSet()
+          )
+        )
+      );
+
+    Map<UUID, Set<AllergyDto>> allergies = recipeRepository
+      .findAllergiesByRecipeIds(ids)
+      .stream()
+      .collect(
+        Collectors.groupingBy(
+          RecipeAllergyProjection::getRecipeId,
+          Collectors.mapping(
+            a -> new AllergyDto(a.getId(), a.getName(), a.getDescription()),
+            Collectors.toSet()
+          )
+        )
+      );
+
+    Map<UUID, Set<RatingDto>> ratings = ratingRepository
+      .findAllByRecipeIds(ids)
+      .stream()
+      .collect(Collectors.groupingBy(RatingDto::recipeId, Collectors.toSet()));
+
+    List<RecipeDto> dtos = new ArrayList<>(rows.size());
+    for (UUID id : ids) {
+      RecipeProjection row = rows.get(id);
+      if (row == null) {
+        continue;
+      }
+      dtos.add(
+        RecipeDto.builder()
+          .id(row.getId())
+          .name(row.getName())
+          .nutritionist(row.getUser())
+          .instructions(row.getInstructions())
+          .imageUrl(row.getImageUrl())
+          .prepTimeMinutes(row.getPrepTimeMinutes())
+          .cookTimeMinutes(row.getCookTimeMinutes())
+          .difficulty(row.getDifficulty())
+          .estimatedCalories(row.getEstimatedCalories())
+          .averageRating(averageOf(row))
+          .createdAt(row.getCreatedAt())
+          .updatedAt(row.getUpdatedAt())
+          .tags(tags.getOrDefault(id, Collections.emptySet()))
+          .ingredients(ingredients.getOrDefault(id, Collections.emptySet()))
+          .ratings(ratings.getOrDefault(id, Collections.emptySet()))
+          .allergies(allergies.getOrDefault(id, Collections.emptySet()))
+          .build()
+      );
+    }
+    return dtos;
+  }
+
+  private static float averageOf(RecipeProjection row) {
+    if (row.getRatingCount() == 0) {
+      return 0;
+    }
+    return (float) row.getRatingSum() / row.getRatingCount();
+  }
+}
@@ -1,6 +1,7 @@
 package com.flavormetrics.api.factory;
 
 import com.flavormetrics.api.entity.*;
+import com.flavormetrics.api.event.RecipeSavedEvent;
 import com.flavormetrics.api.model.request.AddRecipeRequest;
 import com.flavormetrics.api.repository.RecipeRepository;
 import com.flavormetrics.api.repository.UserRepository;
@@ -9,6 +10,7 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,19 +22,22 @@ public class RecipeFactory {
   private final IngredientFactory ingredientFactory;
   private final TagFactory tagFactory;
   private final AllergyFactory allergyFactory;
+  private final ApplicationEventPublisher eventPublisher;
 
   RecipeFactory(
     RecipeRepository recipeRepo,
     UserRepository userRepo,
     IngredientFactory ingredientFactory,
     TagFactory tagFactory,
-    AllergyFactory allergyFactory
+    AllergyFactory allergyFactory,
+    ApplicationEventPublisher eventPublisher
   ) {
     this.recipeRepo = recipeRepo;
     this.userRepo = userRepo;
     this.ingredientFactory = ingredientFactory;
     this.tagFactory = tagFactory;
     this.allergyFactory = allergyFactory;
+    this.eventPublisher = eventPublisher;
   }
 
   @Transactional
@@ -70,6 +75,8 @@ public class RecipeFactory {
     recipe.setAllergies(allergies);
     recipe.setTags(tags);
 
-    return recipeRepo.save(recipe).getId();
+    UUID id = recipeRepo.save(recipe).getId();
+    eventPublisher.publishEvent(new RecipeSavedEvent(id));
+    return id;
   }
 }
@@ -2,21 +2,18 @@ package com.flavormetrics.api.factory;
 
 import com.flavormetrics.api.entity.Tag;
 import com.flavormetrics.api.model.TagDto;
-import com.flavormetrics.api.model.projection.TagProjection;
 import com.flavormetrics.api.model.request.AddRecipeRequest;
-import com.flavormetrics.api.repository.TagRepository;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class TagFactory {
 
-  private final TagRepository tagRepository;
+  private final DictionaryCache dictionaryCache;
 
-  TagFactory(TagRepository tagRepository) {
-    this.tagRepository = tagRepository;
+  TagFactory(DictionaryCache dictionaryCache) {
+    this.dictionaryCache = dictionaryCache;
   }
 
   @Transactional
@@ -24,35 +21,21 @@ public class TagFactory {
     if (req == null) {
       throw new IllegalArgumentException("AddRecipeRequest cannot be null");
     }
+    return Set.copyOf(
+      resolveAll(Optional.ofNullable(req.tags()).orElse(Collections.emptySet())).values()
+    );
+  }
 
-    List<String> tagsName = Optional.ofNullable(req.tags())
-      .orElse(Collections.emptySet())
-      .stream()
-      .map(TagDto::name)
-      .toList();
-
-    List<TagProjection> existing = tagRepository.getIdsAndNames(tagsName);
-    List<String> existingNames = existing.stream().map(TagProjection::getName).toList();
-
-    List<Tag> newTags;
-    if (!existing.isEmpty()) {
-      newTags = Optional.ofNullable(req.tags())
-        .orElse(Collections.emptySet())
-        .stream()
-        .filter(t -> !existingNames.contains(t.name()))
-        .map(Tag::new)
-        .toList();
-    } else {
-      newTags = tagsName.stream().map(Tag::new).toList();
-    }
-
-    List<Tag> finalTags = existing.stream().map(Tag::new).collect(Collectors.toList());
-
-    if (!newTags.isEmpty()) {
-      List<Tag> saved = tagRepository.saveAll(newTags);
-      finalTags.addAll(saved);
+  /**
+   * Batch form of {@link #checkIfExistsOrElseSave}: takes known names from the {@link
+   * DictionaryCache}, creates the rest with one upsert and returns every tag keyed by name.
+   */
+  @Transactional
+  public Map<String, Tag> resolveAll(Collection<TagDto> tags) {
+    Map<String, Tag> byName = new HashMap<>();
+    for (TagDto stored : dictionaryCache.resolveTags(tags).values()) {
+      byName.put(stored.name(), new Tag(stored));
     }
-
-    return Set.copyOf(finalTags);
+    return byName;
   }
 }
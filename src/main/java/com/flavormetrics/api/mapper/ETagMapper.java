@@ -0,0 +1,96 @@
+package com.flavormetrics.api.mapper;
+
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.Pagination;
+import com.flavormetrics.api.model.RecipeDto;
+import com.flavormetrics.api.model.RecipeSummaryDto;
+import com.flavormetrics.api.model.RecipeVersion;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+/**
+ * Builds strong ETags for recipe representations. A recipe's version is its {@code updatedAt}
+ * timestamp plus its rating aggregate, since ratings change the payload without touching the
+ * recipe row's timestamp.
+ */
+public final class ETagMapper {
+
+  private static final int DIGEST_BYTES = 16;
+
+  private ETagMapper() {}
+
+  public static String toETag(RecipeVersion version) {
+    if (version == null) {
+      throw new IllegalArgumentException("RecipeVersion cannot be null");
+    }
+    return digest(
+      new StringBuilder()
+        .append(version.id())
+        .append('|')
+        .append(version.updatedAt())
+        .append('|')
+        .append(version.ratingCount())
+        .append('|')
+        .append(version.ratingSum())
+    );
+  }
+
+  public static String recipesETag(Collection<RecipeDto> recipes, DataWithPagination<?> page) {
+    StringBuilder sb = pageKey(page);
+    for (RecipeDto recipe : recipes) {
+      sb
+        .append(recipe.id())
+        .append('|')
+        .append(recipe.updatedAt())
+        .append('|')
+        .append(recipe.averageRating())
+        .append('|')
+        .append(recipe.ratings() == null ? 0 : recipe.ratings().size())
+        .append(';');
+    }
+    return digest(sb);
+  }
+
+  public static String summariesETag(
+    DataWithPagination<? extends Collection<RecipeSummaryDto>> page
+  ) {
+    StringBuilder sb = pageKey(page);
+    for (RecipeSummaryDto summary : page.data()) {
+      sb
+        .append(summary.id())
+        .append('|')
+        .append(summary.updatedAt())
+        .append('|')
+        .append(summary.averageRating())
+        .append(';');
+    }
+    return digest(sb);
+  }
+
+  private static StringBuilder pageKey(DataWithPagination<?> page) {
+    Pagination pagination = page.pagination();
+    return new StringBuilder()
+      .append(pagination.pageNumber())
+      .append('|')
+      .append(pagination.pageSize())
+      .append('|')
+      .append(pagination.totalPages())
+      .append('|')
+      .append(page.nextCursor())
+      .append(';');
+  }
+
+  private static String digest(CharSequence value) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(
+        value.toString().getBytes(StandardCharsets.UTF_8)
+      );
+      return '"' + HexFormat.of().formatHex(hash, 0, DIGEST_BYTES) + '"';
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
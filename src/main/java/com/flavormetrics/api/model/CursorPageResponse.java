@@ -0,0 +1,14 @@
+package com.flavormetrics.api.model;
+
+/** Pagination metadata for keyset pages, which never compute page numbers or totals. */
+public record CursorPageResponse(@Override int pageSize) implements Pagination {
+  @Override
+  public int pageNumber() {
+    return 0;
+  }
+
+  @Override
+  public int totalPages() {
+    return 0;
+  }
+}
@@ -1,3 +1,13 @@
 package com.flavormetrics.api.model;
 
-public record DataWithPagination<T>(T data, Pagination pagination) {}
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record DataWithPagination<T>(
+  T data,
+  Pagination pagination,
+  @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor
+) {
+  public DataWithPagination(T data, Pagination pagination) {
+    this(data, pagination, null);
+  }
+}
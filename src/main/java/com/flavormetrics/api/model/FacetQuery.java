@@ -0,0 +1,23 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.Set;
+
+/**
+ * Faceted recipe filter. Every criterion is optional; set criteria are combined with AND. Within
+ * {@code difficulties} and {@code dietaryPreferences} any listed value matches, every entry of
+ * {@code tags} is required, and recipes carrying any excluded tag or allergy are dropped.
+ */
+public record FacetQuery(
+  Set<DifficultyType> difficulties,
+  Set<DietaryPreferenceType> dietaryPreferences,
+  Set<String> tags,
+  Set<String> excludedTags,
+  Set<String> excludedAllergies,
+  @Min(0) @Max(2000) Integer maxPrepTimeMinutes,
+  @Min(0) @Max(2000) Integer maxCookTimeMinutes,
+  @Min(0) @Max(2000) Integer maxEstimatedCalories
+) {}
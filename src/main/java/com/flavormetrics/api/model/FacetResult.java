@@ -0,0 +1,11 @@
+package com.flavormetrics.api.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One page of matching recipe ids, newest first, with the total match count and, per facet, how
+ * many of the matching recipes carry each value.
+ */
+public record FacetResult(List<UUID> ids, long total, Map<String, Map<String, Long>> facets) {}
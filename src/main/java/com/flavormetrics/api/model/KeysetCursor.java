@@ -0,0 +1,65 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Opaque position used by keyset pagination. Rows are ordered by {@code (createdAt DESC, id
+ * DESC)} and the next page starts strictly after the encoded pair, so the database can seek
+ * through the index instead of counting and skipping rows.
+ */
+public record KeysetCursor(LocalDateTime createdAt, UUID id) {
+  private static final String SEPARATOR = "|";
+  private static final KeysetCursor FIRST = new KeysetCursor(
+    LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+    new UUID(-1L, -1L)
+  );
+
+  public KeysetCursor {
+    Objects.requireNonNull(createdAt, "createdAt cannot be null");
+    Objects.requireNonNull(id, "id cannot be null");
+  }
+
+  /**
+   * @return a cursor positioned before the newest row
+   */
+  public static KeysetCursor first() {
+    return FIRST;
+  }
+
+  /**
+   * @param value cursor previously returned as {@code nextCursor}, may be null or blank
+   * @return the decoded cursor or {@link #first()} when no value is provided
+   * @throws InvalidCursorException if the value cannot be decoded
+   */
+  public static KeysetCursor decode(String value) {
+    if (value == null || value.isBlank()) {
+      return FIRST;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new InvalidCursorException();
+      }
+      return new KeysetCursor(
+        LocalDateTime.parse(raw.substring(0, separator)),
+        UUID.fromString(raw.substring(separator + 1))
+      );
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException(e);
+    }
+  }
+
+  public String encode() {
+    String raw = createdAt + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,66 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a user's ranked recommendations: their stored list and, past its end, the
+ * engine's ranking it was cut from. The next page starts strictly after {@code rank}, so recipes
+ * pruned from the list in between do not shift later pages.
+ */
+public record ListCursor(int rank) {
+  private static final String PREFIX = "list|";
+  private static final ListCursor FIRST = new ListCursor(-1);
+
+  /**
+   * @return a cursor positioned before the best recommendation
+   */
+  public static ListCursor first() {
+    return FIRST;
+  }
+
+  /**
+   * @param value cursor previously returned as {@code nextCursor}, may be null or blank
+   * @return whether the value encodes a list cursor rather than another kind of cursor
+   */
+  public static boolean matches(String value) {
+    if (value == null || value.isBlank()) {
+      return false;
+    }
+    try {
+      return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).startsWith(
+        PREFIX
+      );
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @param value cursor previously returned as {@code nextCursor}, may be null or blank
+   * @return the decoded cursor or {@link #first()} when no value is provided
+   * @throws InvalidCursorException if the value cannot be decoded
+   */
+  public static ListCursor decode(String value) {
+    if (value == null || value.isBlank()) {
+      return FIRST;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+      if (!raw.startsWith(PREFIX)) {
+        throw new InvalidCursorException();
+      }
+      return new ListCursor(Integer.parseInt(raw.substring(PREFIX.length())));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(e);
+    }
+  }
+
+  public String encode() {
+    String raw = PREFIX + rank;
+    return Base64.getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
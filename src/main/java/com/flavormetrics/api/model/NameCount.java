@@ -0,0 +1,4 @@
+package com.flavormetrics.api.model;
+
+/** A display name with how many times, or how heavily, it is used. */
+public record NameCount(String name, long count) {}
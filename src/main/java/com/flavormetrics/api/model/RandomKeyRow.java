@@ -0,0 +1,6 @@
+package com.flavormetrics.api.model;
+
+import java.util.UUID;
+
+/** A recipe id with its random key, the keyset position of the shuffled recipe order. */
+public record RandomKeyRow(UUID id, double randomKey) {}
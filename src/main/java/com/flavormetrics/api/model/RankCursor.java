@@ -0,0 +1,65 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Opaque position in a relevance-ranked search. Hits are ordered by {@code (rank DESC, similarity
+ * DESC, id)} and the next slice starts strictly after the encoded triple. Backends without a
+ * secondary score leave {@code similarity} at zero. Scores are carried as floats so the seek
+ * compares exactly the values the backend ranked by.
+ */
+public record RankCursor(float rank, float similarity, UUID id) {
+  private static final String SEPARATOR = "|";
+  private static final RankCursor FIRST = new RankCursor(
+    Float.POSITIVE_INFINITY,
+    Float.POSITIVE_INFINITY,
+    new UUID(0L, 0L)
+  );
+
+  public RankCursor {
+    Objects.requireNonNull(id, "id cannot be null");
+  }
+
+  /**
+   * @return a cursor positioned before the best hit
+   */
+  public static RankCursor first() {
+    return FIRST;
+  }
+
+  /**
+   * @param value cursor previously returned as {@code nextCursor}, may be null or blank
+   * @return the decoded cursor or {@link #first()} when no value is provided
+   * @throws InvalidCursorException if the value cannot be decoded
+   */
+  public static RankCursor decode(String value) {
+    if (value == null || value.isBlank()) {
+      return FIRST;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, -1);
+      if (parts.length != 3) {
+        throw new InvalidCursorException();
+      }
+      return new RankCursor(
+        Float.parseFloat(parts[0]),
+        Float.parseFloat(parts[1]),
+        UUID.fromString(parts[2])
+      );
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(e);
+    }
+  }
+
+  public String encode() {
+    String raw = rank + SEPARATOR + similarity + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
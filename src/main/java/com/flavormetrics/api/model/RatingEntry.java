@@ -0,0 +1,17 @@
+package com.flavormetrics.api.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** One rating of a keyset page or NDJSON line; {@code id} and {@code createdAt} form the cursor. */
+public record RatingEntry(
+  UUID id,
+  UUID recipeId,
+  String user,
+  int score,
+  LocalDateTime createdAt
+) {
+  public KeysetCursor cursor() {
+    return new KeysetCursor(createdAt, id);
+  }
+}
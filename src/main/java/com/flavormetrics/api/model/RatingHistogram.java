@@ -0,0 +1,21 @@
+package com.flavormetrics.api.model;
+
+import java.util.UUID;
+
+/** A recipe's stored rating count, sum and number of ratings per score. */
+public record RatingHistogram(
+  UUID recipeId,
+  int count,
+  long sum,
+  int count0,
+  int count1,
+  int count2,
+  int count3,
+  int count4,
+  int count5
+) {
+  /** Counts indexed by score. */
+  public int[] counts() {
+    return new int[] { count0, count1, count2, count3, count4, count5 };
+  }
+}
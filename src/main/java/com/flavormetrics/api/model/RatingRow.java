@@ -0,0 +1,6 @@
+package com.flavormetrics.api.model;
+
+import java.util.UUID;
+
+/** A rating reduced to the ids and score, as read in bulk by batch jobs. */
+public record RatingRow(UUID id, UUID userId, UUID recipeId, int score) {}
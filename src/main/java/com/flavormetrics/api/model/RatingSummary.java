@@ -0,0 +1,16 @@
+package com.flavormetrics.api.model;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A recipe's rating distribution keyed by score, with the plain mean and the Bayesian mean, which
+ * pulls recipes with few ratings toward the configured prior.
+ */
+public record RatingSummary(
+  UUID recipeId,
+  int count,
+  double mean,
+  double bayesianMean,
+  Map<Integer, Integer> distribution
+) {}
@@ -0,0 +1,58 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** One line of the NDJSON catalog export. */
+public record RecipeExportRow(
+  UUID id,
+  String name,
+  String user,
+  String instructions,
+  String imageUrl,
+  int prepTimeMinutes,
+  int cookTimeMinutes,
+  DifficultyType difficulty,
+  int estimatedCalories,
+  DietaryPreferenceType dietaryPreference,
+  int ratingCount,
+  float averageRating,
+  LocalDateTime createdAt,
+  LocalDateTime updatedAt
+) {
+  public RecipeExportRow(
+    UUID id,
+    String name,
+    String user,
+    String instructions,
+    String imageUrl,
+    int prepTimeMinutes,
+    int cookTimeMinutes,
+    DifficultyType difficulty,
+    int estimatedCalories,
+    DietaryPreferenceType dietaryPreference,
+    int ratingCount,
+    long ratingSum,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+  ) {
+    this(
+      id,
+      name,
+      user,
+      instructions,
+      imageUrl,
+      prepTimeMinutes,
+      cookTimeMinutes,
+      difficulty,
+      estimatedCalories,
+      dietaryPreference,
+      ratingCount,
+      ratingCount == 0 ? 0f : (float) ratingSum / ratingCount,
+      createdAt,
+      updatedAt
+    );
+  }
+}
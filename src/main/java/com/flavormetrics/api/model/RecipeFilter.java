@@ -1,15 +1,64 @@
 package com.flavormetrics.api.model;
 
+import com.flavormetrics.api.enums.AllergyType;
 import com.flavormetrics.api.enums.DietaryPreferenceType;
 import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.enums.TagType;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.util.Set;
 
+/**
+ * @param excludeAllergens optional; recipes with any of these allergens are dropped
+ * @param requireTags optional; recipes must carry all of these tags
+ */
 public record RecipeFilter(
   @Min(0) @Max(2000) int prepTimeMinutes,
   @Min(0) @Max(2000) int cookTimeMinutes,
   @Min(0) @Max(2000) int estimatedCalories,
   @NotNull DifficultyType difficulty,
-  @NotNull DietaryPreferenceType dietaryPreference
-) {}
+  @NotNull DietaryPreferenceType dietaryPreference,
+  Set<AllergyType> excludeAllergens,
+  Set<TagType> requireTags
+) {
+  public RecipeFilter(
+    int prepTimeMinutes,
+    int cookTimeMinutes,
+    int estimatedCalories,
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference
+  ) {
+    this(
+      prepTimeMinutes,
+      cookTimeMinutes,
+      estimatedCalories,
+      difficulty,
+      dietaryPreference,
+      null,
+      null
+    );
+  }
+
+  /** Matched against {@code allergen_mask} with {@code (mask & ?) = 0}. */
+  public long excludedAllergenMask() {
+    long mask = 0;
+    if (excludeAllergens != null) {
+      for (AllergyType type : excludeAllergens) {
+        mask |= type.bit();
+      }
+    }
+    return mask;
+  }
+
+  /** Matched against {@code tag_mask} with {@code (mask & ?) = ?}. */
+  public long requiredTagMask() {
+    long mask = 0;
+    if (requireTags != null) {
+      for (TagType type : requireTags) {
+        mask |= type.bit();
+      }
+    }
+    return mask;
+  }
+}
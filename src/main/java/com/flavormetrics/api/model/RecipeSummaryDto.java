@@ -0,0 +1,48 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.enums.DifficultyType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RecipeSummaryDto(
+  UUID id,
+  String name,
+  String user,
+  String imageUrl,
+  Integer prepTimeMinutes,
+  Integer cookTimeMinutes,
+  DifficultyType difficulty,
+  Integer estimatedCalories,
+  Float averageRating,
+  LocalDateTime createdAt,
+  LocalDateTime updatedAt
+) {
+  public RecipeSummaryDto(
+    UUID id,
+    String name,
+    String user,
+    String imageUrl,
+    Integer prepTimeMinutes,
+    Integer cookTimeMinutes,
+    DifficultyType difficulty,
+    Integer estimatedCalories,
+    Integer ratingCount,
+    Long ratingSum,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+  ) {
+    this(
+      id,
+      name,
+      user,
+      imageUrl,
+      prepTimeMinutes,
+      cookTimeMinutes,
+      difficulty,
+      estimatedCalories,
+      ratingCount == 0 ? 0f : (float) ratingSum / ratingCount,
+      createdAt,
+      updatedAt
+    );
+  }
+}
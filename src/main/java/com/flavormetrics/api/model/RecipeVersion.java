@@ -0,0 +1,6 @@
+package com.flavormetrics.api.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RecipeVersion(UUID id, LocalDateTime updatedAt, int ratingCount, long ratingSum) {}
@@ -0,0 +1,63 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Opaque position in a shuffled walk over the recipes' random keys. The walk runs from {@code
+ * start} up to 1, then wraps around from 0 back to {@code start}; the next page begins strictly
+ * after {@code (randomKey, id)}. The start travels with the cursor, so a walk stays on one shuffle
+ * even when the default seed changes at midnight.
+ */
+public record ShuffleCursor(double start, double randomKey, UUID id) {
+  private static final String SEPARATOR = "|";
+
+  public ShuffleCursor {
+    Objects.requireNonNull(id, "id cannot be null");
+  }
+
+  /**
+   * @return a cursor positioned before the first recipe of the shuffle starting at {@code start}
+   */
+  public static ShuffleCursor first(double start) {
+    return new ShuffleCursor(start, start, new UUID(0L, 0L));
+  }
+
+  /**
+   * @return whether the walk has passed 1 and continues from 0
+   */
+  public boolean wrapped() {
+    return randomKey < start;
+  }
+
+  /**
+   * @param value cursor previously returned as {@code nextCursor}
+   * @throws InvalidCursorException if the value cannot be decoded
+   */
+  public static ShuffleCursor decode(String value) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, -1);
+      if (parts.length != 3) {
+        throw new InvalidCursorException();
+      }
+      return new ShuffleCursor(
+        Double.parseDouble(parts[0]),
+        Double.parseDouble(parts[1]),
+        UUID.fromString(parts[2])
+      );
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(e);
+    }
+  }
+
+  public String encode() {
+    String raw = start + SEPARATOR + randomKey + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,5 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.enums.SuggestionType;
+
+public record SuggestionDto(String text, SuggestionType type) {}
@@ -0,0 +1,14 @@
+package com.flavormetrics.api.model;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import java.util.UUID;
+
+public record TopRatedRecipe(
+  UUID recipeId,
+  String name,
+  DifficultyType difficulty,
+  DietaryPreferenceType dietaryPreference,
+  int ratingCount,
+  double score
+) {}
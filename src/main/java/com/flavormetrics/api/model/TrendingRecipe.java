@@ -0,0 +1,5 @@
+package com.flavormetrics.api.model;
+
+import java.util.UUID;
+
+public record TrendingRecipe(UUID recipeId, double score) {}
@@ -0,0 +1,10 @@
+package com.flavormetrics.api.model.projection;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+
+/** One row per profile allergy; the allergy name is null for profiles without allergies. */
+public interface ProfileExclusionProjection {
+  DietaryPreferenceType getDietaryPreference();
+
+  String getAllergyName();
+}
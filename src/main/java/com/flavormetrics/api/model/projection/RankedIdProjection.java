@@ -0,0 +1,11 @@
+package com.flavormetrics.api.model.projection;
+
+import java.util.UUID;
+
+public interface RankedIdProjection {
+  UUID getId();
+
+  float getRank();
+
+  float getSimilarity();
+}
@@ -0,0 +1,13 @@
+package com.flavormetrics.api.model.projection;
+
+import java.util.UUID;
+
+public interface RecipeAllergyProjection {
+  UUID getRecipeId();
+
+  UUID getId();
+
+  String getName();
+
+  String getDescription();
+}
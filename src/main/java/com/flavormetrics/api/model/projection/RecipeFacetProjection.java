@@ -0,0 +1,22 @@
+package com.flavormetrics.api.model.projection;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface RecipeFacetProjection {
+  UUID getId();
+
+  DifficultyType getDifficulty();
+
+  DietaryPreferenceType getDietaryPreference();
+
+  Integer getPrepTimeMinutes();
+
+  Integer getCookTimeMinutes();
+
+  Integer getEstimatedCalories();
+
+  LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,16 @@
+package com.flavormetrics.api.model.projection;
+
+import com.flavormetrics.api.enums.UnitType;
+import java.util.UUID;
+
+public interface RecipeIngredientProjection {
+  UUID getRecipeId();
+
+  UUID getId();
+
+  String getName();
+
+  int getQuantity();
+
+  UnitType getUnit();
+}
@@ -0,0 +1,33 @@
+package com.flavormetrics.api.model.projection;
+
+import com.flavormetrics.api.enums.DifficultyType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface RecipeProjection {
+  UUID getId();
+
+  String getName();
+
+  String getUser();
+
+  String getInstructions();
+
+  String getImageUrl();
+
+  Integer getPrepTimeMinutes();
+
+  Integer getCookTimeMinutes();
+
+  DifficultyType getDifficulty();
+
+  Integer getEstimatedCalories();
+
+  int getRatingCount();
+
+  long getRatingSum();
+
+  LocalDateTime getCreatedAt();
+
+  LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package com.flavormetrics.api.model.projection;
+
+import java.util.UUID;
+
+public interface RecipeTagProjection {
+  UUID getRecipeId();
+
+  UUID getId();
+
+  String getName();
+}
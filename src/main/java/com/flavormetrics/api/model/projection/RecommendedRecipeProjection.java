@@ -0,0 +1,10 @@
+package com.flavormetrics.api.model.projection;
+
+import java.util.UUID;
+
+public interface RecommendedRecipeProjection {
+  UUID getRecipeId();
+
+  /** Length of the whole stored list, not just of the page. */
+  long getTotal();
+}
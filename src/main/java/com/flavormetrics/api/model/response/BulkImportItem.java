@@ -0,0 +1,14 @@
+package com.flavormetrics.api.model.response;
+
+import java.util.UUID;
+
+/** Outcome of one element of a bulk import; exactly one of {@code id} and {@code error} is set. */
+public record BulkImportItem(int index, UUID id, String error) {
+  public static BulkImportItem imported(int index, UUID id) {
+    return new BulkImportItem(index, id, null);
+  }
+
+  public static BulkImportItem failed(int index, String error) {
+    return new BulkImportItem(index, null, error);
+  }
+}
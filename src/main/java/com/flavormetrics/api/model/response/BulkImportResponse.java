@@ -0,0 +1,5 @@
+package com.flavormetrics.api.model.response;
+
+import java.util.List;
+
+public record BulkImportResponse(int imported, int failed, List<BulkImportItem> items) {}
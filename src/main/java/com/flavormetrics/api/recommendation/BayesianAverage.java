@@ -0,0 +1,22 @@
+package com.flavormetrics.api.recommendation;
+
+/**
+ * Bayesian average of ratings: the mean of a recipe's ratings plus {@code priorWeight} virtual
+ * ratings of {@code priorMean}. A recipe with a handful of ratings stays close to the prior, while
+ * one with many ratings converges on its own mean. A recipe without ratings scores 0, like the
+ * stored {@code bayesian_score}, so it ranks below every rated one.
+ */
+public record BayesianAverage(double priorMean, double priorWeight) {
+  public BayesianAverage {
+    if (priorWeight < 0) {
+      throw new IllegalArgumentException("Prior weight must not be negative");
+    }
+  }
+
+  public double of(long count, long sum) {
+    if (count == 0) {
+      return 0;
+    }
+    return (priorWeight * priorMean + sum) / (priorWeight + count);
+  }
+}
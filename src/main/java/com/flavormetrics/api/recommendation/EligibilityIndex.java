@@ -0,0 +1,254 @@
+package com.flavormetrics.api.recommendation;
+
+import com.flavormetrics.api.enums.AllergyType;
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Which recipes a profile may be recommended: none of the profile's allergens and a dietary
+ * preference the profile accepts.
+ *
+ * <p>Each recipe keeps its allergens as an {@link AllergyType#maskOf allergen mask} and its
+ * dietary preference as a single bit, so one recipe is checked with two word operations. For whole
+ * candidate sets there is also one bitmap of recipes per allergen and per dietary preference,
+ * combined word by word. Allergies outside {@link AllergyType} share the {@link AllergyType#OTHER}
+ * bit and are compared by name only when both sides have it.
+ */
+public class EligibilityIndex {
+
+  private static final Map<DietaryPreferenceType, Integer> ACCEPTED = acceptedDiets();
+
+  /** What a profile rules out, as bitsets over {@link AllergyType} and dietary preferences. */
+  public record Exclusions(long allergenMask, int acceptedDiets, Set<String> otherAllergies) {
+    public static final Exclusions NONE = of(DietaryPreferenceType.none, Set.of());
+
+    public Exclusions {
+      otherAllergies = Set.copyOf(otherAllergies);
+    }
+
+    public static Exclusions of(DietaryPreferenceType preference, Collection<String> allergies) {
+      return new Exclusions(
+        AllergyType.maskOf(allergies),
+        ACCEPTED.get(preference == null ? DietaryPreferenceType.none : preference),
+        otherNames(allergies)
+      );
+    }
+  }
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final RoaringBitmap live = new RoaringBitmap();
+  private final Map<UUID, Integer> docIds = new HashMap<>();
+  private final List<UUID> docKeys = new ArrayList<>();
+  private long[] allergenMasks = new long[1024];
+  private int[] dietBits = new int[1024];
+  private final Map<Integer, Set<String>> otherAllergies = new HashMap<>();
+  private final RoaringBitmap[] byAllergen = new RoaringBitmap[Long.SIZE];
+  private final RoaringBitmap[] byDiet = new RoaringBitmap[DietaryPreferenceType.values().length];
+
+  public EligibilityIndex() {
+    for (int bit = 0; bit < byAllergen.length; bit++) {
+      byAllergen[bit] = new RoaringBitmap();
+    }
+    for (int diet = 0; diet < byDiet.length; diet++) {
+      byDiet[diet] = new RoaringBitmap();
+    }
+  }
+
+  public void put(UUID key, DietaryPreferenceType dietaryPreference, Collection<String> allergies) {
+    lock.writeLock().lock();
+    try {
+      Integer doc = docIds.get(key);
+      if (doc == null) {
+        doc = docKeys.size();
+        docIds.put(key, doc);
+        docKeys.add(key);
+        if (doc == allergenMasks.length) {
+          allergenMasks = Arrays.copyOf(allergenMasks, doc * 2);
+          dietBits = Arrays.copyOf(dietBits, doc * 2);
+        }
+      } else {
+        unindex(doc);
+      }
+      DietaryPreferenceType diet = dietaryPreference == null
+        ? DietaryPreferenceType.none
+        : dietaryPreference;
+      allergenMasks[doc] = AllergyType.maskOf(allergies);
+      dietBits[doc] = 1 << diet.ordinal();
+      Set<String> others = otherNames(allergies);
+      if (!others.isEmpty()) {
+        otherAllergies.put(doc, others);
+      }
+      index(doc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(UUID key) {
+    lock.writeLock().lock();
+    try {
+      Integer doc = docIds.remove(key);
+      if (doc != null) {
+        unindex(doc);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return live.getCardinality();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Keeps the eligible recipes of {@code keys} in their order; unknown recipes are dropped. */
+  public List<UUID> filter(List<UUID> keys, Exclusions exclusions) {
+    lock.readLock().lock();
+    try {
+      List<UUID> eligible = new ArrayList<>(keys.size());
+      for (UUID key : keys) {
+        Integer doc = docIds.get(key);
+        if (doc != null && isEligible(doc, exclusions)) {
+          eligible.add(key);
+        }
+      }
+      return eligible;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public long count(Exclusions exclusions) {
+    lock.readLock().lock();
+    try {
+      return eligible(exclusions).getLongCardinality();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private boolean isEligible(int doc, Exclusions exclusions) {
+    if ((dietBits[doc] & exclusions.acceptedDiets()) == 0) {
+      return false;
+    }
+    long shared = allergenMasks[doc] & exclusions.allergenMask();
+    if (shared == 0) {
+      return true;
+    }
+    if (shared != AllergyType.OTHER) {
+      return false;
+    }
+    for (String name : otherAllergies.get(doc)) {
+      if (exclusions.otherAllergies().contains(name)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private RoaringBitmap eligible(Exclusions exclusions) {
+    List<RoaringBitmap> diets = new ArrayList<>();
+    for (int diet = 0; diet < byDiet.length; diet++) {
+      if ((exclusions.acceptedDiets() & (1 << diet)) != 0) {
+        diets.add(byDiet[diet]);
+      }
+    }
+    RoaringBitmap matched = diets.isEmpty()
+      ? new RoaringBitmap()
+      : FastAggregation.or(diets.iterator());
+    long mask = exclusions.allergenMask() & ~AllergyType.OTHER;
+    List<RoaringBitmap> allergens = new ArrayList<>();
+    for (long bits = mask; bits != 0; bits &= bits - 1) {
+      allergens.add(byAllergen[Long.numberOfTrailingZeros(bits)]);
+    }
+    if (!allergens.isEmpty()) {
+      matched.andNot(FastAggregation.or(allergens.iterator()));
+    }
+    if ((exclusions.allergenMask() & AllergyType.OTHER) != 0) {
+      RoaringBitmap others = RoaringBitmap.and(
+        matched,
+        byAllergen[Long.numberOfTrailingZeros(AllergyType.OTHER)]
+      );
+      others.forEach((int doc) -> {
+        if (!isEligible(doc, exclusions)) {
+          matched.remove(doc);
+        }
+      });
+    }
+    return matched;
+  }
+
+  private void index(int doc) {
+    for (long bits = allergenMasks[doc]; bits != 0; bits &= bits - 1) {
+      byAllergen[Long.numberOfTrailingZeros(bits)].add(doc);
+    }
+    byDiet[Integer.numberOfTrailingZeros(dietBits[doc])].add(doc);
+    live.add(doc);
+  }
+
+  private void unindex(int doc) {
+    for (long bits = allergenMasks[doc]; bits != 0; bits &= bits - 1) {
+      byAllergen[Long.numberOfTrailingZeros(bits)].remove(doc);
+    }
+    byDiet[Integer.numberOfTrailingZeros(dietBits[doc])].remove(doc);
+    otherAllergies.remove(doc);
+    live.remove(doc);
+  }
+
+  private static Set<String> otherNames(Collection<String> allergies) {
+    return allergies
+      .stream()
+      .filter(name -> AllergyType.bitOf(name) == AllergyType.OTHER)
+      .map(name -> name.trim().toLowerCase(Locale.ROOT))
+      .collect(Collectors.toSet());
+  }
+
+  /**
+   * Recipe preferences each profile preference accepts: a recipe suits a profile when it is at
+   * least as strict, so vegan recipes suit vegetarians and anything suits {@code none}.
+   */
+  private static Map<DietaryPreferenceType, Integer> acceptedDiets() {
+    Map<DietaryPreferenceType, Integer> accepted = new EnumMap<>(DietaryPreferenceType.class);
+    for (DietaryPreferenceType type : DietaryPreferenceType.values()) {
+      accepted.put(type, 1 << type.ordinal());
+    }
+    accepted.put(DietaryPreferenceType.none, (1 << DietaryPreferenceType.values().length) - 1);
+    accept(accepted, DietaryPreferenceType.vegetarian, DietaryPreferenceType.vegan);
+    accept(
+      accepted,
+      DietaryPreferenceType.fish_inclusive,
+      DietaryPreferenceType.vegetarian,
+      DietaryPreferenceType.vegan
+    );
+    accept(accepted, DietaryPreferenceType.low_carb, DietaryPreferenceType.keto);
+    return accepted;
+  }
+
+  private static void accept(
+    Map<DietaryPreferenceType, Integer> accepted,
+    DietaryPreferenceType preference,
+    DietaryPreferenceType... stricter
+  ) {
+    for (DietaryPreferenceType type : stricter) {
+      accepted.merge(preference, 1 << type.ordinal(), (a, b) -> a | b);
+    }
+  }
+}
@@ -0,0 +1,302 @@
+package com.flavormetrics.api.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Item-item collaborative filtering model: for every rated recipe, its {@code k} most similar
+ * recipes by adjusted cosine similarity over user-mean-centered scores.
+ *
+ * <p>Ratings, the intermediate sparse matrices and the neighbor lists are all primitive arrays;
+ * the only object map translates recipe ids to array positions.
+ */
+public final class ItemSimilarityModel {
+
+  private final UUID[] recipeIds;
+  private final Map<UUID, Integer> positions;
+  private final int k;
+  private final int[] neighbors;
+  private final float[] similarities;
+  private final int[] neighborCounts;
+
+  private ItemSimilarityModel(
+    UUID[] recipeIds,
+    Map<UUID, Integer> positions,
+    int k,
+    int[] neighbors,
+    float[] similarities,
+    int[] neighborCounts
+  ) {
+    this.recipeIds = recipeIds;
+    this.positions = positions;
+    this.k = k;
+    this.neighbors = neighbors;
+    this.similarities = similarities;
+    this.neighborCounts = neighborCounts;
+  }
+
+  public static ItemSimilarityModel empty() {
+    return new ItemSimilarityModel(new UUID[0], Map.of(), 0, new int[0], new float[0], new int[0]);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int size() {
+    return recipeIds.length;
+  }
+
+  /** Returns up to {@code k} recipes most similar to {@code recipeId}, most similar first. */
+  public List<UUID> similarTo(UUID recipeId) {
+    Integer item = positions.get(recipeId);
+    if (item == null) {
+      return List.of();
+    }
+    List<UUID> similar = new ArrayList<>(neighborCounts[item]);
+    for (int n = 0; n < neighborCounts[item]; n++) {
+      similar.add(recipeIds[neighbors[item * k + n]]);
+    }
+    return similar;
+  }
+
+  /**
+   * Predicts scores for the neighbors of the user's rated recipes as the user's mean plus the
+   * similarity-weighted average of their centered scores, and returns the best {@code limit}
+   * recipes the user has not rated yet.
+   */
+  public List<UUID> recommend(List<UUID> ratedRecipeIds, int[] scores, int limit) {
+    int rated = ratedRecipeIds.size();
+    if (rated == 0 || k == 0) {
+      return List.of();
+    }
+    float mean = 0;
+    for (int i = 0; i < rated; i++) {
+      mean += scores[i];
+    }
+    mean /= rated;
+
+    // (item << 32 | index into scores), sorted so rated items can be binary searched
+    long[] ratedItems = new long[rated];
+    int known = 0;
+    for (int i = 0; i < rated; i++) {
+      Integer item = positions.get(ratedRecipeIds.get(i));
+      if (item != null) {
+        ratedItems[known++] = ((long) item << 32) | i;
+      }
+    }
+    Arrays.sort(ratedItems, 0, known);
+
+    // (candidate << 32 | contribution slot), sorted so each candidate's contributions are adjacent
+    long[] keys = new long[known * k];
+    float[] numerators = new float[known * k];
+    float[] weights = new float[known * k];
+    int slots = 0;
+    for (int r = 0; r < known; r++) {
+      int item = (int) (ratedItems[r] >>> 32);
+      float centered = scores[(int) ratedItems[r]] - mean;
+      for (int n = 0; n < neighborCounts[item]; n++) {
+        int candidate = neighbors[item * k + n];
+        if (isRated(ratedItems, known, candidate)) {
+          continue;
+        }
+        float similarity = similarities[item * k + n];
+        keys[slots] = ((long) candidate << 32) | slots;
+        numerators[slots] = similarity * centered;
+        weights[slots] = similarity;
+        slots++;
+      }
+    }
+    Arrays.sort(keys, 0, slots);
+
+    int[] candidates = new int[slots];
+    float[] predictions = new float[slots];
+    int distinct = 0;
+    for (int s = 0; s < slots; ) {
+      int candidate = (int) (keys[s] >>> 32);
+      float numerator = 0;
+      float weight = 0;
+      while (s < slots && (int) (keys[s] >>> 32) == candidate) {
+        int slot = (int) keys[s];
+        numerator += numerators[slot];
+        weight += weights[slot];
+        s++;
+      }
+      candidates[distinct] = candidate;
+      predictions[distinct] = mean + numerator / weight;
+      distinct++;
+    }
+
+    int[] order = TopK.select(predictions, distinct, limit);
+    List<UUID> result = new ArrayList<>(order.length);
+    for (int index : order) {
+      result.add(recipeIds[candidates[index]]);
+    }
+    return result;
+  }
+
+  private static boolean isRated(long[] ratedItems, int known, int item) {
+    int low = 0;
+    int high = known - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midItem = (int) (ratedItems[mid] >>> 32);
+      if (midItem < item) {
+        low = mid + 1;
+      } else if (midItem > item) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Collects {@code (user, recipe, score)} triples and computes the model from them. */
+  public static final class Builder {
+
+    private final Map<UUID, Integer> users = new HashMap<>();
+    private final Map<UUID, Integer> items = new HashMap<>();
+    private final List<UUID> itemIds = new ArrayList<>();
+    private int[] ratingUsers = new int[1024];
+    private int[] ratingItems = new int[1024];
+    private float[] ratingScores = new float[1024];
+    private int ratings;
+
+    private Builder() {}
+
+    public Builder add(UUID userId, UUID recipeId, int score) {
+      if (ratings == ratingUsers.length) {
+        int capacity = ratings * 2;
+        ratingUsers = Arrays.copyOf(ratingUsers, capacity);
+        ratingItems = Arrays.copyOf(ratingItems, capacity);
+        ratingScores = Arrays.copyOf(ratingScores, capacity);
+      }
+      ratingUsers[ratings] = users.computeIfAbsent(userId, id -> users.size());
+      ratingItems[ratings] = items.computeIfAbsent(recipeId, id -> {
+        itemIds.add(id);
+        return itemIds.size() - 1;
+      });
+      ratingScores[ratings] = score;
+      ratings++;
+      return this;
+    }
+
+    /**
+     * @param k neighbors kept per recipe
+     * @param shrinkage damps similarities backed by few co-raters: {@code sim * n / (n +
+     *     shrinkage)}
+     * @param maxUserRatings users with more ratings are skipped when pairing recipes, bounding
+     *     the quadratic cost per user
+     */
+    public ItemSimilarityModel build(int k, int shrinkage, int maxUserRatings) {
+      int userCount = users.size();
+      int itemCount = itemIds.size();
+
+      float[] means = new float[userCount];
+      int[] userDegrees = new int[userCount];
+      for (int r = 0; r < ratings; r++) {
+        means[ratingUsers[r]] += ratingScores[r];
+        userDegrees[ratingUsers[r]]++;
+      }
+      for (int u = 0; u < userCount; u++) {
+        means[u] /= userDegrees[u];
+      }
+      float[] centered = new float[ratings];
+      for (int r = 0; r < ratings; r++) {
+        centered[r] = ratingScores[r] - means[ratingUsers[r]];
+      }
+
+      SparseRows byItem = SparseRows.of(itemCount, ratingItems, ratingUsers, centered, ratings);
+      SparseRows byUser = SparseRows.of(userCount, ratingUsers, ratingItems, centered, ratings);
+
+      float[] norms = new float[itemCount];
+      for (int i = 0; i < itemCount; i++) {
+        float sum = 0;
+        for (int e = byItem.offsets[i]; e < byItem.offsets[i + 1]; e++) {
+          sum += byItem.values[e] * byItem.values[e];
+        }
+        norms[i] = (float) Math.sqrt(sum);
+      }
+
+      int[] neighbors = new int[itemCount * k];
+      float[] similarities = new float[itemCount * k];
+      int[] neighborCounts = new int[itemCount];
+      float[] dots = new float[itemCount];
+      int[] coRaters = new int[itemCount];
+      int[] touched = new int[itemCount];
+      for (int i = 0; i < itemCount; i++) {
+        int touchedCount = 0;
+        for (int e = byItem.offsets[i]; e < byItem.offsets[i + 1]; e++) {
+          int u = byItem.columns[e];
+          if (byUser.offsets[u + 1] - byUser.offsets[u] > maxUserRatings) {
+            continue;
+          }
+          float value = byItem.values[e];
+          for (int f = byUser.offsets[u]; f < byUser.offsets[u + 1]; f++) {
+            int j = byUser.columns[f];
+            if (j == i) {
+              continue;
+            }
+            if (coRaters[j] == 0) {
+              touched[touchedCount++] = j;
+            }
+            dots[j] += value * byUser.values[f];
+            coRaters[j]++;
+          }
+        }
+        TopK heap = new TopK(k, neighbors, similarities, i * k);
+        for (int t = 0; t < touchedCount; t++) {
+          int j = touched[t];
+          float denominator = norms[i] * norms[j];
+          if (denominator > 0) {
+            float similarity =
+              (dots[j] / denominator) * coRaters[j] / (float) (coRaters[j] + shrinkage);
+            if (similarity > 0) {
+              heap.offer(j, similarity);
+            }
+          }
+          dots[j] = 0;
+          coRaters[j] = 0;
+        }
+        neighborCounts[i] = heap.sortDescending();
+      }
+
+      Map<UUID, Integer> positions = new HashMap<>(items);
+      return new ItemSimilarityModel(
+        itemIds.toArray(UUID[]::new),
+        positions,
+        k,
+        neighbors,
+        similarities,
+        neighborCounts
+      );
+    }
+  }
+
+  /** Compressed sparse rows: row {@code r} spans {@code [offsets[r], offsets[r + 1])}. */
+  private record SparseRows(int[] offsets, int[] columns, float[] values) {
+    static SparseRows of(int rowCount, int[] rows, int[] columns, float[] values, int size) {
+      int[] offsets = new int[rowCount + 1];
+      for (int e = 0; e < size; e++) {
+        offsets[rows[e] + 1]++;
+      }
+      for (int r = 0; r < rowCount; r++) {
+        offsets[r + 1] += offsets[r];
+      }
+      int[] cursor = Arrays.copyOf(offsets, rowCount);
+      int[] sortedColumns = new int[size];
+      float[] sortedValues = new float[size];
+      for (int e = 0; e < size; e++) {
+        int at = cursor[rows[e]]++;
+        sortedColumns[at] = columns[e];
+        sortedValues[at] = values[e];
+      }
+      return new SparseRows(offsets, sortedColumns, sortedValues);
+    }
+  }
+}
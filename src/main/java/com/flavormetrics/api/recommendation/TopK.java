@@ -0,0 +1,96 @@
+package com.flavormetrics.api.recommendation;
+
+/**
+ * Bounded min-heap of {@code (id, score)} pairs that keeps the {@code k} highest scores, writing
+ * straight into a slice of caller-owned arrays so that no per-entry objects are allocated.
+ */
+final class TopK {
+
+  private final int capacity;
+  private final int[] ids;
+  private final float[] scores;
+  private final int offset;
+  private int size;
+
+  TopK(int capacity, int[] ids, float[] scores, int offset) {
+    this.capacity = capacity;
+    this.ids = ids;
+    this.scores = scores;
+    this.offset = offset;
+  }
+
+  /** Returns the indexes of the {@code limit} highest of {@code values[0, count)}, best first. */
+  static int[] select(float[] values, int count, int limit) {
+    int capacity = Math.min(count, limit);
+    int[] indexes = new int[capacity];
+    TopK heap = new TopK(capacity, indexes, new float[capacity], 0);
+    for (int i = 0; i < count; i++) {
+      heap.offer(i, values[i]);
+    }
+    heap.sortDescending();
+    return indexes;
+  }
+
+  void offer(int id, float score) {
+    if (capacity == 0) {
+      return;
+    }
+    if (size < capacity) {
+      ids[offset + size] = id;
+      scores[offset + size] = score;
+      siftUp(size++);
+    } else if (score > scores[offset]) {
+      ids[offset] = id;
+      scores[offset] = score;
+      siftDown(0, size);
+    }
+  }
+
+  /** Sorts the slice by descending score in place and returns the number of entries. */
+  int sortDescending() {
+    for (int end = size - 1; end > 0; end--) {
+      swap(0, end);
+      siftDown(0, end);
+    }
+    return size;
+  }
+
+  private void siftUp(int i) {
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (scores[offset + parent] <= scores[offset + i]) {
+        return;
+      }
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i, int end) {
+    while (true) {
+      int smallest = i;
+      int left = 2 * i + 1;
+      int right = left + 1;
+      if (left < end && scores[offset + left] < scores[offset + smallest]) {
+        smallest = left;
+      }
+      if (right < end && scores[offset + right] < scores[offset + smallest]) {
+        smallest = right;
+      }
+      if (smallest == i) {
+        return;
+      }
+      swap(i, smallest);
+      i = smallest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    int id = ids[offset + a];
+    ids[offset + a] = ids[offset + b];
+    ids[offset + b] = id;
+    float score = scores[offset + a];
+    scores[offset + a] = scores[offset + b];
+    scores[offset + b] = score;
+  }
+}
@@ -0,0 +1,144 @@
+package com.flavormetrics.api.recommendation;
+
+import com.flavormetrics.api.model.TrendingRecipe;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recipes ranked by an exponentially decayed activity score, kept in a concurrent skip list so the
+ * top entries are read without sorting.
+ *
+ * <p>Every score halves once per half-life. Instead of decaying all entries as time passes, a hit
+ * at time {@code t} adds {@code weight * 2^((t - base) / halfLife)}: all scores keep decaying at
+ * the same rate, so their order never changes and only the hit's own entry is touched. Scores are
+ * scaled back to the current time when read. {@link #rebase(long, double)} moves the base forward
+ * before the growth factor can overflow and drops entries that decayed to nothing.
+ */
+public final class TrendingLeaderboard {
+
+  private static final Comparator<Entry> BY_SCORE_DESC = Comparator.comparingDouble(Entry::score)
+    .reversed()
+    .thenComparing(Entry::recipeId);
+
+  private final double halfLifeMillis;
+  private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(BY_SCORE_DESC);
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private volatile long baseMillis;
+
+  public TrendingLeaderboard(Duration halfLife, long nowMillis) {
+    if (halfLife.isZero() || halfLife.isNegative()) {
+      throw new IllegalArgumentException("Half-life must be positive");
+    }
+    this.halfLifeMillis = halfLife.toMillis();
+    this.baseMillis = nowMillis;
+  }
+
+  /** Adds {@code weight} to the recipe's score as of {@code atMillis}. */
+  public void record(UUID recipeId, double weight, long atMillis) {
+    lock.readLock().lock();
+    try {
+      double scaled = weight * growth(atMillis);
+      entries.compute(recipeId, (id, old) -> {
+        Entry next = new Entry(id, old == null ? scaled : old.score() + scaled);
+        if (old != null) {
+          ranking.remove(old);
+        }
+        ranking.add(next);
+        return next;
+      });
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void remove(UUID recipeId) {
+    lock.readLock().lock();
+    try {
+      entries.computeIfPresent(recipeId, (id, old) -> {
+        ranking.remove(old);
+        return null;
+      });
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Returns the {@code limit} highest scores as of {@code atMillis}, best first. */
+  public List<TrendingRecipe> top(int limit, long atMillis) {
+    lock.readLock().lock();
+    try {
+      double decay = 1 / growth(atMillis);
+      List<TrendingRecipe> top = new ArrayList<>(Math.min(limit, entries.size()));
+      for (Entry entry : ranking) {
+        if (top.size() == limit) {
+          break;
+        }
+        top.add(new TrendingRecipe(entry.recipeId(), entry.score() * decay));
+      }
+      return top;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Returns every score as of {@code atMillis}, in no particular order. */
+  public List<TrendingRecipe> scores(long atMillis) {
+    lock.readLock().lock();
+    try {
+      double decay = 1 / growth(atMillis);
+      List<TrendingRecipe> scores = new ArrayList<>(entries.size());
+      for (Entry entry : entries.values()) {
+        scores.add(new TrendingRecipe(entry.recipeId(), entry.score() * decay));
+      }
+      return scores;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Rescales every score to {@code atMillis}, makes it the new base and drops the entries whose
+   * score fell below {@code minScore}. Blocks writers while it runs.
+   */
+  public void rebase(long atMillis, double minScore) {
+    lock.writeLock().lock();
+    try {
+      double decay = 1 / growth(atMillis);
+      List<Entry> kept = new ArrayList<>(entries.size());
+      for (Entry entry : entries.values()) {
+        double score = entry.score() * decay;
+        if (score >= minScore) {
+          kept.add(new Entry(entry.recipeId(), score));
+        }
+      }
+      entries.clear();
+      ranking.clear();
+      for (Entry entry : kept) {
+        entries.put(entry.recipeId(), entry);
+        ranking.add(entry);
+      }
+      baseMillis = atMillis;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private double growth(long atMillis) {
+    return Math.pow(2, (atMillis - baseMillis) / halfLifeMillis);
+  }
+
+  private record Entry(UUID recipeId, double score) {}
+}
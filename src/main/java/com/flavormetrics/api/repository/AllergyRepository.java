@@ -1,7 +1,9 @@
 package com.flavormetrics.api.repository;
 
 import com.flavormetrics.api.entity.Allergy;
+import com.flavormetrics.api.model.NameCount;
 import com.flavormetrics.api.model.projection.AllergyProjection;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,4 +21,30 @@ public interface AllergyRepository extends JpaRepository<Allergy, UUID> {
     """
   )
   List<AllergyProjection> getIdsAndNames(List<String> names);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(a.name), COUNT(r))
+    FROM Allergy a
+    LEFT JOIN a.recipes r
+    GROUP BY lower(trim(a.name))
+    """
+  )
+  List<NameCount> findNameCounts();
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(a.name), COUNT(r))
+    FROM Allergy a
+    LEFT JOIN a.recipes r
+    WHERE lower(trim(a.name)) IN (
+        SELECT lower(trim(x.name))
+        FROM Recipe rx
+        JOIN rx.allergies x
+        WHERE rx.id IN ?1
+    )
+    GROUP BY lower(trim(a.name))
+    """
+  )
+  List<NameCount> findNameCountsByRecipeIds(Collection<UUID> recipeIds);
 }
@@ -0,0 +1,257 @@
+package com.flavormetrics.api.repository;
+
+import com.flavormetrics.api.enums.UnitType;
+import com.flavormetrics.api.model.AllergyDto;
+import com.flavormetrics.api.model.IngredientDto;
+import com.flavormetrics.api.model.TagDto;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Get-or-create for the tag, allergy and ingredient dictionaries.
+ *
+ * <p>On PostgreSQL each call is one statement: the names are passed as arrays, inserted with
+ * {@code ON CONFLICT (name) DO NOTHING RETURNING} and unioned with the rows that already existed.
+ * Names are inserted in sorted order so concurrent writers take the unique-index locks in the same
+ * order and cannot deadlock. A row committed by another writer after the statement's snapshot is
+ * neither inserted nor seen, so any name still missing is read back with a second query. Other
+ * databases fall back to a lookup followed by a batch insert.
+ */
+@Repository
+public class DictionaryRepository {
+
+  private static final String UPSERT = """
+    WITH input (%2$s) AS (
+        SELECT * FROM unnest(%3$s)
+    ),
+    inserted AS (
+        INSERT INTO %1$s (id, %2$s)
+        SELECT gen_random_uuid(), %2$s FROM input ORDER BY name
+        ON CONFLICT (name) DO NOTHING
+        RETURNING id, %2$s
+    )
+    SELECT id, %2$s FROM inserted
+    UNION ALL
+    SELECT d.id, %4$s FROM %1$s d JOIN input ON input.name = d.name
+    """;
+  private static final String SELECT_ALL = "SELECT id, %2$s FROM %1$s";
+  private static final String SELECT = SELECT_ALL + " WHERE name IN (:names)";
+  private static final String INSERT = "INSERT INTO %1$s (id, %2$s) VALUES (?, %3$s)";
+
+  private static final Dictionary<TagDto> TAGS = new Dictionary<>(
+    "tags",
+    List.of("name"),
+    List.of("text"),
+    tag -> new Object[] { tag.name() },
+    (rs, i) -> new TagDto(rs.getObject("id", UUID.class), rs.getString("name")),
+    (id, tag) -> new TagDto(id, tag.name())
+  );
+  private static final Dictionary<AllergyDto> ALLERGIES = new Dictionary<>(
+    "allergies",
+    List.of("name", "description"),
+    List.of("text", "text"),
+    allergy -> new Object[] { allergy.name(), allergy.description() },
+    (rs, i) ->
+      new AllergyDto(
+        rs.getObject("id", UUID.class),
+        rs.getString("name"),
+        rs.getString("description")
+      ),
+    (id, allergy) -> new AllergyDto(id, allergy.name(), allergy.description())
+  );
+  private static final Dictionary<IngredientDto> INGREDIENTS = new Dictionary<>(
+    "ingredients",
+    List.of("name", "quantity", "unit"),
+    List.of("text", "int4", "text"),
+    ingredient ->
+      new Object[] { ingredient.name(), ingredient.quantity(), ingredient.unit().name() },
+    (rs, i) ->
+      new IngredientDto(
+        rs.getObject("id", UUID.class),
+        rs.getString("name"),
+        rs.getInt("quantity"),
+        UnitType.valueOf(rs.getString("unit"))
+      ),
+    (id, ingredient) ->
+      new IngredientDto(id, ingredient.name(), ingredient.quantity(), ingredient.unit())
+  );
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private volatile Boolean postgres;
+
+  public DictionaryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Returns the stored tag of every name, creating the missing ones. */
+  public List<TagDto> upsertTags(Collection<TagDto> tags) {
+    return upsert(TAGS, tags);
+  }
+
+  /** Returns the stored allergy of every name, creating the missing ones. */
+  public List<AllergyDto> upsertAllergies(Collection<AllergyDto> allergies) {
+    return upsert(ALLERGIES, allergies);
+  }
+
+  /**
+   * Returns the stored ingredient of every name, creating the missing ones. Existing ingredients
+   * keep their stored quantity and unit.
+   */
+  public List<IngredientDto> upsertIngredients(Collection<IngredientDto> ingredients) {
+    return upsert(INGREDIENTS, ingredients);
+  }
+
+  public List<TagDto> findAllTags() {
+    return findAll(TAGS);
+  }
+
+  public List<AllergyDto> findAllAllergies() {
+    return findAll(ALLERGIES);
+  }
+
+  public List<IngredientDto> findAllIngredients() {
+    return findAll(INGREDIENTS);
+  }
+
+  private <T> List<T> findAll(Dictionary<T> dictionary) {
+    return jdbcTemplate.getJdbcTemplate().query(dictionary.selectAllSql(), dictionary.mapper());
+  }
+
+  private <T> List<T> upsert(Dictionary<T> dictionary, Collection<T> rows) {
+    SortedMap<String, T> byName = new TreeMap<>();
+    for (T row : rows) {
+      byName.putIfAbsent(dictionary.nameOf(row), row);
+    }
+    if (byName.isEmpty()) {
+      return List.of();
+    }
+    List<T> stored = isPostgres()
+      ? upsertInOneStatement(dictionary, byName.values())
+      : new ArrayList<>();
+    Set<String> found = new HashSet<>();
+    stored.forEach(row -> found.add(dictionary.nameOf(row)));
+    List<String> missing = byName.keySet().stream().filter(n -> !found.contains(n)).toList();
+    if (missing.isEmpty()) {
+      return stored;
+    }
+    List<T> existing = jdbcTemplate.query(
+      dictionary.selectSql(),
+      Map.of("names", missing),
+      dictionary.mapper()
+    );
+    stored.addAll(existing);
+    existing.forEach(row -> found.add(dictionary.nameOf(row)));
+    List<Object[]> inserts = new ArrayList<>();
+    for (String name : missing) {
+      if (!found.contains(name)) {
+        T row = byName.get(name);
+        Object[] values = dictionary.values().apply(row);
+        Object[] insert = new Object[values.length + 1];
+        insert[0] = UUID.randomUUID();
+        System.arraycopy(values, 0, insert, 1, values.length);
+        inserts.add(insert);
+      }
+    }
+    if (!inserts.isEmpty()) {
+      jdbcTemplate.getJdbcTemplate().batchUpdate(dictionary.insertSql(), inserts);
+      for (Object[] insert : inserts) {
+        stored.add(dictionary.withId().apply((UUID) insert[0], byName.get((String) insert[1])));
+      }
+    }
+    return stored;
+  }
+
+  private <T> List<T> upsertInOneStatement(Dictionary<T> dictionary, Collection<T> rows) {
+    return jdbcTemplate
+      .getJdbcTemplate()
+      .query(
+        con -> {
+          PreparedStatement statement = con.prepareStatement(dictionary.upsertSql());
+          List<String> types = dictionary.sqlTypes();
+          for (int column = 0; column < types.size(); column++) {
+            Array array = arrayOf(con, types.get(column), rows, dictionary, column);
+            statement.setArray(column + 1, array);
+          }
+          return statement;
+        },
+        dictionary.mapper()
+      );
+  }
+
+  private static <T> Array arrayOf(
+    Connection con,
+    String type,
+    Collection<T> rows,
+    Dictionary<T> dictionary,
+    int column
+  ) throws SQLException {
+    Object[] values = new Object[rows.size()];
+    int i = 0;
+    for (T row : rows) {
+      values[i++] = dictionary.values().apply(row)[column];
+    }
+    return con.createArrayOf(type, values);
+  }
+
+  private boolean isPostgres() {
+    Boolean postgres = this.postgres;
+    if (postgres == null) {
+      postgres = Boolean.TRUE.equals(
+        jdbcTemplate
+          .getJdbcTemplate()
+          .execute(
+            (ConnectionCallback<Boolean>) con ->
+              "PostgreSQL".equals(con.getMetaData().getDatabaseProductName())
+          )
+      );
+      this.postgres = postgres;
+    }
+    return postgres;
+  }
+
+  private record Dictionary<T>(
+    String table,
+    List<String> columns,
+    List<String> sqlTypes,
+    Function<T, Object[]> values,
+    RowMapper<T> mapper,
+    BiFunction<UUID, T, T> withId
+  ) {
+    String nameOf(T row) {
+      return (String) values.apply(row)[0];
+    }
+
+    String upsertSql() {
+      StringJoiner arrays = new StringJoiner(", ");
+      sqlTypes.forEach(type -> arrays.add("CAST(? AS " + type + "[])"));
+      StringJoiner qualified = new StringJoiner(", ");
+      columns.forEach(column -> qualified.add("d." + column));
+      return UPSERT.formatted(table, String.join(", ", columns), arrays, qualified);
+    }
+
+    String selectAllSql() {
+      return SELECT_ALL.formatted(table, String.join(", ", columns));
+    }
+
+    String selectSql() {
+      return SELECT.formatted(table, String.join(", ", columns));
+    }
+
+    String insertSql() {
+      return INSERT.formatted(
+        table,
+        String.join(", ", columns),
+        String.join(", ", Collections.nCopies(columns.size(), "?"))
+      );
+    }
+  }
+}
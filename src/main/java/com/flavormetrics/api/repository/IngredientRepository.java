@@ -2,6 +2,8 @@ package com.flavormetrics.api.repository;
 
 import com.flavormetrics.api.entity.Ingredient;
 import com.flavormetrics.api.model.IngredientDto;
+import com.flavormetrics.api.model.NameCount;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,4 +25,30 @@ public interface IngredientRepository extends JpaRepository<Ingredient, UUID> {
     """
   )
   List<IngredientDto> getIdsAndNames(List<String> names);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(i.name), COUNT(r))
+    FROM Ingredient i
+    LEFT JOIN i.recipes r
+    GROUP BY lower(trim(i.name))
+    """
+  )
+  List<NameCount> findNameCounts();
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(i.name), COUNT(r))
+    FROM Ingredient i
+    LEFT JOIN i.recipes r
+    WHERE lower(trim(i.name)) IN (
+        SELECT lower(trim(x.name))
+        FROM Recipe rx
+        JOIN rx.ingredients x
+        WHERE rx.id IN ?1
+    )
+    GROUP BY lower(trim(i.name))
+    """
+  )
+  List<NameCount> findNameCountsByRecipeIds(Collection<UUID> recipeIds);
 }
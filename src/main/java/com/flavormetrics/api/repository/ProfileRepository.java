@@ -1,6 +1,8 @@
 package com.flavormetrics.api.repository;
 
 import com.flavormetrics.api.entity.Profile;
+import com.flavormetrics.api.model.projection.ProfileExclusionProjection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,4 +21,14 @@ public interface ProfileRepository extends JpaRepository<Profile, UUID> {
     """
   )
   Optional<Profile> findByIdUserId(UUID id);
+
+  @Query(
+    """
+    SELECT p.dietaryPreference AS dietaryPreference, a.name AS allergyName
+    FROM Profile p
+    LEFT JOIN p.allergies a
+    WHERE p.user.id = ?1
+    """
+  )
+  List<ProfileExclusionProjection> findExclusionRowsByUserId(UUID userId);
 }
@@ -0,0 +1,85 @@
+package com.flavormetrics.api.repository;
+
+import com.flavormetrics.api.model.RatingRow;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Inserts ratings and applies their recipe aggregates with plain JDBC batches, bypassing the
+ * persistence context. Callers assign the rating ids and have already checked that the users and
+ * recipes exist and that none of the pairs is rated yet.
+ */
+@Repository
+public class RatingBatchRepository {
+
+  private static final String INSERT_RATING = """
+    INSERT INTO ratings (id, score, user_id, recipe_id, created_at, updated_at)
+    VALUES (?, ?, ?, ?, ?, ?)
+    """;
+  private static final String ADD_RATING_AGGREGATES = """
+    UPDATE recipes
+    SET rating_count = rating_count + ?,
+        rating_sum = rating_sum + ?,
+        rating_count_0 = rating_count_0 + ?,
+        rating_count_1 = rating_count_1 + ?,
+        rating_count_2 = rating_count_2 + ?,
+        rating_count_3 = rating_count_3 + ?,
+        rating_count_4 = rating_count_4 + ?,
+        rating_count_5 = rating_count_5 + ?,
+        bayesian_score = (? * ? + rating_sum + ?) / (? + rating_count + ?)
+    WHERE id = ?
+    """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RatingBatchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Inserts the ratings and adds them to their recipes' count, sum, score histogram and Bayesian
+   * score, one update per recipe. The recipes are updated in id order so concurrent batches lock
+   * them in the same order.
+   */
+  public void insertAll(List<RatingRow> ratings, double priorMean, double priorWeight) {
+    if (ratings.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    List<Object[]> rows = new ArrayList<>(ratings.size());
+    Map<UUID, long[]> aggregates = new TreeMap<>();
+    for (RatingRow rating : ratings) {
+      rows.add(
+        new Object[] { rating.id(), rating.score(), rating.userId(), rating.recipeId(), now, now }
+      );
+      // count, sum, then one count per score
+      long[] aggregate = aggregates.computeIfAbsent(rating.recipeId(), id -> new long[8]);
+      aggregate[0]++;
+      aggregate[1] += rating.score();
+      aggregate[2 + rating.score()]++;
+    }
+    jdbcTemplate.batchUpdate(INSERT_RATING, rows);
+    List<Object[]> updates = new ArrayList<>(aggregates.size());
+    aggregates.forEach((recipeId, aggregate) -> {
+      Object[] update = new Object[aggregate.length + 6];
+      for (int i = 0; i < aggregate.length; i++) {
+        update[i] = aggregate[i];
+      }
+      // bayesian_score from the prior and the counters including this batch
+      update[aggregate.length] = priorMean;
+      update[aggregate.length + 1] = priorWeight;
+      update[aggregate.length + 2] = aggregate[1];
+      update[aggregate.length + 3] = priorWeight;
+      update[aggregate.length + 4] = aggregate[0];
+      update[aggregate.length + 5] = recipeId;
+      updates.add(update);
+    });
+    jdbcTemplate.batchUpdate(ADD_RATING_AGGREGATES, updates);
+  }
+}
@@ -2,10 +2,21 @@ package com.flavormetrics.api.repository;
 
 import com.flavormetrics.api.entity.Rating;
 import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.model.RatingRow;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -26,6 +37,52 @@ public interface RatingRepository extends JpaRepository<Rating, UUID> {
   )
   Set<RatingDto> findAllRatingsByUserId(UUID userId);
 
+  /**
+   * Inserts the rating unless the user already rated the recipe or the recipe does not exist, and
+   * adds it to the recipe's rating counters and Bayesian score, in one statement: the insert relies
+   * on the unique {@code (user_id, recipe_id)} constraint instead of a prior lookup, and the recipe
+   * row is only touched when a rating was actually inserted.
+   *
+   * <p>PostgreSQL only, as H2 does not support data-modifying {@code WITH} clauses; covered by
+   * {@code RatingRepositoryPostgresTest} on an embedded server.
+   *
+   * @return 1 if the rating was inserted, 0 otherwise
+   */
+  @Modifying(clearAutomatically = true)
+  @Query(
+    value = """
+    WITH inserted AS (
+        INSERT INTO ratings (id, score, user_id, recipe_id, created_at, updated_at)
+        SELECT ?1, ?2, ?3, r.id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+        FROM recipes r
+        WHERE r.id = ?4
+        ON CONFLICT DO NOTHING
+        RETURNING recipe_id, score
+    )
+    UPDATE recipes r
+    SET rating_count = r.rating_count + 1,
+        rating_sum = r.rating_sum + i.score,
+        rating_count_0 = r.rating_count_0 + CASE WHEN i.score = 0 THEN 1 ELSE 0 END,
+        rating_count_1 = r.rating_count_1 + CASE WHEN i.score = 1 THEN 1 ELSE 0 END,
+        rating_count_2 = r.rating_count_2 + CASE WHEN i.score = 2 THEN 1 ELSE 0 END,
+        rating_count_3 = r.rating_count_3 + CASE WHEN i.score = 3 THEN 1 ELSE 0 END,
+        rating_count_4 = r.rating_count_4 + CASE WHEN i.score = 4 THEN 1 ELSE 0 END,
+        rating_count_5 = r.rating_count_5 + CASE WHEN i.score = 5 THEN 1 ELSE 0 END,
+        bayesian_score = (?5 * ?6 + r.rating_sum + i.score) / (?6 + r.rating_count + 1)
+    FROM inserted i
+    WHERE r.id = i.recipe_id
+    """,
+    nativeQuery = true
+  )
+  int insertIfAbsentAndCount(
+    UUID id,
+    int score,
+    UUID userId,
+    UUID recipeId,
+    double priorMean,
+    double priorWeight
+  );
+
   @Query(
     """
     SELECT (COUNT(r) > 0)
@@ -51,4 +108,150 @@ public interface RatingRepository extends JpaRepository<Rating, UUID> {
     """
   )
   Set<RatingDto> findAllByRecipeId(UUID recipeId);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingDto(
+        rc.id,
+        e.address,
+        r.score
+    )
+    FROM Rating r
+    JOIN r.recipe rc
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE rc.id IN ?1
+    """
+  )
+  List<RatingDto> findAllByRecipeIds(Collection<UUID> recipeIds);
+
+  /** Newest first, seeking through {@code idx_ratings_recipe_created_at_id}. */
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingEntry(
+        r.id,
+        r.recipe.id,
+        e.address,
+        r.score,
+        r.createdAt
+    )
+    FROM Rating r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE r.recipe.id = ?1
+    AND r.createdAt <= ?2
+    AND (r.createdAt < ?2 OR r.id < ?3)
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  List<RatingEntry> findByRecipeIdAfter(
+    UUID recipeId,
+    LocalDateTime createdAt,
+    UUID id,
+    Pageable pageable
+  );
+
+  /** Newest first, seeking through {@code idx_ratings_user_created_at_id}. */
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingEntry(
+        r.id,
+        r.recipe.id,
+        e.address,
+        r.score,
+        r.createdAt
+    )
+    FROM Rating r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE r.user.id = ?1
+    AND r.createdAt <= ?2
+    AND (r.createdAt < ?2 OR r.id < ?3)
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  List<RatingEntry> findByUserIdAfter(
+    UUID userId,
+    LocalDateTime createdAt,
+    UUID id,
+    Pageable pageable
+  );
+
+  /**
+   * All ratings of a recipe, newest first, read through a server-side cursor. Must be consumed and
+   * closed inside a transaction.
+   */
+  @QueryHints(
+    {
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    }
+  )
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingEntry(
+        r.id,
+        r.recipe.id,
+        e.address,
+        r.score,
+        r.createdAt
+    )
+    FROM Rating r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE r.recipe.id = ?1
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  Stream<RatingEntry> streamByRecipeId(UUID recipeId);
+
+  /**
+   * All ratings of a user, newest first, read through a server-side cursor. Must be consumed and
+   * closed inside a transaction.
+   */
+  @QueryHints(
+    {
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    }
+  )
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingEntry(
+        r.id,
+        r.recipe.id,
+        e.address,
+        r.score,
+        r.createdAt
+    )
+    FROM Rating r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE r.user.id = ?1
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  Stream<RatingEntry> streamByUserId(UUID userId);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingRow(r.id, r.user.id, r.recipe.id, r.score)
+    FROM Rating r
+    WHERE r.id > ?1
+    AND r.user IS NOT NULL
+    AND r.recipe IS NOT NULL
+    ORDER BY r.id
+    """
+  )
+  List<RatingRow> findRowsAfter(UUID id, Pageable pageable);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingRow(r.id, r.user.id, r.recipe.id, r.score)
+    FROM Rating r
+    WHERE r.user.id = ?1
+    AND r.recipe IS NOT NULL
+    """
+  )
+  List<RatingRow> findRowsByUserId(UUID userId);
 }
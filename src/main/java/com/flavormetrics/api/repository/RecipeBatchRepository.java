@@ -0,0 +1,95 @@
+package com.flavormetrics.api.repository;
+
+import com.flavormetrics.api.entity.Allergy;
+import com.flavormetrics.api.entity.Ingredient;
+import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.entity.Tag;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Inserts new recipes and their join-table rows with plain JDBC batches, bypassing the
+ * persistence context. Callers assign the recipe ids and must already have saved the referenced
+ * user, ingredients, tags and allergies in the current transaction.
+ */
+@Repository
+public class RecipeBatchRepository {
+
+  private static final String INSERT_RECIPE = """
+    INSERT INTO recipes (
+        id, name, instructions, image_url, prep_time_minutes, cook_time_minutes, difficulty,
+        estimated_calories, dietary_preferences, random_key, allergen_mask, tag_mask, user_id,
+        created_at, updated_at
+    )
+    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+  private static final String INSERT_RECIPE_INGREDIENT =
+    "INSERT INTO recipes_ingredients (recipe_id, ingredient_id) VALUES (?, ?)";
+  private static final String INSERT_RECIPE_TAG =
+    "INSERT INTO recipes_tags (recipe_id, tag_id) VALUES (?, ?)";
+  private static final String INSERT_RECIPE_ALLERGY =
+    "INSERT INTO recipes_allergies (recipe_id, allergy_id) VALUES (?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RecipeBatchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void insertAll(List<Recipe> recipes) {
+    if (recipes.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    List<Object[]> rows = new ArrayList<>(recipes.size());
+    for (Recipe recipe : recipes) {
+      rows.add(
+        new Object[] {
+          recipe.getId(),
+          recipe.getName(),
+          recipe.getInstructions(),
+          recipe.getImageUrl(),
+          recipe.getPrepTimeMinutes(),
+          recipe.getCookTimeMinutes(),
+          recipe.getDifficulty().name(),
+          recipe.getEstimatedCalories(),
+          recipe.getDietaryPreferences().name(),
+          recipe.getRandomKey(),
+          recipe.getAllergenMask(),
+          recipe.getTagMask(),
+          recipe.getUser().getId(),
+          now,
+          now,
+        }
+      );
+    }
+    jdbcTemplate.batchUpdate(INSERT_RECIPE, rows);
+    insertLinks(INSERT_RECIPE_INGREDIENT, recipes, r ->
+      r.getIngredients().stream().map(Ingredient::getId)
+    );
+    insertLinks(INSERT_RECIPE_TAG, recipes, r -> r.getTags().stream().map(Tag::getId));
+    insertLinks(INSERT_RECIPE_ALLERGY, recipes, r ->
+      r.getAllergies().stream().map(Allergy::getId)
+    );
+  }
+
+  private void insertLinks(
+    String sql,
+    List<Recipe> recipes,
+    Function<Recipe, Stream<UUID>> linkedIds
+  ) {
+    List<Object[]> rows = new ArrayList<>();
+    for (Recipe recipe : recipes) {
+      linkedIds.apply(recipe).forEach(id -> rows.add(new Object[] { recipe.getId(), id }));
+    }
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(sql, rows);
+    }
+  }
+}
@@ -3,12 +3,33 @@ package com.flavormetrics.api.repository;
 import com.flavormetrics.api.entity.Recipe;
 import com.flavormetrics.api.enums.DietaryPreferenceType;
 import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.model.KeysetCursor;
+import com.flavormetrics.api.model.NameCount;
+import com.flavormetrics.api.model.RandomKeyRow;
+import com.flavormetrics.api.model.RatingHistogram;
+import com.flavormetrics.api.model.RecipeExportRow;
+import com.flavormetrics.api.model.RecipeSummaryDto;
+import com.flavormetrics.api.model.RecipeVersion;
+import com.flavormetrics.api.model.TopRatedRecipe;
+import com.flavormetrics.api.model.projection.RecipeAllergyProjection;
+import com.flavormetrics.api.model.projection.RecipeFacetProjection;
+import com.flavormetrics.api.model.projection.RecipeIngredientProjection;
+import com.flavormetrics.api.model.projection.RecipeProjection;
+import com.flavormetrics.api.model.projection.RecipeTagProjection;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -28,69 +49,688 @@ public interface RecipeRepository extends JpaRepository<Recipe, UUID> {
 
   @Query(
     value = """
-    SELECT r
+    SELECT r.id
+    FROM Recipe r
+    ORDER BY r.createdAt DESC, r.id DESC
+    """,
+    countQuery = "SELECT COUNT(r) FROM Recipe r"
+  )
+  Page<UUID> findAllIds(Pageable pageable);
+
+  @Query(
+    """
+    SELECT r.id
+    FROM Recipe r
+    WHERE r.id > ?1
+    ORDER BY r.id
+    """
+  )
+  List<UUID> findIdsAfter(UUID id, Pageable pageable);
+
+  @Query(
+    value = """
+    SELECT r.id
     FROM Recipe r
-    LEFT JOIN FETCH r.ratings
-    LEFT JOIN FETCH r.user
-    LEFT JOIN FETCH r.ingredients
-    LEFT JOIN FETCH r.tags
     WHERE (r.cookTimeMinutes <= ?1)
     AND (r.estimatedCalories <= ?2)
     AND (r.prepTimeMinutes <= ?3)
     AND (r.difficulty = ?4)
     AND (r.dietaryPreferences = ?5)
+    AND BITAND(r.allergenMask, CAST(?6 AS Long)) = 0
+    AND BITAND(r.tagMask, CAST(?7 AS Long)) = ?7
+    ORDER BY r.createdAt DESC, r.id DESC
+    """,
+    countQuery = """
+    SELECT COUNT(r)
+    FROM Recipe r
+    WHERE (r.cookTimeMinutes <= ?1)
+    AND (r.estimatedCalories <= ?2)
+    AND (r.prepTimeMinutes <= ?3)
+    AND (r.difficulty = ?4)
+    AND (r.dietaryPreferences = ?5)
+    AND BITAND(r.allergenMask, CAST(?6 AS Long)) = 0
+    AND BITAND(r.tagMask, CAST(?7 AS Long)) = ?7
     """
   )
-  Page<Recipe> findAllByFilter(
+  Page<UUID> findIdsByFilter(
     int cookTimeMinutes,
     int estimatedCalories,
     int prepTimeMinutes,
     DifficultyType difficulty,
     DietaryPreferenceType dietaryPreference,
+    long excludedAllergenMask,
+    long requiredTagMask,
     Pageable pageable
   );
 
   @Query(
+    value = """
+    SELECT r.id
+    FROM Recipe r
+    JOIN r.user u
+    JOIN u.email e
+    WHERE e.address = ?1
+    ORDER BY r.createdAt DESC, r.id DESC
+    """,
+    countQuery = """
+    SELECT COUNT(r)
+    FROM Recipe r
+    JOIN r.user u
+    JOIN u.email e
+    WHERE e.address = ?1
     """
-    SELECT r
+  )
+  Page<UUID> findIdsByOwner(String email, Pageable pageable);
+
+  /**
+   * Recipes in shuffled order: by random key, then id, after the given position and below {@code
+   * maxKey}.
+   */
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RandomKeyRow(r.id, r.randomKey)
     FROM Recipe r
-    LEFT JOIN FETCH r.ratings
-    LEFT JOIN FETCH r.user u
-    LEFT JOIN FETCH u.email e
-    LEFT JOIN FETCH r.ingredients
+    WHERE (r.randomKey > ?1 OR (r.randomKey = ?1 AND r.id > ?2))
+    AND r.randomKey < ?3
+    ORDER BY r.randomKey, r.id
+    """
+  )
+  List<RandomKeyRow> findRandomKeyRowsAfter(
+    double randomKey,
+    UUID id,
+    double maxKey,
+    Pageable pageable
+  );
+
+  @Query(
+    value = """
+    SELECT r.id
+    FROM Recipe r
+    WHERE lower(r.name) LIKE %?1%
+    ORDER BY r.createdAt DESC, r.id DESC
+    """,
+    countQuery = """
+    SELECT COUNT(r)
+    FROM Recipe r
+    WHERE lower(r.name) LIKE %?1%
+    """
+  )
+  Page<UUID> searchIdsByName(String name, Pageable pageable);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.KeysetCursor(r.createdAt, r.id)
+    FROM Recipe r
+    WHERE r.createdAt <= ?1
+    AND (r.createdAt < ?1 OR r.id < ?2)
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  List<KeysetCursor> findAllAfter(LocalDateTime createdAt, UUID id, Pageable pageable);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.KeysetCursor(r.createdAt, r.id)
+    FROM Recipe r
+    JOIN r.user u
+    JOIN u.email e
     WHERE e.address = ?1
+    AND r.createdAt <= ?2
+    AND (r.createdAt < ?2 OR r.id < ?3)
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  List<KeysetCursor> findByOwnerAfter(
+    String email,
+    LocalDateTime createdAt,
+    UUID id,
+    Pageable pageable
+  );
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.KeysetCursor(r.createdAt, r.id)
+    FROM Recipe r
+    WHERE (r.cookTimeMinutes <= ?1)
+    AND (r.estimatedCalories <= ?2)
+    AND (r.prepTimeMinutes <= ?3)
+    AND (r.difficulty = ?4)
+    AND (r.dietaryPreferences = ?5)
+    AND BITAND(r.allergenMask, CAST(?8 AS Long)) = 0
+    AND BITAND(r.tagMask, CAST(?9 AS Long)) = ?9
+    AND r.createdAt <= ?6
+    AND (r.createdAt < ?6 OR r.id < ?7)
+    ORDER BY r.createdAt DESC, r.id DESC
     """
   )
-  Page<Recipe> findByOwner(String email, Pageable pageable);
+  List<KeysetCursor> findAllByFilterAfter(
+    int cookTimeMinutes,
+    int estimatedCalories,
+    int prepTimeMinutes,
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference,
+    LocalDateTime createdAt,
+    UUID id,
+    long excludedAllergenMask,
+    long requiredTagMask,
+    Pageable pageable
+  );
 
   @Query(
     """
-        SELECT r
-        FROM Recipe r
-        JOIN r.user u
-        JOIN u.profile p
-        JOIN p.allergies pa
-        WHERE u.id = ?1
-        AND u.profile IS NOT NULL
-        AND NOT EXISTS (
-            SELECT 1
-            FROM r.allergies ra
-            WHERE ra = pa
-        )
-        ORDER BY function('random')
+    SELECT new com.flavormetrics.api.model.KeysetCursor(r.createdAt, r.id)
+    FROM Recipe r
+    WHERE lower(r.name) LIKE %?1%
+    AND r.createdAt <= ?2
+    AND (r.createdAt < ?2 OR r.id < ?3)
+    ORDER BY r.createdAt DESC, r.id DESC
     """
   )
-  Page<Recipe> findAllRecommendations(UUID userId, Pageable pageable);
+  List<KeysetCursor> searchByNameAfter(
+    String name,
+    LocalDateTime createdAt,
+    UUID id,
+    Pageable pageable
+  );
+
+  @Query(
+    value = """
+    SELECT new com.flavormetrics.api.model.RecipeSummaryDto(
+        r.id,
+        r.name,
+        e.address,
+        r.imageUrl,
+        r.prepTimeMinutes,
+        r.cookTimeMinutes,
+        r.difficulty,
+        r.estimatedCalories,
+        r.ratingCount,
+        r.ratingSum,
+        r.createdAt,
+        r.updatedAt
+    )
+    FROM Recipe r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    ORDER BY r.createdAt DESC, r.id DESC
+    """,
+    countQuery = "SELECT COUNT(r) FROM Recipe r"
+  )
+  Page<RecipeSummaryDto> findAllSummaries(Pageable pageable);
 
   @Query(
     """
-    SELECT r
+    SELECT new com.flavormetrics.api.model.RecipeSummaryDto(
+        r.id,
+        r.name,
+        e.address,
+        r.imageUrl,
+        r.prepTimeMinutes,
+        r.cookTimeMinutes,
+        r.difficulty,
+        r.estimatedCalories,
+        r.ratingCount,
+        r.ratingSum,
+        r.createdAt,
+        r.updatedAt
+    )
+    FROM Recipe r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE r.createdAt <= ?1
+    AND (r.createdAt < ?1 OR r.id < ?2)
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  List<RecipeSummaryDto> findAllSummariesAfter(
+    LocalDateTime createdAt,
+    UUID id,
+    Pageable pageable
+  );
+
+  /**
+   * Rows updated in {@code [from, to)} in update order, read through a server-side cursor. Must be
+   * consumed and closed inside a transaction.
+   */
+  @QueryHints(
+    {
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    }
+  )
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RecipeExportRow(
+        r.id,
+        r.name,
+        e.address,
+        r.instructions,
+        r.imageUrl,
+        r.prepTimeMinutes,
+        r.cookTimeMinutes,
+        r.difficulty,
+        r.estimatedCalories,
+        r.dietaryPreferences,
+        r.ratingCount,
+        r.ratingSum,
+        r.createdAt,
+        r.updatedAt
+    )
+    FROM Recipe r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE r.updatedAt >= ?1
+    AND r.updatedAt < ?2
+    ORDER BY r.updatedAt, r.id
+    """
+  )
+  Stream<RecipeExportRow> streamExportRows(LocalDateTime from, LocalDateTime to);
+
+  @Query(
+    value = """
+    SELECT new com.flavormetrics.api.model.RecipeSummaryDto(
+        r.id,
+        r.name,
+        e.address,
+        r.imageUrl,
+        r.prepTimeMinutes,
+        r.cookTimeMinutes,
+        r.difficulty,
+        r.estimatedCalories,
+        r.ratingCount,
+        r.ratingSum,
+        r.createdAt,
+        r.updatedAt
+    )
+    FROM Recipe r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE (r.cookTimeMinutes <= ?1)
+    AND (r.estimatedCalories <= ?2)
+    AND (r.prepTimeMinutes <= ?3)
+    AND (r.difficulty = ?4)
+    AND (r.dietaryPreferences = ?5)
+    AND BITAND(r.allergenMask, CAST(?6 AS Long)) = 0
+    AND BITAND(r.tagMask, CAST(?7 AS Long)) = ?7
+    ORDER BY r.createdAt DESC, r.id DESC
+    """,
+    countQuery = """
+    SELECT COUNT(r)
+    FROM Recipe r
+    WHERE (r.cookTimeMinutes <= ?1)
+    AND (r.estimatedCalories <= ?2)
+    AND (r.prepTimeMinutes <= ?3)
+    AND (r.difficulty = ?4)
+    AND (r.dietaryPreferences = ?5)
+    AND BITAND(r.allergenMask, CAST(?6 AS Long)) = 0
+    AND BITAND(r.tagMask, CAST(?7 AS Long)) = ?7
+    """
+  )
+  Page<RecipeSummaryDto> findSummariesByFilter(
+    int cookTimeMinutes,
+    int estimatedCalories,
+    int prepTimeMinutes,
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference,
+    long excludedAllergenMask,
+    long requiredTagMask,
+    Pageable pageable
+  );
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RecipeSummaryDto(
+        r.id,
+        r.name,
+        e.address,
+        r.imageUrl,
+        r.prepTimeMinutes,
+        r.cookTimeMinutes,
+        r.difficulty,
+        r.estimatedCalories,
+        r.ratingCount,
+        r.ratingSum,
+        r.createdAt,
+        r.updatedAt
+    )
+    FROM Recipe r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE (r.cookTimeMinutes <= ?1)
+    AND (r.estimatedCalories <= ?2)
+    AND (r.prepTimeMinutes <= ?3)
+    AND (r.difficulty = ?4)
+    AND (r.dietaryPreferences = ?5)
+    AND BITAND(r.allergenMask, CAST(?8 AS Long)) = 0
+    AND BITAND(r.tagMask, CAST(?9 AS Long)) = ?9
+    AND r.createdAt <= ?6
+    AND (r.createdAt < ?6 OR r.id < ?7)
+    ORDER BY r.createdAt DESC, r.id DESC
+    """
+  )
+  List<RecipeSummaryDto> findSummariesByFilterAfter(
+    int cookTimeMinutes,
+    int estimatedCalories,
+    int prepTimeMinutes,
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference,
+    LocalDateTime createdAt,
+    UUID id,
+    long excludedAllergenMask,
+    long requiredTagMask,
+    Pageable pageable
+  );
+
+  @Query(
+    """
+    SELECT r.id AS id,
+        r.name AS name,
+        e.address AS user,
+        r.instructions AS instructions,
+        r.imageUrl AS imageUrl,
+        r.prepTimeMinutes AS prepTimeMinutes,
+        r.cookTimeMinutes AS cookTimeMinutes,
+        r.difficulty AS difficulty,
+        r.estimatedCalories AS estimatedCalories,
+        r.ratingCount AS ratingCount,
+        r.ratingSum AS ratingSum,
+        r.createdAt AS createdAt,
+        r.updatedAt AS updatedAt
+    FROM Recipe r
+    LEFT JOIN r.user u
+    LEFT JOIN u.email e
+    WHERE r.id IN ?1
+    """
+  )
+  List<RecipeProjection> findRowsByIds(Collection<UUID> ids);
+
+  @Query(
+    """
+    SELECT r.id AS recipeId, t.id AS id, t.name AS name
+    FROM Recipe r
+    JOIN r.tags t
+    WHERE r.id IN ?1
+    """
+  )
+  List<RecipeTagProjection> findTagsByRecipeIds(Collection<UUID> ids);
+
+  @Query(
+    """
+    SELECT r.id AS recipeId,
+        i.id AS id,
+        i.name AS name,
+        i.quantity AS quantity,
+        i.unit AS unit
+    FROM Recipe r
+    JOIN r.ingredients i
+    WHERE r.id IN ?1
+    """
+  )
+  List<RecipeIngredientProjection> findIngredientsByRecipeIds(Collection<UUID> ids);
+
+  @Query(
+    """
+    SELECT r.id AS recipeId, a.id AS id, a.name AS name, a.description AS description
+    FROM Recipe r
+    JOIN r.allergies a
+    WHERE r.id IN ?1
+    """
+  )
+  List<RecipeAllergyProjection> findAllergiesByRecipeIds(Collection<UUID> ids);
+
+  /**
+   * Recomputes the counters of every rated recipe from the {@code ratings} table in one grouped
+   * pass. Recipes without ratings are left alone; {@link #resetUnratedRatingAggregates} zeroes
+   * them.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    value = """
+    UPDATE recipes r
+    SET rating_count = a.rating_count,
+        rating_sum = a.rating_sum,
+        rating_count_0 = a.rating_count_0,
+        rating_count_1 = a.rating_count_1,
+        rating_count_2 = a.rating_count_2,
+        rating_count_3 = a.rating_count_3,
+        rating_count_4 = a.rating_count_4,
+        rating_count_5 = a.rating_count_5
+    FROM (
+        SELECT recipe_id,
+            count(*) AS rating_count,
+            sum(score) AS rating_sum,
+            count(*) FILTER (WHERE score = 0) AS rating_count_0,
+            count(*) FILTER (WHERE score = 1) AS rating_count_1,
+            count(*) FILTER (WHERE score = 2) AS rating_count_2,
+            count(*) FILTER (WHERE score = 3) AS rating_count_3,
+            count(*) FILTER (WHERE score = 4) AS rating_count_4,
+            count(*) FILTER (WHERE score = 5) AS rating_count_5
+        FROM ratings
+        GROUP BY recipe_id
+    ) a
+    WHERE r.id = a.recipe_id
+    """,
+    nativeQuery = true
+  )
+  int rebuildRatingAggregates();
+
+  /** Zeroes the counters of the recipes that have no ratings left. */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    value = """
+    UPDATE recipes r
+    SET rating_count = 0,
+        rating_sum = 0,
+        rating_count_0 = 0,
+        rating_count_1 = 0,
+        rating_count_2 = 0,
+        rating_count_3 = 0,
+        rating_count_4 = 0,
+        rating_count_5 = 0
+    WHERE NOT EXISTS (
+        SELECT 1
+        FROM ratings rt
+        WHERE rt.recipe_id = r.id
+    )
+    """,
+    nativeQuery = true
+  )
+  int resetUnratedRatingAggregates();
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RatingHistogram(
+        r.id,
+        r.ratingCount,
+        r.ratingSum,
+        r.ratingCount0,
+        r.ratingCount1,
+        r.ratingCount2,
+        r.ratingCount3,
+        r.ratingCount4,
+        r.ratingCount5
+    )
+    FROM Recipe r
+    WHERE r.id = ?1
+    """
+  )
+  Optional<RatingHistogram> findRatingHistogramById(UUID id);
+
+  /** Recomputes every {@code bayesianScore}, e.g. after a rebuild or a change of prior. */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    """
+    UPDATE Recipe r
+    SET r.bayesianScore = CASE
+        WHEN r.ratingCount = 0 THEN 0.0
+        ELSE (?1 * ?2 + r.ratingSum) / (?2 + r.ratingCount)
+    END
+    """
+  )
+  int refreshAllBayesianScores(double priorMean, double priorWeight);
+
+  /** Reads the first rows of {@code idx_recipes_bayesian_score_id}. */
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.TopRatedRecipe(
+        r.id,
+        r.name,
+        r.difficulty,
+        r.dietaryPreferences,
+        r.ratingCount,
+        r.bayesianScore
+    )
+    FROM Recipe r
+    ORDER BY r.bayesianScore DESC, r.id
+    """
+  )
+  List<TopRatedRecipe> findTopRated(Pageable pageable);
+
+  /** Reads the first rows of {@code idx_recipes_difficulty_bayesian_score_id}. */
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.TopRatedRecipe(
+        r.id,
+        r.name,
+        r.difficulty,
+        r.dietaryPreferences,
+        r.ratingCount,
+        r.bayesianScore
+    )
+    FROM Recipe r
+    WHERE r.difficulty = ?1
+    ORDER BY r.bayesianScore DESC, r.id
+    """
+  )
+  List<TopRatedRecipe> findTopRatedByDifficulty(DifficultyType difficulty, Pageable pageable);
+
+  /** Reads the first rows of {@code idx_recipes_dietary_bayesian_score_id}. */
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.TopRatedRecipe(
+        r.id,
+        r.name,
+        r.difficulty,
+        r.dietaryPreferences,
+        r.ratingCount,
+        r.bayesianScore
+    )
+    FROM Recipe r
+    WHERE r.dietaryPreferences = ?1
+    ORDER BY r.bayesianScore DESC, r.id
+    """
+  )
+  List<TopRatedRecipe> findTopRatedByDietaryPreference(
+    DietaryPreferenceType dietaryPreference,
+    Pageable pageable
+  );
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.TopRatedRecipe(
+        r.id,
+        r.name,
+        r.difficulty,
+        r.dietaryPreferences,
+        r.ratingCount,
+        r.bayesianScore
+    )
+    FROM Recipe r
+    WHERE r.difficulty = ?1
+    AND r.dietaryPreferences = ?2
+    ORDER BY r.bayesianScore DESC, r.id
+    """
+  )
+  List<TopRatedRecipe> findTopRatedByDifficultyAndDietaryPreference(
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference,
+    Pageable pageable
+  );
+
+  @Modifying
+  @Query(
+    """
+    UPDATE Recipe r
+    SET r.allergenMask = ?2, r.tagMask = ?3
+    WHERE r.id = ?1
+    """
+  )
+  int updateMasks(UUID id, long allergenMask, long tagMask);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.RecipeVersion(
+        r.id,
+        r.updatedAt,
+        r.ratingCount,
+        r.ratingSum
+    )
+    FROM Recipe r
+    WHERE r.id = ?1
+    """
+  )
+  Optional<RecipeVersion> findVersionById(UUID id);
+
+  /**
+   * Names differing only in case or surrounding spaces are one suggestion, so they are counted
+   * together instead of overwriting each other's weight.
+   */
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(r.name), SUM(r.ratingCount + 1))
     FROM Recipe r
-    JOIN FETCH r.user u
-    LEFT JOIN FETCH u.profile p
-    LEFT JOIN FETCH p.allergies pa
-    WHERE r.name LIKE %?1%
+    GROUP BY lower(trim(r.name))
     """
   )
-  Page<Recipe> searchByName(String name, Pageable pageable);
+  List<NameCount> findNameCounts();
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(r.name), SUM(r.ratingCount + 1))
+    FROM Recipe r
+    WHERE lower(trim(r.name)) IN (
+        SELECT lower(trim(rx.name))
+        FROM Recipe rx
+        WHERE rx.id IN ?1
+    )
+    GROUP BY lower(trim(r.name))
+    """
+  )
+  List<NameCount> findNameCountsByIds(Collection<UUID> ids);
+
+  @Query(
+    """
+    SELECT r.id AS id,
+        r.difficulty AS difficulty,
+        r.dietaryPreferences AS dietaryPreference,
+        r.prepTimeMinutes AS prepTimeMinutes,
+        r.cookTimeMinutes AS cookTimeMinutes,
+        r.estimatedCalories AS estimatedCalories,
+        r.createdAt AS createdAt
+    FROM Recipe r
+    WHERE r.id IN ?1
+    """
+  )
+  List<RecipeFacetProjection> findFacetRowsByIds(Collection<UUID> ids);
+
+  @Query(
+    """
+    SELECT r.id AS id,
+        r.difficulty AS difficulty,
+        r.dietaryPreferences AS dietaryPreference,
+        r.prepTimeMinutes AS prepTimeMinutes,
+        r.cookTimeMinutes AS cookTimeMinutes,
+        r.estimatedCalories AS estimatedCalories,
+        r.createdAt AS createdAt
+    FROM Recipe r
+    WHERE r.createdAt >= ?1
+    AND (r.createdAt > ?1 OR r.id > ?2)
+    ORDER BY r.createdAt, r.id
+    """
+  )
+  List<RecipeFacetProjection> findFacetRowsAfter(
+    LocalDateTime createdAt,
+    UUID id,
+    Pageable pageable
+  );
 }
@@ -0,0 +1,101 @@
+package com.flavormetrics.api.repository;
+
+import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.model.projection.RankedIdProjection;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * PostgreSQL-only search queries. {@code recipes.search_vector} and the GIN indexes behind them
+ * are not mapped on {@link Recipe}; they are created by {@code PostgresSearchConfig}.
+ */
+@org.springframework.stereotype.Repository
+public interface RecipeSearchRepository extends Repository<Recipe, UUID> {
+  String SEARCH_VECTOR_UPDATE = """
+    UPDATE recipes r
+    SET search_vector =
+        setweight(to_tsvector('english', coalesce(r.name, '')), 'A')
+        || setweight(to_tsvector('english', coalesce((
+            SELECT string_agg(t.name, ' ')
+            FROM recipes_tags rt
+            JOIN tags t ON t.id = rt.tag_id
+            WHERE rt.recipe_id = r.id
+        ), '')), 'B')
+        || setweight(to_tsvector('english', coalesce((
+            SELECT string_agg(i.name, ' ')
+            FROM recipes_ingredients ri
+            JOIN ingredients i ON i.id = ri.ingredient_id
+            WHERE ri.recipe_id = r.id
+        ), '')), 'C')
+    """;
+
+  /**
+   * Hits matched only by the {@code LIKE} branch may have no {@code search_vector} yet; their rank
+   * is taken as 0, as in {@link #searchAfter}, so offset and keyset pages order hits alike.
+   */
+  @Query(
+    value = """
+    SELECT r.id
+    FROM recipes r
+    WHERE r.search_vector @@ to_tsquery('english', ?1)
+    OR lower(r.name) LIKE ?2
+    ORDER BY coalesce(ts_rank_cd(r.search_vector, to_tsquery('english', ?1)), 0) DESC,
+        similarity(lower(r.name), ?3) DESC,
+        r.id
+    """,
+    countQuery = """
+    SELECT COUNT(*)
+    FROM recipes r
+    WHERE r.search_vector @@ to_tsquery('english', ?1)
+    OR lower(r.name) LIKE ?2
+    """,
+    nativeQuery = true
+  )
+  Page<UUID> search(String tsQuery, String likePattern, String query, Pageable pageable);
+
+  /**
+   * Keyset variant of {@link #search}: the hits ranked strictly after {@code (rank, similarity,
+   * id)}. Both scores are {@code real}, so the values handed back in the projection compare
+   * exactly on the next call.
+   */
+  @Query(
+    value = """
+    SELECT hit.id AS id, hit.rank AS rank, hit.similarity AS similarity
+    FROM (
+        SELECT r.id AS id,
+            coalesce(ts_rank_cd(r.search_vector, to_tsquery('english', ?1)), 0) AS rank,
+            similarity(lower(r.name), ?3) AS similarity
+        FROM recipes r
+        WHERE r.search_vector @@ to_tsquery('english', ?1)
+        OR lower(r.name) LIKE ?2
+    ) hit
+    WHERE hit.rank < ?4
+    OR (hit.rank = ?4 AND (hit.similarity < ?5 OR (hit.similarity = ?5 AND hit.id > ?6)))
+    ORDER BY hit.rank DESC, hit.similarity DESC, hit.id
+    """,
+    nativeQuery = true
+  )
+  List<RankedIdProjection> searchAfter(
+    String tsQuery,
+    String likePattern,
+    String query,
+    float rank,
+    float similarity,
+    UUID id,
+    Pageable pageable
+  );
+
+  @Modifying(flushAutomatically = true)
+  @Query(value = SEARCH_VECTOR_UPDATE + "WHERE r.id IN (?1)", nativeQuery = true)
+  int refreshSearchVectors(Collection<UUID> ids);
+
+  @Modifying
+  @Query(value = SEARCH_VECTOR_UPDATE + "WHERE r.search_vector IS NULL", nativeQuery = true)
+  int backfillSearchVectors();
+}
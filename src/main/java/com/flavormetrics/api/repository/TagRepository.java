@@ -1,7 +1,9 @@
 package com.flavormetrics.api.repository;
 
 import com.flavormetrics.api.entity.Tag;
+import com.flavormetrics.api.model.NameCount;
 import com.flavormetrics.api.model.projection.TagProjection;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,4 +21,30 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
     """
   )
   List<TagProjection> getIdsAndNames(List<String> names);
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(t.name), COUNT(r))
+    FROM Tag t
+    LEFT JOIN t.recipes r
+    GROUP BY lower(trim(t.name))
+    """
+  )
+  List<NameCount> findNameCounts();
+
+  @Query(
+    """
+    SELECT new com.flavormetrics.api.model.NameCount(MIN(t.name), COUNT(r))
+    FROM Tag t
+    LEFT JOIN t.recipes r
+    WHERE lower(trim(t.name)) IN (
+        SELECT lower(trim(x.name))
+        FROM Recipe rx
+        JOIN rx.tags x
+        WHERE rx.id IN ?1
+    )
+    GROUP BY lower(trim(t.name))
+    """
+  )
+  List<NameCount> findNameCountsByRecipeIds(Collection<UUID> recipeIds);
 }
@@ -0,0 +1,9 @@
+package com.flavormetrics.api.repository;
+
+import com.flavormetrics.api.entity.TrendingScore;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, UUID> {}
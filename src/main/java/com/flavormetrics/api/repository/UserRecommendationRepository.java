@@ -0,0 +1,78 @@
+package com.flavormetrics.api.repository;
+
+import com.flavormetrics.api.entity.UserRecommendation;
+import com.flavormetrics.api.model.projection.RecommendedRecipeProjection;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserRecommendationRepository
+  extends JpaRepository<UserRecommendation, UserRecommendation.Key> {
+  /**
+   * One page of the user's list in rank order. The window count is taken before the page is cut,
+   * so every row also carries the length of the whole list and no separate count is needed.
+   */
+  @Query(
+    """
+    SELECT ur.recipeId AS recipeId, COUNT(*) OVER () AS total
+    FROM UserRecommendation ur
+    WHERE ur.userId = ?1
+    ORDER BY ur.rank
+    """
+  )
+  List<RecommendedRecipeProjection> findPage(UUID userId, Pageable pageable);
+
+  /** The user's list from just after {@code rank} on, in rank order. */
+  @Query(
+    """
+    SELECT ur
+    FROM UserRecommendation ur
+    WHERE ur.userId = ?1
+    AND ur.rank > ?2
+    ORDER BY ur.rank
+    """
+  )
+  List<UserRecommendation> findAfter(UUID userId, int rank, Pageable pageable);
+
+  @Query(
+    """
+    SELECT COUNT(ur)
+    FROM UserRecommendation ur
+    WHERE ur.userId = ?1
+    """
+  )
+  long countByUserId(UUID userId);
+
+  @Query(
+    """
+    SELECT DISTINCT ur.userId
+    FROM UserRecommendation ur
+    WHERE ur.recipeId IN ?1
+    """
+  )
+  List<UUID> findUserIdsByRecipeIds(Collection<UUID> recipeIds);
+
+  @Modifying
+  @Query(
+    """
+    DELETE FROM UserRecommendation ur
+    WHERE ur.userId = ?1
+    """
+  )
+  int deleteByUserId(UUID userId);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+    """
+    DELETE FROM UserRecommendation ur
+    WHERE ur.recipeId IN ?1
+    """
+  )
+  int deleteByRecipeIds(Collection<UUID> recipeIds);
+}
@@ -1,9 +1,11 @@
 package com.flavormetrics.api.repository;
 
 import com.flavormetrics.api.entity.User;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -45,6 +47,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
   )
   boolean hasProfile(UUID id);
 
+  @Query(
+    """
+    SELECT u.id
+    FROM User u
+    WHERE u.id > ?1
+    AND u.profile IS NOT NULL
+    ORDER BY u.id
+    """
+  )
+  List<UUID> findIdsWithProfileAfter(UUID id, Pageable pageable);
+
   @Query(
     """
     SELECT p.id
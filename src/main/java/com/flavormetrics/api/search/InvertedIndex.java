@@ -0,0 +1,325 @@
+package com.flavormetrics.api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory inverted index ranked with Okapi BM25.
+ *
+ * <p>Documents get dense int ids in insertion order, so every posting list stays sorted by simply
+ * appending. Replacing or removing a document tombstones its old id; once enough ids are dead the
+ * index is compacted and the ids renumbered.
+ */
+public class InvertedIndex {
+
+  static final float K1 = 1.2f;
+  static final float B = 0.75f;
+
+  private static final int MAX_PREFIX_EXPANSIONS = 64;
+  private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final TreeMap<String, Term> dictionary = new TreeMap<>();
+  private final Map<UUID, Integer> docIds = new HashMap<>();
+  private List<UUID> docKeys = new ArrayList<>();
+  private List<Term[]> docTerms = new ArrayList<>();
+  private int[] docLengths = new int[64];
+  private BitSet tombstones = new BitSet();
+  private int tombstoneCount;
+  private long totalLength;
+
+  /** Ranked page of document keys plus the number of documents that matched at all. */
+  public record Hits(List<UUID> keys, long total) {}
+
+  /** Document key with the BM25 score it was ranked by. */
+  public record ScoredKey(UUID key, float score) {}
+
+  /**
+   * Indexes {@code key} with the given term frequencies, replacing any earlier version of it.
+   * Frequencies may already be weighted by field; a document's length is their sum.
+   */
+  public void put(UUID key, Map<String, Integer> termFrequencies) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(key);
+      int doc = docKeys.size();
+      if (doc == docLengths.length) {
+        docLengths = Arrays.copyOf(docLengths, doc * 2);
+      }
+      Term[] terms = new Term[termFrequencies.size()];
+      int length = 0;
+      int i = 0;
+      for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+        Term term = dictionary.computeIfAbsent(entry.getKey(), t -> new Term());
+        term.postings.add(doc, entry.getValue());
+        term.documentFrequency++;
+        terms[i++] = term;
+        length += entry.getValue();
+      }
+      docIds.put(key, doc);
+      docKeys.add(key);
+      docTerms.add(terms);
+      docLengths[doc] = length;
+      totalLength += length;
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(UUID key) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(key);
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return docIds.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Scores every document containing at least one of {@code terms} and returns the requested
+   * slice, best first; ties go to the document indexed earlier. When {@code prefix} is set it is
+   * expanded to the indexed terms starting with it, so the last word of a query can be partial.
+   */
+  public Hits search(List<String> terms, String prefix, long offset, int limit) {
+    lock.readLock().lock();
+    try {
+      Map<Term, Float> weights = resolve(terms, prefix);
+      if (weights.isEmpty() || limit <= 0) {
+        return new Hits(List.of(), weights.isEmpty() ? 0 : count(weights));
+      }
+      return rank(weights, offset, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Keyset variant of {@link #search}: returns up to {@code limit} hits ranked strictly after
+   * {@code (afterScore, afterKey)}, ordered by score and then by key so the order does not depend
+   * on internal document ids. Scores shift as documents are indexed, so a hit may move across the
+   * position between two calls.
+   */
+  public List<ScoredKey> searchAfter(
+    List<String> terms,
+    String prefix,
+    float afterScore,
+    UUID afterKey,
+    int limit
+  ) {
+    lock.readLock().lock();
+    try {
+      Map<Term, Float> weights = resolve(terms, prefix);
+      if (weights.isEmpty() || limit <= 0) {
+        return List.of();
+      }
+      Comparator<ScoredKey> order = Comparator.comparingDouble(ScoredKey::score)
+        .reversed()
+        .thenComparing(ScoredKey::key);
+      PriorityQueue<ScoredKey> top = new PriorityQueue<>(order.reversed());
+      score(weights, (doc, score) -> {
+        UUID key = docKeys.get(doc);
+        if (score < afterScore || (score == afterScore && key.compareTo(afterKey) > 0)) {
+          top.offer(new ScoredKey(key, score));
+          if (top.size() > limit) {
+            top.poll();
+          }
+        }
+      });
+      List<ScoredKey> ordered = new ArrayList<>(top);
+      ordered.sort(order);
+      return ordered;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private Map<Term, Float> resolve(List<String> terms, String prefix) {
+    Map<Term, Float> weights = new LinkedHashMap<>();
+    int liveDocs = docIds.size();
+    for (String token : terms) {
+      Term term = dictionary.get(token);
+      if (term != null) {
+        weights.merge(term, idf(term, liveDocs), Float::sum);
+      }
+    }
+    if (prefix != null && !prefix.isEmpty()) {
+      dictionary
+        .subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+        .values()
+        .stream()
+        .filter(term -> term.documentFrequency > 0)
+        .limit(MAX_PREFIX_EXPANSIONS)
+        .forEach(term -> weights.putIfAbsent(term, idf(term, liveDocs)));
+    }
+    return weights;
+  }
+
+  private Hits rank(Map<Term, Float> weights, long offset, int limit) {
+    int size = (int) Math.min(Integer.MAX_VALUE - 8, offset + limit);
+    PriorityQueue<Hit> top = new PriorityQueue<>(
+      Comparator.comparingDouble(Hit::score).thenComparing(Hit::doc, Comparator.reverseOrder())
+    );
+    long total = score(weights, (doc, score) -> {
+      top.offer(new Hit(doc, score));
+      if (top.size() > size) {
+        top.poll();
+      }
+    });
+
+    List<Hit> ordered = new ArrayList<>(top);
+    ordered.sort(top.comparator().reversed());
+    List<UUID> keys = ordered
+      .stream()
+      .skip(offset)
+      .map(hit -> docKeys.get(hit.doc()))
+      .toList();
+    return new Hits(keys, total);
+  }
+
+  /** Walks the posting lists in doc order, passes every live match to {@code hits}, counts them. */
+  private long score(Map<Term, Float> weights, HitConsumer hits) {
+    float averageLength = docIds.isEmpty() ? 1 : (float) totalLength / docIds.size();
+    PostingList.Cursor[] cursors = new PostingList.Cursor[weights.size()];
+    float[] idfs = new float[weights.size()];
+    int active = 0;
+    for (Map.Entry<Term, Float> entry : weights.entrySet()) {
+      PostingList.Cursor cursor = entry.getKey().postings.cursor();
+      if (cursor.next()) {
+        cursors[active] = cursor;
+        idfs[active] = entry.getValue();
+        active++;
+      }
+    }
+
+    long total = 0;
+    while (active > 0) {
+      int doc = Integer.MAX_VALUE;
+      for (int i = 0; i < active; i++) {
+        doc = Math.min(doc, cursors[i].doc());
+      }
+      boolean live = !tombstones.get(doc);
+      float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+      float score = 0;
+      for (int i = 0; i < active; ) {
+        PostingList.Cursor cursor = cursors[i];
+        if (cursor.doc() == doc) {
+          if (live) {
+            int tf = cursor.frequency();
+            score += (idfs[i] * tf * (K1 + 1)) / (tf + norm);
+          }
+          if (!cursor.next()) {
+            active--;
+            cursors[i] = cursors[active];
+            idfs[i] = idfs[active];
+            continue;
+          }
+        }
+        i++;
+      }
+      if (live) {
+        total++;
+        hits.accept(doc, score);
+      }
+    }
+    return total;
+  }
+
+  private long count(Map<Term, Float> weights) {
+    BitSet matched = new BitSet();
+    for (Term term : weights.keySet()) {
+      PostingList.Cursor cursor = term.postings.cursor();
+      while (cursor.next()) {
+        matched.set(cursor.doc());
+      }
+    }
+    matched.andNot(tombstones);
+    return matched.cardinality();
+  }
+
+  private static float idf(Term term, int liveDocs) {
+    return (float) Math.log(
+      1 + (liveDocs - term.documentFrequency + 0.5) / (term.documentFrequency + 0.5)
+    );
+  }
+
+  private void removeInternal(UUID key) {
+    Integer doc = docIds.remove(key);
+    if (doc == null) {
+      return;
+    }
+    for (Term term : docTerms.get(doc)) {
+      term.documentFrequency--;
+    }
+    docTerms.set(doc, null);
+    totalLength -= docLengths[doc];
+    tombstones.set(doc);
+    tombstoneCount++;
+  }
+
+  private void compactIfNeeded() {
+    if (tombstoneCount >= MIN_COMPACTION_TOMBSTONES && tombstoneCount * 4L >= docKeys.size()) {
+      compact();
+    }
+  }
+
+  private void compact() {
+    int[] newIds = new int[docKeys.size()];
+    List<UUID> keys = new ArrayList<>(docIds.size());
+    List<Term[]> terms = new ArrayList<>(docIds.size());
+    int[] lengths = new int[Math.max(64, docIds.size())];
+    for (int doc = 0; doc < newIds.length; doc++) {
+      if (tombstones.get(doc)) {
+        newIds[doc] = -1;
+        continue;
+      }
+      int newDoc = keys.size();
+      newIds[doc] = newDoc;
+      keys.add(docKeys.get(doc));
+      terms.add(docTerms.get(doc));
+      lengths[newDoc] = docLengths[doc];
+      docIds.put(docKeys.get(doc), newDoc);
+    }
+    dictionary.values().removeIf(term -> term.documentFrequency == 0);
+    dictionary.values().forEach(term -> term.postings = term.postings.remap(newIds));
+    docKeys = keys;
+    docTerms = terms;
+    docLengths = lengths;
+    tombstones = new BitSet();
+    tombstoneCount = 0;
+  }
+
+  private static final class Term {
+
+    private PostingList postings = new PostingList();
+    private int documentFrequency;
+  }
+
+  private record Hit(int doc, float score) {}
+
+  @FunctionalInterface
+  private interface HitConsumer {
+    void accept(int doc, float score);
+  }
+}
@@ -0,0 +1,94 @@
+package com.flavormetrics.api.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only posting list of {@code (docId, termFrequency)} pairs. Doc ids are stored as gaps
+ * from the previous id and both values are variable-length encoded, so a typical entry takes two
+ * bytes.
+ */
+final class PostingList {
+
+  private byte[] bytes = new byte[8];
+  private int length;
+  private int lastDoc = -1;
+  private int size;
+
+  void add(int doc, int frequency) {
+    if (doc <= lastDoc) {
+      throw new IllegalArgumentException("Doc ids must be added in increasing order");
+    }
+    writeVarInt(doc - lastDoc);
+    writeVarInt(frequency);
+    lastDoc = doc;
+    size++;
+  }
+
+  int size() {
+    return size;
+  }
+
+  Cursor cursor() {
+    return new Cursor();
+  }
+
+  /** Returns a copy with doc ids translated through {@code newIds}; negative ids are dropped. */
+  PostingList remap(int[] newIds) {
+    PostingList remapped = new PostingList();
+    Cursor cursor = cursor();
+    while (cursor.next()) {
+      int doc = newIds[cursor.doc()];
+      if (doc >= 0) {
+        remapped.add(doc, cursor.frequency());
+      }
+    }
+    return remapped;
+  }
+
+  private void writeVarInt(int value) {
+    if (length + 5 > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+    }
+    while ((value & ~0x7F) != 0) {
+      bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[length++] = (byte) value;
+  }
+
+  final class Cursor {
+
+    private int position;
+    private int doc = -1;
+    private int frequency;
+
+    boolean next() {
+      if (position >= length) {
+        return false;
+      }
+      doc += readVarInt();
+      frequency = readVarInt();
+      return true;
+    }
+
+    int doc() {
+      return doc;
+    }
+
+    int frequency() {
+      return frequency;
+    }
+
+    private int readVarInt() {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = bytes[position++];
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      return value;
+    }
+  }
+}
@@ -0,0 +1,283 @@
+package com.flavormetrics.api.search;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.model.FacetQuery;
+import com.flavormetrics.api.model.FacetResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Roaring bitmaps over recipe facets: one per difficulty, dietary preference, tag and allergy,
+ * and one per distinct prep time, cook time and calorie value so "at most" filters stay exact.
+ *
+ * <p>Recipes are numbered in the order they were first indexed; when built oldest first, the
+ * highest numbers are the newest recipes, so pages are read from the top of the result bitmap.
+ * An update keeps the recipe's number and only moves it between bitmaps.
+ */
+public class RecipeFacetIndex {
+
+  public static final String DIFFICULTY = "difficulty";
+  public static final String DIETARY_PREFERENCE = "dietaryPreference";
+  public static final String TAG = "tag";
+  public static final String ALLERGY = "allergy";
+  public static final String PREP_TIME = "prepTimeMinutes";
+  public static final String COOK_TIME = "cookTimeMinutes";
+  public static final String CALORIES = "estimatedCalories";
+
+  static final int[] TIME_BUCKETS = { 15, 30, 60, 120 };
+  static final int[] CALORIE_BUCKETS = { 200, 400, 600, 800 };
+
+  private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+  public record Document(
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference,
+    Integer prepTimeMinutes,
+    Integer cookTimeMinutes,
+    Integer estimatedCalories,
+    Set<String> tags,
+    Set<String> allergies
+  ) {
+    public Document {
+      tags = Set.copyOf(tags);
+      allergies = Set.copyOf(allergies);
+    }
+  }
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final RoaringBitmap live = new RoaringBitmap();
+  private final Map<UUID, Integer> docIds = new HashMap<>();
+  private final List<UUID> docKeys = new ArrayList<>();
+  private final List<Document> documents = new ArrayList<>();
+  private final Map<DifficultyType, RoaringBitmap> byDifficulty = new EnumMap<>(
+    DifficultyType.class
+  );
+  private final Map<DietaryPreferenceType, RoaringBitmap> byDietaryPreference = new EnumMap<>(
+    DietaryPreferenceType.class
+  );
+  private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+  private final Map<String, RoaringBitmap> byAllergy = new HashMap<>();
+  private final TreeMap<Integer, RoaringBitmap> byPrepTime = new TreeMap<>();
+  private final TreeMap<Integer, RoaringBitmap> byCookTime = new TreeMap<>();
+  private final TreeMap<Integer, RoaringBitmap> byCalories = new TreeMap<>();
+
+  public void put(UUID key, Document document) {
+    lock.writeLock().lock();
+    try {
+      Integer doc = docIds.get(key);
+      if (doc == null) {
+        doc = docKeys.size();
+        docIds.put(key, doc);
+        docKeys.add(key);
+        documents.add(document);
+      } else {
+        unindex(doc, documents.get(doc));
+        documents.set(doc, document);
+      }
+      index(doc, document);
+      live.add(doc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(UUID key) {
+    lock.writeLock().lock();
+    try {
+      Integer doc = docIds.remove(key);
+      if (doc == null) {
+        return;
+      }
+      unindex(doc, documents.get(doc));
+      documents.set(doc, null);
+      live.remove(doc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return live.getCardinality();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public FacetResult search(FacetQuery query, long offset, int limit) {
+    lock.readLock().lock();
+    try {
+      RoaringBitmap matched = match(query);
+      long total = matched.getLongCardinality();
+      List<UUID> ids = new ArrayList<>();
+      for (long i = offset; i < total && ids.size() < limit; i++) {
+        ids.add(docKeys.get(matched.select((int) (total - 1 - i))));
+      }
+      return new FacetResult(ids, total, count(matched));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private RoaringBitmap match(FacetQuery query) {
+    RoaringBitmap matched = live.clone();
+    if (isSet(query.difficulties())) {
+      matched.and(union(byDifficulty, query.difficulties()));
+    }
+    if (isSet(query.dietaryPreferences())) {
+      matched.and(union(byDietaryPreference, query.dietaryPreferences()));
+    }
+    if (isSet(query.tags())) {
+      for (String tag : query.tags()) {
+        matched.and(byTag.getOrDefault(tag, EMPTY));
+      }
+    }
+    if (isSet(query.excludedTags())) {
+      matched.andNot(union(byTag, query.excludedTags()));
+    }
+    if (isSet(query.excludedAllergies())) {
+      matched.andNot(union(byAllergy, query.excludedAllergies()));
+    }
+    if (query.maxPrepTimeMinutes() != null) {
+      matched.and(atMost(byPrepTime, query.maxPrepTimeMinutes()));
+    }
+    if (query.maxCookTimeMinutes() != null) {
+      matched.and(atMost(byCookTime, query.maxCookTimeMinutes()));
+    }
+    if (query.maxEstimatedCalories() != null) {
+      matched.and(atMost(byCalories, query.maxEstimatedCalories()));
+    }
+    return matched;
+  }
+
+  private Map<String, Map<String, Long>> count(RoaringBitmap matched) {
+    Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+    facets.put(DIFFICULTY, countValues(byDifficulty, matched));
+    facets.put(DIETARY_PREFERENCE, countValues(byDietaryPreference, matched));
+    facets.put(TAG, countValues(byTag, matched));
+    facets.put(ALLERGY, countValues(byAllergy, matched));
+    facets.put(PREP_TIME, countBuckets(byPrepTime, TIME_BUCKETS, matched));
+    facets.put(COOK_TIME, countBuckets(byCookTime, TIME_BUCKETS, matched));
+    facets.put(CALORIES, countBuckets(byCalories, CALORIE_BUCKETS, matched));
+    return facets;
+  }
+
+  private static <K> Map<String, Long> countValues(
+    Map<K, RoaringBitmap> bitmaps,
+    RoaringBitmap matched
+  ) {
+    Map<String, Long> counts = new TreeMap<>();
+    bitmaps.forEach((value, bitmap) -> {
+      long count = RoaringBitmap.andCardinality(matched, bitmap);
+      if (count > 0) {
+        counts.put(String.valueOf(value), count);
+      }
+    });
+    return counts;
+  }
+
+  /** Cumulative counts per upper bound, plus the remainder above the last bound. */
+  private static Map<String, Long> countBuckets(
+    TreeMap<Integer, RoaringBitmap> bitmaps,
+    int[] bounds,
+    RoaringBitmap matched
+  ) {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    long running = 0;
+    int bound = 0;
+    for (Map.Entry<Integer, RoaringBitmap> entry : bitmaps.entrySet()) {
+      while (bound < bounds.length && entry.getKey() > bounds[bound]) {
+        counts.put("<=" + bounds[bound++], running);
+      }
+      running += RoaringBitmap.andCardinality(matched, entry.getValue());
+    }
+    while (bound < bounds.length) {
+      counts.put("<=" + bounds[bound++], running);
+    }
+    int last = bounds[bounds.length - 1];
+    counts.put(">" + last, running - counts.get("<=" + last));
+    return counts;
+  }
+
+  private static <K> RoaringBitmap union(Map<K, RoaringBitmap> bitmaps, Collection<K> values) {
+    List<RoaringBitmap> selected = new ArrayList<>(values.size());
+    for (K value : values) {
+      RoaringBitmap bitmap = bitmaps.get(value);
+      if (bitmap != null) {
+        selected.add(bitmap);
+      }
+    }
+    return selected.isEmpty() ? new RoaringBitmap() : FastAggregation.or(selected.iterator());
+  }
+
+  private static RoaringBitmap atMost(TreeMap<Integer, RoaringBitmap> bitmaps, int max) {
+    Collection<RoaringBitmap> selected = bitmaps.headMap(max, true).values();
+    return selected.isEmpty() ? new RoaringBitmap() : FastAggregation.or(selected.iterator());
+  }
+
+  private void index(int doc, Document document) {
+    if (document.difficulty() != null) {
+      add(byDifficulty, document.difficulty(), doc);
+    }
+    if (document.dietaryPreference() != null) {
+      add(byDietaryPreference, document.dietaryPreference(), doc);
+    }
+    document.tags().forEach(tag -> add(byTag, tag, doc));
+    document.allergies().forEach(allergy -> add(byAllergy, allergy, doc));
+    if (document.prepTimeMinutes() != null) {
+      add(byPrepTime, document.prepTimeMinutes(), doc);
+    }
+    if (document.cookTimeMinutes() != null) {
+      add(byCookTime, document.cookTimeMinutes(), doc);
+    }
+    if (document.estimatedCalories() != null) {
+      add(byCalories, document.estimatedCalories(), doc);
+    }
+  }
+
+  private void unindex(int doc, Document document) {
+    remove(byDifficulty, document.difficulty(), doc);
+    remove(byDietaryPreference, document.dietaryPreference(), doc);
+    document.tags().forEach(tag -> remove(byTag, tag, doc));
+    document.allergies().forEach(allergy -> remove(byAllergy, allergy, doc));
+    remove(byPrepTime, document.prepTimeMinutes(), doc);
+    remove(byCookTime, document.cookTimeMinutes(), doc);
+    remove(byCalories, document.estimatedCalories(), doc);
+  }
+
+  private static <K> void add(Map<K, RoaringBitmap> bitmaps, K value, int doc) {
+    bitmaps.computeIfAbsent(value, v -> new RoaringBitmap()).add(doc);
+  }
+
+  private static <K> void remove(Map<K, RoaringBitmap> bitmaps, K value, int doc) {
+    if (value == null) {
+      return;
+    }
+    RoaringBitmap bitmap = bitmaps.get(value);
+    if (bitmap == null) {
+      return;
+    }
+    bitmap.remove(doc);
+    if (bitmap.isEmpty()) {
+      bitmaps.remove(value);
+    }
+  }
+
+  private static boolean isSet(Set<?> values) {
+    return values != null && !values.isEmpty();
+  }
+}
@@ -0,0 +1,248 @@
+package com.flavormetrics.api.search;
+
+import com.flavormetrics.api.enums.SuggestionType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Popularity-weighted prefix trie for typeahead.
+ *
+ * <p>Each node keeps its children in a sorted {@code char[]} and caches the highest weight found
+ * anywhere below it, so the top {@code n} completions of a prefix are found best-first without
+ * walking the whole subtree. Entries are reachable from the start of every word, so "soup" also
+ * completes "Tomato soup".
+ */
+public class SuggestionTrie {
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Node root = new Node();
+  private final Map<Key, Entry> entries = new HashMap<>();
+
+  public record Suggestion(String text, SuggestionType type, long weight) {}
+
+  private record Key(SuggestionType type, String normalized) {}
+
+  /** Either a subtree, ranked by its best weight, or a single entry. */
+  private record Candidate(long weight, Node node, Entry entry) {}
+
+  /** Sets the weight of {@code text}; a weight of zero or less removes it. */
+  public void put(SuggestionType type, String text, long weight) {
+    String normalized = normalize(text);
+    if (normalized.isEmpty()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      Key key = new Key(type, normalized);
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        if (weight <= 0) {
+          return;
+        }
+        entry = new Entry(text.strip(), type, weight);
+        entries.put(key, entry);
+        for (int start : wordStarts(normalized)) {
+          insert(normalized, start, entry);
+        }
+        return;
+      }
+      entry.weight = weight;
+      for (int start : wordStarts(normalized)) {
+        if (weight <= 0) {
+          removeAndReweigh(normalized, start, entry);
+        } else {
+          reweigh(normalized, start);
+        }
+      }
+      if (weight <= 0) {
+        entries.remove(key);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Returns up to {@code limit} entries reachable from {@code prefix}, heaviest first. */
+  public List<Suggestion> complete(String prefix, int limit) {
+    String normalized = normalize(prefix);
+    if (normalized.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    lock.readLock().lock();
+    try {
+      Node node = root;
+      for (int i = 0; i < normalized.length() && node != null; i++) {
+        node = node.child(normalized.charAt(i));
+      }
+      if (node == null) {
+        return List.of();
+      }
+      return collect(node, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static List<Suggestion> collect(Node start, int limit) {
+    PriorityQueue<Candidate> queue = new PriorityQueue<>(
+      Comparator.comparingLong(Candidate::weight).reversed()
+    );
+    queue.add(new Candidate(start.maxWeight, start, null));
+    Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Suggestion> result = new ArrayList<>(limit);
+    while (!queue.isEmpty() && result.size() < limit) {
+      Candidate candidate = queue.poll();
+      if (candidate.entry() != null) {
+        Entry entry = candidate.entry();
+        if (seen.add(entry)) {
+          result.add(new Suggestion(entry.text, entry.type, entry.weight));
+        }
+        continue;
+      }
+      for (Entry entry : candidate.node().entries) {
+        queue.add(new Candidate(entry.weight, null, entry));
+      }
+      for (Node child : candidate.node().children) {
+        if (child.maxWeight > 0) {
+          queue.add(new Candidate(child.maxWeight, child, null));
+        }
+      }
+    }
+    return result;
+  }
+
+  private void insert(String key, int start, Entry entry) {
+    Node node = root;
+    for (int i = start; i < key.length(); i++) {
+      node.maxWeight = Math.max(node.maxWeight, entry.weight);
+      node = node.childOrCreate(key.charAt(i));
+    }
+    node.maxWeight = Math.max(node.maxWeight, entry.weight);
+    if (node.entries.isEmpty()) {
+      node.entries = new ArrayList<>(1);
+    }
+    node.entries.add(entry);
+  }
+
+  private void reweigh(String key, int start) {
+    Node[] path = path(key, start);
+    for (int i = path.length - 1; i >= 0; i--) {
+      path[i].recomputeMaxWeight();
+    }
+  }
+
+  private void removeAndReweigh(String key, int start, Entry entry) {
+    Node[] path = path(key, start);
+    path[path.length - 1].entries.remove(entry);
+    for (int i = path.length - 1; i >= 0; i--) {
+      path[i].recomputeMaxWeight();
+    }
+  }
+
+  private Node[] path(String key, int start) {
+    Node[] path = new Node[key.length() - start + 1];
+    Node node = root;
+    path[0] = node;
+    for (int i = start; i < key.length(); i++) {
+      node = node.child(key.charAt(i));
+      path[i - start + 1] = node;
+    }
+    return path;
+  }
+
+  private static List<Integer> wordStarts(String normalized) {
+    List<Integer> starts = new ArrayList<>();
+    for (int i = 0; i < normalized.length(); i++) {
+      if (i == 0 || normalized.charAt(i - 1) == ' ') {
+        starts.add(i);
+      }
+    }
+    return starts;
+  }
+
+  private static final class Entry {
+
+    private final String text;
+    private final SuggestionType type;
+    private long weight;
+
+    private Entry(String text, SuggestionType type, long weight) {
+      this.text = text;
+      this.type = type;
+      this.weight = weight;
+    }
+  }
+
+  private static final class Node {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private char[] labels = NO_LABELS;
+    private Node[] children = NO_CHILDREN;
+    private List<Entry> entries = List.of();
+    private long maxWeight;
+
+    private Node child(char c) {
+      int i = Arrays.binarySearch(labels, c);
+      return i >= 0 ? children[i] : null;
+    }
+
+    private Node childOrCreate(char c) {
+      int i = Arrays.binarySearch(labels, c);
+      if (i >= 0) {
+        return children[i];
+      }
+      int at = -i - 1;
+      char[] newLabels = new char[labels.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(labels, 0, newLabels, 0, at);
+      System.arraycopy(children, 0, newChildren, 0, at);
+      newLabels[at] = c;
+      newChildren[at] = new Node();
+      System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+      System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+      labels = newLabels;
+      children = newChildren;
+      return newChildren[at];
+    }
+
+    private void recomputeMaxWeight() {
+      long max = 0;
+      for (Entry entry : entries) {
+        max = Math.max(max, entry.weight);
+      }
+      for (Node child : children) {
+        max = Math.max(max, child.maxWeight);
+      }
+      maxWeight = max;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.flavormetrics.api.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Splits text into lowercase letter/digit runs, dropping a handful of English stop words. */
+public final class Tokenizer {
+
+  private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+  private static final Set<String> STOP_WORDS = Set.of(
+    "a",
+    "an",
+    "and",
+    "for",
+    "in",
+    "into",
+    "of",
+    "on",
+    "or",
+    "the",
+    "to",
+    "with"
+  );
+
+  private Tokenizer() {}
+
+  public static List<String> tokenize(String text) {
+    if (text == null || text.isEmpty()) {
+      return List.of();
+    }
+    List<String> tokens = new ArrayList<>();
+    Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+    while (matcher.find()) {
+      String token = matcher.group();
+      if (!STOP_WORDS.contains(token)) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+}
@@ -0,0 +1,12 @@
+package com.flavormetrics.api.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Answers which recipes suit a user's profile allergies and dietary preference. */
+public interface EligibilityService {
+  /** Keeps the recipes the user may be recommended, in their given order. */
+  List<UUID> filterEligible(UUID userId, List<UUID> recipeIds);
+
+  long countEligible(UUID userId);
+}
@@ -0,0 +1,8 @@
+package com.flavormetrics.api.service;
+
+import com.flavormetrics.api.model.FacetQuery;
+import com.flavormetrics.api.model.FacetResult;
+
+public interface FacetService {
+  FacetResult search(FacetQuery query, int pageNumber, int pageSize);
+}
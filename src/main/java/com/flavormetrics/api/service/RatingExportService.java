@@ -0,0 +1,11 @@
+package com.flavormetrics.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface RatingExportService {
+  long exportNdjsonByRecipeId(UUID recipeId, OutputStream out) throws IOException;
+
+  long exportNdjsonByUserId(UUID userId, OutputStream out) throws IOException;
+}
@@ -1,6 +1,11 @@
 package com.flavormetrics.api.service;
 
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.KeysetCursor;
 import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.model.RatingSummary;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -11,4 +16,23 @@ public interface RatingService {
   Set<RatingDto> findAllRatingsByRecipeId(UUID recipeId);
 
   Set<RatingDto> findAllRatingsByUserId(UUID userId);
+
+  /** Ratings of a recipe, newest first, starting strictly after the cursor. */
+  DataWithPagination<List<RatingEntry>> findRatingsByRecipeId(
+    UUID recipeId,
+    KeysetCursor cursor,
+    int pageSize
+  );
+
+  /** Ratings of a user, newest first, starting strictly after the cursor. */
+  DataWithPagination<List<RatingEntry>> findRatingsByUserId(
+    UUID userId,
+    KeysetCursor cursor,
+    int pageSize
+  );
+
+  /** Score distribution and means of a recipe, read from its counters without loading ratings. */
+  RatingSummary getSummary(UUID recipeId);
+
+  int rebuildRatingAggregates();
 }
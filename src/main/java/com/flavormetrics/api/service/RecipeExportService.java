@@ -0,0 +1,10 @@
+package com.flavormetrics.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface RecipeExportService {
+  long exportNdjson(LocalDateTime updatedSince, LocalDateTime updatedBefore, OutputStream out)
+    throws IOException;
+}
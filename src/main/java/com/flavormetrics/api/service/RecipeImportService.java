@@ -0,0 +1,8 @@
+package com.flavormetrics.api.service;
+
+import com.flavormetrics.api.model.response.BulkImportResponse;
+import java.io.InputStream;
+
+public interface RecipeImportService {
+  BulkImportResponse importAll(InputStream json);
+}
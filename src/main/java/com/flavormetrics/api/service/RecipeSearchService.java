@@ -0,0 +1,27 @@
+package com.flavormetrics.api.service;
+
+import com.flavormetrics.api.model.DataWithPagination;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface RecipeSearchService {
+  /**
+   * @param query raw user input, already checked to be non-empty
+   * @return ids of the matching recipes, most relevant first
+   */
+  Page<UUID> searchIds(String query, Pageable pageable);
+
+  /**
+   * Keyset variant of {@link #searchIds}. Each backend seeks on its own ordering, so a cursor is
+   * only valid for the backend that issued it.
+   *
+   * @param query raw user input, already checked to be non-empty
+   * @param cursor {@code nextCursor} of the previous slice, null or blank for the first one
+   * @return up to {@code limit} ids ranked like {@link #searchIds}, and the cursor of the
+   *     next slice when this one is full
+   * @throws com.flavormetrics.api.exception.InvalidCursorException if the cursor cannot be decoded
+   */
+  DataWithPagination<List<UUID>> searchIdsAfter(String query, String cursor, int limit);
+}
@@ -1,9 +1,15 @@
 package com.flavormetrics.api.service;
 
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
 import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.KeysetCursor;
 import com.flavormetrics.api.model.RecipeByOwner;
 import com.flavormetrics.api.model.RecipeDto;
 import com.flavormetrics.api.model.RecipeFilter;
+import com.flavormetrics.api.model.RecipeSummaryDto;
+import com.flavormetrics.api.model.RecipeVersion;
+import com.flavormetrics.api.model.TopRatedRecipe;
 import com.flavormetrics.api.model.UploadImage;
 import com.flavormetrics.api.model.request.AddRecipeRequest;
 import java.util.List;
@@ -16,25 +22,79 @@ public interface RecipeService {
 
   RecipeDto getById(UUID id);
 
+  RecipeVersion getVersionById(UUID id);
+
   RecipeDto updateById(UUID id, AddRecipeRequest request);
 
   void deleteById(UUID id);
 
   DataWithPagination<List<RecipeDto>> findAll(int pageNumber, int pageSize);
 
+  DataWithPagination<List<RecipeDto>> findAll(KeysetCursor cursor, int pageSize);
+
   DataWithPagination<RecipeByOwner> findAllByUserEmail(String email, int pageNumber, int pageSize);
 
+  DataWithPagination<RecipeByOwner> findAllByUserEmail(
+    String email,
+    KeysetCursor cursor,
+    int pageSize
+  );
+
   DataWithPagination<List<RecipeDto>> findAllByRecipeFilter(
     RecipeFilter filter,
     int pageNumber,
     int pageSize
   );
 
-  DataWithPagination<Set<RecipeDto>> getRecommendations(int pageNumber, int pageSize);
+  DataWithPagination<List<RecipeDto>> findAllByRecipeFilter(
+    RecipeFilter filter,
+    KeysetCursor cursor,
+    int pageSize
+  );
+
+  DataWithPagination<List<RecipeSummaryDto>> findAllSummaries(int pageNumber, int pageSize);
+
+  DataWithPagination<List<RecipeSummaryDto>> findAllSummaries(KeysetCursor cursor, int pageSize);
+
+  DataWithPagination<List<RecipeSummaryDto>> findAllSummariesByRecipeFilter(
+    RecipeFilter filter,
+    int pageNumber,
+    int pageSize
+  );
+
+  DataWithPagination<List<RecipeSummaryDto>> findAllSummariesByRecipeFilter(
+    RecipeFilter filter,
+    KeysetCursor cursor,
+    int pageSize
+  );
+
+  DataWithPagination<Set<RecipeDto>> getRecommendations(int pageNumber, int pageSize, Long seed);
+
+  /** Keyset variant of the recommendations; see {@link UserRecommendationService#findPageAfter}. */
+  DataWithPagination<Set<RecipeDto>> getRecommendations(String cursor, int pageSize, Long seed);
 
   RecipeDto updateRecipeImageById(UUID id, UploadImage request);
 
   RecipeDto updateRecipeImageById(UUID id, MultipartFile file);
 
   DataWithPagination<List<RecipeDto>> searchByName(DataWithPagination<String> request);
+
+  /**
+   * Keyset variant of the name search; ranked by the configured search backend like the paged one.
+   *
+   * @param cursor {@code nextCursor} of the previous page, null or blank for the first one
+   */
+  DataWithPagination<List<RecipeDto>> searchByName(String name, String cursor, int pageSize);
+
+  /**
+   * Recipes with the highest Bayesian score, optionally restricted to a difficulty, a dietary
+   * preference or both. Either filter may be null.
+   */
+  List<TopRatedRecipe> findTopRated(
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference,
+    int limit
+  );
+
+  int rebuildMasks();
 }
@@ -0,0 +1,22 @@
+package com.flavormetrics.api.service;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+
+/** Chooses which recipes {@code /recommendations} shows a user, selected by configuration. */
+public interface RecommendationEngine {
+  /**
+   * @param seed client supplied shuffle seed, may be null; engines that rank deterministically
+   *     ignore it
+   * @return one page of recommended recipe ids, best first
+   */
+  Page<UUID> recommend(UUID userId, int pageNumber, int pageSize, Long seed);
+
+  /**
+   * Offset variant of {@link #recommend}, for continuing a stored list cut from the same order.
+   *
+   * @return at most {@code limit} recommended recipe ids from position {@code offset} on
+   */
+  List<UUID> recommendFrom(UUID userId, long offset, int limit, Long seed);
+}
@@ -0,0 +1,8 @@
+package com.flavormetrics.api.service;
+
+import com.flavormetrics.api.model.SuggestionDto;
+import java.util.List;
+
+public interface SuggestionService {
+  List<SuggestionDto> suggest(String prefix, int limit);
+}
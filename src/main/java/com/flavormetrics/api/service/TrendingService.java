@@ -0,0 +1,13 @@
+package com.flavormetrics.api.service;
+
+import com.flavormetrics.api.model.TrendingRecipe;
+import java.util.List;
+import java.util.UUID;
+
+public interface TrendingService {
+  List<TrendingRecipe> findTop(int limit);
+
+  void recordView(UUID recipeId);
+
+  int snapshot();
+}
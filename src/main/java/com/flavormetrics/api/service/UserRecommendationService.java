@@ -0,0 +1,35 @@
+package com.flavormetrics.api.service;
+
+import com.flavormetrics.api.model.DataWithPagination;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+
+/** Serves recommendations from per-user lists materialized by the {@link RecommendationEngine}. */
+public interface UserRecommendationService {
+  /**
+   * @param seed client supplied shuffle seed, may be null; a seed bypasses the stored list and
+   *     asks the engine directly
+   * @return one page of recommended recipe ids, best first
+   */
+  Page<UUID> findPage(UUID userId, int pageNumber, int pageSize, Long seed);
+
+  /**
+   * Keyset variant of {@link #findPage}, so deep pages cost the same as the first one. Walks the
+   * stored list by rank and then the engine's ranking past it; under the random engine, or with a
+   * seed, walks the shuffle instead.
+   *
+   * @param cursor {@code nextCursor} of the previous page, null or blank for the first one
+   * @param seed client supplied shuffle seed, may be null; only read when there is no cursor
+   * @throws com.flavormetrics.api.exception.InvalidCursorException if the cursor cannot be decoded
+   */
+  DataWithPagination<List<UUID>> findPageAfter(
+    UUID userId,
+    String cursor,
+    int pageSize,
+    Long seed
+  );
+
+  /** Recomputes and replaces the stored list of the given user. */
+  void refresh(UUID userId);
+}
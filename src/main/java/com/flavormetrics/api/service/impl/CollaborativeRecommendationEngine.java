@@ -0,0 +1,164 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.model.RatingRow;
+import com.flavormetrics.api.recommendation.ItemSimilarityModel;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.service.EligibilityService;
+import com.flavormetrics.api.service.RecommendationEngine;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ranks recipes by item-item collaborative filtering over the ratings table. The similarity model
+ * is rebuilt in the background and swapped in whole; requests only read it, plus the user's own
+ * ratings and the {@link EligibilityService} check over the ranked ids.
+ *
+ * <p>Users without ratings, or whose ratings share no co-raters with anyone or rank only recipes
+ * they may not eat, get the {@link RandomRecommendationEngine} order instead. Past the at most
+ * {@value #MAX_RANKED} ranked recipes, the rest of the eligible ones follow in that order too, so
+ * every engine pages through the same {@link EligibilityService#countEligible} recipes.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(
+  name = "flavormetrics.recommendations.engine",
+  havingValue = "collaborative"
+)
+public class CollaborativeRecommendationEngine implements RecommendationEngine {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    CollaborativeRecommendationEngine.class
+  );
+
+  static final int NEIGHBORS = 50;
+  static final int SHRINKAGE = 10;
+  static final int MAX_USER_RATINGS = 1000;
+  static final int MAX_RANKED = 500;
+  private static final int BATCH_SIZE = 10_000;
+
+  private final RatingRepository ratingRepository;
+  private final EligibilityService eligibilityService;
+  private final RandomRecommendationEngine fallback;
+
+  private volatile ItemSimilarityModel model = ItemSimilarityModel.empty();
+
+  public CollaborativeRecommendationEngine(
+    RatingRepository ratingRepository,
+    EligibilityService eligibilityService,
+    RandomRecommendationEngine fallback
+  ) {
+    this.ratingRepository = ratingRepository;
+    this.eligibilityService = eligibilityService;
+    this.fallback = fallback;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<UUID> recommend(UUID userId, int pageNumber, int pageSize, Long seed) {
+    List<UUID> ids = rankEligible(userId);
+    if (ids.isEmpty()) {
+      return fallback.recommend(userId, pageNumber, pageSize, seed);
+    }
+    long total = eligibilityService.countEligible(userId);
+    List<UUID> page = slice(userId, ids, total, (long) pageNumber * pageSize, pageSize, seed);
+    return new PageImpl<>(page, PageRequest.of(pageNumber, pageSize), total);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<UUID> recommendFrom(UUID userId, long offset, int limit, Long seed) {
+    List<UUID> ids = rankEligible(userId);
+    if (ids.isEmpty()) {
+      return fallback.recommendFrom(userId, offset, limit, seed);
+    }
+    return slice(userId, ids, eligibilityService.countEligible(userId), offset, limit, seed);
+  }
+
+  private List<UUID> rankEligible(UUID userId) {
+    List<UUID> ranked = rank(ratingRepository.findRowsByUserId(userId));
+    return ranked.isEmpty() ? ranked : eligibilityService.filterEligible(userId, ranked);
+  }
+
+  /** The eligible ranked {@code ids} from {@code offset} on, then the shuffle of the rest. */
+  private List<UUID> slice(
+    UUID userId,
+    List<UUID> ids,
+    long total,
+    long offset,
+    int limit,
+    Long seed
+  ) {
+    List<UUID> page = new ArrayList<>(limit);
+    if (offset < ids.size()) {
+      page.addAll(ids.subList((int) offset, (int) Math.min(ids.size(), offset + limit)));
+    }
+    if (page.size() < limit && offset + page.size() < total) {
+      page.addAll(
+        fallback.recommendExcluding(
+          userId,
+          new HashSet<>(ids),
+          Math.max(0, offset - ids.size()),
+          limit - page.size(),
+          seed
+        )
+      );
+    }
+    return page;
+  }
+
+  private List<UUID> rank(List<RatingRow> ratings) {
+    if (ratings.isEmpty()) {
+      return List.of();
+    }
+    List<UUID> recipeIds = new ArrayList<>(ratings.size());
+    int[] scores = new int[ratings.size()];
+    for (int i = 0; i < ratings.size(); i++) {
+      recipeIds.add(ratings.get(i).recipeId());
+      scores[i] = ratings.get(i).score();
+    }
+    return model.recommend(recipeIds, scores, MAX_RANKED);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+    initialDelayString = "${flavormetrics.recommendations.rebuild-interval:PT1H}",
+    fixedDelayString = "${flavormetrics.recommendations.rebuild-interval:PT1H}"
+  )
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    long start = System.nanoTime();
+    ItemSimilarityModel.Builder builder = ItemSimilarityModel.builder();
+    UUID last = new UUID(0, 0);
+    List<RatingRow> rows;
+    do {
+      rows = ratingRepository.findRowsAfter(last, PageRequest.ofSize(BATCH_SIZE));
+      for (RatingRow row : rows) {
+        builder.add(row.userId(), row.recipeId(), row.score());
+      }
+      if (!rows.isEmpty()) {
+        last = rows.getLast().id();
+      }
+    } while (rows.size() == BATCH_SIZE);
+    ItemSimilarityModel fresh = builder.build(NEIGHBORS, SHRINKAGE, MAX_USER_RATINGS);
+    model = fresh;
+    log.info(
+      "Recommendation model rebuilt with {} recipes in {} ms",
+      fresh.size(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+}
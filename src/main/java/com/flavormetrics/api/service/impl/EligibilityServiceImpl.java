@@ -0,0 +1,212 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.constants.CacheConstants;
+import com.flavormetrics.api.event.ProfileDeletedEvent;
+import com.flavormetrics.api.event.ProfileSavedEvent;
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.projection.ProfileExclusionProjection;
+import com.flavormetrics.api.model.projection.RecipeAllergyProjection;
+import com.flavormetrics.api.model.projection.RecipeFacetProjection;
+import com.flavormetrics.api.recommendation.EligibilityIndex;
+import com.flavormetrics.api.recommendation.EligibilityIndex.Exclusions;
+import com.flavormetrics.api.repository.ProfileRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.service.EligibilityService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Checks recipes against profiles with an {@link EligibilityIndex} held in memory instead of
+ * joining the allergy tables per request. Recipes are loaded into the live index once the
+ * application is ready and kept current from recipe events; those changed while the load ran are
+ * read again at the end, since the scan may have put an older row over them. A profile's
+ * exclusions are loaded on first use into the bounded {@value CacheConstants#EXCLUSIONS} cache and
+ * evicted when the profile is saved or removed. These listeners run first so that other
+ * after-commit listeners, such as the recommendation refresh, already see the change.
+ */
+@Service
+public class EligibilityServiceImpl implements EligibilityService {
+
+  private static final Logger log = LoggerFactory.getLogger(EligibilityServiceImpl.class);
+  private static final int BATCH_SIZE = 1000;
+
+  private final RecipeRepository recipeRepository;
+  private final ProfileRepository profileRepository;
+  private final CacheManager cacheManager;
+
+  private final EligibilityIndex index = new EligibilityIndex();
+  private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean rebuilding;
+
+  public EligibilityServiceImpl(
+    RecipeRepository recipeRepository,
+    ProfileRepository profileRepository,
+    CacheManager cacheManager
+  ) {
+    this.recipeRepository = recipeRepository;
+    this.profileRepository = profileRepository;
+    this.cacheManager = cacheManager;
+  }
+
+  @Override
+  public List<UUID> filterEligible(UUID userId, List<UUID> recipeIds) {
+    return index.filter(recipeIds, exclusionsOf(userId));
+  }
+
+  @Override
+  public long countEligible(UUID userId) {
+    return index.count(exclusionsOf(userId));
+  }
+
+  private Exclusions exclusionsOf(UUID userId) {
+    Cache exclusions = cacheManager.getCache(CacheConstants.EXCLUSIONS);
+    if (exclusions == null) {
+      return loadExclusions(userId);
+    }
+    return exclusions.get(userId, () -> loadExclusions(userId));
+  }
+
+  private Exclusions loadExclusions(UUID userId) {
+    List<ProfileExclusionProjection> rows = profileRepository.findExclusionRowsByUserId(userId);
+    if (rows.isEmpty()) {
+      return Exclusions.NONE;
+    }
+    Set<String> allergies = rows
+      .stream()
+      .map(ProfileExclusionProjection::getAllergyName)
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+    return Exclusions.of(rows.getFirst().getDietaryPreference(), allergies);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    long start = System.nanoTime();
+    rebuilding = true;
+    LocalDateTime createdAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+    UUID id = new UUID(0, 0);
+    List<RecipeFacetProjection> rows;
+    try {
+      do {
+        rows = recipeRepository.findFacetRowsAfter(createdAt, id, PageRequest.ofSize(BATCH_SIZE));
+        if (!rows.isEmpty()) {
+          putAll(rows);
+          createdAt = rows.getLast().getCreatedAt();
+          id = rows.getLast().getId();
+        }
+      } while (rows.size() == BATCH_SIZE);
+    } finally {
+      rebuilding = false;
+    }
+    List<UUID> changed = new ArrayList<>(changedDuringRebuild);
+    changedDuringRebuild.removeAll(changed);
+    reload(changed);
+    log.info(
+      "Eligibility index built with {} recipes in {} ms",
+      index.size(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onRecipeSaved(RecipeSavedEvent event) {
+    markChanged(event.recipeIds());
+    List<UUID> ids = event.recipeIds();
+    for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+      List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+      putAll(recipeRepository.findFacetRowsByIds(batch));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onRecipeDeleted(RecipeDeletedEvent event) {
+    markChanged(event.recipeIds());
+    event.recipeIds().forEach(index::remove);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onProfileSaved(ProfileSavedEvent event) {
+    evictExclusions(event.userId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onProfileDeleted(ProfileDeletedEvent event) {
+    evictExclusions(event.userId());
+  }
+
+  private void evictExclusions(UUID userId) {
+    Cache exclusions = cacheManager.getCache(CacheConstants.EXCLUSIONS);
+    if (exclusions != null) {
+      exclusions.evict(userId);
+    }
+  }
+
+  /** Recorded before the change is applied, so a rebuild still running re-reads the recipes. */
+  private void markChanged(List<UUID> ids) {
+    if (rebuilding) {
+      changedDuringRebuild.addAll(ids);
+    }
+  }
+
+  private void reload(List<UUID> ids) {
+    for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+      List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+      List<RecipeFacetProjection> rows = recipeRepository.findFacetRowsByIds(batch);
+      putAll(rows);
+      Set<UUID> found = rows
+        .stream()
+        .map(RecipeFacetProjection::getId)
+        .collect(Collectors.toSet());
+      batch.stream().filter(id -> !found.contains(id)).forEach(index::remove);
+    }
+  }
+
+  private void putAll(List<RecipeFacetProjection> rows) {
+    List<UUID> ids = new ArrayList<>(rows.size());
+    rows.forEach(row -> ids.add(row.getId()));
+    Map<UUID, Set<String>> allergies = recipeRepository
+      .findAllergiesByRecipeIds(ids)
+      .stream()
+      .collect(
+        Collectors.groupingBy(
+          RecipeAllergyProjection::getRecipeId,
+          Collectors.mapping(RecipeAllergyProjection::getName, Collectors.toSet())
+        )
+      );
+    for (RecipeFacetProjection row : rows) {
+      index.put(
+        row.getId(),
+        row.getDietaryPreference(),
+        allergies.getOrDefault(row.getId(), Set.of())
+      );
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.FacetQuery;
+import com.flavormetrics.api.model.FacetResult;
+import com.flavormetrics.api.model.projection.RecipeAllergyProjection;
+import com.flavormetrics.api.model.projection.RecipeFacetProjection;
+import com.flavormetrics.api.model.projection.RecipeTagProjection;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.search.RecipeFacetIndex;
+import com.flavormetrics.api.service.FacetService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evaluates {@link FacetQuery} filters against a {@link RecipeFacetIndex} held in memory. The
+ * index is loaded oldest recipe first once the application is ready and kept current from recipe
+ * save and delete events after each commit. The load fills the live index, and the recipes changed
+ * while it ran are read again at the end, since the scan may have put an older row over them.
+ */
+@Service
+public class FacetServiceImpl implements FacetService {
+
+  private static final Logger log = LoggerFactory.getLogger(FacetServiceImpl.class);
+  private static final int BATCH_SIZE = 1000;
+
+  private final RecipeRepository recipeRepository;
+
+  private final RecipeFacetIndex index = new RecipeFacetIndex();
+  private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean rebuilding;
+
+  public FacetServiceImpl(RecipeRepository recipeRepository) {
+    this.recipeRepository = recipeRepository;
+  }
+
+  @Override
+  public FacetResult search(FacetQuery query, int pageNumber, int pageSize) {
+    return index.search(query, (long) pageNumber * pageSize, pageSize);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    long start = System.nanoTime();
+    rebuilding = true;
+    LocalDateTime createdAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+    UUID id = new UUID(0, 0);
+    List<RecipeFacetProjection> rows;
+    try {
+      do {
+        rows = recipeRepository.findFacetRowsAfter(createdAt, id, PageRequest.ofSize(BATCH_SIZE));
+        if (!rows.isEmpty()) {
+          putAll(rows);
+          createdAt = rows.getLast().getCreatedAt();
+          id = rows.getLast().getId();
+        }
+      } while (rows.size() == BATCH_SIZE);
+    } finally {
+      rebuilding = false;
+    }
+    List<UUID> changed = new ArrayList<>(changedDuringRebuild);
+    changedDuringRebuild.removeAll(changed);
+    reload(changed);
+    log.info(
+      "Recipe facet index built with {} recipes in {} ms",
+      index.size(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onRecipeSaved(RecipeSavedEvent event) {
+    markChanged(event.recipeIds());
+    List<UUID> ids = event.recipeIds();
+    for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+      List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+      putAll(recipeRepository.findFacetRowsByIds(batch));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRecipeDeleted(RecipeDeletedEvent event) {
+    markChanged(event.recipeIds());
+    event.recipeIds().forEach(index::remove);
+  }
+
+  /** Recorded before the change is applied, so a rebuild still running re-reads the recipes. */
+  private void markChanged(List<UUID> ids) {
+    if (rebuilding) {
+      changedDuringRebuild.addAll(ids);
+    }
+  }
+
+  private void reload(List<UUID> ids) {
+    for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+      List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+      List<RecipeFacetProjection> rows = recipeRepository.findFacetRowsByIds(batch);
+      putAll(rows);
+      Set<UUID> found = rows
+        .stream()
+        .map(RecipeFacetProjection::getId)
+        .collect(Collectors.toSet());
+      batch.stream().filter(id -> !found.contains(id)).forEach(index::remove);
+    }
+  }
+
+  private void putAll(List<RecipeFacetProjection> rows) {
+    List<UUID> ids = new ArrayList<>(rows.size());
+    rows.forEach(row -> ids.add(row.getId()));
+    Map<UUID, Set<String>> tags = recipeRepository
+      .findTagsByRecipeIds(ids)
+      .stream()
+      .collect(
+        Collectors.groupingBy(
+          RecipeTagProjection::getRecipeId,
+          Collectors.mapping(RecipeTagProjection::getName, Collectors.toSet())
+        )
+      );
+    Map<UUID, Set<String>> allergies = recipeRepository
+      .findAllergiesByRecipeIds(ids)
+      .stream()
+      .collect(
+        Collectors.groupingBy(
+          RecipeAllergyProjection::getRecipeId,
+          Collectors.mapping(RecipeAllergyProjection::getName, Collectors.toSet())
+        )
+      );
+    for (RecipeFacetProjection row : rows) {
+      index.put(
+        row.getId(),
+        new RecipeFacetIndex.Document(
+          row.getDifficulty(),
+          row.getDietaryPreference(),
+          row.getPrepTimeMinutes(),
+          row.getCookTimeMinutes(),
+          row.getEstimatedCalories(),
+          tags.getOrDefault(row.getId(), Set.of()),
+          allergies.getOrDefault(row.getId(), Set.of())
+        )
+      );
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.CursorPageResponse;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.RankCursor;
+import com.flavormetrics.api.model.projection.RecipeIngredientProjection;
+import com.flavormetrics.api.model.projection.RecipeProjection;
+import com.flavormetrics.api.model.projection.RecipeTagProjection;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.search.InvertedIndex;
+import com.flavormetrics.api.search.Tokenizer;
+import com.flavormetrics.api.service.RecipeSearchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Answers name searches from an {@link InvertedIndex} held on this node, without a database round
+ * trip. The index covers recipe names, tags, ingredient names and instructions, is built once the
+ * application is ready and is kept current from {@link RecipeSavedEvent} and {@link
+ * RecipeDeletedEvent} after each commit.
+ */
+@Service
+@ConditionalOnProperty(name = "flavormetrics.search.backend", havingValue = "memory")
+public class InMemoryRecipeSearchService implements RecipeSearchService {
+
+  private static final Logger log = LoggerFactory.getLogger(InMemoryRecipeSearchService.class);
+
+  static final int NAME_WEIGHT = 3;
+  static final int TAG_WEIGHT = 2;
+  static final int INGREDIENT_WEIGHT = 2;
+  static final int INSTRUCTIONS_WEIGHT = 1;
+  private static final int BATCH_SIZE = 1000;
+
+  private final RecipeRepository recipeRepository;
+  private final InvertedIndex index = new InvertedIndex();
+
+  public InMemoryRecipeSearchService(RecipeRepository recipeRepository) {
+    this.recipeRepository = recipeRepository;
+  }
+
+  @Override
+  public Page<UUID> searchIds(String query, Pageable pageable) {
+    List<String> tokens = Tokenizer.tokenize(query);
+    if (tokens.isEmpty()) {
+      return Page.empty(pageable);
+    }
+    InvertedIndex.Hits hits = index.search(
+      tokens,
+      prefixOf(query, tokens),
+      pageable.getOffset(),
+      pageable.getPageSize()
+    );
+    return new PageImpl<>(hits.keys(), pageable, hits.total());
+  }
+
+  @Override
+  public DataWithPagination<List<UUID>> searchIdsAfter(String query, String cursor, int limit) {
+    RankCursor after = RankCursor.decode(cursor);
+    List<String> tokens = Tokenizer.tokenize(query);
+    List<InvertedIndex.ScoredKey> hits = tokens.isEmpty()
+      ? List.of()
+      : index.searchAfter(tokens, prefixOf(query, tokens), after.rank(), after.id(), limit);
+    String nextCursor = null;
+    if (!hits.isEmpty() && hits.size() == limit) {
+      InvertedIndex.ScoredKey last = hits.getLast();
+      nextCursor = new RankCursor(last.score(), 0, last.key()).encode();
+    }
+    return new DataWithPagination<>(
+      hits.stream().map(InvertedIndex.ScoredKey::key).toList(),
+      new CursorPageResponse(limit),
+      nextCursor
+    );
+  }
+
+  /** The last word may still be typed, unless the query ends in a separator. */
+  private static String prefixOf(String query, List<String> tokens) {
+    return Character.isLetterOrDigit(query.charAt(query.length() - 1)) ? tokens.getLast() : null;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    log.info("Building recipe search index...");
+    long start = System.nanoTime();
+    UUID last = new UUID(0, 0);
+    List<UUID> ids;
+    do {
+      ids = recipeRepository.findIdsAfter(last, PageRequest.ofSize(BATCH_SIZE));
+      if (!ids.isEmpty()) {
+        index(ids);
+        last = ids.getLast();
+      }
+    } while (ids.size() == BATCH_SIZE);
+    log.info(
+      "Recipe search index built with {} recipes in {} ms",
+      index.size(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onRecipeSaved(RecipeSavedEvent event) {
+    List<UUID> ids = event.recipeIds();
+    for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+      index(ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE)));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRecipeDeleted(RecipeDeletedEvent event) {
+    event.recipeIds().forEach(index::remove);
+  }
+
+  private void index(Collection<UUID> ids) {
+    Map<UUID, Map<String, Integer>> documents = new HashMap<>();
+    for (RecipeProjection row : recipeRepository.findRowsByIds(ids)) {
+      Map<String, Integer> terms = new HashMap<>();
+      addTerms(terms, row.getName(), NAME_WEIGHT);
+      addTerms(terms, row.getInstructions(), INSTRUCTIONS_WEIGHT);
+      documents.put(row.getId(), terms);
+    }
+    for (RecipeTagProjection tag : recipeRepository.findTagsByRecipeIds(ids)) {
+      addTerms(documents.get(tag.getRecipeId()), tag.getName(), TAG_WEIGHT);
+    }
+    for (RecipeIngredientProjection ingredient : recipeRepository.findIngredientsByRecipeIds(ids)) {
+      addTerms(documents.get(ingredient.getRecipeId()), ingredient.getName(), INGREDIENT_WEIGHT);
+    }
+    List<UUID> missing = new ArrayList<>(ids);
+    missing.removeAll(documents.keySet());
+    missing.forEach(index::remove);
+    documents.forEach(index::put);
+  }
+
+  private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+    if (terms == null) {
+      return;
+    }
+    Tokenizer.tokenize(text).forEach(token -> terms.merge(token, weight, Integer::sum));
+  }
+}
@@ -0,0 +1,59 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.model.CursorPageResponse;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.KeysetCursor;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.service.RecipeSearchService;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Portable fallback that matches a case-insensitive substring of the recipe name. It has no
+ * relevance score, so hits come newest first and cursors are plain {@link KeysetCursor}s.
+ */
+@Service
+@ConditionalOnProperty(
+  name = "flavormetrics.search.backend",
+  havingValue = "like",
+  matchIfMissing = true
+)
+public class LikeRecipeSearchService implements RecipeSearchService {
+
+  private final RecipeRepository recipeRepository;
+
+  public LikeRecipeSearchService(RecipeRepository recipeRepository) {
+    this.recipeRepository = recipeRepository;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<UUID> searchIds(String query, Pageable pageable) {
+    return recipeRepository.searchIdsByName(query.toLowerCase(Locale.ROOT), pageable);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<UUID>> searchIdsAfter(String query, String cursor, int limit) {
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    List<KeysetCursor> keys = recipeRepository.searchByNameAfter(
+      query.toLowerCase(Locale.ROOT),
+      after.createdAt(),
+      after.id(),
+      PageRequest.ofSize(limit)
+    );
+    String nextCursor = keys.size() == limit ? keys.getLast().encode() : null;
+    return new DataWithPagination<>(
+      keys.stream().map(KeysetCursor::id).toList(),
+      new CursorPageResponse(limit),
+      nextCursor
+    );
+  }
+}
@@ -0,0 +1,53 @@
+package com.flavormetrics.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows as newline-delimited JSON, one object per line with nothing before it and a newline
+ * after it. Output is only flushed when Jackson's buffer fills and once at the end, and the target
+ * stream is left open.
+ */
+final class NdjsonWriter<T> {
+
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter rowWriter;
+
+  NdjsonWriter(ObjectMapper objectMapper, Class<T> rowType) {
+    this.objectMapper = objectMapper;
+    this.rowWriter = objectMapper
+      .writerFor(rowType)
+      .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * @return the number of rows written
+   */
+  long write(Stream<T> rows, OutputStream out) throws IOException {
+    long count = 0;
+    try (
+      JsonGenerator generator = objectMapper
+        .getFactory()
+        .createGenerator(out)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+    ) {
+      // Jackson separates root values with a space by default, which would start every line
+      // after the first with one
+      generator.setRootValueSeparator(null);
+      Iterator<T> iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        rowWriter.writeValue(generator, iterator.next());
+        generator.writeRaw('\n');
+        count++;
+      }
+      generator.flush();
+    }
+    return count;
+  }
+}
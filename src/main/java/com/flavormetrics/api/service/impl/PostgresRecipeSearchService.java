@@ -0,0 +1,102 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.CursorPageResponse;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.RankCursor;
+import com.flavormetrics.api.model.projection.RankedIdProjection;
+import com.flavormetrics.api.repository.RecipeSearchRepository;
+import com.flavormetrics.api.service.RecipeSearchService;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Ranks recipes by full-text relevance over the weighted name, tag and ingredient vector, with a
+ * trigram-indexed substring match on the name as a fallback for partial words.
+ */
+@Service
+@ConditionalOnProperty(name = "flavormetrics.search.backend", havingValue = "postgres")
+public class PostgresRecipeSearchService implements RecipeSearchService {
+
+  private static final Logger log = LoggerFactory.getLogger(PostgresRecipeSearchService.class);
+  private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+  private final RecipeSearchRepository recipeSearchRepository;
+
+  public PostgresRecipeSearchService(RecipeSearchRepository recipeSearchRepository) {
+    this.recipeSearchRepository = recipeSearchRepository;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<UUID> searchIds(String query, Pageable pageable) {
+    String normalized = query.toLowerCase(Locale.ROOT).trim();
+    return recipeSearchRepository.search(
+      toPrefixTsQuery(normalized),
+      "%" + escapeLike(normalized) + "%",
+      normalized,
+      pageable
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<UUID>> searchIdsAfter(String query, String cursor, int limit) {
+    RankCursor after = RankCursor.decode(cursor);
+    String normalized = query.toLowerCase(Locale.ROOT).trim();
+    List<RankedIdProjection> hits = recipeSearchRepository.searchAfter(
+      toPrefixTsQuery(normalized),
+      "%" + escapeLike(normalized) + "%",
+      normalized,
+      after.rank(),
+      after.similarity(),
+      after.id(),
+      PageRequest.ofSize(limit)
+    );
+    String nextCursor = null;
+    if (!hits.isEmpty() && hits.size() == limit) {
+      RankedIdProjection last = hits.getLast();
+      nextCursor = new RankCursor(last.getRank(), last.getSimilarity(), last.getId()).encode();
+    }
+    return new DataWithPagination<>(
+      hits.stream().map(RankedIdProjection::getId).toList(),
+      new CursorPageResponse(limit),
+      nextCursor
+    );
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onRecipeSaved(RecipeSavedEvent event) {
+    recipeSearchRepository.refreshSearchVectors(event.recipeIds());
+  }
+
+  @Transactional
+  public void backfillSearchVectors() {
+    int updated = recipeSearchRepository.backfillSearchVectors();
+    log.info("Backfilled search vectors for {} recipes", updated);
+  }
+
+  /** Turns {@code "chick soup"} into {@code "chick:* & soup:*"} so every word may be a prefix. */
+  static String toPrefixTsQuery(String query) {
+    Matcher matcher = TOKEN.matcher(query);
+    return matcher.results().map(m -> m.group() + ":*").collect(Collectors.joining(" & "));
+  }
+
+  static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
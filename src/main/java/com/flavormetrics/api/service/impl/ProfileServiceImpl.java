@@ -3,6 +3,8 @@ package com.flavormetrics.api.service.impl;
 import com.flavormetrics.api.entity.Allergy;
 import com.flavormetrics.api.entity.Profile;
 import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.event.ProfileDeletedEvent;
+import com.flavormetrics.api.event.ProfileSavedEvent;
 import com.flavormetrics.api.exception.ProfileExistsException;
 import com.flavormetrics.api.exception.ProfileNotFoundException;
 import com.flavormetrics.api.factory.AllergyFactory;
@@ -16,6 +18,7 @@ import com.flavormetrics.api.service.ProfileService;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,15 +29,18 @@ public class ProfileServiceImpl implements ProfileService {
   private final ProfileRepository profileRepository;
   private final UserRepository userRepository;
   private final AllergyFactory allergyFactory;
+  private final ApplicationEventPublisher eventPublisher;
 
   public ProfileServiceImpl(
     ProfileRepository profileRepository,
     UserRepository userRepository,
-    AllergyFactory allergyFactory
+    AllergyFactory allergyFactory,
+    ApplicationEventPublisher eventPublisher
   ) {
     this.profileRepository = profileRepository;
     this.userRepository = userRepository;
     this.allergyFactory = allergyFactory;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
@@ -67,10 +73,12 @@ public class ProfileServiceImpl implements ProfileService {
     profile = profileRepository.save(profile);
     user.setProfile(profile);
     userRepository.save(user);
+    eventPublisher.publishEvent(new ProfileSavedEvent(principal.id()));
     return Optional.of(profile).map(Profile::getId).orElseThrow();
   }
 
   @Override
+  @Transactional
   public ProfileDto updateById(CreateProfileRequest request) {
     var principal = (UserDetailsImpl) SecurityContextHolder.getContext()
       .getAuthentication()
@@ -81,7 +89,9 @@ public class ProfileServiceImpl implements ProfileService {
     profile.setDietaryPreference(request.dietaryPreference());
     Set<Allergy> allergies = allergyFactory.checkIfExistsOrElseSave(request.allergies());
     profile.setAllergies(allergies);
-    return Optional.of(profileRepository.save(profile)).map(ProfileMapper::toDto).get();
+    ProfileDto saved = Optional.of(profileRepository.save(profile)).map(ProfileMapper::toDto).get();
+    eventPublisher.publishEvent(new ProfileSavedEvent(principal.id()));
+    return saved;
   }
 
   @Override
@@ -94,5 +104,6 @@ public class ProfileServiceImpl implements ProfileService {
       .getProfileId(principal.id())
       .orElseThrow(ProfileNotFoundException::new);
     profileRepository.deleteById(profileId);
+    eventPublisher.publishEvent(new ProfileDeletedEvent(principal.id()));
   }
 }
@@ -0,0 +1,184 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.model.CursorPageResponse;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.RandomKeyRow;
+import com.flavormetrics.api.model.ShuffleCursor;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.service.EligibilityService;
+import com.flavormetrics.api.service.RecommendationEngine;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Shuffles the recipes that suit the user's profile. Every recipe has a fixed random key; a seed
+ * picks a start point and pages read in key order from there, wrapping around once, so pages of
+ * one session never overlap. Rows are read in index order and checked against the {@link
+ * EligibilityService}, which also supplies the total. Numbered pages re-walk the shuffle up to
+ * their offset; {@link #recommendAfter} seeks on {@code (random_key, id)} from a cursor instead.
+ *
+ * <p>Always registered, as it is also the cold-start fallback of the other engines.
+ */
+@Service
+public class RandomRecommendationEngine implements RecommendationEngine {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final RecipeRepository recipeRepository;
+  private final EligibilityService eligibilityService;
+
+  public RandomRecommendationEngine(
+    RecipeRepository recipeRepository,
+    EligibilityService eligibilityService
+  ) {
+    this.recipeRepository = recipeRepository;
+    this.eligibilityService = eligibilityService;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<UUID> recommend(UUID userId, int pageNumber, int pageSize, Long seed) {
+    double start = recommendationStart(userId, seed, LocalDate.now());
+    long total = eligibilityService.countEligible(userId);
+    long skip = (long) pageNumber * pageSize;
+    List<UUID> ids = new ArrayList<>(pageSize);
+    if (skip < total) {
+      walk(userId, ShuffleCursor.first(start), skip, pageSize, Set.of(), ids);
+    }
+    return new PageImpl<>(ids, PageRequest.of(pageNumber, pageSize), total);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<UUID> recommendFrom(UUID userId, long offset, int limit, Long seed) {
+    if (offset >= eligibilityService.countEligible(userId)) {
+      return List.of();
+    }
+    return recommendExcluding(userId, Set.of(), offset, limit, seed);
+  }
+
+  /**
+   * The shuffle of {@link #recommend} without the {@code excluded} recipes, from the {@code
+   * skip}-th one on. Lets another engine continue its ranking with the rest of the eligible
+   * recipes once it runs out.
+   *
+   * @return at most {@code limit} recipe ids
+   */
+  @Transactional(readOnly = true)
+  public List<UUID> recommendExcluding(
+    UUID userId,
+    Set<UUID> excluded,
+    long skip,
+    int limit,
+    Long seed
+  ) {
+    double start = recommendationStart(userId, seed, LocalDate.now());
+    List<UUID> ids = new ArrayList<>(limit);
+    walk(userId, ShuffleCursor.first(start), skip, limit, excluded, ids);
+    return ids;
+  }
+
+  /**
+   * Keyset variant of {@link #recommend}: seeks straight to the position after the previous page
+   * instead of re-reading and skipping every recipe before it, and needs no count.
+   *
+   * @param cursor {@code nextCursor} of the previous page, null or blank to start the shuffle
+   *     picked by {@code seed}
+   * @throws com.flavormetrics.api.exception.InvalidCursorException if the cursor cannot be decoded
+   */
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<UUID>> recommendAfter(
+    UUID userId,
+    String cursor,
+    int pageSize,
+    Long seed
+  ) {
+    ShuffleCursor from = cursor == null || cursor.isBlank()
+      ? ShuffleCursor.first(recommendationStart(userId, seed, LocalDate.now()))
+      : ShuffleCursor.decode(cursor);
+    List<UUID> ids = new ArrayList<>(pageSize);
+    ShuffleCursor next = walk(userId, from, 0, pageSize, Set.of(), ids);
+    return new DataWithPagination<>(
+      ids,
+      new CursorPageResponse(pageSize),
+      next == null ? null : next.encode()
+    );
+  }
+
+  /**
+   * Walks the shuffle from just after {@code from}, leaving out the {@code excluded} recipes,
+   * skipping the first {@code skip} eligible ones and adding the following ones to {@code ids}
+   * until it holds {@code pageSize}.
+   *
+   * @return the position of the last recipe added, or null when the walk ended first
+   */
+  private ShuffleCursor walk(
+    UUID userId,
+    ShuffleCursor from,
+    long skip,
+    int pageSize,
+    Set<UUID> excluded,
+    List<UUID> ids
+  ) {
+    double key = from.randomKey();
+    UUID id = from.id();
+    boolean wrapped = from.wrapped();
+    while (true) {
+      List<RandomKeyRow> rows = recipeRepository.findRandomKeyRowsAfter(
+        key,
+        id,
+        wrapped ? from.start() : 1.0,
+        PageRequest.ofSize(BATCH_SIZE)
+      );
+      Set<UUID> eligible = new HashSet<>(
+        eligibilityService.filterEligible(userId, rows.stream().map(RandomKeyRow::id).toList())
+      );
+      for (RandomKeyRow row : rows) {
+        if (!eligible.contains(row.id()) || excluded.contains(row.id())) {
+          continue;
+        }
+        if (skip > 0) {
+          skip--;
+          continue;
+        }
+        ids.add(row.id());
+        if (ids.size() == pageSize) {
+          return new ShuffleCursor(from.start(), row.randomKey(), row.id());
+        }
+      }
+      if (rows.size() == BATCH_SIZE) {
+        key = rows.getLast().randomKey();
+        id = rows.getLast().id();
+      } else if (!wrapped) {
+        wrapped = true;
+        key = -1.0;
+        id = new UUID(0, 0);
+      } else {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Maps the client's seed, or the user and day when there is none, to a start position in [0,
+   * 1).
+   */
+  static double recommendationStart(UUID userId, Long seed, LocalDate day) {
+    long bits = seed != null
+      ? seed
+      : userId.getMostSignificantBits() ^ userId.getLeastSignificantBits() ^ day.toEpochDay();
+    bits = (bits ^ (bits >>> 30)) * 0xbf58476d1ce4e5b9L;
+    bits = (bits ^ (bits >>> 27)) * 0x94d049bb133111ebL;
+    bits ^= bits >>> 31;
+    return (bits >>> 11) * 0x1.0p-53;
+  }
+}
@@ -0,0 +1,52 @@
+package com.flavormetrics.api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.service.RatingExportService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes all ratings of a recipe or of a user as newline-delimited JSON, newest first, straight
+ * from a database cursor, the same way {@link RecipeExportServiceImpl} writes the catalog.
+ */
+@Service
+public class RatingExportServiceImpl implements RatingExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(RatingExportServiceImpl.class);
+
+  private final RatingRepository ratingRepository;
+  private final NdjsonWriter<RatingEntry> ndjsonWriter;
+
+  public RatingExportServiceImpl(RatingRepository ratingRepository, ObjectMapper objectMapper) {
+    this.ratingRepository = ratingRepository;
+    this.ndjsonWriter = new NdjsonWriter<>(objectMapper, RatingEntry.class);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportNdjsonByRecipeId(UUID recipeId, OutputStream out) throws IOException {
+    try (Stream<RatingEntry> rows = ratingRepository.streamByRecipeId(recipeId)) {
+      long count = ndjsonWriter.write(rows, out);
+      log.debug("Exported {} ratings of recipe {}", count, recipeId);
+      return count;
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportNdjsonByUserId(UUID userId, OutputStream out) throws IOException {
+    try (Stream<RatingEntry> rows = ratingRepository.streamByUserId(userId)) {
+      long count = ndjsonWriter.write(rows, out);
+      log.debug("Exported {} ratings of user {}", count, userId);
+      return count;
+    }
+  }
+}
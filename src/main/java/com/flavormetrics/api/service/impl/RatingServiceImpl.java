@@ -1,20 +1,31 @@
 package com.flavormetrics.api.service.impl;
 
-import com.flavormetrics.api.entity.Rating;
-import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.constants.CacheConstants;
+import com.flavormetrics.api.event.RatingSavedEvent;
 import com.flavormetrics.api.exception.MaximumNumberOfRatingException;
 import com.flavormetrics.api.exception.RecipeNotFoundException;
+import com.flavormetrics.api.model.CursorPageResponse;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.KeysetCursor;
 import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.model.RatingHistogram;
+import com.flavormetrics.api.model.RatingSummary;
 import com.flavormetrics.api.model.UserDetailsImpl;
+import com.flavormetrics.api.recommendation.BayesianAverage;
 import com.flavormetrics.api.repository.RatingRepository;
 import com.flavormetrics.api.repository.RecipeRepository;
-import com.flavormetrics.api.repository.UserRepository;
 import com.flavormetrics.api.service.RatingService;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,47 +35,52 @@ public class RatingServiceImpl implements RatingService {
 
   private static final Logger log = LoggerFactory.getLogger(RatingServiceImpl.class);
 
-  private final UserRepository userRepository;
   private final RecipeRepository recipeRepository;
   private final RatingRepository ratingRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final BayesianAverage bayesianAverage;
 
   public RatingServiceImpl(
-    UserRepository userRepository,
     RecipeRepository recipeRepository,
-    RatingRepository ratingRepository
+    RatingRepository ratingRepository,
+    ApplicationEventPublisher eventPublisher,
+    BayesianAverage bayesianAverage
   ) {
-    this.userRepository = userRepository;
     this.recipeRepository = recipeRepository;
     this.ratingRepository = ratingRepository;
+    this.eventPublisher = eventPublisher;
+    this.bayesianAverage = bayesianAverage;
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConstants.RECIPES, key = "#recipeId")
   public Map<String, String> addRecipeRating(UUID recipeId, int ratingValue) {
     log.debug("Initialization of adding recipe rating");
-    Recipe recipe;
-    log.debug("Getting recipe with id {}", recipeId);
-    recipe = recipeRepository
-      .getRecipeByIdEager(recipeId)
-      .orElseThrow(RecipeNotFoundException::new);
-    log.debug("Recipe found");
     var principal = (UserDetailsImpl) SecurityContextHolder.getContext()
       .getAuthentication()
       .getPrincipal();
-    log.debug("Checking if the recipe is already rated by the current user");
-    boolean isRated = ratingRepository.isRecipeAlreadyRatedByUser(principal.id(), recipeId);
-    if (isRated) {
+    if (ratingValue > 5 || ratingValue < 0) {
+      throw new IllegalArgumentException("Value must be between 0 and 5");
+    }
+    log.debug("Inserting rating unless the recipe is already rated by the current user");
+    UUID ratingId = UUID.randomUUID();
+    int inserted = ratingRepository.insertIfAbsentAndCount(
+      ratingId,
+      ratingValue,
+      principal.id(),
+      recipeId,
+      bayesianAverage.priorMean(),
+      bayesianAverage.priorWeight()
+    );
+    if (inserted == 0) {
+      if (!recipeRepository.existsById(recipeId)) {
+        throw new RecipeNotFoundException();
+      }
       log.debug("Recipe is already rated by the current user");
       throw new MaximumNumberOfRatingException();
     }
-    log.debug("Recipe has not been rated yet by the current user");
-    Rating rating = new Rating();
-    rating.setUser(userRepository.getReferenceById(principal.id()));
-    rating.setRecipe(recipe);
-    rating.setScore(ratingValue);
-    recipe.getRatings().add(rating);
-    ratingRepository.save(rating);
-    recipeRepository.save(recipe);
+    eventPublisher.publishEvent(new RatingSavedEvent(principal.id(), recipeId, ratingValue));
     log.debug("Recipe has been rated by the current user successfully");
     return Map.of("message", "Recipe has been rated");
   }
@@ -80,4 +96,83 @@ public class RatingServiceImpl implements RatingService {
   public Set<RatingDto> findAllRatingsByUserId(UUID userId) {
     return ratingRepository.findAllRatingsByUserId(userId);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RatingEntry>> findRatingsByRecipeId(
+    UUID recipeId,
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    List<RatingEntry> ratings = ratingRepository.findByRecipeIdAfter(
+      recipeId,
+      cursor.createdAt(),
+      cursor.id(),
+      PageRequest.ofSize(pageSize)
+    );
+    return keysetPage(ratings, pageSize);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RatingEntry>> findRatingsByUserId(
+    UUID userId,
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    List<RatingEntry> ratings = ratingRepository.findByUserIdAfter(
+      userId,
+      cursor.createdAt(),
+      cursor.id(),
+      PageRequest.ofSize(pageSize)
+    );
+    return keysetPage(ratings, pageSize);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public RatingSummary getSummary(UUID recipeId) {
+    RatingHistogram histogram = recipeRepository
+      .findRatingHistogramById(recipeId)
+      .orElseThrow(RecipeNotFoundException::new);
+    int[] counts = histogram.counts();
+    Map<Integer, Integer> distribution = new LinkedHashMap<>();
+    for (int score = 0; score < counts.length; score++) {
+      distribution.put(score, counts[score]);
+    }
+    int count = histogram.count();
+    return new RatingSummary(
+      recipeId,
+      count,
+      count == 0 ? 0 : (double) histogram.sum() / count,
+      bayesianAverage.of(count, histogram.sum()),
+      distribution
+    );
+  }
+
+  @Override
+  @Transactional
+  @CacheEvict(cacheNames = CacheConstants.RECIPES, allEntries = true)
+  public int rebuildRatingAggregates() {
+    int updated =
+      recipeRepository.rebuildRatingAggregates() +
+      recipeRepository.resetUnratedRatingAggregates();
+    recipeRepository.refreshAllBayesianScores(
+      bayesianAverage.priorMean(),
+      bayesianAverage.priorWeight()
+    );
+    log.info("Rebuilt rating aggregates for {} recipes", updated);
+    return updated;
+  }
+
+  private static DataWithPagination<List<RatingEntry>> keysetPage(
+    List<RatingEntry> ratings,
+    int pageSize
+  ) {
+    String nextCursor = null;
+    if (!ratings.isEmpty() && ratings.size() == pageSize) {
+      nextCursor = ratings.getLast().cursor().encode();
+    }
+    return new DataWithPagination<>(ratings, new CursorPageResponse(pageSize), nextCursor);
+  }
 }
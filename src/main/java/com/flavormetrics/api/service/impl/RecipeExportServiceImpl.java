@@ -0,0 +1,61 @@
+package com.flavormetrics.api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flavormetrics.api.model.RecipeExportRow;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.service.RecipeExportService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the catalog as newline-delimited JSON straight from a database cursor, one row at a time,
+ * so memory stays flat however many recipes are exported. Rows are constructor projections, so
+ * nothing accumulates in the persistence context, and output is only flushed when Jackson's buffer
+ * fills.
+ */
+@Service
+public class RecipeExportServiceImpl implements RecipeExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(RecipeExportServiceImpl.class);
+
+  private static final LocalDateTime MIN_UPDATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final LocalDateTime MAX_UPDATED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+  private final RecipeRepository recipeRepository;
+  private final NdjsonWriter<RecipeExportRow> ndjsonWriter;
+
+  public RecipeExportServiceImpl(
+    RecipeRepository recipeRepository,
+    ObjectMapper objectMapper
+  ) {
+    this.recipeRepository = recipeRepository;
+    this.ndjsonWriter = new NdjsonWriter<>(objectMapper, RecipeExportRow.class);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportNdjson(
+    LocalDateTime updatedSince,
+    LocalDateTime updatedBefore,
+    OutputStream out
+  ) throws IOException {
+    long start = System.nanoTime();
+    long count;
+    try (
+      Stream<RecipeExportRow> rows = recipeRepository.streamExportRows(
+        updatedSince == null ? MIN_UPDATED_AT : updatedSince,
+        updatedBefore == null ? MAX_UPDATED_AT : updatedBefore
+      )
+    ) {
+      count = ndjsonWriter.write(rows, out);
+    }
+    log.info("Exported {} recipes in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    return count;
+  }
+}
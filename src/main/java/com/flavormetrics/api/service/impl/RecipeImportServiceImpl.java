@@ -0,0 +1,249 @@
+package com.flavormetrics.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flavormetrics.api.entity.Allergy;
+import com.flavormetrics.api.entity.Ingredient;
+import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.entity.Tag;
+import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.exception.InvalidImportException;
+import com.flavormetrics.api.factory.AllergyFactory;
+import com.flavormetrics.api.factory.IngredientFactory;
+import com.flavormetrics.api.factory.TagFactory;
+import com.flavormetrics.api.model.AllergyDto;
+import com.flavormetrics.api.model.IngredientDto;
+import com.flavormetrics.api.model.TagDto;
+import com.flavormetrics.api.model.UserDetailsImpl;
+import com.flavormetrics.api.model.request.AddRecipeRequest;
+import com.flavormetrics.api.model.response.BulkImportItem;
+import com.flavormetrics.api.model.response.BulkImportResponse;
+import com.flavormetrics.api.repository.RecipeBatchRepository;
+import com.flavormetrics.api.repository.UserRepository;
+import com.flavormetrics.api.service.RecipeImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports a JSON array of {@link AddRecipeRequest}s while it is still being read.
+ *
+ * <p>Elements are parsed one at a time and validated on their own, so a bad element only fails
+ * itself. Valid elements are written {@value #CHUNK_SIZE} at a time, each chunk in its own
+ * transaction. A chunk resolves all of its ingredient, tag and allergy names with one lookup and
+ * one batched save per dictionary, then inserts the recipes and join rows as JDBC batches. A
+ * chunk that fails is rolled back and reported item by item; earlier chunks stay committed.
+ */
+@Service
+public class RecipeImportServiceImpl implements RecipeImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(RecipeImportServiceImpl.class);
+
+  static final int CHUNK_SIZE = 1000;
+
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final IngredientFactory ingredientFactory;
+  private final TagFactory tagFactory;
+  private final AllergyFactory allergyFactory;
+  private final RecipeBatchRepository recipeBatchRepository;
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public RecipeImportServiceImpl(
+    ObjectMapper objectMapper,
+    Validator validator,
+    IngredientFactory ingredientFactory,
+    TagFactory tagFactory,
+    AllergyFactory allergyFactory,
+    RecipeBatchRepository recipeBatchRepository,
+    UserRepository userRepository,
+    TransactionTemplate transactionTemplate,
+    ApplicationEventPublisher eventPublisher
+  ) {
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.ingredientFactory = ingredientFactory;
+    this.tagFactory = tagFactory;
+    this.allergyFactory = allergyFactory;
+    this.recipeBatchRepository = recipeBatchRepository;
+    this.userRepository = userRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public BulkImportResponse importAll(InputStream json) {
+    var principal = (UserDetailsImpl) SecurityContextHolder.getContext()
+      .getAuthentication()
+      .getPrincipal();
+    long start = System.nanoTime();
+    List<BulkImportItem> items = new ArrayList<>();
+    List<Pending> chunk = new ArrayList<>(CHUNK_SIZE);
+    int index = 0;
+    try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new InvalidImportException("Expected a JSON array of recipes");
+      }
+      JsonToken token;
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token == null) {
+          throw new IOException("Unexpected end of input inside the recipe array");
+        }
+        JsonNode node = objectMapper.readTree(parser);
+        String error;
+        AddRecipeRequest request = null;
+        try {
+          request = objectMapper.treeToValue(node, AddRecipeRequest.class);
+          error = validate(request);
+        } catch (JsonProcessingException e) {
+          error = e.getOriginalMessage();
+        }
+        if (error != null) {
+          items.add(BulkImportItem.failed(index, error));
+        } else {
+          chunk.add(new Pending(index, request));
+        }
+        index++;
+        if (chunk.size() == CHUNK_SIZE) {
+          items.addAll(importChunk(chunk, principal.id()));
+          chunk.clear();
+        }
+      }
+    } catch (IOException e) {
+      items.add(BulkImportItem.failed(index, "Malformed JSON, import stopped: " + e.getMessage()));
+    }
+    if (!chunk.isEmpty()) {
+      items.addAll(importChunk(chunk, principal.id()));
+    }
+    items.sort(Comparator.comparingInt(BulkImportItem::index));
+    int imported = (int) items.stream().filter(item -> item.id() != null).count();
+    log.info(
+      "Bulk imported {} of {} recipes in {} ms",
+      imported,
+      index,
+      (System.nanoTime() - start) / 1_000_000
+    );
+    return new BulkImportResponse(imported, items.size() - imported, items);
+  }
+
+  private List<BulkImportItem> importChunk(List<Pending> chunk, UUID userId) {
+    try {
+      List<UUID> ids = transactionTemplate.execute(status -> insertChunk(chunk, userId));
+      List<BulkImportItem> items = new ArrayList<>(chunk.size());
+      for (int i = 0; i < chunk.size(); i++) {
+        items.add(BulkImportItem.imported(chunk.get(i).index(), ids.get(i)));
+      }
+      return items;
+    } catch (RuntimeException e) {
+      log.warn("Bulk import chunk of {} recipes was rolled back", chunk.size(), e);
+      String error =
+        "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+      return chunk.stream().map(p -> BulkImportItem.failed(p.index(), error)).toList();
+    }
+  }
+
+  private List<UUID> insertChunk(List<Pending> chunk, UUID userId) {
+    Map<String, Ingredient> ingredients = ingredientFactory.resolveAll(
+      flatten(chunk, AddRecipeRequest::ingredients)
+    );
+    Map<String, Tag> tags = tagFactory.resolveAll(flatten(chunk, AddRecipeRequest::tags));
+    Map<String, Allergy> allergies = allergyFactory.resolveAll(
+      flatten(chunk, AddRecipeRequest::allergies)
+    );
+    User user = userRepository.getReferenceById(userId);
+    LocalDateTime now = LocalDateTime.now();
+    List<Recipe> recipes = new ArrayList<>(chunk.size());
+    for (Pending pending : chunk) {
+      AddRecipeRequest req = pending.request();
+      Recipe recipe = new Recipe();
+      recipe.setId(UUID.randomUUID());
+      recipe.setUser(user);
+      recipe.setName(req.name());
+      recipe.setInstructions(req.instructions());
+      recipe.setDifficulty(req.difficulty());
+      recipe.setUpdatedAt(now);
+      recipe.setImageUrl(req.imageUrl());
+      recipe.setCookTimeMinutes(req.cookTimeMinutes());
+      recipe.setPrepTimeMinutes(req.prepTimeMinutes());
+      recipe.setEstimatedCalories(req.estimatedCalories());
+      recipe.setDietaryPreferences(req.dietaryPreference());
+      recipe.setIngredients(pick(req.ingredients(), IngredientDto::name, ingredients));
+      recipe.setTags(pick(req.tags(), TagDto::name, tags));
+      recipe.setAllergies(pick(req.allergies(), AllergyDto::name, allergies));
+      recipes.add(recipe);
+    }
+    recipeBatchRepository.insertAll(recipes);
+    List<UUID> ids = recipes.stream().map(Recipe::getId).toList();
+    eventPublisher.publishEvent(new RecipeSavedEvent(ids));
+    return ids;
+  }
+
+  /** Bean validation plus the nested names the request record does not constrain itself. */
+  private String validate(AddRecipeRequest request) {
+    Set<ConstraintViolation<AddRecipeRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      return violations
+        .stream()
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .sorted()
+        .reduce((a, b) -> a + "; " + b)
+        .orElseThrow();
+    }
+    if (request.ingredients().stream().anyMatch(i -> isBlank(i.name()) || i.unit() == null)) {
+      return "ingredients: every ingredient needs a name and a unit";
+    }
+    if (request.tags().stream().anyMatch(t -> isBlank(t.name()))) {
+      return "tags: every tag needs a name";
+    }
+    if (request.allergies().stream().anyMatch(a -> isBlank(a.name()))) {
+      return "allergies: every allergy needs a name";
+    }
+    return null;
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+
+  private static <D> List<D> flatten(
+    List<Pending> chunk,
+    Function<AddRecipeRequest, Set<D>> values
+  ) {
+    List<D> flat = new ArrayList<>();
+    for (Pending pending : chunk) {
+      flat.addAll(values.apply(pending.request()));
+    }
+    return flat;
+  }
+
+  private static <D, E> Set<E> pick(
+    Set<D> requested,
+    Function<D, String> name,
+    Map<String, E> resolved
+  ) {
+    Set<E> picked = new HashSet<>();
+    for (D dto : requested) {
+      picked.add(resolved.get(name.apply(dto)));
+    }
+    return picked;
+  }
+
+  private record Pending(int index, AddRecipeRequest request) {}
+}
@@ -1,33 +1,44 @@
 package com.flavormetrics.api.service.impl;
 
+import com.flavormetrics.api.constants.CacheConstants;
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.event.RecipeSavedEvent;
 import com.flavormetrics.api.entity.Allergy;
 import com.flavormetrics.api.entity.Ingredient;
 import com.flavormetrics.api.entity.Recipe;
 import com.flavormetrics.api.entity.Tag;
 import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.enums.AllergyType;
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.enums.TagType;
 import com.flavormetrics.api.exception.InvalidImageException;
 import com.flavormetrics.api.exception.ProfileNotFoundException;
 import com.flavormetrics.api.exception.RecipeNotFoundException;
 import com.flavormetrics.api.exception.UnAuthorizedException;
 import com.flavormetrics.api.factory.AllergyFactory;
 import com.flavormetrics.api.factory.IngredientFactory;
+import com.flavormetrics.api.factory.RecipeDtoFactory;
 import com.flavormetrics.api.factory.RecipeFactory;
 import com.flavormetrics.api.factory.TagFactory;
-import com.flavormetrics.api.mapper.RecipeMapper;
 import com.flavormetrics.api.model.*;
 import com.flavormetrics.api.model.request.AddRecipeRequest;
 import com.flavormetrics.api.repository.RecipeRepository;
 import com.flavormetrics.api.repository.UserRepository;
 import com.flavormetrics.api.service.ImageKitService;
+import com.flavormetrics.api.service.RecipeSearchService;
 import com.flavormetrics.api.service.RecipeService;
+import com.flavormetrics.api.service.UserRecommendationService;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 import javax.imageio.ImageIO;
 import org.hibernate.dialect.lock.OptimisticEntityLockException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +51,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class RecipeServiceImpl implements RecipeService {
 
   private static final Logger log = LoggerFactory.getLogger(RecipeServiceImpl.class);
+  private static final int MASK_BATCH_SIZE = 500;
 
   private final RecipeRepository recipeRepository;
   private final UserRepository userRepository;
@@ -48,6 +60,10 @@ public class RecipeServiceImpl implements RecipeService {
   private final AllergyFactory allergyFactory;
   private final TagFactory tagFactory;
   private final ImageKitService imageKitService;
+  private final RecipeDtoFactory recipeDtoFactory;
+  private final RecipeSearchService recipeSearchService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final UserRecommendationService userRecommendationService;
 
   public RecipeServiceImpl(
     RecipeRepository recipeRepository,
@@ -56,7 +72,11 @@ public class RecipeServiceImpl implements RecipeService {
     IngredientFactory ingredientFactory,
     AllergyFactory allergyFactory,
     TagFactory tagFactory,
-    ImageKitService imageKitService
+    ImageKitService imageKitService,
+    RecipeDtoFactory recipeDtoFactory,
+    RecipeSearchService recipeSearchService,
+    ApplicationEventPublisher eventPublisher,
+    UserRecommendationService userRecommendationService
   ) {
     this.recipeRepository = recipeRepository;
     this.userRepository = userRepository;
@@ -65,6 +85,10 @@ public class RecipeServiceImpl implements RecipeService {
     this.allergyFactory = allergyFactory;
     this.tagFactory = tagFactory;
     this.imageKitService = imageKitService;
+    this.recipeDtoFactory = recipeDtoFactory;
+    this.recipeSearchService = recipeSearchService;
+    this.eventPublisher = eventPublisher;
+    this.userRecommendationService = userRecommendationService;
   }
 
   @Override
@@ -79,6 +103,7 @@ public class RecipeServiceImpl implements RecipeService {
 
   @Override
   @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConstants.RECIPES, key = "#id")
   public RecipeDto getById(UUID id) {
     return recipeRepository
       .getRecipeByIdEager(id)
@@ -86,8 +111,15 @@ public class RecipeServiceImpl implements RecipeService {
       .orElseThrow(RecipeNotFoundException::new);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public RecipeVersion getVersionById(UUID id) {
+    return recipeRepository.findVersionById(id).orElseThrow(RecipeNotFoundException::new);
+  }
+
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConstants.RECIPES, key = "#id")
   public RecipeDto updateById(UUID id, AddRecipeRequest request) {
     if (request == null) {
       throw new IllegalArgumentException("AddRecipeRequest is null");
@@ -129,15 +161,20 @@ public class RecipeServiceImpl implements RecipeService {
         return fromDb;
       })
       .map(recipeRepository::save)
-      .map(RecipeDto::new)
+      .map(saved -> {
+        eventPublisher.publishEvent(new RecipeSavedEvent(saved.getId()));
+        return new RecipeDto(saved);
+      })
       .get();
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConstants.RECIPES, key = "#id")
   public void deleteById(UUID id) {
     try {
       recipeRepository.deleteById(id);
+      eventPublisher.publishEvent(new RecipeDeletedEvent(id));
     } catch (OptimisticEntityLockException e) {
       throw new RecipeNotFoundException();
     }
@@ -146,16 +183,22 @@ public class RecipeServiceImpl implements RecipeService {
   @Override
   @Transactional(readOnly = true)
   public DataWithPagination<List<RecipeDto>> findAll(final int pageNumber, int pageSize) {
-    Pageable pageable = PageRequest.of(pageNumber, pageSize);
-    return Optional.of(recipeRepository.findAll(pageable))
-      .map(recipePage -> {
-        List<RecipeDto> dtos = recipePage.getContent().stream().map(RecipeDto::new).toList();
-        return new DataWithPagination<>(
-          dtos,
-          new PageResponse(pageNumber, pageNumber - 1, pageSize, recipePage.getTotalPages())
-        );
-      })
-      .get();
+    Page<UUID> ids = recipeRepository.findAllIds(PageRequest.of(pageNumber, pageSize));
+    return new DataWithPagination<>(
+      recipeDtoFactory.createAll(ids.getContent()),
+      new PageResponse(pageNumber, pageNumber - 1, pageSize, ids.getTotalPages())
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RecipeDto>> findAll(KeysetCursor cursor, int pageSize) {
+    List<KeysetCursor> keys = recipeRepository.findAllAfter(
+      cursor.createdAt(),
+      cursor.id(),
+      PageRequest.ofSize(pageSize)
+    );
+    return keysetPage(recipeDtoFactory.createAll(idsOf(keys)), keys, pageSize);
   }
 
   @Override
@@ -165,15 +208,31 @@ public class RecipeServiceImpl implements RecipeService {
     final int pageNumber,
     int pageSize
   ) {
-    Pageable pageable = PageRequest.of(pageNumber, pageSize);
-    return Optional.of(recipeRepository.findByOwner(email, pageable))
-      .map(recipePage ->
-        new DataWithPagination<>(
-          RecipeMapper.toRecipeByOwner(recipePage.getContent(), email),
-          new PageResponse(pageSize, pageNumber - 1, pageSize, recipePage.getTotalPages())
-        )
-      )
-      .get();
+    Page<UUID> ids = recipeRepository.findIdsByOwner(email, PageRequest.of(pageNumber, pageSize));
+    return new DataWithPagination<>(
+      new RecipeByOwner(email, recipeDtoFactory.createAll(ids.getContent())),
+      new PageResponse(pageSize, pageNumber - 1, pageSize, ids.getTotalPages())
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<RecipeByOwner> findAllByUserEmail(
+    String email,
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    List<KeysetCursor> keys = recipeRepository.findByOwnerAfter(
+      email,
+      cursor.createdAt(),
+      cursor.id(),
+      PageRequest.ofSize(pageSize)
+    );
+    return keysetPage(
+      new RecipeByOwner(email, recipeDtoFactory.createAll(idsOf(keys))),
+      keys,
+      pageSize
+    );
   }
 
   @Override
@@ -183,54 +242,167 @@ public class RecipeServiceImpl implements RecipeService {
     final int pageNumber,
     int pageSize
   ) {
-    Pageable pageable = PageRequest.of(pageNumber, pageSize);
-    return Optional.of(
-      recipeRepository.findAllByFilter(
-        filter.prepTimeMinutes(),
-        filter.cookTimeMinutes(),
-        filter.estimatedCalories(),
-        filter.difficulty(),
-        filter.dietaryPreference(),
-        pageable
-      )
-    )
-      .map(p -> {
-        List<RecipeDto> dtos = p.getContent().stream().map(RecipeDto::new).toList();
-        return new DataWithPagination<>(
-          dtos,
-          new PageResponse(pageNumber, pageNumber - 1, pageSize, p.getTotalPages())
-        );
-      })
-      .get();
+    Page<UUID> ids = recipeRepository.findIdsByFilter(
+      filter.cookTimeMinutes(),
+      filter.estimatedCalories(),
+      filter.prepTimeMinutes(),
+      filter.difficulty(),
+      filter.dietaryPreference(),
+      filter.excludedAllergenMask(),
+      filter.requiredTagMask(),
+      PageRequest.of(pageNumber, pageSize)
+    );
+    return new DataWithPagination<>(
+      recipeDtoFactory.createAll(ids.getContent()),
+      new PageResponse(pageNumber, pageNumber - 1, pageSize, ids.getTotalPages())
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RecipeDto>> findAllByRecipeFilter(
+    RecipeFilter filter,
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    List<KeysetCursor> keys = recipeRepository.findAllByFilterAfter(
+      filter.cookTimeMinutes(),
+      filter.estimatedCalories(),
+      filter.prepTimeMinutes(),
+      filter.difficulty(),
+      filter.dietaryPreference(),
+      cursor.createdAt(),
+      cursor.id(),
+      filter.excludedAllergenMask(),
+      filter.requiredTagMask(),
+      PageRequest.ofSize(pageSize)
+    );
+    return keysetPage(recipeDtoFactory.createAll(idsOf(keys)), keys, pageSize);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RecipeSummaryDto>> findAllSummaries(
+    final int pageNumber,
+    int pageSize
+  ) {
+    Page<RecipeSummaryDto> page = recipeRepository.findAllSummaries(
+      PageRequest.of(pageNumber, pageSize)
+    );
+    return new DataWithPagination<>(
+      page.getContent(),
+      new PageResponse(pageNumber, pageNumber - 1, pageSize, page.getTotalPages())
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RecipeSummaryDto>> findAllSummaries(
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    List<RecipeSummaryDto> summaries = recipeRepository.findAllSummariesAfter(
+      cursor.createdAt(),
+      cursor.id(),
+      PageRequest.ofSize(pageSize)
+    );
+    return keysetPage(summaries, keysOf(summaries), pageSize);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RecipeSummaryDto>> findAllSummariesByRecipeFilter(
+    RecipeFilter filter,
+    final int pageNumber,
+    int pageSize
+  ) {
+    Page<RecipeSummaryDto> page = recipeRepository.findSummariesByFilter(
+      filter.cookTimeMinutes(),
+      filter.estimatedCalories(),
+      filter.prepTimeMinutes(),
+      filter.difficulty(),
+      filter.dietaryPreference(),
+      filter.excludedAllergenMask(),
+      filter.requiredTagMask(),
+      PageRequest.of(pageNumber, pageSize)
+    );
+    return new DataWithPagination<>(
+      page.getContent(),
+      new PageResponse(pageNumber, pageNumber - 1, pageSize, page.getTotalPages())
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RecipeSummaryDto>> findAllSummariesByRecipeFilter(
+    RecipeFilter filter,
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    List<RecipeSummaryDto> summaries = recipeRepository.findSummariesByFilterAfter(
+      filter.cookTimeMinutes(),
+      filter.estimatedCalories(),
+      filter.prepTimeMinutes(),
+      filter.difficulty(),
+      filter.dietaryPreference(),
+      cursor.createdAt(),
+      cursor.id(),
+      filter.excludedAllergenMask(),
+      filter.requiredTagMask(),
+      PageRequest.ofSize(pageSize)
+    );
+    return keysetPage(summaries, keysOf(summaries), pageSize);
   }
 
   @Override
   @Transactional(readOnly = true)
-  public DataWithPagination<Set<RecipeDto>> getRecommendations(final int pageNumber, int pageSize) {
+  public DataWithPagination<Set<RecipeDto>> getRecommendations(
+    final int pageNumber,
+    int pageSize,
+    Long seed
+  ) {
     var principal = (UserDetailsImpl) SecurityContextHolder.getContext()
       .getAuthentication()
       .getPrincipal();
     if (!userRepository.hasProfile(principal.id())) {
       throw new ProfileNotFoundException();
     }
-    Pageable pageable = PageRequest.of(pageNumber, pageSize);
-    return Optional.of(recipeRepository.findAllRecommendations(principal.id(), pageable))
-      .map(p -> {
-        Set<RecipeDto> dtos = p
-          .getContent()
-          .stream()
-          .map(RecipeDto::new)
-          .collect(Collectors.toSet());
-        return new DataWithPagination<>(
-          dtos,
-          new PageResponse(pageNumber, pageNumber - 1, pageSize, p.getTotalPages())
-        );
-      })
-      .get();
+    Page<UUID> ids = userRecommendationService.findPage(principal.id(), pageNumber, pageSize, seed);
+    return new DataWithPagination<>(
+      new LinkedHashSet<>(recipeDtoFactory.createAll(ids.getContent())),
+      new PageResponse(pageNumber, pageNumber - 1, pageSize, ids.getTotalPages())
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<Set<RecipeDto>> getRecommendations(
+    String cursor,
+    int pageSize,
+    Long seed
+  ) {
+    var principal = (UserDetailsImpl) SecurityContextHolder.getContext()
+      .getAuthentication()
+      .getPrincipal();
+    if (!userRepository.hasProfile(principal.id())) {
+      throw new ProfileNotFoundException();
+    }
+    DataWithPagination<List<UUID>> ids = userRecommendationService.findPageAfter(
+      principal.id(),
+      cursor,
+      pageSize,
+      seed
+    );
+    return new DataWithPagination<>(
+      new LinkedHashSet<>(recipeDtoFactory.createAll(ids.data())),
+      ids.pagination(),
+      ids.nextCursor()
+    );
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConstants.RECIPES, key = "#id")
   public RecipeDto updateRecipeImageById(UUID id, UploadImage request) {
     if (request == null) {
       throw new IllegalArgumentException("UploadImage is null");
@@ -255,6 +427,7 @@ public class RecipeServiceImpl implements RecipeService {
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConstants.RECIPES, key = "#id")
   public RecipeDto updateRecipeImageById(UUID id, MultipartFile file) {
     if (file == null || file.isEmpty()) {
       throw new InvalidImageException();
@@ -300,12 +473,9 @@ public class RecipeServiceImpl implements RecipeService {
       request.pagination().pageSize()
     );
 
-    Page<Recipe> recipesAsPage = recipeRepository.searchByName(
-      request.data().toLowerCase(Locale.ROOT),
-      pageRequest
-    );
+    Page<UUID> ids = recipeSearchService.searchIds(request.data(), pageRequest);
 
-    List<RecipeDto> recipes = recipesAsPage.stream().map(RecipeDto::new).toList();
+    List<RecipeDto> recipes = recipeDtoFactory.createAll(ids.getContent());
 
     int lastPage = request.pagination().pageNumber() != 0
       ? request.pagination().pageNumber() - 1
@@ -316,8 +486,113 @@ public class RecipeServiceImpl implements RecipeService {
         request.pagination().pageNumber(),
         lastPage,
         request.pagination().pageSize(),
-        recipesAsPage.getTotalPages()
+        ids.getTotalPages()
       )
     );
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<RecipeDto>> searchByName(
+    String name,
+    String cursor,
+    int pageSize
+  ) {
+    if (name == null || name.isEmpty()) {
+      log.debug("searchByName: Recipe name is empty");
+      return new DataWithPagination<>(Collections.emptyList(), new CursorPageResponse(pageSize));
+    }
+    DataWithPagination<List<UUID>> ids = recipeSearchService.searchIdsAfter(name, cursor, pageSize);
+    return new DataWithPagination<>(
+      recipeDtoFactory.createAll(ids.data()),
+      ids.pagination(),
+      ids.nextCursor()
+    );
+  }
+
+  /** Each combination of filters reads the first rows of its own score index. */
+  @Override
+  @Transactional(readOnly = true)
+  public List<TopRatedRecipe> findTopRated(
+    DifficultyType difficulty,
+    DietaryPreferenceType dietaryPreference,
+    int limit
+  ) {
+    Pageable top = PageRequest.ofSize(limit);
+    if (difficulty != null && dietaryPreference != null) {
+      return recipeRepository.findTopRatedByDifficultyAndDietaryPreference(
+        difficulty,
+        dietaryPreference,
+        top
+      );
+    }
+    if (difficulty != null) {
+      return recipeRepository.findTopRatedByDifficulty(difficulty, top);
+    }
+    if (dietaryPreference != null) {
+      return recipeRepository.findTopRatedByDietaryPreference(dietaryPreference, top);
+    }
+    return recipeRepository.findTopRated(top);
+  }
+
+  /**
+   * Recomputes {@code allergen_mask} and {@code tag_mask} from the join tables, walking the recipes
+   * in id order so each batch costs two association queries and one update per recipe.
+   */
+  @Override
+  @Transactional
+  public int rebuildMasks() {
+    int updated = 0;
+    UUID last = new UUID(0, 0);
+    List<UUID> ids;
+    do {
+      ids = recipeRepository.findIdsAfter(last, PageRequest.ofSize(MASK_BATCH_SIZE));
+      if (!ids.isEmpty()) {
+        updated += updateMasks(ids);
+        last = ids.getLast();
+      }
+    } while (ids.size() == MASK_BATCH_SIZE);
+    log.info("Rebuilt allergen and tag masks for {} recipes", updated);
+    return updated;
+  }
+
+  private int updateMasks(List<UUID> ids) {
+    Map<UUID, List<String>> allergies = new HashMap<>();
+    for (var a : recipeRepository.findAllergiesByRecipeIds(ids)) {
+      allergies.computeIfAbsent(a.getRecipeId(), k -> new ArrayList<>()).add(a.getName());
+    }
+    Map<UUID, List<String>> tags = new HashMap<>();
+    for (var t : recipeRepository.findTagsByRecipeIds(ids)) {
+      tags.computeIfAbsent(t.getRecipeId(), k -> new ArrayList<>()).add(t.getName());
+    }
+    int updated = 0;
+    for (UUID id : ids) {
+      updated += recipeRepository.updateMasks(
+        id,
+        AllergyType.maskOf(allergies.getOrDefault(id, List.of())),
+        TagType.maskOf(tags.getOrDefault(id, List.of()))
+      );
+    }
+    return updated;
+  }
+
+  private static List<UUID> idsOf(List<KeysetCursor> keys) {
+    return keys.stream().map(KeysetCursor::id).toList();
+  }
+
+  private static List<KeysetCursor> keysOf(List<RecipeSummaryDto> summaries) {
+    return summaries.stream().map(s -> new KeysetCursor(s.createdAt(), s.id())).toList();
+  }
+
+  private static <T> DataWithPagination<T> keysetPage(
+    T data,
+    List<KeysetCursor> keys,
+    int pageSize
+  ) {
+    String nextCursor = null;
+    if (!keys.isEmpty() && keys.size() == pageSize) {
+      nextCursor = keys.getLast().encode();
+    }
+    return new DataWithPagination<>(data, new CursorPageResponse(pageSize), nextCursor);
+  }
 }
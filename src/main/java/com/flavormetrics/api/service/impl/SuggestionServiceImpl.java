@@ -0,0 +1,96 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.enums.SuggestionType;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.NameCount;
+import com.flavormetrics.api.model.SuggestionDto;
+import com.flavormetrics.api.repository.AllergyRepository;
+import com.flavormetrics.api.repository.IngredientRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.repository.TagRepository;
+import com.flavormetrics.api.search.SuggestionTrie;
+import com.flavormetrics.api.service.SuggestionService;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serves typeahead completions from a {@link SuggestionTrie} kept in memory. Recipe names are
+ * weighted by how often they are used and rated; tag, ingredient and allergy names by how many
+ * recipes use them.
+ *
+ * <p>Saved recipes update the affected names right after commit. Deletions and rating changes
+ * are picked up by the periodic rebuild, which swaps in a fresh trie.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+  private static final Logger log = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+
+  private final RecipeRepository recipeRepository;
+  private final TagRepository tagRepository;
+  private final IngredientRepository ingredientRepository;
+  private final AllergyRepository allergyRepository;
+
+  private volatile SuggestionTrie trie = new SuggestionTrie();
+
+  public SuggestionServiceImpl(
+    RecipeRepository recipeRepository,
+    TagRepository tagRepository,
+    IngredientRepository ingredientRepository,
+    AllergyRepository allergyRepository
+  ) {
+    this.recipeRepository = recipeRepository;
+    this.tagRepository = tagRepository;
+    this.ingredientRepository = ingredientRepository;
+    this.allergyRepository = allergyRepository;
+  }
+
+  @Override
+  public List<SuggestionDto> suggest(String prefix, int limit) {
+    return trie
+      .complete(prefix, limit)
+      .stream()
+      .map(s -> new SuggestionDto(s.text(), s.type()))
+      .toList();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+    initialDelayString = "${flavormetrics.suggest.rebuild-interval:PT10M}",
+    fixedDelayString = "${flavormetrics.suggest.rebuild-interval:PT10M}"
+  )
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    SuggestionTrie fresh = new SuggestionTrie();
+    putAll(fresh, SuggestionType.recipe, recipeRepository.findNameCounts());
+    putAll(fresh, SuggestionType.tag, tagRepository.findNameCounts());
+    putAll(fresh, SuggestionType.ingredient, ingredientRepository.findNameCounts());
+    putAll(fresh, SuggestionType.allergy, allergyRepository.findNameCounts());
+    trie = fresh;
+    log.debug("Suggestion trie rebuilt with {} entries", fresh.size());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onRecipeSaved(RecipeSavedEvent event) {
+    SuggestionTrie current = trie;
+    List<UUID> ids = event.recipeIds();
+    putAll(current, SuggestionType.recipe, recipeRepository.findNameCountsByIds(ids));
+    putAll(current, SuggestionType.tag, tagRepository.findNameCountsByRecipeIds(ids));
+    putAll(current, SuggestionType.ingredient, ingredientRepository.findNameCountsByRecipeIds(ids));
+    putAll(current, SuggestionType.allergy, allergyRepository.findNameCountsByRecipeIds(ids));
+  }
+
+  private static void putAll(SuggestionTrie trie, SuggestionType type, List<NameCount> counts) {
+    counts.forEach(c -> trie.put(type, c.name(), c.count()));
+  }
+}
@@ -0,0 +1,109 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.entity.TrendingScore;
+import com.flavormetrics.api.event.RatingSavedEvent;
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.model.TrendingRecipe;
+import com.flavormetrics.api.recommendation.TrendingLeaderboard;
+import com.flavormetrics.api.repository.TrendingScoreRepository;
+import com.flavormetrics.api.service.TrendingService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serves trending recipes from an in-memory {@link TrendingLeaderboard} fed by views and ratings,
+ * so the endpoint never scans {@code ratings}.
+ *
+ * <p>The leaderboard is written to {@code trending_scores} periodically and read back at startup,
+ * so a restart loses at most one snapshot interval of activity. Not lazy, so the snapshot job is
+ * scheduled at startup rather than on the first request.
+ */
+@Service
+@Lazy(false)
+public class TrendingServiceImpl implements TrendingService {
+
+  private static final Logger log = LoggerFactory.getLogger(TrendingServiceImpl.class);
+
+  static final double VIEW_WEIGHT = 1;
+  static final double RATING_WEIGHT = 2;
+  private static final double MIN_SCORE = 0.01;
+
+  private final TrendingScoreRepository trendingScoreRepository;
+  private final TrendingLeaderboard leaderboard;
+
+  public TrendingServiceImpl(
+    TrendingScoreRepository trendingScoreRepository,
+    @Value("${flavormetrics.trending.half-life:PT24H}") Duration halfLife
+  ) {
+    this.trendingScoreRepository = trendingScoreRepository;
+    this.leaderboard = new TrendingLeaderboard(halfLife, System.currentTimeMillis());
+  }
+
+  @Override
+  public List<TrendingRecipe> findTop(int limit) {
+    return leaderboard.top(limit, System.currentTimeMillis());
+  }
+
+  @Override
+  public void recordView(UUID recipeId) {
+    leaderboard.record(recipeId, VIEW_WEIGHT, System.currentTimeMillis());
+  }
+
+  /** Replaces the stored scores with the current ones, dropping those that decayed to nothing. */
+  @Override
+  @Scheduled(
+    initialDelayString = "${flavormetrics.trending.snapshot-interval:PT5M}",
+    fixedDelayString = "${flavormetrics.trending.snapshot-interval:PT5M}"
+  )
+  @Transactional
+  public int snapshot() {
+    long now = System.currentTimeMillis();
+    leaderboard.rebase(now, MIN_SCORE);
+    Instant scoredAt = Instant.ofEpochMilli(now);
+    List<TrendingScore> rows = new ArrayList<>(leaderboard.size());
+    for (TrendingRecipe recipe : leaderboard.scores(now)) {
+      rows.add(new TrendingScore(recipe.recipeId(), recipe.score(), scoredAt));
+    }
+    trendingScoreRepository.deleteAllInBatch();
+    trendingScoreRepository.saveAll(rows);
+    log.debug("Snapshotted {} trending scores", rows.size());
+    return rows.size();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void restore() {
+    List<TrendingScore> rows = trendingScoreRepository.findAll();
+    for (TrendingScore row : rows) {
+      leaderboard.record(row.getRecipeId(), row.getScore(), row.getScoredAt().toEpochMilli());
+    }
+    log.info("Trending leaderboard restored with {} recipes", rows.size());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRatingSaved(RatingSavedEvent event) {
+    leaderboard.record(
+      event.recipeId(),
+      RATING_WEIGHT * event.score(),
+      System.currentTimeMillis()
+    );
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRecipeDeleted(RecipeDeletedEvent event) {
+    event.recipeIds().forEach(leaderboard::remove);
+  }
+}
@@ -0,0 +1,268 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.entity.UserRecommendation;
+import com.flavormetrics.api.event.ProfileDeletedEvent;
+import com.flavormetrics.api.event.ProfileSavedEvent;
+import com.flavormetrics.api.event.RatingSavedEvent;
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.CursorPageResponse;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.ListCursor;
+import com.flavormetrics.api.model.projection.RecommendedRecipeProjection;
+import com.flavormetrics.api.repository.UserRecommendationRepository;
+import com.flavormetrics.api.repository.UserRepository;
+import com.flavormetrics.api.service.RecommendationEngine;
+import com.flavormetrics.api.service.UserRecommendationService;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the top {@value #LIST_SIZE} recommendations of every user with a profile in {@code
+ * user_recommendations}, so a page request is a range read on the primary key instead of an
+ * engine run.
+ *
+ * <p>A user's list is recomputed right after their profile is saved. A rating only marks its
+ * user stale; stale users are refreshed together on a short fixed delay, so a burst of ratings
+ * (such as a write-behind batch) costs one engine run per user rather than one per rating. Deleted
+ * recipes are pruned from every list in the deleting transaction, saved ones right after the save
+ * commits, and their users marked stale; a deleted profile takes its list with it. All lists are
+ * also recomputed periodically to pick up new recipes and other users' ratings. Users without a
+ * stored list yet are answered by the engine directly, as are cursor pages past the end of one.
+ * Not lazy, so both refreshes are scheduled at startup rather than on the first request.
+ */
+@Service
+@Lazy(false)
+public class UserRecommendationServiceImpl implements UserRecommendationService {
+
+  private static final Logger log = LoggerFactory.getLogger(UserRecommendationServiceImpl.class);
+
+  static final int LIST_SIZE = 500;
+  private static final int BATCH_SIZE = 1000;
+
+  private final UserRecommendationRepository userRecommendationRepository;
+  private final UserRepository userRepository;
+  private final RecommendationEngine recommendationEngine;
+  private final RandomRecommendationEngine randomRecommendationEngine;
+  private final TransactionTemplate transactionTemplate;
+  private final Set<UUID> staleUsers = ConcurrentHashMap.newKeySet();
+
+  public UserRecommendationServiceImpl(
+    UserRecommendationRepository userRecommendationRepository,
+    UserRepository userRepository,
+    RecommendationEngine recommendationEngine,
+    RandomRecommendationEngine randomRecommendationEngine,
+    TransactionTemplate transactionTemplate
+  ) {
+    this.userRecommendationRepository = userRecommendationRepository;
+    this.userRepository = userRepository;
+    this.recommendationEngine = recommendationEngine;
+    this.randomRecommendationEngine = randomRecommendationEngine;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<UUID> findPage(UUID userId, int pageNumber, int pageSize, Long seed) {
+    if (seed != null) {
+      return recommendationEngine.recommend(userId, pageNumber, pageSize, seed);
+    }
+    PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
+    List<RecommendedRecipeProjection> rows = userRecommendationRepository.findPage(
+      userId,
+      pageRequest
+    );
+    if (!rows.isEmpty()) {
+      return new PageImpl<>(
+        rows.stream().map(RecommendedRecipeProjection::getRecipeId).toList(),
+        pageRequest,
+        rows.getFirst().getTotal()
+      );
+    }
+    // an empty page past the end of a stored list still needs the list length
+    long total = pageNumber > 0 ? userRecommendationRepository.countByUserId(userId) : 0;
+    if (total == 0) {
+      return recommendationEngine.recommend(userId, pageNumber, pageSize, null);
+    }
+    return new PageImpl<>(List.of(), pageRequest, total);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public DataWithPagination<List<UUID>> findPageAfter(
+    UUID userId,
+    String cursor,
+    int pageSize,
+    Long seed
+  ) {
+    if (isShuffled(cursor, seed)) {
+      return randomRecommendationEngine.recommendAfter(userId, cursor, pageSize, seed);
+    }
+    int rank = ListCursor.decode(cursor).rank();
+    List<UUID> ids = new ArrayList<>(pageSize);
+    for (UserRecommendation row : userRecommendationRepository.findAfter(
+      userId,
+      rank,
+      PageRequest.ofSize(pageSize)
+    )) {
+      ids.add(row.getRecipeId());
+      rank = row.getRank();
+    }
+    if (ids.size() < pageSize) {
+      // no stored list yet, or it ends within this page: the ranking it was cut from goes on
+      List<UUID> more = recommendationEngine.recommendFrom(
+        userId,
+        rank + 1L,
+        pageSize - ids.size(),
+        null
+      );
+      ids.addAll(more);
+      rank += more.size();
+    }
+    return new DataWithPagination<>(
+      ids,
+      new CursorPageResponse(pageSize),
+      ids.size() == pageSize ? new ListCursor(rank).encode() : null
+    );
+  }
+
+  /**
+   * Whether a keyset request walks the random engine's shuffle: always when that is the configured
+   * engine, otherwise only for a client seed, whose shuffle cursor then comes back on later pages.
+   */
+  private boolean isShuffled(String cursor, Long seed) {
+    if (recommendationEngine == randomRecommendationEngine) {
+      return true;
+    }
+    return cursor == null || cursor.isBlank() ? seed != null : !ListCursor.matches(cursor);
+  }
+
+  @Override
+  @Transactional
+  public void refresh(UUID userId) {
+    List<UUID> ids = recommendationEngine.recommend(userId, 0, LIST_SIZE, null).getContent();
+    List<UserRecommendation> rows = new ArrayList<>(ids.size());
+    for (int rank = 0; rank < ids.size(); rank++) {
+      rows.add(new UserRecommendation(userId, rank, ids.get(rank)));
+    }
+    userRecommendationRepository.deleteByUserId(userId);
+    userRecommendationRepository.saveAll(rows);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onProfileSaved(ProfileSavedEvent event) {
+    refresh(event.userId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRatingSaved(RatingSavedEvent event) {
+    staleUsers.add(event.userId());
+  }
+
+  /** Drops the user's list along with their profile, before the deletion commits. */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onProfileDeleted(ProfileDeletedEvent event) {
+    userRecommendationRepository.deleteByUserId(event.userId());
+    staleUsers.remove(event.userId());
+  }
+
+  /**
+   * Drops saved recipes from every stored list once the save commits, as an edit may have added
+   * an allergen or changed the diet, and marks those users stale so their lists are refilled with
+   * what still suits them. Runs after the {@link EligibilityServiceImpl} update, so the refresh
+   * sees the new eligibility.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onRecipeSaved(RecipeSavedEvent event) {
+    pruneLists(event.recipeIds());
+  }
+
+  /** Drops deleted recipes from every stored list before the deletion commits. */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onRecipeDeleted(RecipeDeletedEvent event) {
+    pruneLists(event.recipeIds());
+  }
+
+  private void pruneLists(List<UUID> recipeIds) {
+    List<UUID> userIds = userRecommendationRepository.findUserIdsByRecipeIds(recipeIds);
+    if (!userIds.isEmpty()) {
+      userRecommendationRepository.deleteByRecipeIds(recipeIds);
+      staleUsers.addAll(userIds);
+    }
+  }
+
+  /** Refreshes every user marked stale since the last run, once each. */
+  @Scheduled(
+    initialDelayString = "${flavormetrics.recommendations.stale-refresh-interval:PT30S}",
+    fixedDelayString = "${flavormetrics.recommendations.stale-refresh-interval:PT30S}"
+  )
+  public void refreshStale() {
+    int refreshed = 0;
+    for (Iterator<UUID> it = staleUsers.iterator(); it.hasNext(); ) {
+      UUID userId = it.next();
+      it.remove();
+      try {
+        transactionTemplate.executeWithoutResult(status -> {
+          if (userRepository.hasProfile(userId)) {
+            refresh(userId);
+          }
+        });
+        refreshed++;
+      } catch (RuntimeException e) {
+        log.warn("Could not refresh recommendations of user {}", userId, e);
+      }
+    }
+    if (refreshed > 0) {
+      log.debug("Refreshed recommendations of {} stale users", refreshed);
+    }
+  }
+
+  @Scheduled(
+    initialDelayString = "${flavormetrics.recommendations.refresh-interval:PT6H}",
+    fixedDelayString = "${flavormetrics.recommendations.refresh-interval:PT6H}"
+  )
+  public void refreshAll() {
+    long start = System.nanoTime();
+    int refreshed = 0;
+    UUID last = new UUID(0, 0);
+    List<UUID> userIds;
+    do {
+      userIds = userRepository.findIdsWithProfileAfter(last, PageRequest.ofSize(BATCH_SIZE));
+      for (UUID userId : userIds) {
+        try {
+          transactionTemplate.executeWithoutResult(status -> refresh(userId));
+          refreshed++;
+        } catch (RuntimeException e) {
+          log.warn("Could not refresh recommendations of user {}", userId, e);
+        }
+      }
+      if (!userIds.isEmpty()) {
+        last = userIds.getLast();
+      }
+    } while (userIds.size() == BATCH_SIZE);
+    log.info(
+      "Refreshed recommendations of {} users in {} ms",
+      refreshed,
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+}
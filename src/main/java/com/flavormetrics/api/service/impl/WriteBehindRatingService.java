@@ -0,0 +1,354 @@
+package com.flavormetrics.api.service.impl;
+
+import com.flavormetrics.api.constants.CacheConstants;
+import com.flavormetrics.api.event.RatingSavedEvent;
+import com.flavormetrics.api.exception.MaximumNumberOfRatingException;
+import com.flavormetrics.api.exception.RatingBufferFullException;
+import com.flavormetrics.api.exception.RecipeNotFoundException;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.KeysetCursor;
+import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.model.RatingRow;
+import com.flavormetrics.api.model.RatingSummary;
+import com.flavormetrics.api.model.UserDetailsImpl;
+import com.flavormetrics.api.recommendation.BayesianAverage;
+import com.flavormetrics.api.repository.RatingBatchRepository;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.service.RatingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Opt-in write-behind front for {@link RatingServiceImpl}: new ratings are validated, queued in a
+ * bounded buffer and written by a background flusher as multi-row JDBC batches, one transaction
+ * and one aggregate update per recipe for the whole batch. Reads are delegated unchanged.
+ *
+ * <p>A full buffer rejects new ratings with {@link RatingBufferFullException} once the enqueue
+ * timeout passes. By default a rating is acknowledged as soon as it is queued, so a crash can lose
+ * what is still buffered; with {@code flush-before-ack} the caller waits until its batch has
+ * committed, and gets the same exception if that takes longer than {@code ack-timeout}. Ratings
+ * still queued once the flusher has stopped, on shutdown or because it died, are failed and
+ * counted as dropped. A batch that fails is retried one rating at a time so only the offending
+ * ratings are dropped. Not lazy, so the flusher runs from startup and drains the buffer on
+ * shutdown.
+ */
+@Service
+@Primary
+@Lazy(false)
+@ConditionalOnProperty(name = "flavormetrics.ratings.write-behind.enabled", havingValue = "true")
+public class WriteBehindRatingService implements RatingService {
+
+  private static final Logger log = LoggerFactory.getLogger(WriteBehindRatingService.class);
+  private static final long POLL_MILLIS = 100;
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+  private final RatingServiceImpl delegate;
+  private final RatingRepository ratingRepository;
+  private final RecipeRepository recipeRepository;
+  private final RatingBatchRepository ratingBatchRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CacheManager cacheManager;
+  private final BayesianAverage bayesianAverage;
+  private final int batchSize;
+  private final long enqueueTimeoutMillis;
+  private final boolean flushBeforeAck;
+  private final long ackTimeoutMillis;
+  private final BlockingQueue<PendingRating> queue;
+  private final Set<RatingKey> pending = ConcurrentHashMap.newKeySet();
+  private final Timer flushTimer;
+  private final DistributionSummary batchSizes;
+  private final Counter rejected;
+  private final Counter dropped;
+
+  private volatile boolean running;
+  private Thread flusher;
+
+  public WriteBehindRatingService(
+    RatingServiceImpl delegate,
+    RatingRepository ratingRepository,
+    RecipeRepository recipeRepository,
+    RatingBatchRepository ratingBatchRepository,
+    TransactionTemplate transactionTemplate,
+    ApplicationEventPublisher eventPublisher,
+    CacheManager cacheManager,
+    BayesianAverage bayesianAverage,
+    MeterRegistry meterRegistry,
+    @Value("${flavormetrics.ratings.write-behind.capacity:10000}") int capacity,
+    @Value("${flavormetrics.ratings.write-behind.batch-size:500}") int batchSize,
+    @Value("${flavormetrics.ratings.write-behind.enqueue-timeout:PT0.1S}") Duration enqueueTimeout,
+    @Value("${flavormetrics.ratings.write-behind.flush-before-ack:false}") boolean flushBeforeAck,
+    @Value("${flavormetrics.ratings.write-behind.ack-timeout:PT5S}") Duration ackTimeout
+  ) {
+    this.delegate = delegate;
+    this.ratingRepository = ratingRepository;
+    this.recipeRepository = recipeRepository;
+    this.ratingBatchRepository = ratingBatchRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.cacheManager = cacheManager;
+    this.bayesianAverage = bayesianAverage;
+    this.batchSize = batchSize;
+    this.enqueueTimeoutMillis = enqueueTimeout.toMillis();
+    this.flushBeforeAck = flushBeforeAck;
+    this.ackTimeoutMillis = ackTimeout.toMillis();
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    Gauge.builder("flavormetrics.ratings.buffer.depth", queue, Collection::size)
+      .description("Ratings waiting to be written")
+      .register(meterRegistry);
+    this.flushTimer = Timer.builder("flavormetrics.ratings.buffer.flush")
+      .description("Time to write one batch of buffered ratings")
+      .register(meterRegistry);
+    this.batchSizes = DistributionSummary.builder("flavormetrics.ratings.buffer.batch")
+      .description("Ratings written per batch")
+      .register(meterRegistry);
+    this.rejected = Counter.builder("flavormetrics.ratings.buffer.rejected")
+      .description("Ratings refused because the buffer was full")
+      .register(meterRegistry);
+    this.dropped = Counter.builder("flavormetrics.ratings.buffer.dropped")
+      .description("Buffered ratings that could not be written")
+      .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    running = true;
+    flusher = Thread.ofVirtual().name("rating-flusher").start(this::drainLoop);
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    flusher.join(SHUTDOWN_TIMEOUT);
+    failQueued();
+  }
+
+  @Override
+  public Map<String, String> addRecipeRating(UUID recipeId, int ratingValue) {
+    if (ratingValue > 5 || ratingValue < 0) {
+      throw new IllegalArgumentException("Value must be between 0 and 5");
+    }
+    var principal = (UserDetailsImpl) SecurityContextHolder.getContext()
+      .getAuthentication()
+      .getPrincipal();
+    RatingKey key = new RatingKey(principal.id(), recipeId);
+    if (!pending.add(key)) {
+      throw new MaximumNumberOfRatingException();
+    }
+    PendingRating rating = new PendingRating(
+      new RatingRow(UUID.randomUUID(), principal.id(), recipeId, ratingValue),
+      new CompletableFuture<>()
+    );
+    try {
+      if (ratingRepository.isRecipeAlreadyRatedByUser(principal.id(), recipeId)) {
+        throw new MaximumNumberOfRatingException();
+      }
+      if (!recipeRepository.existsById(recipeId)) {
+        throw new RecipeNotFoundException();
+      }
+      if (!running || !queue.offer(rating, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        rejected.increment();
+        throw new RatingBufferFullException();
+      }
+    } catch (InterruptedException e) {
+      pending.remove(key);
+      Thread.currentThread().interrupt();
+      throw new RatingBufferFullException();
+    } catch (RuntimeException e) {
+      pending.remove(key);
+      throw e;
+    }
+    if (flushBeforeAck) {
+      awaitFlush(rating);
+    }
+    return Map.of("message", "Recipe has been rated");
+  }
+
+  private void awaitFlush(PendingRating rating) {
+    try {
+      rating.flushed().get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException cause
+        ? cause
+        : new CompletionException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new RatingBufferFullException();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RatingBufferFullException();
+    }
+  }
+
+  @Override
+  public Set<RatingDto> findAllRatingsByRecipeId(UUID recipeId) {
+    return delegate.findAllRatingsByRecipeId(recipeId);
+  }
+
+  @Override
+  public Set<RatingDto> findAllRatingsByUserId(UUID userId) {
+    return delegate.findAllRatingsByUserId(userId);
+  }
+
+  @Override
+  public DataWithPagination<List<RatingEntry>> findRatingsByRecipeId(
+    UUID recipeId,
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    return delegate.findRatingsByRecipeId(recipeId, cursor, pageSize);
+  }
+
+  @Override
+  public DataWithPagination<List<RatingEntry>> findRatingsByUserId(
+    UUID userId,
+    KeysetCursor cursor,
+    int pageSize
+  ) {
+    return delegate.findRatingsByUserId(userId, cursor, pageSize);
+  }
+
+  @Override
+  public RatingSummary getSummary(UUID recipeId) {
+    return delegate.getSummary(recipeId);
+  }
+
+  @Override
+  public int rebuildRatingAggregates() {
+    return delegate.rebuildRatingAggregates();
+  }
+
+  int queued() {
+    return queue.size();
+  }
+
+  private void drainLoop() {
+    List<PendingRating> batch = new ArrayList<>(batchSize);
+    try {
+      while (running || !queue.isEmpty()) {
+        try {
+          PendingRating first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+          if (first == null) {
+            continue;
+          }
+          batch.add(first);
+          queue.drainTo(batch, batchSize - 1);
+          flush(batch);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        } catch (RuntimeException e) {
+          log.error("Rating flusher failed on a batch of {} ratings", batch.size(), e);
+        } finally {
+          batch.clear();
+        }
+      }
+    } finally {
+      // also reached when the flusher dies on an Error: stop accepting what nobody would write
+      running = false;
+      failQueued();
+    }
+  }
+
+  /** Fails the ratings left in the buffer once nothing will flush them any more. */
+  private void failQueued() {
+    List<PendingRating> abandoned = new ArrayList<>();
+    queue.drainTo(abandoned);
+    if (!abandoned.isEmpty()) {
+      log.warn("Dropped {} buffered ratings that were never written", abandoned.size());
+    }
+    abandoned.forEach(rating -> fail(rating, new RatingBufferFullException()));
+  }
+
+  /** Writes the batch in one transaction, falling back to one transaction per rating. */
+  private void flush(List<PendingRating> batch) {
+    long start = System.nanoTime();
+    try {
+      write(batch);
+    } catch (RuntimeException e) {
+      log.warn("Batch of {} ratings failed, retrying them one at a time", batch.size(), e);
+      for (PendingRating rating : batch) {
+        try {
+          write(List.of(rating));
+        } catch (RuntimeException single) {
+          log.warn("Dropped rating of recipe {}", rating.row().recipeId(), single);
+          fail(rating, single);
+        }
+      }
+    } finally {
+      flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      batchSizes.record(batch.size());
+    }
+  }
+
+  private void write(List<PendingRating> batch) {
+    transactionTemplate.executeWithoutResult(status -> {
+      List<RatingRow> rows = batch.stream().map(PendingRating::row).toList();
+      ratingBatchRepository.insertAll(
+        rows,
+        bayesianAverage.priorMean(),
+        bayesianAverage.priorWeight()
+      );
+      for (RatingRow row : rows) {
+        eventPublisher.publishEvent(
+          new RatingSavedEvent(row.userId(), row.recipeId(), row.score())
+        );
+      }
+    });
+    Cache recipes = cacheManager.getCache(CacheConstants.RECIPES);
+    for (PendingRating rating : batch) {
+      if (recipes != null) {
+        recipes.evict(rating.row().recipeId());
+      }
+      pending.remove(rating.key());
+      rating.flushed().complete(null);
+    }
+  }
+
+  private void fail(PendingRating rating, RuntimeException cause) {
+    dropped.increment();
+    pending.remove(rating.key());
+    rating.flushed().completeExceptionally(cause);
+  }
+
+  private record RatingKey(UUID userId, UUID recipeId) {}
+
+  private record PendingRating(RatingRow row, CompletableFuture<Void> flushed) {
+    RatingKey key() {
+      return new RatingKey(row.userId(), row.recipeId());
+    }
+  }
+}
@@ -20,7 +20,9 @@ public class TestSecurityConfig {
         request
           .requestMatchers(EndpointsConstants.PUBLIC_ENDPOINTS.toArray(new String[0]))
           .permitAll();
-        request.requestMatchers("/api/v1/users/**").hasRole("ADMIN");
+        request
+          .requestMatchers(EndpointsConstants.ADMIN_ENDPOINTS.toArray(new String[0]))
+          .hasRole("ADMIN");
         request.anyRequest().authenticated();
       })
       .cors(AbstractHttpConfigurer::disable)
@@ -0,0 +1,138 @@
+package com.flavormetrics.api.controller;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+
+import com.flavormetrics.api.config.TestSecurityConfig;
+import com.flavormetrics.api.enums.SuggestionType;
+import com.flavormetrics.api.mapper.ETagMapper;
+import com.flavormetrics.api.model.RecipeDto;
+import com.flavormetrics.api.model.RecipeVersion;
+import com.flavormetrics.api.model.SuggestionDto;
+import com.flavormetrics.api.security.JwtAuthenticationFilter;
+import com.flavormetrics.api.service.FacetService;
+import com.flavormetrics.api.service.RecipeExportService;
+import com.flavormetrics.api.service.RecipeImportService;
+import com.flavormetrics.api.service.RecipeService;
+import com.flavormetrics.api.service.SuggestionService;
+import com.flavormetrics.api.service.TrendingService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(
+  controllers = RecipeController.class,
+  excludeFilters = @ComponentScan.Filter(
+    type = FilterType.ASSIGNABLE_TYPE,
+    classes = { JwtAuthenticationFilter.class, CsrfFilter.class }
+  )
+)
+@Import(TestSecurityConfig.class)
+class RecipeControllerTest {
+
+  private static final UUID RECIPE_ID = UUID.randomUUID();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private RecipeService recipeService;
+
+  @MockitoBean
+  private SuggestionService suggestionService;
+
+  @MockitoBean
+  private FacetService facetService;
+
+  @MockitoBean
+  private TrendingService trendingService;
+
+  @MockitoBean
+  private RecipeExportService recipeExportService;
+
+  @MockitoBean
+  private RecipeImportService recipeImportService;
+
+  private String eTag;
+
+  @BeforeEach
+  void setUp() {
+    RecipeVersion version = new RecipeVersion(RECIPE_ID, LocalDateTime.now(), 1, 5);
+    eTag = ETagMapper.toETag(version);
+    when(recipeService.getVersionById(RECIPE_ID)).thenReturn(version);
+  }
+
+  @Test
+  void getById_withoutIfNoneMatch_returnsRecipeAndETag() throws Exception {
+    when(recipeService.getById(RECIPE_ID)).thenReturn(
+      RecipeDto.builder().id(RECIPE_ID).name("mock-name").build()
+    );
+    mockMvc
+      .perform(
+        MockMvcRequestBuilders.get("/api/v1/recipe/byId/%s".formatted(RECIPE_ID)).accept(
+          MediaType.APPLICATION_JSON
+        )
+      )
+      .andDo(print())
+      .andExpectAll(
+        MockMvcResultMatchers.status().isOk(),
+        MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag),
+        MockMvcResultMatchers.jsonPath("$.name").value("mock-name")
+      );
+  }
+
+  @Test
+  void getById_withMatchingIfNoneMatch_returnsNotModifiedWithoutLoadingRecipe()
+    throws Exception {
+    mockMvc
+      .perform(
+        MockMvcRequestBuilders.get("/api/v1/recipe/byId/%s".formatted(RECIPE_ID))
+          .accept(MediaType.APPLICATION_JSON)
+          .header(HttpHeaders.IF_NONE_MATCH, eTag)
+      )
+      .andDo(print())
+      .andExpectAll(
+        MockMvcResultMatchers.status().isNotModified(),
+        MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag)
+      );
+    verify(recipeService, never()).getById(RECIPE_ID);
+  }
+
+  @Test
+  void suggest_returnsCompletions() throws Exception {
+    when(suggestionService.suggest("tom", 10)).thenReturn(
+      List.of(new SuggestionDto("Tomato soup", SuggestionType.recipe))
+    );
+    mockMvc
+      .perform(
+        MockMvcRequestBuilders.get("/api/v1/recipe/suggest")
+          .param("prefix", "tom")
+          .accept(MediaType.APPLICATION_JSON)
+      )
+      .andDo(print())
+      .andExpectAll(
+        MockMvcResultMatchers.status().isOk(),
+        MockMvcResultMatchers.jsonPath("$[0].text").value("Tomato soup"),
+        MockMvcResultMatchers.jsonPath("$[0].type").value("recipe")
+      );
+  }
+}
@@ -0,0 +1,63 @@
+package com.flavormetrics.api.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flavormetrics.api.model.TagDto;
+import com.flavormetrics.api.repository.DictionaryRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DictionaryCacheTest {
+
+  private static final TagDto VEGAN = new TagDto(UUID.randomUUID(), "VEGAN");
+  private static final TagDto QUICK = new TagDto(UUID.randomUUID(), "QUICK");
+
+  @Mock
+  private DictionaryRepository dictionaryRepository;
+
+  private DictionaryCache dictionaryCache;
+
+  @BeforeEach
+  void setUp() {
+    dictionaryCache = new DictionaryCache(dictionaryRepository);
+  }
+
+  @Test
+  void resolveTags_warmedNames_skipTheDatabase() {
+    when(dictionaryRepository.findAllTags()).thenReturn(List.of(VEGAN));
+    dictionaryCache.warmUp();
+
+    Map<String, TagDto> resolved = dictionaryCache.resolveTags(List.of(new TagDto(null, "VEGAN")));
+
+    assertEquals(VEGAN, resolved.get("VEGAN"));
+    verify(dictionaryRepository, never()).upsertTags(anyList());
+  }
+
+  @Test
+  void resolveTags_upsertsOnlyMissesAndCachesThem() {
+    when(dictionaryRepository.findAllTags()).thenReturn(List.of(VEGAN));
+    dictionaryCache.warmUp();
+    List<TagDto> quick = List.of(new TagDto(null, "QUICK"));
+    when(dictionaryRepository.upsertTags(quick)).thenReturn(List.of(QUICK));
+
+    Map<String, TagDto> first = dictionaryCache.resolveTags(
+      List.of(new TagDto(null, "VEGAN"), new TagDto(null, "QUICK"), new TagDto(null, "QUICK"))
+    );
+    Map<String, TagDto> second = dictionaryCache.resolveTags(quick);
+
+    assertEquals(Map.of("VEGAN", VEGAN, "QUICK", QUICK), first);
+    assertEquals(QUICK, second.get("QUICK"));
+    verify(dictionaryRepository).upsertTags(quick);
+  }
+}
@@ -0,0 +1,170 @@
+package com.flavormetrics.api.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.flavormetrics.api.entity.Allergy;
+import com.flavormetrics.api.entity.Email;
+import com.flavormetrics.api.entity.Ingredient;
+import com.flavormetrics.api.entity.Rating;
+import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.entity.Tag;
+import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.enums.UnitType;
+import com.flavormetrics.api.model.RecipeDto;
+import com.flavormetrics.api.repository.AllergyRepository;
+import com.flavormetrics.api.repository.IngredientRepository;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.repository.TagRepository;
+import com.flavormetrics.api.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+// PostgreSQL mode so the native UPDATE ... FROM of rebuildRatingAggregates runs on H2
+@DataJpaTest(
+  properties = {
+    "spring.datasource.url=jdbc:h2:mem:recipe_dtos;MODE=PostgreSQL",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+  }
+)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RecipeDtoFactory.class)
+class RecipeDtoFactoryTest {
+
+  private static final String EMAIL_ADDRESS = "mock-email@mock.com";
+  private static final int RECIPES = 12;
+
+  @Autowired
+  private RecipeDtoFactory recipeDtoFactory;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private RecipeRepository recipeRepository;
+
+  @Autowired
+  private RatingRepository ratingRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private IngredientRepository ingredientRepository;
+
+  @Autowired
+  private TagRepository tagRepository;
+
+  @Autowired
+  private AllergyRepository allergyRepository;
+
+  private final List<UUID> ids = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    Email email = new Email();
+    email.setAddress(EMAIL_ADDRESS);
+    User user = new User();
+    user.setFirstName("mock-first-name");
+    user.setLastName("mock-last-name");
+    user.setPasswordHash("mock-password-hash");
+    user.setEmail(email);
+    user = userRepository.save(user);
+
+    Ingredient ing = new Ingredient();
+    ing.setName("mock-ing-name");
+    ing.setQuantity(1);
+    ing.setUnit(UnitType.grams);
+    ing = ingredientRepository.save(ing);
+
+    Tag tag = new Tag();
+    tag.setName("Vegan");
+    tag = tagRepository.save(tag);
+
+    Allergy allergy = new Allergy();
+    allergy.setName("mock-allergy-name");
+    allergy.setDescription("mock-allergy-description");
+    allergy = allergyRepository.save(allergy);
+
+    for (int i = 0; i < RECIPES; i++) {
+      Recipe recipe = new Recipe();
+      recipe.setName("Recipe " + i);
+      recipe.setPrepTimeMinutes(5);
+      recipe.setCookTimeMinutes(10);
+      recipe.setEstimatedCalories(200);
+      recipe.setDifficulty(DifficultyType.easy);
+      recipe.setDietaryPreferences(DietaryPreferenceType.vegan);
+      recipe.setUser(user);
+      recipe.setInstructions("mock-instructions mock-instructions mock-instructions");
+      recipe.setIngredients(Set.of(ing));
+      recipe.setTags(Set.of(tag));
+      recipe.setAllergies(Set.of(allergy));
+      recipe = recipeRepository.save(recipe);
+
+      Rating rating = new Rating();
+      rating.setUser(user);
+      rating.setRecipe(recipe);
+      rating.setScore(4);
+      ratingRepository.save(rating);
+
+      ids.add(recipe.getId());
+    }
+    recipeRepository.rebuildRatingAggregates();
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  void createAll_statementCountDoesNotGrowWithPageSize() {
+    long small = countStatements(ids.subList(0, 2));
+    long large = countStatements(ids);
+    assertEquals(5, small);
+    assertEquals(small, large);
+  }
+
+  @Test
+  void createAll_keepsIdOrderAndAssociations() {
+    List<UUID> reversed = ids.reversed();
+    List<RecipeDto> dtos = recipeDtoFactory.createAll(reversed);
+    assertEquals(reversed, dtos.stream().map(RecipeDto::id).toList());
+    RecipeDto first = dtos.getFirst();
+    assertEquals(EMAIL_ADDRESS, first.user());
+    assertThat(first.tags()).hasSize(1);
+    assertThat(first.ingredients()).hasSize(1);
+    assertThat(first.allergies()).hasSize(1);
+    assertThat(first.ratings()).hasSize(1);
+    assertEquals(4f, first.averageRating());
+  }
+
+  @Test
+  void createAll_emptyIds_returnsEmptyWithoutQuerying() {
+    assertEquals(0, countStatements(List.of()));
+  }
+
+  private long countStatements(List<UUID> page) {
+    Statistics statistics = entityManager
+      .getEntityManager()
+      .getEntityManagerFactory()
+      .unwrap(SessionFactory.class)
+      .getStatistics();
+    statistics.clear();
+    List<RecipeDto> dtos = recipeDtoFactory.createAll(page);
+    assertEquals(page.size(), dtos.size());
+    entityManager.clear();
+    return statistics.getPrepareStatementCount();
+  }
+}
@@ -0,0 +1,35 @@
+package com.flavormetrics.api.mapper;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.flavormetrics.api.model.RecipeVersion;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ETagMapperTest {
+
+  private static final UUID ID = UUID.randomUUID();
+  private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+  @Test
+  void toETag_shouldBeQuotedAndStable() {
+    String eTag = ETagMapper.toETag(new RecipeVersion(ID, UPDATED_AT, 2, 9));
+    assertThat(eTag).startsWith("\"").endsWith("\"");
+    assertThat(eTag).isEqualTo(ETagMapper.toETag(new RecipeVersion(ID, UPDATED_AT, 2, 9)));
+  }
+
+  @Test
+  void toETag_shouldChangeWhenRatingsChange() {
+    String before = ETagMapper.toETag(new RecipeVersion(ID, UPDATED_AT, 2, 9));
+    String after = ETagMapper.toETag(new RecipeVersion(ID, UPDATED_AT, 3, 12));
+    assertThat(after).isNotEqualTo(before);
+  }
+
+  @Test
+  void toETag_shouldThrowWhenNull() {
+    assertThatThrownBy(() -> ETagMapper.toETag(null))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("RecipeVersion cannot be null");
+  }
+}
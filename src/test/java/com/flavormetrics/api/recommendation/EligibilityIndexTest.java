@@ -0,0 +1,73 @@
+package com.flavormetrics.api.recommendation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.recommendation.EligibilityIndex.Exclusions;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EligibilityIndexTest {
+
+  private static final UUID OMELETTE = UUID.randomUUID();
+  private static final UUID SALAD = UUID.randomUUID();
+  private static final UUID KIWI_TART = UUID.randomUUID();
+  private static final UUID STEAK = UUID.randomUUID();
+  private static final List<UUID> ALL = List.of(OMELETTE, SALAD, KIWI_TART, STEAK);
+
+  private EligibilityIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new EligibilityIndex();
+    index.put(OMELETTE, DietaryPreferenceType.vegetarian, Set.of("EGGS", "dairy"));
+    index.put(SALAD, DietaryPreferenceType.vegan, Set.of());
+    index.put(KIWI_TART, DietaryPreferenceType.vegan, Set.of("Kiwi", "tree nuts"));
+    index.put(STEAK, DietaryPreferenceType.none, Set.of());
+  }
+
+  @Test
+  void filter_noExclusions_keepsEverythingInOrder() {
+    assertEquals(ALL.reversed(), index.filter(ALL.reversed(), Exclusions.NONE));
+    assertEquals(4, index.count(Exclusions.NONE));
+  }
+
+  @Test
+  void filter_allergens_matchNamesCaseInsensitively() {
+    Exclusions exclusions = Exclusions.of(DietaryPreferenceType.none, Set.of("eggs", "TREE_NUTS"));
+    assertEquals(List.of(SALAD, STEAK), index.filter(ALL, exclusions));
+    assertEquals(2, index.count(exclusions));
+  }
+
+  @Test
+  void filter_otherAllergies_compareByName() {
+    Exclusions kiwi = Exclusions.of(DietaryPreferenceType.none, Set.of("kiwi"));
+    Exclusions mango = Exclusions.of(DietaryPreferenceType.none, Set.of("Mango"));
+    assertEquals(List.of(OMELETTE, SALAD, STEAK), index.filter(ALL, kiwi));
+    assertEquals(3, index.count(kiwi));
+    assertEquals(ALL, index.filter(ALL, mango));
+    assertEquals(4, index.count(mango));
+  }
+
+  @Test
+  void filter_dietaryPreference_acceptsStricterRecipes() {
+    Exclusions vegetarian = Exclusions.of(DietaryPreferenceType.vegetarian, Set.of());
+    Exclusions vegan = Exclusions.of(DietaryPreferenceType.vegan, Set.of());
+    assertEquals(List.of(OMELETTE, SALAD, KIWI_TART), index.filter(ALL, vegetarian));
+    assertEquals(List.of(SALAD, KIWI_TART), index.filter(ALL, vegan));
+    assertEquals(2, index.count(vegan));
+  }
+
+  @Test
+  void putAndRemove_keepIndexCurrent() {
+    Exclusions eggs = Exclusions.of(DietaryPreferenceType.none, Set.of("EGGS"));
+    index.put(OMELETTE, DietaryPreferenceType.vegetarian, Set.of("DAIRY"));
+    index.remove(STEAK);
+    assertEquals(List.of(OMELETTE, SALAD, KIWI_TART), index.filter(ALL, eggs));
+    assertEquals(3, index.count(eggs));
+    assertEquals(3, index.size());
+  }
+}
@@ -0,0 +1,72 @@
+package com.flavormetrics.api.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ItemSimilarityModelTest {
+
+  private static final UUID SOUP = UUID.randomUUID();
+  private static final UUID STEW = UUID.randomUUID();
+  private static final UUID CAKE = UUID.randomUUID();
+  private static final UUID PIE = UUID.randomUUID();
+
+  /** Savory fans rate soup and stew high and desserts low; sweet fans the other way round. */
+  private static ItemSimilarityModel.Builder tastes() {
+    ItemSimilarityModel.Builder builder = ItemSimilarityModel.builder();
+    for (int i = 0; i < 4; i++) {
+      UUID savory = UUID.randomUUID();
+      builder.add(savory, SOUP, 5).add(savory, STEW, 5).add(savory, CAKE, 1).add(savory, PIE, 2);
+      UUID sweet = UUID.randomUUID();
+      builder.add(sweet, SOUP, 1).add(sweet, STEW, 2).add(sweet, CAKE, 5).add(sweet, PIE, 5);
+    }
+    return builder;
+  }
+
+  @Test
+  void similarTo_ranksCoRatedRecipesWithTheSameTasteFirst() {
+    ItemSimilarityModel model = tastes().build(10, 0, 100);
+    assertEquals(4, model.size());
+    assertEquals(List.of(STEW), model.similarTo(SOUP));
+    assertEquals(List.of(PIE), model.similarTo(CAKE));
+  }
+
+  @Test
+  void similarTo_keepsAtMostKNeighbors() {
+    ItemSimilarityModel.Builder builder = tastes();
+    UUID broth = UUID.randomUUID();
+    for (int i = 0; i < 3; i++) {
+      UUID user = UUID.randomUUID();
+      builder.add(user, SOUP, 5).add(user, STEW, 5).add(user, broth, 4).add(user, CAKE, 1);
+    }
+    ItemSimilarityModel model = builder.build(1, 0, 100);
+    assertThat(model.similarTo(SOUP)).hasSize(1);
+  }
+
+  @Test
+  void recommend_ranksUnratedRecipesByPredictedScore() {
+    ItemSimilarityModel model = tastes().build(10, 5, 100);
+    List<UUID> rated = List.of(SOUP, CAKE);
+    assertEquals(List.of(STEW, PIE), model.recommend(rated, new int[] { 5, 1 }, 10));
+    assertEquals(List.of(PIE, STEW), model.recommend(rated, new int[] { 1, 5 }, 10));
+    assertEquals(List.of(PIE), model.recommend(rated, new int[] { 1, 5 }, 1));
+  }
+
+  @Test
+  void recommend_unknownOrNoRatings_returnsEmpty() {
+    ItemSimilarityModel model = tastes().build(10, 5, 100);
+    assertTrue(model.recommend(List.of(), new int[0], 10).isEmpty());
+    assertTrue(model.recommend(List.of(UUID.randomUUID()), new int[] { 4 }, 10).isEmpty());
+    assertTrue(ItemSimilarityModel.empty().recommend(List.of(SOUP), new int[] { 4 }, 10).isEmpty());
+  }
+
+  @Test
+  void build_skipsUsersAboveTheRatingCap() {
+    ItemSimilarityModel model = tastes().build(10, 0, 3);
+    assertTrue(model.similarTo(SOUP).isEmpty());
+  }
+}
@@ -0,0 +1,73 @@
+package com.flavormetrics.api.recommendation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.flavormetrics.api.model.TrendingRecipe;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrendingLeaderboardTest {
+
+  private static final long HOUR = Duration.ofHours(1).toMillis();
+  private static final UUID SOUP = UUID.randomUUID();
+  private static final UUID PIE = UUID.randomUUID();
+  private static final UUID STEW = UUID.randomUUID();
+
+  private TrendingLeaderboard leaderboard;
+
+  @BeforeEach
+  void setUp() {
+    leaderboard = new TrendingLeaderboard(Duration.ofHours(1), 0);
+  }
+
+  @Test
+  void top_ranksByScoreAndRespectsLimit() {
+    leaderboard.record(SOUP, 1, 0);
+    leaderboard.record(PIE, 3, 0);
+    leaderboard.record(STEW, 2, 0);
+    leaderboard.record(SOUP, 3, 0);
+    assertEquals(List.of(SOUP, PIE, STEW), idsOf(leaderboard.top(10, 0)));
+    assertEquals(List.of(SOUP, PIE), idsOf(leaderboard.top(2, 0)));
+    assertEquals(4, leaderboard.top(1, 0).getFirst().score(), 1e-9);
+  }
+
+  @Test
+  void top_halvesScoresEveryHalfLife() {
+    leaderboard.record(SOUP, 8, 0);
+    assertEquals(4, leaderboard.top(1, HOUR).getFirst().score(), 1e-9);
+    assertEquals(1, leaderboard.top(1, 3 * HOUR).getFirst().score(), 1e-9);
+  }
+
+  @Test
+  void top_recentActivityOvertakesOlderActivity() {
+    leaderboard.record(PIE, 4, 0);
+    leaderboard.record(STEW, 3, 2 * HOUR);
+    assertEquals(List.of(STEW, PIE), idsOf(leaderboard.top(10, 2 * HOUR)));
+  }
+
+  @Test
+  void rebase_keepsScoresAndDropsDecayedEntries() {
+    leaderboard.record(SOUP, 16, 0);
+    leaderboard.record(PIE, 1, 0);
+    leaderboard.rebase(2 * HOUR, 0.5);
+    assertEquals(1, leaderboard.size());
+    assertEquals(4, leaderboard.top(1, 2 * HOUR).getFirst().score(), 1e-9);
+    leaderboard.record(SOUP, 1, 2 * HOUR);
+    assertEquals(5, leaderboard.scores(2 * HOUR).getFirst().score(), 1e-9);
+  }
+
+  @Test
+  void remove_dropsRecipeFromRanking() {
+    leaderboard.record(SOUP, 1, 0);
+    leaderboard.record(PIE, 2, 0);
+    leaderboard.remove(PIE);
+    assertEquals(List.of(SOUP), idsOf(leaderboard.top(10, 0)));
+  }
+
+  private static List<UUID> idsOf(List<TrendingRecipe> recipes) {
+    return recipes.stream().map(TrendingRecipe::recipeId).toList();
+  }
+}
@@ -0,0 +1,73 @@
+package com.flavormetrics.api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.flavormetrics.api.entity.Ingredient;
+import com.flavormetrics.api.entity.Tag;
+import com.flavormetrics.api.enums.UnitType;
+import com.flavormetrics.api.model.IngredientDto;
+import com.flavormetrics.api.model.TagDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(DictionaryRepository.class)
+class DictionaryRepositoryTest {
+
+  @Autowired
+  private DictionaryRepository dictionaryRepository;
+
+  @Autowired
+  private TagRepository tagRepository;
+
+  @Autowired
+  private IngredientRepository ingredientRepository;
+
+  @Test
+  void testIf_upsertTags_reusesExistingAndCreatesMissingOnce() {
+    Tag vegan = tagRepository.saveAndFlush(new Tag("VEGAN"));
+
+    List<TagDto> result = dictionaryRepository.upsertTags(
+      List.of(new TagDto(null, "QUICK"), new TagDto(null, "VEGAN"), new TagDto(null, "QUICK"))
+    );
+
+    Map<String, UUID> ids = result.stream().collect(Collectors.toMap(TagDto::name, TagDto::id));
+    assertEquals(2, ids.size());
+    assertEquals(vegan.getId(), ids.get("VEGAN"));
+    assertNotNull(ids.get("QUICK"));
+    assertEquals(2, tagRepository.count());
+    List<TagDto> again = dictionaryRepository.upsertTags(List.of(new TagDto(null, "QUICK")));
+    assertEquals(ids.get("QUICK"), again.getFirst().id());
+  }
+
+  @Test
+  void testIf_upsertIngredients_keepsStoredQuantityAndUnit() {
+    Ingredient salt = new Ingredient();
+    salt.setName("salt");
+    salt.setQuantity(5);
+    salt.setUnit(UnitType.grams);
+    salt.setUpdatedAt(LocalDateTime.now());
+    ingredientRepository.saveAndFlush(salt);
+
+    List<IngredientDto> result = dictionaryRepository.upsertIngredients(
+      List.of(new IngredientDto(null, "salt", 1, UnitType.cups))
+    );
+
+    assertEquals(1, result.size());
+    assertEquals(salt.getId(), result.getFirst().id());
+    assertEquals(5, result.getFirst().quantity());
+    assertEquals(UnitType.grams, result.getFirst().unit());
+  }
+
+  @Test
+  void testIf_upsertTags_emptyInput_returnsEmpty() {
+    assertTrue(dictionaryRepository.upsertTags(List.of()).isEmpty());
+  }
+}
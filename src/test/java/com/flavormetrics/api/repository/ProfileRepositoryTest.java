@@ -3,10 +3,15 @@ package com.flavormetrics.api.repository;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.flavormetrics.api.entity.Allergy;
 import com.flavormetrics.api.entity.Email;
 import com.flavormetrics.api.entity.Profile;
 import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.model.projection.ProfileExclusionProjection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +26,9 @@ class ProfileRepositoryTest {
   @Autowired
   private UserRepository userRepository;
 
+  @Autowired
+  private AllergyRepository allergyRepository;
+
   @Test
   void testIf_findByUserId_ReturnsNotEmpty() {
     var profile = new Profile();
@@ -45,4 +53,32 @@ class ProfileRepositoryTest {
     Optional<Profile> result = profileRepository.findByIdUserId(UUID.randomUUID());
     assertTrue(result.isEmpty());
   }
+
+  @Test
+  void testIf_findExclusionRowsByUserId_ReturnsOneRowPerAllergy() {
+    var allergy = new Allergy();
+    allergy.setName("EGGS");
+    allergy.setDescription("mock-allergy-description");
+    allergy = allergyRepository.save(allergy);
+    var user = new User();
+    var email = new Email();
+    email.setAddress("exclusions@mock.com");
+    user.setEmail(email);
+    user.setFirstName("mock-first-name");
+    user.setLastName("mock-last-name");
+    user.setPasswordHash("mock-password-hash");
+    user = userRepository.save(user);
+    var profile = new Profile();
+    profile.setUser(user);
+    profile.setDietaryPreference(DietaryPreferenceType.vegan);
+    profile.setAllergies(Set.of(allergy));
+    profileRepository.save(profile);
+    List<ProfileExclusionProjection> rows = profileRepository.findExclusionRowsByUserId(
+      user.getId()
+    );
+    assertEquals(1, rows.size());
+    assertEquals(DietaryPreferenceType.vegan, rows.getFirst().getDietaryPreference());
+    assertEquals("EGGS", rows.getFirst().getAllergyName());
+    assertTrue(profileRepository.findExclusionRowsByUserId(UUID.randomUUID()).isEmpty());
+  }
 }
@@ -0,0 +1,157 @@
+package com.flavormetrics.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.flavormetrics.api.entity.Email;
+import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.model.RatingHistogram;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Runs {@link RatingRepository#insertIfAbsentAndCount} on an embedded PostgreSQL, as H2 cannot
+ * execute its data-modifying {@code WITH}. Skipped where the server binaries cannot start.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RatingRepositoryPostgresTest {
+
+  private static final double PRIOR_MEAN = 3.0;
+  private static final double PRIOR_WEIGHT = 10;
+
+  private static EmbeddedPostgres postgres;
+
+  @Autowired
+  private RatingRepository ratingRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private RecipeRepository recipeRepository;
+
+  private UUID userId;
+  private UUID recipeId;
+
+  @BeforeAll
+  static void startPostgres() {
+    try {
+      postgres = EmbeddedPostgres.start();
+    } catch (IOException | RuntimeException e) {
+      assumeTrue(false, "PostgreSQL could not be started: " + e.getMessage());
+    }
+  }
+
+  @AfterAll
+  static void stopPostgres() throws IOException {
+    if (postgres != null) {
+      postgres.close();
+    }
+  }
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    registry.add("spring.datasource.username", () -> "postgres");
+    registry.add("spring.datasource.password", () -> "");
+  }
+
+  @BeforeEach
+  void setUp() {
+    userId = saveUser("rater@mock.com");
+    Recipe recipe = new Recipe();
+    recipe.setName("mock-recipe-name");
+    recipe.setUser(userRepository.getReferenceById(userId));
+    recipe.setDietaryPreferences(DietaryPreferenceType.diabetic_friendly);
+    recipe.setInstructions("mock-instruction mock-instruction mock-instruction");
+    recipe.setDifficulty(DifficultyType.easy);
+    recipeId = recipeRepository.saveAndFlush(recipe).getId();
+  }
+
+  @Test
+  void insertIfAbsentAndCount_newRating_returnsOneAndCountsItOnce() {
+    assertEquals(1, insert(userId, recipeId, 4));
+
+    RatingHistogram histogram = recipeRepository.findRatingHistogramById(recipeId).orElseThrow();
+    assertEquals(1, histogram.count());
+    assertEquals(4, histogram.sum());
+    assertArrayEquals(new int[] { 0, 0, 0, 0, 1, 0 }, histogram.counts());
+    assertEquals(
+      (PRIOR_MEAN * PRIOR_WEIGHT + 4) / (PRIOR_WEIGHT + 1),
+      recipeRepository.findById(recipeId).orElseThrow().getBayesianScore(),
+      1e-9
+    );
+  }
+
+  @Test
+  void insertIfAbsentAndCount_duplicatePair_returnsZeroAndCountsNothing() {
+    assertEquals(1, insert(userId, recipeId, 4));
+    assertEquals(0, insert(userId, recipeId, 1));
+
+    RatingHistogram histogram = recipeRepository.findRatingHistogramById(recipeId).orElseThrow();
+    assertEquals(1, histogram.count());
+    assertEquals(4, histogram.sum());
+    assertArrayEquals(new int[] { 0, 0, 0, 0, 1, 0 }, histogram.counts());
+    assertEquals(1, ratingRepository.count());
+  }
+
+  @Test
+  void insertIfAbsentAndCount_unknownRecipe_returnsZeroAndInsertsNothing() {
+    assertEquals(0, insert(userId, UUID.randomUUID(), 4));
+    assertEquals(0, ratingRepository.count());
+    assertEquals(0, recipeRepository.findRatingHistogramById(recipeId).orElseThrow().count());
+  }
+
+  @Test
+  void insertIfAbsentAndCount_secondRater_movesEveryCounterOnce() {
+    insert(userId, recipeId, 4);
+    assertEquals(1, insert(saveUser("second@mock.com"), recipeId, 2));
+
+    RatingHistogram histogram = recipeRepository.findRatingHistogramById(recipeId).orElseThrow();
+    assertEquals(2, histogram.count());
+    assertEquals(6, histogram.sum());
+    assertArrayEquals(new int[] { 0, 0, 1, 0, 1, 0 }, histogram.counts());
+    assertEquals(
+      (PRIOR_MEAN * PRIOR_WEIGHT + 6) / (PRIOR_WEIGHT + 2),
+      recipeRepository.findById(recipeId).orElseThrow().getBayesianScore(),
+      1e-9
+    );
+  }
+
+  private int insert(UUID raterId, UUID ratedRecipeId, int score) {
+    return ratingRepository.insertIfAbsentAndCount(
+      UUID.randomUUID(),
+      score,
+      raterId,
+      ratedRecipeId,
+      PRIOR_MEAN,
+      PRIOR_WEIGHT
+    );
+  }
+
+  private UUID saveUser(String address) {
+    Email email = new Email();
+    email.setAddress(address);
+    User user = new User();
+    user.setEmail(email);
+    user.setFirstName("mock-first-name");
+    user.setLastName("mock-last-name");
+    user.setPasswordHash("mock-password");
+    return userRepository.saveAndFlush(user).getId();
+  }
+}
@@ -8,13 +8,18 @@ import com.flavormetrics.api.entity.Recipe;
 import com.flavormetrics.api.entity.User;
 import com.flavormetrics.api.enums.DietaryPreferenceType;
 import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.model.KeysetCursor;
 import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RatingEntry;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 @DataJpaTest
 class RatingRepositoryTest {
@@ -99,4 +104,81 @@ class RatingRepositoryTest {
     boolean result = ratingRepository.isRecipeAlreadyRatedByUser(userId, recipeId);
     assertTrue(result);
   }
+
+  @Test
+  void testIf_findByRecipeIdAfter_pagesNewestFirstWithoutRepeats() {
+    rate(userId, 1);
+    rate(saveUser("second@mock.com"), 2);
+    rate(saveUser("third@mock.com"), 3);
+    KeysetCursor first = KeysetCursor.first();
+
+    List<RatingEntry> page = ratingRepository.findByRecipeIdAfter(
+      recipeId,
+      first.createdAt(),
+      first.id(),
+      PageRequest.ofSize(2)
+    );
+    KeysetCursor next = page.getLast().cursor();
+    List<RatingEntry> rest = ratingRepository.findByRecipeIdAfter(
+      recipeId,
+      next.createdAt(),
+      next.id(),
+      PageRequest.ofSize(2)
+    );
+
+    assertEquals(2, page.size());
+    assertEquals(1, rest.size());
+    assertEquals(
+      Set.of(1, 2, 3),
+      Set.of(page.get(0).score(), page.get(1).score(), rest.getFirst().score())
+    );
+    assertTrue(page.getLast().createdAt().compareTo(rest.getFirst().createdAt()) >= 0);
+  }
+
+  @Test
+  void testIf_findByUserIdAfter_returnsOnlyTheUsersRatings() {
+    rate(userId, 4);
+    rate(saveUser("other@mock.com"), 2);
+    KeysetCursor first = KeysetCursor.first();
+
+    List<RatingEntry> page = ratingRepository.findByUserIdAfter(
+      userId,
+      first.createdAt(),
+      first.id(),
+      PageRequest.ofSize(10)
+    );
+
+    assertEquals(1, page.size());
+    assertEquals(EMAIL_ADDRESS, page.getFirst().user());
+    assertEquals(recipeId, page.getFirst().recipeId());
+    assertEquals(4, page.getFirst().score());
+  }
+
+  @Test
+  void testIf_streamByRecipeId_returnsAllRatings() {
+    rate(userId, 4);
+    rate(saveUser("other@mock.com"), 2);
+    try (Stream<RatingEntry> ratings = ratingRepository.streamByRecipeId(recipeId)) {
+      assertEquals(2, ratings.count());
+    }
+  }
+
+  private void rate(UUID raterId, int score) {
+    Rating rating = new Rating();
+    rating.setUser(userRepository.getReferenceById(raterId));
+    rating.setRecipe(recipeRepository.getReferenceById(recipeId));
+    rating.setScore(score);
+    ratingRepository.save(rating);
+  }
+
+  private UUID saveUser(String address) {
+    Email email = new Email();
+    email.setAddress(address);
+    User user = new User();
+    user.setEmail(email);
+    user.setFirstName("mock-first-name");
+    user.setLastName("mock-last-name");
+    user.setPasswordHash("mock-password");
+    return userRepository.save(user).getId();
+  }
 }
@@ -1,29 +1,44 @@
 package com.flavormetrics.api.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.flavormetrics.api.entity.Allergy;
 import com.flavormetrics.api.entity.Email;
 import com.flavormetrics.api.entity.Ingredient;
-import com.flavormetrics.api.entity.Profile;
+import com.flavormetrics.api.entity.Rating;
 import com.flavormetrics.api.entity.Recipe;
 import com.flavormetrics.api.entity.Tag;
 import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.enums.AllergyType;
 import com.flavormetrics.api.enums.DietaryPreferenceType;
 import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.enums.TagType;
 import com.flavormetrics.api.enums.UnitType;
+import com.flavormetrics.api.model.KeysetCursor;
+import com.flavormetrics.api.model.NameCount;
+import com.flavormetrics.api.model.RandomKeyRow;
+import com.flavormetrics.api.model.RatingHistogram;
+import com.flavormetrics.api.model.RecipeExportRow;
+import com.flavormetrics.api.model.RecipeSummaryDto;
+import com.flavormetrics.api.model.TopRatedRecipe;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
-@DataJpaTest
+// PostgreSQL mode so the native UPDATE ... FROM of rebuildRatingAggregates runs on H2
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:recipes;MODE=PostgreSQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class RecipeRepositoryTest {
 
   private static final String EMAIL_ADDRESS = "mock-email@mock.com";
@@ -41,10 +56,13 @@ class RecipeRepositoryTest {
   private TagRepository tagRepository;
 
   @Autowired
-  private ProfileRepository profileRepository;
+  private AllergyRepository allergyRepository;
 
   @Autowired
-  private AllergyRepository allergyRepository;
+  private RatingRepository ratingRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
 
   private User user;
   private Recipe recipe;
@@ -109,43 +127,77 @@ class RecipeRepositoryTest {
   }
 
   @Test
-  void testIf_FindAllByFilter_ReturnsNotEmpty() {
-    Page<Recipe> page = recipeRepository.findAllByFilter(
+  void testIf_findIdsByFilter_ReturnsNotEmpty() {
+    Page<UUID> page = recipeRepository.findIdsByFilter(
       10,
       300,
       10,
       DifficultyType.easy,
       DietaryPreferenceType.vegan,
+      0L,
+      0L,
       PageRequest.of(0, 10)
     );
     assertThat(page.getContent()).isNotEmpty();
     assertEquals(1, page.getTotalElements());
-    assertEquals(recipe, page.getContent().getFirst());
+    assertEquals(recipe.getId(), page.getContent().getFirst());
   }
 
   @Test
-  void testIf_FindAllByFilter_ReturnsEmpty() {
-    Page<Recipe> page = recipeRepository.findAllByFilter(
+  void testIf_findIdsByFilter_ReturnsEmpty() {
+    Page<UUID> page = recipeRepository.findIdsByFilter(
       100,
       199,
       5,
       DifficultyType.easy,
       DietaryPreferenceType.vegan,
+      0L,
+      0L,
       PageRequest.of(0, 10)
     );
     assertThat(page.getContent()).isEmpty();
   }
 
   @Test
-  void testIf_FindByOwner_ReturnsNotEmpty() {
-    Page<Recipe> page = recipeRepository.findByOwner(EMAIL_ADDRESS, PageRequest.of(0, 5));
+  void testIf_findIdsByFilter_MatchesAllergenAndTagMasks() {
+    assertEquals(AllergyType.OTHER, recipe.getAllergenMask());
+    assertEquals(TagType.VEGAN.bit(), recipe.getTagMask());
+    assertEquals(1, findIdsByMasks(AllergyType.PEANUTS.bit(), TagType.VEGAN.bit()).size());
+    assertThat(findIdsByMasks(AllergyType.OTHER, 0L)).isEmpty();
+    assertThat(findIdsByMasks(0L, TagType.VEGAN.bit() | TagType.QUICK.bit())).isEmpty();
+  }
+
+  @Test
+  void testIf_updateMasks_OverwritesStoredMasks() {
+    assertEquals(1, recipeRepository.updateMasks(recipe.getId(), 0L, TagType.QUICK.bit()));
+    assertEquals(1, findIdsByMasks(AllergyType.OTHER, TagType.QUICK.bit()).size());
+  }
+
+  private List<UUID> findIdsByMasks(long excludedAllergenMask, long requiredTagMask) {
+    return recipeRepository
+      .findIdsByFilter(
+        10,
+        300,
+        10,
+        DifficultyType.easy,
+        DietaryPreferenceType.vegan,
+        excludedAllergenMask,
+        requiredTagMask,
+        PageRequest.of(0, 10)
+      )
+      .getContent();
+  }
+
+  @Test
+  void testIf_findIdsByOwner_ReturnsNotEmpty() {
+    Page<UUID> page = recipeRepository.findIdsByOwner(EMAIL_ADDRESS, PageRequest.of(0, 5));
     assertThat(page.getContent()).isNotEmpty();
-    assertEquals(recipe, page.getContent().getFirst());
+    assertEquals(recipe.getId(), page.getContent().getFirst());
   }
 
   @Test
-  void testIf_FindByOwner_ReturnsEmpty() {
-    Page<Recipe> page = recipeRepository.findByOwner(
+  void testIf_findIdsByOwner_ReturnsEmpty() {
+    Page<UUID> page = recipeRepository.findIdsByOwner(
       "mock-email-with-no-recipes",
       PageRequest.of(0, 5)
     );
@@ -153,28 +205,281 @@ class RecipeRepositoryTest {
   }
 
   @Test
-  void testIf_findAllRecommendations_ReturnsNotEmpty() {
-    var allergyP = new Allergy();
-    allergyP.setName("mock-allergy-for-profile");
-    allergyP.setDescription("mock-allergy-description-for-profile");
-    allergyP = allergyRepository.save(allergyP);
-    var profile = new Profile();
-    profile.setAllergies(Set.of(allergyP));
-    profile.setUser(user);
-    profileRepository.save(profile);
-    Page<Recipe> page = recipeRepository.findAllRecommendations(user.getId(), PageRequest.of(0, 5));
-    assertThat(page.getContent()).isNotEmpty();
-    assertEquals(recipe, page.getContent().getFirst());
+  void testIf_findRandomKeyRowsAfter_ReturnsRowsInKeyRange() {
+    double key = recipe.getRandomKey();
+    assertEquals(
+      List.of(new RandomKeyRow(recipe.getId(), key)),
+      recipeRepository.findRandomKeyRowsAfter(key, new UUID(0, 0), 1.0, PageRequest.ofSize(5))
+    );
+    assertThat(
+      recipeRepository.findRandomKeyRowsAfter(key, recipe.getId(), 1.0, PageRequest.ofSize(5))
+    ).isEmpty();
+    assertThat(
+      recipeRepository.findRandomKeyRowsAfter(-1.0, new UUID(0, 0), key, PageRequest.ofSize(5))
+    ).isEmpty();
   }
 
   @Test
-  void testIf_findAllRecommendations_ReturnsEmpty() {
-    var allergySaved = allergyRepository.getReferenceById(allergy.getId());
-    var profile = new Profile();
-    profile.setAllergies(Set.of(allergySaved));
-    profile.setUser(user);
-    profileRepository.save(profile);
-    Page<Recipe> page = recipeRepository.findAllRecommendations(user.getId(), PageRequest.of(0, 5));
-    assertThat(page.getContent()).isEmpty();
+  void testIf_findAllAfter_FirstCursor_ReturnsNotEmpty() {
+    KeysetCursor cursor = KeysetCursor.first();
+    List<KeysetCursor> result = recipeRepository.findAllAfter(
+      cursor.createdAt(),
+      cursor.id(),
+      PageRequest.ofSize(5)
+    );
+    assertThat(result).hasSize(1);
+    assertEquals(recipe.getId(), result.getFirst().id());
+  }
+
+  @Test
+  void testIf_findAllAfter_OlderCursor_ReturnsEmpty() {
+    List<KeysetCursor> result = recipeRepository.findAllAfter(
+      LocalDateTime.of(2000, 1, 1, 0, 0),
+      UUID.randomUUID(),
+      PageRequest.ofSize(5)
+    );
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  void testIf_findByOwnerAfter_ReturnsNotEmpty() {
+    KeysetCursor cursor = KeysetCursor.first();
+    List<KeysetCursor> result = recipeRepository.findByOwnerAfter(
+      EMAIL_ADDRESS,
+      cursor.createdAt(),
+      cursor.id(),
+      PageRequest.ofSize(5)
+    );
+    assertThat(result).hasSize(1);
+    assertEquals(recipe.getId(), result.getFirst().id());
+  }
+
+  @Test
+  void testIf_findRowsByIds_ReturnsOwnerEmail() {
+    var rows = recipeRepository.findRowsByIds(List.of(recipe.getId()));
+    assertThat(rows).hasSize(1);
+    assertEquals("Salad", rows.getFirst().getName());
+    assertEquals(EMAIL_ADDRESS, rows.getFirst().getUser());
+  }
+
+  @Test
+  void testIf_findAssociationsByRecipeIds_ReturnsOneRowEach() {
+    List<UUID> ids = List.of(recipe.getId());
+    assertThat(recipeRepository.findTagsByRecipeIds(ids)).hasSize(1);
+    assertThat(recipeRepository.findIngredientsByRecipeIds(ids)).hasSize(1);
+    assertThat(recipeRepository.findAllergiesByRecipeIds(ids)).hasSize(1);
+  }
+
+  @Test
+  void testIf_ratingAggregates_GiveAverage() {
+    countRating(recipe.getId(), 4);
+    countRating(recipe.getId(), 5);
+    Recipe updated = recipeRepository.findById(recipe.getId()).orElseThrow();
+    assertEquals(2, updated.getRatingCount());
+    assertEquals(9, updated.getRatingSum());
+    assertEquals(4.5f, updated.getAverageRating());
+  }
+
+  @Test
+  void testIf_findRatingHistogramById_CountsEachScore() {
+    countRating(recipe.getId(), 4);
+    countRating(recipe.getId(), 5);
+    countRating(recipe.getId(), 5);
+    RatingHistogram histogram = recipeRepository
+      .findRatingHistogramById(recipe.getId())
+      .orElseThrow();
+    assertEquals(3, histogram.count());
+    assertEquals(14, histogram.sum());
+    assertArrayEquals(new int[] { 0, 0, 0, 0, 1, 2 }, histogram.counts());
+  }
+
+  @Test
+  void testIf_rebuildRatingAggregates_MatchesRatingsTable() {
+    countRating(recipe.getId(), 1);
+    Rating rating = new Rating();
+    rating.setUser(user);
+    rating.setRecipe(recipeRepository.getReferenceById(recipe.getId()));
+    rating.setScore(3);
+    ratingRepository.save(rating);
+    recipeRepository.rebuildRatingAggregates();
+    Recipe rebuilt = recipeRepository.findById(recipe.getId()).orElseThrow();
+    assertEquals(1, rebuilt.getRatingCount());
+    assertEquals(3, rebuilt.getRatingSum());
+    assertArrayEquals(
+      new int[] { 0, 0, 0, 1, 0, 0 },
+      recipeRepository.findRatingHistogramById(recipe.getId()).orElseThrow().counts()
+    );
+  }
+
+  @Test
+  void testIf_resetUnratedRatingAggregates_ZeroesRecipesWithoutRatings() {
+    countRating(recipe.getId(), 4);
+    assertEquals(0, recipeRepository.rebuildRatingAggregates());
+    assertEquals(1, recipeRepository.resetUnratedRatingAggregates());
+    RatingHistogram histogram = recipeRepository
+      .findRatingHistogramById(recipe.getId())
+      .orElseThrow();
+    assertEquals(0, histogram.count());
+    assertEquals(0, histogram.sum());
+    assertArrayEquals(new int[6], histogram.counts());
+  }
+
+  @Test
+  void testIf_findTopRated_OrdersByRefreshedBayesianScore() {
+    Recipe stew = new Recipe();
+    stew.setName("Stew");
+    stew.setDifficulty(DifficultyType.hard);
+    stew.setDietaryPreferences(DietaryPreferenceType.vegan);
+    stew.setUser(user);
+    stew.setInstructions("mock-instructions mock-instructions mock-instructions");
+    UUID stewId = recipeRepository.save(stew).getId();
+    countRating(recipe.getId(), 3);
+    countRating(stewId, 5);
+    countRating(stewId, 5);
+    recipeRepository.refreshAllBayesianScores(3, 2);
+
+    List<TopRatedRecipe> top = recipeRepository.findTopRated(PageRequest.ofSize(5));
+    List<TopRatedRecipe> easy = recipeRepository.findTopRatedByDifficulty(
+      DifficultyType.easy,
+      PageRequest.ofSize(5)
+    );
+
+    assertEquals(List.of(stewId, recipe.getId()), idsOf(top));
+    assertEquals(4.0, top.getFirst().score(), 1e-9);
+    assertEquals(3.0, top.getLast().score(), 1e-9);
+    assertEquals(List.of(recipe.getId()), idsOf(easy));
+  }
+
+  @Test
+  void testIf_refreshAllBayesianScores_KeepsUnratedRecipesAtZero() {
+    recipeRepository.refreshAllBayesianScores(3, 2);
+    TopRatedRecipe unrated = recipeRepository
+      .findTopRatedByDifficultyAndDietaryPreference(
+        DifficultyType.easy,
+        DietaryPreferenceType.vegan,
+        PageRequest.ofSize(1)
+      )
+      .getFirst();
+    assertEquals(0, unrated.ratingCount());
+    assertEquals(0.0, unrated.score());
+  }
+
+  @Test
+  void testIf_findAllSummaries_ReturnsProjectedRows() {
+    countRating(recipe.getId(), 3);
+    Page<RecipeSummaryDto> page = recipeRepository.findAllSummaries(PageRequest.of(0, 5));
+    assertEquals(1, page.getTotalElements());
+    RecipeSummaryDto summary = page.getContent().getFirst();
+    assertEquals(recipe.getId(), summary.id());
+    assertEquals(EMAIL_ADDRESS, summary.user());
+    assertEquals(3f, summary.averageRating());
+  }
+
+  @Test
+  void testIf_findSummariesByFilterAfter_ReturnsNotEmpty() {
+    KeysetCursor cursor = KeysetCursor.first();
+    List<RecipeSummaryDto> result = recipeRepository.findSummariesByFilterAfter(
+      10,
+      300,
+      10,
+      DifficultyType.easy,
+      DietaryPreferenceType.vegan,
+      cursor.createdAt(),
+      cursor.id(),
+      0L,
+      0L,
+      PageRequest.ofSize(5)
+    );
+    assertThat(result).hasSize(1);
+    assertEquals(0f, result.getFirst().averageRating());
+  }
+
+  @Test
+  void testIf_streamExportRows_ReturnsRowsUpdatedInRange() {
+    recipeRepository.flush();
+    LocalDateTime from = recipe.getUpdatedAt().minusSeconds(1);
+    LocalDateTime to = recipe.getUpdatedAt().plusSeconds(1);
+    try (var rows = recipeRepository.streamExportRows(from, to)) {
+      RecipeExportRow row = rows.toList().getFirst();
+      assertEquals(recipe.getId(), row.id());
+      assertEquals(EMAIL_ADDRESS, row.user());
+      assertEquals(DietaryPreferenceType.vegan, row.dietaryPreference());
+    }
+    try (var rows = recipeRepository.streamExportRows(to, to.plusDays(1))) {
+      assertThat(rows).isEmpty();
+    }
+  }
+
+  @Test
+  void testIf_findNameCountsByIds_AddsUpCaseVariants() {
+    countRating(recipe.getId(), 4);
+    Recipe shouted = new Recipe();
+    shouted.setName("SALAD ");
+    shouted.setDifficulty(DifficultyType.easy);
+    shouted.setDietaryPreferences(DietaryPreferenceType.vegan);
+    shouted.setUser(user);
+    shouted.setInstructions("mock-instructions mock-instructions mock-instructions");
+    UUID shoutedId = recipeRepository.save(shouted).getId();
+
+    List<NameCount> counts = recipeRepository.findNameCountsByIds(List.of(shoutedId));
+
+    assertEquals(1, counts.size());
+    assertEquals(3, counts.getFirst().count());
+    assertEquals(counts, recipeRepository.findNameCounts());
+  }
+
+  @Test
+  void testIf_findNameCounts_WeighsNamesByUseAndRatings() {
+    countRating(recipe.getId(), 4);
+    List<UUID> ids = List.of(recipe.getId());
+    assertEquals(List.of(new NameCount("Salad", 2)), recipeRepository.findNameCountsByIds(ids));
+    assertEquals(List.of(new NameCount("Vegan", 1)), tagRepository.findNameCountsByRecipeIds(ids));
+    assertEquals(
+      List.of(new NameCount("mock-ing-name", 1)),
+      ingredientRepository.findNameCounts()
+    );
+    assertEquals(
+      List.of(new NameCount("mock-allergy-name", 1)),
+      allergyRepository.findNameCountsByRecipeIds(ids)
+    );
+  }
+
+  @Test
+  void testIf_findFacetRowsAfter_ReturnsOldestFirst() {
+    var rows = recipeRepository.findFacetRowsAfter(
+      LocalDateTime.of(1970, 1, 1, 0, 0),
+      new UUID(0, 0),
+      PageRequest.ofSize(5)
+    );
+    assertThat(rows).hasSize(1);
+    assertEquals(DietaryPreferenceType.vegan, rows.getFirst().getDietaryPreference());
+    assertEquals(
+      recipe.getId(),
+      recipeRepository.findFacetRowsByIds(List.of(recipe.getId())).getFirst().getId()
+    );
+  }
+
+  private static List<UUID> idsOf(List<TopRatedRecipe> recipes) {
+    return recipes.stream().map(TopRatedRecipe::recipeId).toList();
+  }
+
+  /** Counts a rating the way the PostgreSQL-only insert in RatingRepository does. */
+  private void countRating(UUID recipeId, int score) {
+    entityManager.flush();
+    entityManager
+      .getEntityManager()
+      .createNativeQuery(
+        """
+        UPDATE recipes
+        SET rating_count = rating_count + 1,
+            rating_sum = rating_sum + ?1,
+            rating_count_%1$d = rating_count_%1$d + 1
+        WHERE id = ?2
+        """.formatted(score)
+      )
+      .setParameter(1, score)
+      .setParameter(2, recipeId)
+      .executeUpdate();
+    entityManager.clear();
   }
 }
@@ -0,0 +1,102 @@
+package com.flavormetrics.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.flavormetrics.api.entity.UserRecommendation;
+import com.flavormetrics.api.model.projection.RecommendedRecipeProjection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+@DataJpaTest
+class UserRecommendationRepositoryTest {
+
+  @Autowired
+  private UserRecommendationRepository userRecommendationRepository;
+
+  @Test
+  void findPage_readsPageInRankOrderWithListLength() {
+    UUID userId = UUID.randomUUID();
+    List<UUID> recipeIds = save(userId, 5);
+    save(UUID.randomUUID(), 3);
+    List<RecommendedRecipeProjection> page = userRecommendationRepository.findPage(
+      userId,
+      PageRequest.of(1, 2)
+    );
+    assertEquals(
+      recipeIds.subList(2, 4),
+      page.stream().map(RecommendedRecipeProjection::getRecipeId).toList()
+    );
+    assertEquals(5, page.getFirst().getTotal());
+    assertEquals(5, userRecommendationRepository.countByUserId(userId));
+  }
+
+  @Test
+  void findAfter_seeksPastRankInRankOrder() {
+    UUID userId = UUID.randomUUID();
+    List<UUID> recipeIds = save(userId, 5);
+    save(UUID.randomUUID(), 3);
+    List<UserRecommendation> rows = userRecommendationRepository.findAfter(
+      userId,
+      1,
+      PageRequest.ofSize(2)
+    );
+    assertEquals(
+      recipeIds.subList(2, 4),
+      rows.stream().map(UserRecommendation::getRecipeId).toList()
+    );
+    assertEquals(3, rows.getLast().getRank());
+  }
+
+  @Test
+  void deleteByRecipeIds_prunesEveryListAndLeavesPagesFull() {
+    UUID userId = UUID.randomUUID();
+    UUID otherId = UUID.randomUUID();
+    List<UUID> recipeIds = save(userId, 5);
+    save(otherId, 2);
+    UUID deleted = recipeIds.get(1);
+
+    assertEquals(
+      List.of(userId),
+      userRecommendationRepository.findUserIdsByRecipeIds(List.of(deleted))
+    );
+    assertEquals(1, userRecommendationRepository.deleteByRecipeIds(List.of(deleted)));
+
+    List<RecommendedRecipeProjection> page = userRecommendationRepository.findPage(
+      userId,
+      PageRequest.of(0, 2)
+    );
+    assertEquals(
+      List.of(recipeIds.get(0), recipeIds.get(2)),
+      page.stream().map(RecommendedRecipeProjection::getRecipeId).toList()
+    );
+    assertEquals(4, page.getFirst().getTotal());
+    assertEquals(2, userRecommendationRepository.countByUserId(otherId));
+  }
+
+  @Test
+  void deleteByUserId_removesOnlyThatUsersList() {
+    UUID userId = UUID.randomUUID();
+    UUID otherId = UUID.randomUUID();
+    save(userId, 3);
+    save(otherId, 2);
+    assertEquals(3, userRecommendationRepository.deleteByUserId(userId));
+    assertEquals(0, userRecommendationRepository.countByUserId(userId));
+    assertEquals(2, userRecommendationRepository.countByUserId(otherId));
+  }
+
+  private List<UUID> save(UUID userId, int size) {
+    List<UUID> recipeIds = new ArrayList<>();
+    for (int rank = 0; rank < size; rank++) {
+      UUID recipeId = UUID.randomUUID();
+      userRecommendationRepository.save(new UserRecommendation(userId, rank, recipeId));
+      recipeIds.add(recipeId);
+    }
+    userRecommendationRepository.flush();
+    return recipeIds;
+  }
+}
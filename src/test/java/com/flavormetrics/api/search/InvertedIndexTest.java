@@ -0,0 +1,180 @@
+package com.flavormetrics.api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+  private static final UUID SOUP = UUID.randomUUID();
+  private static final UUID STEW = UUID.randomUUID();
+  private static final UUID SALAD = UUID.randomUUID();
+
+  private InvertedIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new InvertedIndex();
+    index.put(SOUP, Map.of("tomato", 3, "soup", 3, "basil", 1));
+    index.put(STEW, Map.of("beef", 3, "stew", 3, "tomato", 1));
+    index.put(SALAD, Map.of("green", 3, "salad", 3));
+  }
+
+  @Test
+  void search_ranksHigherTermFrequencyFirst() {
+    InvertedIndex.Hits hits = index.search(List.of("tomato"), null, 0, 10);
+    assertEquals(List.of(SOUP, STEW), hits.keys());
+    assertEquals(2, hits.total());
+  }
+
+  @Test
+  void search_prefersRarerTerms() {
+    InvertedIndex.Hits hits = index.search(List.of("tomato", "beef"), null, 0, 10);
+    assertEquals(STEW, hits.keys().getFirst());
+  }
+
+  @Test
+  void search_expandsPrefix() {
+    InvertedIndex.Hits hits = index.search(List.of("sal"), "sal", 0, 10);
+    assertEquals(List.of(SALAD), hits.keys());
+  }
+
+  @Test
+  void search_pagesThroughRankedHits() {
+    InvertedIndex.Hits hits = index.search(List.of("tomato"), null, 1, 1);
+    assertEquals(List.of(STEW), hits.keys());
+    assertEquals(2, hits.total());
+  }
+
+  @Test
+  void searchAfter_continuesFromLastHit() {
+    List<InvertedIndex.ScoredKey> first = index.searchAfter(
+      List.of("tomato"),
+      null,
+      Float.POSITIVE_INFINITY,
+      new UUID(0, 0),
+      1
+    );
+    assertEquals(SOUP, first.getFirst().key());
+
+    InvertedIndex.ScoredKey last = first.getLast();
+    List<InvertedIndex.ScoredKey> next = index.searchAfter(
+      List.of("tomato"),
+      null,
+      last.score(),
+      last.key(),
+      10
+    );
+    assertEquals(List.of(STEW), next.stream().map(InvertedIndex.ScoredKey::key).toList());
+  }
+
+  @Test
+  void searchAfter_breaksScoreTiesByKey() {
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      UUID key = UUID.randomUUID();
+      keys.add(key);
+      index.put(key, Map.of("filler", 1));
+    }
+    keys.sort(null);
+
+    List<InvertedIndex.ScoredKey> first = index.searchAfter(
+      List.of("filler"),
+      null,
+      Float.POSITIVE_INFINITY,
+      new UUID(0, 0),
+      2
+    );
+    InvertedIndex.ScoredKey last = first.getLast();
+    List<InvertedIndex.ScoredKey> rest = index.searchAfter(
+      List.of("filler"),
+      null,
+      last.score(),
+      last.key(),
+      10
+    );
+    List<UUID> all = new ArrayList<>();
+    first.forEach(hit -> all.add(hit.key()));
+    rest.forEach(hit -> all.add(hit.key()));
+    assertEquals(keys, all);
+  }
+
+  @Test
+  void put_replacesPreviousVersion() {
+    index.put(SOUP, Map.of("pumpkin", 3, "soup", 3));
+    assertEquals(List.of(STEW), index.search(List.of("tomato"), null, 0, 10).keys());
+    assertEquals(List.of(SOUP), index.search(List.of("pumpkin"), null, 0, 10).keys());
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  void remove_hidesDocument() {
+    index.remove(STEW);
+    InvertedIndex.Hits hits = index.search(List.of("tomato", "beef"), null, 0, 10);
+    assertEquals(List.of(SOUP), hits.keys());
+    assertEquals(1, hits.total());
+  }
+
+  @Test
+  void remove_compactsAfterManyDeletes() {
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 4096; i++) {
+      UUID key = UUID.randomUUID();
+      keys.add(key);
+      index.put(key, Map.of("filler", 1, "n" + i, 1));
+    }
+    keys.subList(0, 2048).forEach(index::remove);
+
+    InvertedIndex.Hits hits = index.search(List.of("filler"), null, 0, 5000);
+    assertEquals(2048, hits.total());
+    assertEquals(keys.subList(2048, 4096), hits.keys());
+    assertEquals(List.of(SOUP, STEW), index.search(List.of("tomato"), null, 0, 10).keys());
+    assertTrue(index.search(List.of("n0"), null, 0, 10).keys().isEmpty());
+  }
+
+  @Test
+  void put_compactsAfterManyReplacements() {
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 2048; i++) {
+      UUID key = UUID.randomUUID();
+      keys.add(key);
+      index.put(key, Map.of("filler", 1, "n" + i, 1));
+    }
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < keys.size(); i++) {
+        index.put(keys.get(i), Map.of("filler", 1, "m" + i, 1));
+      }
+    }
+
+    InvertedIndex.Hits hits = index.search(List.of("filler"), null, 0, 5000);
+    assertEquals(2048, hits.total());
+    assertEquals(keys, hits.keys());
+    assertEquals(List.of(SOUP, STEW), index.search(List.of("tomato"), null, 0, 10).keys());
+    assertTrue(index.search(List.of("n0"), null, 0, 10).keys().isEmpty());
+    assertEquals(List.of(keys.get(0)), index.search(List.of("m0"), null, 0, 10).keys());
+  }
+
+  @Test
+  void postingList_roundTripsLargeGaps() {
+    PostingList postings = new PostingList();
+    postings.add(0, 1);
+    postings.add(300, 2);
+    postings.add(1_000_000, 70000);
+    PostingList.Cursor cursor = postings.cursor();
+    assertTrue(cursor.next());
+    assertEquals(0, cursor.doc());
+    assertTrue(cursor.next());
+    assertEquals(300, cursor.doc());
+    assertEquals(2, cursor.frequency());
+    assertTrue(cursor.next());
+    assertEquals(1_000_000, cursor.doc());
+    assertEquals(70000, cursor.frequency());
+    assertEquals(3, postings.size());
+  }
+}
@@ -0,0 +1,170 @@
+package com.flavormetrics.api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.model.FacetQuery;
+import com.flavormetrics.api.model.FacetResult;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RecipeFacetIndexTest {
+
+  private static final FacetQuery ALL = new FacetQuery(
+    null,
+    null,
+    null,
+    null,
+    null,
+    null,
+    null,
+    null
+  );
+
+  private static final UUID SALAD = UUID.randomUUID();
+  private static final UUID CURRY = UUID.randomUUID();
+  private static final UUID STEAK = UUID.randomUUID();
+
+  private RecipeFacetIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new RecipeFacetIndex();
+    index.put(
+      SALAD,
+      new RecipeFacetIndex.Document(
+        DifficultyType.easy,
+        DietaryPreferenceType.vegan,
+        10,
+        0,
+        150,
+        Set.of("Vegan", "Quick"),
+        Set.of()
+      )
+    );
+    index.put(
+      CURRY,
+      new RecipeFacetIndex.Document(
+        DifficultyType.medium,
+        DietaryPreferenceType.vegan,
+        20,
+        40,
+        550,
+        Set.of("Vegan", "Spicy"),
+        Set.of("Peanuts")
+      )
+    );
+    index.put(
+      STEAK,
+      new RecipeFacetIndex.Document(
+        DifficultyType.hard,
+        DietaryPreferenceType.keto,
+        5,
+        15,
+        900,
+        Set.of("Quick"),
+        Set.of()
+      )
+    );
+  }
+
+  @Test
+  void search_withoutCriteria_returnsNewestFirst() {
+    FacetResult result = index.search(ALL, 0, 10);
+    assertEquals(List.of(STEAK, CURRY, SALAD), result.ids());
+    assertEquals(3, result.total());
+  }
+
+  @Test
+  void search_combinesOrWithinAndAcrossFacets() {
+    FacetQuery query = new FacetQuery(
+      Set.of(DifficultyType.easy, DifficultyType.medium),
+      null,
+      Set.of("Vegan"),
+      null,
+      Set.of("Peanuts"),
+      null,
+      null,
+      null
+    );
+    assertEquals(List.of(SALAD), index.search(query, 0, 10).ids());
+  }
+
+  @Test
+  void search_appliesExactAtMostRanges() {
+    FacetQuery query = new FacetQuery(null, null, null, null, null, 20, 15, null);
+    assertEquals(List.of(STEAK, SALAD), index.search(query, 0, 10).ids());
+  }
+
+  @Test
+  void search_countsFacetValuesWithinMatches() {
+    FacetQuery query = new FacetQuery(
+      null,
+      Set.of(DietaryPreferenceType.vegan),
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+    Map<String, Map<String, Long>> facets = index.search(query, 0, 10).facets();
+    assertEquals(Map.of("easy", 1L, "medium", 1L), facets.get(RecipeFacetIndex.DIFFICULTY));
+    assertEquals(
+      Map.of("Vegan", 2L, "Quick", 1L, "Spicy", 1L),
+      facets.get(RecipeFacetIndex.TAG)
+    );
+    assertEquals(
+      List.of(1L, 1L, 2L, 2L, 0L),
+      List.copyOf(facets.get(RecipeFacetIndex.CALORIES).values())
+    );
+  }
+
+  @Test
+  void search_pagesFromNewest() {
+    FacetResult result = index.search(ALL, 1, 1);
+    assertEquals(List.of(CURRY), result.ids());
+    assertEquals(3, result.total());
+  }
+
+  @Test
+  void put_movesUpdatedRecipeBetweenBitmaps() {
+    index.put(
+      SALAD,
+      new RecipeFacetIndex.Document(
+        DifficultyType.hard,
+        DietaryPreferenceType.vegan,
+        10,
+        0,
+        150,
+        Set.of(),
+        Set.of()
+      )
+    );
+    FacetQuery hard = new FacetQuery(
+      Set.of(DifficultyType.hard),
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+    assertEquals(List.of(STEAK, SALAD), index.search(hard, 0, 10).ids());
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  void remove_dropsRecipe() {
+    index.remove(CURRY);
+    FacetResult result = index.search(ALL, 0, 10);
+    assertEquals(List.of(STEAK, SALAD), result.ids());
+    assertEquals(Map.of(), result.facets().get(RecipeFacetIndex.ALLERGY));
+  }
+}
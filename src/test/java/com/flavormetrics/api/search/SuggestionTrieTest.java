@@ -0,0 +1,71 @@
+package com.flavormetrics.api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.flavormetrics.api.enums.SuggestionType;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SuggestionTrieTest {
+
+  private SuggestionTrie trie;
+
+  @BeforeEach
+  void setUp() {
+    trie = new SuggestionTrie();
+    trie.put(SuggestionType.recipe, "Tomato soup", 5);
+    trie.put(SuggestionType.ingredient, "Tomato", 20);
+    trie.put(SuggestionType.recipe, "Tofu stir fry", 8);
+    trie.put(SuggestionType.tag, "Vegan", 50);
+  }
+
+  @Test
+  void complete_returnsHeaviestFirst() {
+    assertEquals(List.of("Tomato", "Tofu stir fry", "Tomato soup"), texts("to", 10));
+  }
+
+  @Test
+  void complete_respectsLimit() {
+    assertEquals(List.of("Tomato"), texts("TO", 1));
+  }
+
+  @Test
+  void complete_matchesLaterWords() {
+    List<SuggestionTrie.Suggestion> suggestions = trie.complete("sou", 10);
+    assertEquals(1, suggestions.size());
+    assertEquals(SuggestionType.recipe, suggestions.getFirst().type());
+    assertEquals("Tomato soup", suggestions.getFirst().text());
+  }
+
+  @Test
+  void complete_listsRepeatedWordOnce() {
+    trie.put(SuggestionType.recipe, "Soup of the soup", 1);
+    assertEquals(List.of("Tomato soup", "Soup of the soup"), texts("soup", 10));
+  }
+
+  @Test
+  void put_updatesWeight() {
+    trie.put(SuggestionType.recipe, "tomato  SOUP", 100);
+    assertEquals(List.of("Tomato soup", "Tomato"), texts("tom", 10));
+    assertEquals(4, trie.size());
+  }
+
+  @Test
+  void put_zeroWeightRemovesEntry() {
+    trie.put(SuggestionType.ingredient, "Tomato", 0);
+    assertEquals(List.of("Tomato soup"), texts("tom", 10));
+    assertEquals(3, trie.size());
+  }
+
+  @Test
+  void complete_unknownPrefix_returnsEmpty() {
+    assertTrue(trie.complete("xyz", 10).isEmpty());
+    assertTrue(trie.complete(" ", 10).isEmpty());
+  }
+
+  private List<String> texts(String prefix, int limit) {
+    return trie.complete(prefix, limit).stream().map(SuggestionTrie.Suggestion::text).toList();
+  }
+}
@@ -0,0 +1,124 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import com.flavormetrics.api.model.RatingRow;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.service.EligibilityService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class CollaborativeRecommendationEngineTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID SOUP = UUID.randomUUID();
+  private static final UUID STEW = UUID.randomUUID();
+  private static final UUID CAKE = UUID.randomUUID();
+  private static final UUID PIE = UUID.randomUUID();
+  private static final UUID SHUFFLED = UUID.randomUUID();
+
+  @Mock
+  private RatingRepository ratingRepository;
+
+  @Mock
+  private EligibilityService eligibilityService;
+
+  @Mock
+  private RandomRecommendationEngine fallback;
+
+  @InjectMocks
+  private CollaborativeRecommendationEngine engine;
+
+  /** Savory fans rate soup and stew high and desserts low; sweet fans the other way round. */
+  @BeforeEach
+  void buildModel() {
+    List<RatingRow> rows = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      UUID savory = UUID.randomUUID();
+      rows.add(new RatingRow(UUID.randomUUID(), savory, SOUP, 5));
+      rows.add(new RatingRow(UUID.randomUUID(), savory, STEW, 5));
+      rows.add(new RatingRow(UUID.randomUUID(), savory, CAKE, 1));
+      rows.add(new RatingRow(UUID.randomUUID(), savory, PIE, 2));
+      UUID sweet = UUID.randomUUID();
+      rows.add(new RatingRow(UUID.randomUUID(), sweet, SOUP, 1));
+      rows.add(new RatingRow(UUID.randomUUID(), sweet, STEW, 2));
+      rows.add(new RatingRow(UUID.randomUUID(), sweet, CAKE, 5));
+      rows.add(new RatingRow(UUID.randomUUID(), sweet, PIE, 5));
+    }
+    when(ratingRepository.findRowsAfter(any(), any())).thenReturn(rows);
+    engine.rebuild();
+    when(ratingRepository.findRowsByUserId(USER_ID)).thenReturn(
+      List.of(
+        new RatingRow(UUID.randomUUID(), USER_ID, SOUP, 5),
+        new RatingRow(UUID.randomUUID(), USER_ID, CAKE, 1)
+      )
+    );
+  }
+
+  @Test
+  void recommend_nothingRankedIsEligible_fallsBackToRandomOrder() {
+    Page<UUID> shuffled = new PageImpl<>(List.of(SHUFFLED), PageRequest.of(0, 2), 1);
+    when(eligibilityService.filterEligible(USER_ID, List.of(STEW, PIE))).thenReturn(List.of());
+    when(fallback.recommend(USER_ID, 0, 2, null)).thenReturn(shuffled);
+    assertEquals(shuffled, engine.recommend(USER_ID, 0, 2, null));
+  }
+
+  @Test
+  void recommend_rankingRunsOutWithinPage_continuesInRandomOrder() {
+    when(eligibilityService.filterEligible(USER_ID, List.of(STEW, PIE))).thenReturn(
+      List.of(STEW, PIE)
+    );
+    when(eligibilityService.countEligible(USER_ID)).thenReturn(10L);
+    when(fallback.recommendExcluding(USER_ID, Set.of(STEW, PIE), 0, 1, null)).thenReturn(
+      List.of(SHUFFLED)
+    );
+    Page<UUID> page = engine.recommend(USER_ID, 0, 3, null);
+    assertEquals(List.of(STEW, PIE, SHUFFLED), page.getContent());
+    assertEquals(10, page.getTotalElements());
+  }
+
+  @Test
+  void recommend_pagePastRanking_skipsTheShuffledRecipesBeforeIt() {
+    when(eligibilityService.filterEligible(USER_ID, List.of(STEW, PIE))).thenReturn(List.of(PIE));
+    when(eligibilityService.countEligible(USER_ID)).thenReturn(10L);
+    when(fallback.recommendExcluding(USER_ID, Set.of(PIE), 3, 2, null)).thenReturn(
+      List.of(SHUFFLED)
+    );
+    assertEquals(List.of(SHUFFLED), engine.recommend(USER_ID, 2, 2, null).getContent());
+  }
+
+  @Test
+  void recommend_pagePastTotal_readsNoShuffle() {
+    when(eligibilityService.filterEligible(USER_ID, List.of(STEW, PIE))).thenReturn(
+      List.of(STEW, PIE)
+    );
+    when(eligibilityService.countEligible(USER_ID)).thenReturn(2L);
+    assertEquals(List.of(PIE), engine.recommend(USER_ID, 1, 1, null).getContent());
+    verify(fallback, never()).recommendExcluding(any(), any(), anyLong(), anyInt(), any());
+  }
+
+  @Test
+  void recommendFrom_continuesRankingFromOffset() {
+    when(eligibilityService.filterEligible(USER_ID, List.of(STEW, PIE))).thenReturn(
+      List.of(STEW, PIE)
+    );
+    when(eligibilityService.countEligible(USER_ID)).thenReturn(10L);
+    when(fallback.recommendExcluding(USER_ID, Set.of(STEW, PIE), 0, 1, null)).thenReturn(
+      List.of(SHUFFLED)
+    );
+    assertEquals(List.of(PIE, SHUFFLED), engine.recommendFrom(USER_ID, 1, 2, null));
+  }
+}
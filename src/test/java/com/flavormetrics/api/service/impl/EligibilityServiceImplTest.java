@@ -0,0 +1,140 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flavormetrics.api.constants.CacheConstants;
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.event.ProfileSavedEvent;
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.projection.RecipeFacetProjection;
+import com.flavormetrics.api.repository.ProfileRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class EligibilityServiceImplTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Mock
+  private RecipeRepository recipeRepository;
+
+  @Mock
+  private ProfileRepository profileRepository;
+
+  private EligibilityServiceImpl eligibilityService;
+
+  @BeforeEach
+  void setUp() {
+    eligibilityService = new EligibilityServiceImpl(
+      recipeRepository,
+      profileRepository,
+      new ConcurrentMapCacheManager(CacheConstants.EXCLUSIONS)
+    );
+  }
+
+  @Test
+  void countEligible_loadsExclusionsOncePerUser() {
+    when(profileRepository.findExclusionRowsByUserId(USER_ID)).thenReturn(List.of());
+    assertEquals(0, eligibilityService.countEligible(USER_ID));
+    assertEquals(0, eligibilityService.countEligible(USER_ID));
+    verify(profileRepository, times(1)).findExclusionRowsByUserId(USER_ID);
+  }
+
+  @Test
+  void onProfileSaved_evictsExclusions() {
+    when(profileRepository.findExclusionRowsByUserId(USER_ID)).thenReturn(List.of());
+    eligibilityService.countEligible(USER_ID);
+    eligibilityService.onProfileSaved(new ProfileSavedEvent(USER_ID));
+    eligibilityService.countEligible(USER_ID);
+    verify(profileRepository, times(2)).findExclusionRowsByUserId(USER_ID);
+  }
+
+  @Test
+  void rebuild_recipeDeletedDuringScan_isNotEligible() {
+    UUID recipeId = UUID.randomUUID();
+    when(recipeRepository.findFacetRowsAfter(any(), any(), any())).thenAnswer(invocation -> {
+      eligibilityService.onRecipeDeleted(new RecipeDeletedEvent(List.of(recipeId)));
+      return List.of(facetRow(recipeId));
+    });
+    when(recipeRepository.findFacetRowsByIds(List.of(recipeId))).thenReturn(List.of());
+    when(profileRepository.findExclusionRowsByUserId(USER_ID)).thenReturn(List.of());
+
+    eligibilityService.rebuild();
+
+    assertEquals(0, eligibilityService.countEligible(USER_ID));
+  }
+
+  @Test
+  void rebuild_recipeSavedDuringScan_isEligible() {
+    UUID recipeId = UUID.randomUUID();
+    when(recipeRepository.findFacetRowsAfter(any(), any(), any())).thenAnswer(invocation -> {
+      eligibilityService.onRecipeSaved(new RecipeSavedEvent(List.of(recipeId)));
+      return List.of();
+    });
+    when(recipeRepository.findFacetRowsByIds(List.of(recipeId))).thenReturn(
+      List.of(facetRow(recipeId))
+    );
+    when(profileRepository.findExclusionRowsByUserId(USER_ID)).thenReturn(List.of());
+
+    eligibilityService.rebuild();
+
+    assertEquals(
+      List.of(recipeId),
+      eligibilityService.filterEligible(USER_ID, List.of(recipeId))
+    );
+  }
+
+  private static RecipeFacetProjection facetRow(UUID id) {
+    return new RecipeFacetProjection() {
+      @Override
+      public UUID getId() {
+        return id;
+      }
+
+      @Override
+      public DifficultyType getDifficulty() {
+        return DifficultyType.easy;
+      }
+
+      @Override
+      public DietaryPreferenceType getDietaryPreference() {
+        return DietaryPreferenceType.vegan;
+      }
+
+      @Override
+      public Integer getPrepTimeMinutes() {
+        return 10;
+      }
+
+      @Override
+      public Integer getCookTimeMinutes() {
+        return 20;
+      }
+
+      @Override
+      public Integer getEstimatedCalories() {
+        return 300;
+      }
+
+      @Override
+      public LocalDateTime getCreatedAt() {
+        return LocalDateTime.of(2025, 1, 1, 0, 0);
+      }
+    };
+  }
+}
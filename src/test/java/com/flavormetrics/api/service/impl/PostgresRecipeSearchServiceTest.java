@@ -0,0 +1,110 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.exception.InvalidCursorException;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.RankCursor;
+import com.flavormetrics.api.model.projection.RankedIdProjection;
+import com.flavormetrics.api.repository.RecipeSearchRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresRecipeSearchServiceTest {
+
+  @Mock
+  private RecipeSearchRepository recipeSearchRepository;
+
+  @InjectMocks
+  private PostgresRecipeSearchService recipeSearchService;
+
+  @Test
+  void toPrefixTsQuery_joinsWordsAsPrefixes() {
+    assertEquals("chick:* & soup:*", PostgresRecipeSearchService.toPrefixTsQuery("chick soup"));
+  }
+
+  @Test
+  void toPrefixTsQuery_dropsTsQueryOperators() {
+    assertEquals("beef:* & stew:*", PostgresRecipeSearchService.toPrefixTsQuery("beef & !stew:*"));
+  }
+
+  @Test
+  void escapeLike_escapesWildcards() {
+    assertEquals("100\\% \\_x\\\\", PostgresRecipeSearchService.escapeLike("100% _x\\"));
+  }
+
+  @Test
+  void searchIds_normalizesQuery() {
+    PageRequest pageRequest = PageRequest.of(0, 10);
+    Page<UUID> page = new PageImpl<>(List.of(UUID.randomUUID()));
+    when(recipeSearchRepository.search(any(), any(), any(), eq(pageRequest))).thenReturn(page);
+
+    assertEquals(page, recipeSearchService.searchIds(" Tomato Soup ", pageRequest));
+    verify(recipeSearchRepository).search(
+      "tomato:* & soup:*",
+      "%tomato soup%",
+      "tomato soup",
+      pageRequest
+    );
+  }
+
+  @Test
+  void searchIdsAfter_seeksFromCursorAndReturnsNextOne() {
+    RankCursor after = new RankCursor(0.5f, 0.25f, UUID.randomUUID());
+    RankedIdProjection hit = mock(RankedIdProjection.class);
+    UUID id = UUID.randomUUID();
+    when(hit.getId()).thenReturn(id);
+    when(hit.getRank()).thenReturn(0.1f);
+    when(hit.getSimilarity()).thenReturn(0.2f);
+    when(
+      recipeSearchRepository.searchAfter(
+        "tomato:*",
+        "%tomato%",
+        "tomato",
+        0.5f,
+        0.25f,
+        after.id(),
+        PageRequest.ofSize(1)
+      )
+    ).thenReturn(List.of(hit));
+
+    DataWithPagination<List<UUID>> result = recipeSearchService.searchIdsAfter(
+      "Tomato",
+      after.encode(),
+      1
+    );
+
+    assertEquals(List.of(id), result.data());
+    assertEquals(new RankCursor(0.1f, 0.2f, id), RankCursor.decode(result.nextCursor()));
+  }
+
+  @Test
+  void searchIdsAfter_rejectsMalformedCursor() {
+    assertThrows(InvalidCursorException.class, () ->
+      recipeSearchService.searchIdsAfter("tomato", "not-a-cursor", 10)
+    );
+  }
+
+  @Test
+  void onRecipeSaved_refreshesVectors() {
+    UUID id = UUID.randomUUID();
+    recipeSearchService.onRecipeSaved(new RecipeSavedEvent(id));
+    verify(recipeSearchRepository).refreshSearchVectors(List.of(id));
+  }
+}
@@ -12,6 +12,8 @@ import com.flavormetrics.api.entity.Profile;
 import com.flavormetrics.api.entity.User;
 import com.flavormetrics.api.enums.AllergyType;
 import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.event.ProfileDeletedEvent;
+import com.flavormetrics.api.event.ProfileSavedEvent;
 import com.flavormetrics.api.exception.ProfileExistsException;
 import com.flavormetrics.api.exception.ProfileNotFoundException;
 import com.flavormetrics.api.factory.AllergyFactory;
@@ -30,6 +32,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -53,6 +56,9 @@ class ProfileServiceImplTest {
   @Mock
   private AllergyFactory allergyFactory;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private ProfileServiceImpl profileService;
 
@@ -88,6 +94,7 @@ class ProfileServiceImplTest {
     assertEquals(profileId, result);
     verify(profileRepository).save(any());
     verify(userRepository).save(user);
+    verify(eventPublisher).publishEvent(new ProfileSavedEvent(userId));
   }
 
   @Test
@@ -115,6 +122,7 @@ class ProfileServiceImplTest {
 
     assertEquals(request.dietaryPreference(), result.dietaryPreference());
     verify(profileRepository).save(profile);
+    verify(eventPublisher).publishEvent(new ProfileSavedEvent(userId));
   }
 
   @Test
@@ -135,6 +143,7 @@ class ProfileServiceImplTest {
     profileService.remove();
 
     verify(profileRepository).deleteById(profileId);
+    verify(eventPublisher).publishEvent(new ProfileDeletedEvent(userId));
   }
 
   @Test
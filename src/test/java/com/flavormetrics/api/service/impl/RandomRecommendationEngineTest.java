@@ -0,0 +1,147 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import com.flavormetrics.api.exception.InvalidCursorException;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.RandomKeyRow;
+import com.flavormetrics.api.model.ShuffleCursor;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.service.EligibilityService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+
+@ExtendWith(MockitoExtension.class)
+class RandomRecommendationEngineTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID AFTER_SEED = UUID.randomUUID();
+  private static final UUID UNSAFE = UUID.randomUUID();
+  private static final UUID WRAPPED = UUID.randomUUID();
+
+  @Mock
+  private RecipeRepository recipeRepository;
+
+  @Mock
+  private EligibilityService eligibilityService;
+
+  @InjectMocks
+  private RandomRecommendationEngine engine;
+
+  private void givenShuffledRecipes() {
+    when(eligibilityService.countEligible(USER_ID)).thenReturn(2L);
+    when(recipeRepository.findRandomKeyRowsAfter(anyDouble(), any(), eq(1.0), any())).thenReturn(
+      List.of(new RandomKeyRow(AFTER_SEED, 0.8), new RandomKeyRow(UNSAFE, 0.9))
+    );
+    when(recipeRepository.findRandomKeyRowsAfter(eq(-1.0), any(), doubleThat(k -> k < 1), any()))
+      .thenReturn(List.of(new RandomKeyRow(WRAPPED, 0.1)));
+    when(eligibilityService.filterEligible(USER_ID, List.of(AFTER_SEED, UNSAFE))).thenReturn(
+      List.of(AFTER_SEED)
+    );
+    when(eligibilityService.filterEligible(USER_ID, List.of(WRAPPED))).thenReturn(
+      List.of(WRAPPED)
+    );
+  }
+
+  @Test
+  void recommend_firstPage_skipsIneligibleAndWrapsAround() {
+    givenShuffledRecipes();
+    Page<UUID> page = engine.recommend(USER_ID, 0, 2, 42L);
+    assertEquals(List.of(AFTER_SEED, WRAPPED), page.getContent());
+    assertEquals(2, page.getTotalElements());
+  }
+
+  @Test
+  void recommend_secondPage_continuesAfterWrapAround() {
+    givenShuffledRecipes();
+    assertEquals(List.of(WRAPPED), engine.recommend(USER_ID, 1, 1, 42L).getContent());
+  }
+
+  @Test
+  void recommendExcluding_leavesOutExcludedRecipes() {
+    when(recipeRepository.findRandomKeyRowsAfter(anyDouble(), any(), anyDouble(), any()))
+      .thenReturn(List.of(new RandomKeyRow(AFTER_SEED, 0.8), new RandomKeyRow(WRAPPED, 0.9)));
+    when(eligibilityService.filterEligible(USER_ID, List.of(AFTER_SEED, WRAPPED))).thenReturn(
+      List.of(AFTER_SEED, WRAPPED)
+    );
+    assertEquals(
+      List.of(WRAPPED),
+      engine.recommendExcluding(USER_ID, Set.of(AFTER_SEED), 0, 1, 42L)
+    );
+  }
+
+  @Test
+  void recommend_pastTheEnd_readsNothing() {
+    when(eligibilityService.countEligible(USER_ID)).thenReturn(2L);
+    assertThat(engine.recommend(USER_ID, 1, 2, 42L).getContent()).isEmpty();
+    verifyNoInteractions(recipeRepository);
+  }
+
+  @Test
+  void recommendAfter_returnsCursorOfLastRecipeTaken() {
+    when(recipeRepository.findRandomKeyRowsAfter(anyDouble(), any(), eq(1.0), any())).thenReturn(
+      List.of(new RandomKeyRow(UNSAFE, 0.7), new RandomKeyRow(AFTER_SEED, 0.8))
+    );
+    when(eligibilityService.filterEligible(USER_ID, List.of(UNSAFE, AFTER_SEED))).thenReturn(
+      List.of(AFTER_SEED)
+    );
+    DataWithPagination<List<UUID>> page = engine.recommendAfter(USER_ID, null, 1, 42L);
+    assertEquals(List.of(AFTER_SEED), page.data());
+    ShuffleCursor next = ShuffleCursor.decode(page.nextCursor());
+    assertEquals(0.8, next.randomKey());
+    assertEquals(AFTER_SEED, next.id());
+    verify(eligibilityService, never()).countEligible(any());
+  }
+
+  @Test
+  void recommendAfter_wrappedCursor_seeksBelowStartOnly() {
+    UUID last = UUID.randomUUID();
+    ShuffleCursor cursor = new ShuffleCursor(0.5, 0.1, WRAPPED);
+    when(
+      recipeRepository.findRandomKeyRowsAfter(eq(0.1), eq(WRAPPED), eq(0.5), any())
+    ).thenReturn(List.of(new RandomKeyRow(last, 0.2)));
+    when(eligibilityService.filterEligible(USER_ID, List.of(last))).thenReturn(List.of(last));
+
+    DataWithPagination<List<UUID>> page = engine.recommendAfter(USER_ID, cursor.encode(), 2, null);
+
+    assertEquals(List.of(last), page.data());
+    assertNull(page.nextCursor());
+    verify(recipeRepository, times(1)).findRandomKeyRowsAfter(
+      anyDouble(),
+      any(),
+      anyDouble(),
+      any()
+    );
+  }
+
+  @Test
+  void recommendAfter_malformedCursor_isRejected() {
+    assertThrows(InvalidCursorException.class, () ->
+      engine.recommendAfter(USER_ID, "bm90LWEtY3Vyc29y", 2, null)
+    );
+    verifyNoInteractions(recipeRepository);
+  }
+
+  @Test
+  void recommendationStart_isStablePerSeedAndInRange() {
+    LocalDate day = LocalDate.of(2026, 1, 1);
+    double start = RandomRecommendationEngine.recommendationStart(USER_ID, null, day);
+    assertEquals(start, RandomRecommendationEngine.recommendationStart(USER_ID, null, day));
+    assertThat(start).isBetween(0.0, 1.0);
+    assertThat(RandomRecommendationEngine.recommendationStart(USER_ID, 7L, day)).isNotEqualTo(
+      start
+    );
+  }
+}
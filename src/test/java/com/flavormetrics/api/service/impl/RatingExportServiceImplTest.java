@@ -0,0 +1,89 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.repository.RatingRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RatingExportServiceImplTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+    .findAndRegisterModules()
+    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private RatingRepository ratingRepository;
+  private RatingExportServiceImpl exportService;
+
+  @BeforeEach
+  void setUp() {
+    ratingRepository = mock(RatingRepository.class);
+    exportService = new RatingExportServiceImpl(ratingRepository, objectMapper);
+  }
+
+  @Test
+  void exportNdjsonByRecipeId_writesOneJsonObjectPerLine() throws IOException {
+    UUID recipeId = UUID.randomUUID();
+    when(ratingRepository.streamByRecipeId(recipeId)).thenReturn(
+      Stream.of(entry(recipeId, "a@mock.com", 5), entry(recipeId, "b@mock.com", 2))
+    );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertEquals(2, exportService.exportNdjsonByRecipeId(recipeId, out));
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    JsonNode second = objectMapper.readTree(lines[1]);
+    assertEquals("b@mock.com", second.get("user").asText());
+    assertEquals(2, second.get("score").asInt());
+    assertEquals("2025-03-01T12:00:00", second.get("createdAt").asText());
+  }
+
+  @Test
+  void exportNdjsonByUserId_linesHaveNoLeadingSeparator() throws IOException {
+    UUID userId = UUID.randomUUID();
+    RatingEntry first = entry(UUID.randomUUID(), "a@mock.com", 5);
+    RatingEntry second = entry(UUID.randomUUID(), "a@mock.com", 1);
+    RatingEntry third = entry(UUID.randomUUID(), "a@mock.com", 3);
+    when(ratingRepository.streamByUserId(userId)).thenReturn(Stream.of(first, second, third));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.exportNdjsonByUserId(userId, out);
+
+    String expected =
+      objectMapper.writeValueAsString(first) +
+      "\n" +
+      objectMapper.writeValueAsString(second) +
+      "\n" +
+      objectMapper.writeValueAsString(third) +
+      "\n";
+    assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void exportNdjsonByUserId_noRatings_writesNothing() throws IOException {
+    UUID userId = UUID.randomUUID();
+    when(ratingRepository.streamByUserId(userId)).thenReturn(Stream.empty());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertEquals(0, exportService.exportNdjsonByUserId(userId, out));
+    assertEquals(0, out.size());
+  }
+
+  private static RatingEntry entry(UUID recipeId, String user, int score) {
+    return new RatingEntry(UUID.randomUUID(), recipeId, user, score, CREATED_AT);
+  }
+}
@@ -1,23 +1,34 @@
 package com.flavormetrics.api.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.flavormetrics.api.entity.Email;
 import com.flavormetrics.api.entity.Rating;
 import com.flavormetrics.api.entity.Recipe;
 import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.event.RatingSavedEvent;
 import com.flavormetrics.api.exception.MaximumNumberOfRatingException;
 import com.flavormetrics.api.exception.RecipeNotFoundException;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.KeysetCursor;
 import com.flavormetrics.api.model.RatingDto;
+import com.flavormetrics.api.model.RatingEntry;
+import com.flavormetrics.api.model.RatingHistogram;
+import com.flavormetrics.api.model.RatingSummary;
 import com.flavormetrics.api.model.UserDetailsImpl;
+import com.flavormetrics.api.recommendation.BayesianAverage;
 import com.flavormetrics.api.repository.RatingRepository;
 import com.flavormetrics.api.repository.RecipeRepository;
-import com.flavormetrics.api.repository.UserRepository;
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -27,7 +38,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -40,15 +53,18 @@ class RatingServiceImplTest {
   private Recipe recipe;
   private Rating rating;
 
-  @Mock
-  private UserRepository userRepository;
-
   @Mock
   private RecipeRepository recipeRepository;
 
   @Mock
   private RatingRepository ratingRepository;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Spy
+  private BayesianAverage bayesianAverage = new BayesianAverage(3, 2);
+
   @InjectMocks
   private RatingServiceImpl ratingService;
 
@@ -79,32 +95,120 @@ class RatingServiceImplTest {
 
   @Test
   void addRecipeRating_success() {
-    when(recipeRepository.getRecipeByIdEager(recipeId)).thenReturn(Optional.of(recipe));
-    when(ratingRepository.isRecipeAlreadyRatedByUser(userId, recipeId)).thenReturn(false);
-    when(userRepository.getReferenceById(userId)).thenReturn(user);
+    givenInsert(5, 1);
 
     Map<String, String> result = ratingService.addRecipeRating(recipeId, 5);
 
     assertEquals("Recipe has been rated", result.get("message"));
-    verify(ratingRepository).save(any(Rating.class));
-    verify(recipeRepository).save(recipe);
+    verify(eventPublisher).publishEvent(new RatingSavedEvent(userId, recipeId, 5));
   }
 
   @Test
   void addRecipeRating_recipeNotFound_throwsException() {
-    when(recipeRepository.getRecipeByIdEager(recipeId)).thenReturn(Optional.empty());
+    givenInsert(4, 0);
+    when(recipeRepository.existsById(recipeId)).thenReturn(false);
 
     assertThrows(RecipeNotFoundException.class, () -> ratingService.addRecipeRating(recipeId, 4));
   }
 
   @Test
   void addRecipeRating_alreadyRated_throwsException() {
-    when(recipeRepository.getRecipeByIdEager(recipeId)).thenReturn(Optional.of(recipe));
-    when(ratingRepository.isRecipeAlreadyRatedByUser(userId, recipeId)).thenReturn(true);
+    givenInsert(3, 0);
+    when(recipeRepository.existsById(recipeId)).thenReturn(true);
 
     assertThrows(MaximumNumberOfRatingException.class, () ->
       ratingService.addRecipeRating(recipeId, 3)
     );
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void addRecipeRating_scoreOutOfRange_throwsException() {
+    assertThrows(IllegalArgumentException.class, () -> ratingService.addRecipeRating(recipeId, 6));
+    verifyNoInteractions(ratingRepository);
+  }
+
+  @Test
+  void getSummary_returnsDistributionAndMeans() {
+    when(recipeRepository.findRatingHistogramById(recipeId)).thenReturn(
+      Optional.of(new RatingHistogram(recipeId, 2, 9, 0, 0, 0, 0, 1, 1))
+    );
+
+    RatingSummary summary = ratingService.getSummary(recipeId);
+
+    assertEquals(2, summary.count());
+    assertEquals(4.5, summary.mean(), 1e-9);
+    assertEquals(3.75, summary.bayesianMean(), 1e-9);
+    assertEquals(Map.of(0, 0, 1, 0, 2, 0, 3, 0, 4, 1, 5, 1), summary.distribution());
+  }
+
+  @Test
+  void getSummary_unratedRecipe_scoresZeroLikeTheStoredScore() {
+    when(recipeRepository.findRatingHistogramById(recipeId)).thenReturn(
+      Optional.of(new RatingHistogram(recipeId, 0, 0, 0, 0, 0, 0, 0, 0))
+    );
+
+    RatingSummary summary = ratingService.getSummary(recipeId);
+
+    assertEquals(0, summary.count());
+    assertEquals(0.0, summary.mean());
+    assertEquals(0.0, summary.bayesianMean());
+  }
+
+  @Test
+  void getSummary_recipeNotFound_throwsException() {
+    when(recipeRepository.findRatingHistogramById(recipeId)).thenReturn(Optional.empty());
+
+    assertThrows(RecipeNotFoundException.class, () -> ratingService.getSummary(recipeId));
+  }
+
+  @Test
+  void rebuildRatingAggregates_returnsUpdatedCount() {
+    when(recipeRepository.rebuildRatingAggregates()).thenReturn(3);
+    when(recipeRepository.resetUnratedRatingAggregates()).thenReturn(2);
+
+    assertEquals(5, ratingService.rebuildRatingAggregates());
+  }
+
+  @Test
+  void findRatingsByRecipeId_fullPage_returnsCursorOfLastRating() {
+    LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+    RatingEntry newer = new RatingEntry(UUID.randomUUID(), recipeId, "a@mock.com", 5, createdAt);
+    RatingEntry older = new RatingEntry(
+      UUID.randomUUID(),
+      recipeId,
+      "b@mock.com",
+      3,
+      createdAt.minusMinutes(1)
+    );
+    KeysetCursor first = KeysetCursor.first();
+    when(
+      ratingRepository.findByRecipeIdAfter(
+        eq(recipeId),
+        eq(first.createdAt()),
+        eq(first.id()),
+        any()
+      )
+    ).thenReturn(List.of(newer, older));
+
+    DataWithPagination<List<RatingEntry>> page = ratingService.findRatingsByRecipeId(
+      recipeId,
+      first,
+      2
+    );
+
+    assertEquals(List.of(newer, older), page.data());
+    assertEquals(older.cursor(), KeysetCursor.decode(page.nextCursor()));
+  }
+
+  @Test
+  void findRatingsByUserId_partialPage_hasNoNextCursor() {
+    KeysetCursor first = KeysetCursor.first();
+    when(
+      ratingRepository.findByUserIdAfter(eq(userId), eq(first.createdAt()), eq(first.id()), any())
+    ).thenReturn(List.of());
+
+    assertNull(ratingService.findRatingsByUserId(userId, first, 10).nextCursor());
   }
 
   @Test
@@ -126,4 +230,17 @@ class RatingServiceImplTest {
 
     assertEquals(expected, result);
   }
+
+  private void givenInsert(int score, int inserted) {
+    when(
+      ratingRepository.insertIfAbsentAndCount(
+        any(),
+        eq(score),
+        eq(userId),
+        eq(recipeId),
+        eq(3.0),
+        eq(2.0)
+      )
+    ).thenReturn(inserted);
+  }
 }
@@ -0,0 +1,152 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flavormetrics.api.config.RatingConfig;
+import com.flavormetrics.api.constants.CacheConstants;
+import com.flavormetrics.api.entity.Email;
+import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.factory.AllergyFactory;
+import com.flavormetrics.api.factory.IngredientFactory;
+import com.flavormetrics.api.factory.RecipeDtoFactory;
+import com.flavormetrics.api.factory.RecipeFactory;
+import com.flavormetrics.api.factory.TagFactory;
+import com.flavormetrics.api.model.UserDetailsImpl;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.repository.UserRepository;
+import com.flavormetrics.api.service.ImageKitService;
+import com.flavormetrics.api.service.RatingService;
+import com.flavormetrics.api.service.RecipeSearchService;
+import com.flavormetrics.api.service.RecipeService;
+import com.flavormetrics.api.service.UserRecommendationService;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig
+class RecipeCacheTest {
+
+  private static final UUID RECIPE_ID = UUID.randomUUID();
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Configuration
+  @EnableCaching
+  @Import({ RecipeServiceImpl.class, RatingServiceImpl.class, RatingConfig.class })
+  static class Config {
+
+    @Bean
+    CacheManager cacheManager() {
+      return new CaffeineCacheManager(CacheConstants.RECIPES);
+    }
+  }
+
+  @Autowired
+  private RecipeService recipeService;
+
+  @Autowired
+  private RatingService ratingService;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @MockitoBean
+  private RecipeRepository recipeRepository;
+
+  @MockitoBean
+  private UserRepository userRepository;
+
+  @MockitoBean
+  private RatingRepository ratingRepository;
+
+  @MockitoBean
+  private RecipeFactory recipeFactory;
+
+  @MockitoBean
+  private IngredientFactory ingredientFactory;
+
+  @MockitoBean
+  private AllergyFactory allergyFactory;
+
+  @MockitoBean
+  private TagFactory tagFactory;
+
+  @MockitoBean
+  private ImageKitService imageKitService;
+
+  @MockitoBean
+  private RecipeDtoFactory recipeDtoFactory;
+
+  @MockitoBean
+  private RecipeSearchService recipeSearchService;
+
+  @MockitoBean
+  private UserRecommendationService userRecommendationService;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCache(CacheConstants.RECIPES).clear();
+    User user = new User();
+    user.setId(USER_ID);
+    Email email = new Email();
+    email.setAddress("test@email.com");
+    email.setUser(user);
+    user.setEmail(email);
+    Recipe recipe = new Recipe();
+    recipe.setId(RECIPE_ID);
+    recipe.setUser(user);
+    when(recipeRepository.getRecipeByIdEager(RECIPE_ID)).thenReturn(Optional.of(recipe));
+    SecurityContextHolder.getContext().setAuthentication(
+      new TestingAuthenticationToken(new UserDetailsImpl(user), null)
+    );
+  }
+
+  @Test
+  void getById_secondCall_isServedFromCache() {
+    recipeService.getById(RECIPE_ID);
+    recipeService.getById(RECIPE_ID);
+    verify(recipeRepository, times(1)).getRecipeByIdEager(RECIPE_ID);
+  }
+
+  @Test
+  void deleteById_evictsCachedRecipe() {
+    recipeService.getById(RECIPE_ID);
+    recipeService.deleteById(RECIPE_ID);
+    recipeService.getById(RECIPE_ID);
+    verify(recipeRepository, times(2)).getRecipeByIdEager(RECIPE_ID);
+  }
+
+  @Test
+  void addRecipeRating_evictsCachedRecipe() {
+    when(
+      ratingRepository.insertIfAbsentAndCount(
+        any(),
+        any(Integer.class),
+        any(),
+        any(),
+        any(Double.class),
+        any(Double.class)
+      )
+    ).thenReturn(1);
+    recipeService.getById(RECIPE_ID);
+    ratingService.addRecipeRating(RECIPE_ID, 4);
+    recipeService.getById(RECIPE_ID);
+    verify(recipeRepository, times(2)).getRecipeByIdEager(RECIPE_ID);
+  }
+}
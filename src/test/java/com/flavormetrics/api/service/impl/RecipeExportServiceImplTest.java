@@ -0,0 +1,108 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flavormetrics.api.enums.DietaryPreferenceType;
+import com.flavormetrics.api.enums.DifficultyType;
+import com.flavormetrics.api.model.RecipeExportRow;
+import com.flavormetrics.api.repository.RecipeRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RecipeExportServiceImplTest {
+
+  private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+    .findAndRegisterModules()
+    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private RecipeRepository recipeRepository;
+  private RecipeExportServiceImpl exportService;
+
+  @BeforeEach
+  void setUp() {
+    recipeRepository = mock(RecipeRepository.class);
+    exportService = new RecipeExportServiceImpl(recipeRepository, objectMapper);
+  }
+
+  @Test
+  void exportNdjson_writesOneJsonObjectPerLine() throws IOException {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    when(recipeRepository.streamExportRows(any(), any())).thenReturn(
+      Stream.of(row(first, "Soup", 0, 0), row(second, "Pie", 2, 9))
+    );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertEquals(2, exportService.exportNdjson(null, null, out));
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    JsonNode pie = objectMapper.readTree(lines[1]);
+    assertEquals(second.toString(), pie.get("id").asText());
+    assertEquals(4.5, pie.get("averageRating").asDouble());
+    assertEquals("2025-03-01T12:00:00", pie.get("updatedAt").asText());
+  }
+
+  @Test
+  void exportNdjson_linesHaveNoLeadingSeparator() throws IOException {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+    when(recipeRepository.streamExportRows(any(), any())).thenReturn(
+      Stream.of(row(first, "Soup", 0, 0), row(second, "Pie", 2, 9), row(third, "Stew", 1, 3))
+    );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.exportNdjson(null, null, out);
+
+    String expected =
+      objectMapper.writeValueAsString(row(first, "Soup", 0, 0)) +
+      "\n" +
+      objectMapper.writeValueAsString(row(second, "Pie", 2, 9)) +
+      "\n" +
+      objectMapper.writeValueAsString(row(third, "Stew", 1, 3)) +
+      "\n";
+    assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void exportNdjson_passesUpdatedAtBounds() throws IOException {
+    LocalDateTime since = UPDATED_AT.minusDays(1);
+    when(recipeRepository.streamExportRows(eq(since), any())).thenReturn(Stream.empty());
+    assertEquals(0, exportService.exportNdjson(since, null, new ByteArrayOutputStream()));
+    verify(recipeRepository).streamExportRows(eq(since), argThat(UPDATED_AT::isBefore));
+  }
+
+  private static RecipeExportRow row(UUID id, String name, int ratingCount, long ratingSum) {
+    return new RecipeExportRow(
+      id,
+      name,
+      "mock-email@mock.com",
+      "mock-instructions mock-instructions",
+      null,
+      5,
+      10,
+      DifficultyType.easy,
+      200,
+      DietaryPreferenceType.vegan,
+      ratingCount,
+      ratingSum,
+      UPDATED_AT,
+      UPDATED_AT
+    );
+  }
+}
@@ -0,0 +1,156 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.flavormetrics.api.entity.Email;
+import com.flavormetrics.api.entity.Recipe;
+import com.flavormetrics.api.entity.Tag;
+import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.enums.AllergyType;
+import com.flavormetrics.api.enums.TagType;
+import com.flavormetrics.api.factory.AllergyFactory;
+import com.flavormetrics.api.factory.DictionaryCache;
+import com.flavormetrics.api.factory.IngredientFactory;
+import com.flavormetrics.api.factory.TagFactory;
+import com.flavormetrics.api.model.UserDetailsImpl;
+import com.flavormetrics.api.model.response.BulkImportResponse;
+import com.flavormetrics.api.repository.DictionaryRepository;
+import com.flavormetrics.api.repository.RecipeBatchRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import com.flavormetrics.api.repository.TagRepository;
+import com.flavormetrics.api.repository.UserRepository;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@DataJpaTest
+@ImportAutoConfiguration({ JacksonAutoConfiguration.class, ValidationAutoConfiguration.class })
+@Import(
+  {
+    RecipeImportServiceImpl.class,
+    RecipeBatchRepository.class,
+    DictionaryRepository.class,
+    DictionaryCache.class,
+    IngredientFactory.class,
+    TagFactory.class,
+    AllergyFactory.class,
+  }
+)
+class RecipeImportServiceImplTest {
+
+  private static final String RECIPE = """
+    {
+      "name": "%s",
+      "ingredients": [{ "name": "%s", "quantity": 1, "unit": "grams" }],
+      "instructions": "mock-instructions mock-instructions",
+      "prepTimeMinutes": 5,
+      "cookTimeMinutes": 10,
+      "difficulty": "easy",
+      "estimatedCalories": 200,
+      "tags": [{ "name": "VEGAN" }, { "name": "QUICK" }],
+      "allergies": [{ "name": "PEANUTS", "description": "" }],
+      "dietaryPreference": "vegan"
+    }
+    """;
+
+  @Autowired
+  private RecipeImportServiceImpl importService;
+
+  @Autowired
+  private RecipeRepository recipeRepository;
+
+  @Autowired
+  private TagRepository tagRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @BeforeEach
+  void setUp() {
+    Email email = new Email();
+    email.setAddress("mock-email@mock.com");
+    User user = new User();
+    user.setFirstName("mock-first-name");
+    user.setLastName("mock-last-name");
+    user.setPasswordHash("mock-password-hash");
+    user.setEmail(email);
+    user = userRepository.save(user);
+    tagRepository.save(new Tag("VEGAN"));
+    entityManager.flush();
+    SecurityContextHolder.getContext().setAuthentication(
+      new TestingAuthenticationToken(new UserDetailsImpl(user), null)
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void importAll_insertsRecipesWithSharedDictionaryRows() {
+    BulkImportResponse response = importAll(
+      "[" + RECIPE.formatted("Soup", "salt") + "," + RECIPE.formatted("Stew", "salt") + "]"
+    );
+
+    assertEquals(2, response.imported());
+    assertEquals(0, response.failed());
+    entityManager.clear();
+    Recipe stew = recipeRepository
+      .getRecipeByIdEager(response.items().get(1).id())
+      .orElseThrow();
+    assertEquals("Stew", stew.getName());
+    assertThat(stew.getIngredients()).hasSize(1);
+    assertThat(stew.getTags()).hasSize(2);
+    assertThat(stew.getAllergies()).hasSize(1);
+    assertEquals(TagType.VEGAN.bit() | TagType.QUICK.bit(), stew.getTagMask());
+    assertEquals(AllergyType.PEANUTS.bit(), stew.getAllergenMask());
+    assertEquals(2, tagRepository.count());
+  }
+
+  @Test
+  void importAll_reportsInvalidElementsByIndex() {
+    BulkImportResponse response = importAll(
+      "[" + RECIPE.formatted("", "salt") + ", 42, " + RECIPE.formatted("Pie", "flour") + "]"
+    );
+
+    assertEquals(1, response.imported());
+    assertEquals(2, response.failed());
+    assertThat(response.items().get(0).error()).startsWith("name:");
+    assertNotNull(response.items().get(1).error());
+    assertEquals(2, response.items().get(2).index());
+    assertNull(response.items().get(2).error());
+  }
+
+  @Test
+  void importAll_malformedTail_keepsEarlierElements() {
+    BulkImportResponse response = importAll("[" + RECIPE.formatted("Soup", "salt") + ", {");
+
+    assertEquals(1, response.imported());
+    assertEquals(1, response.failed());
+    assertThat(response.items().get(1).error()).startsWith("Malformed JSON");
+  }
+
+  private BulkImportResponse importAll(String json) {
+    return importService.importAll(
+      new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))
+    );
+  }
+}
@@ -14,15 +14,18 @@ import com.flavormetrics.api.exception.RecipeNotFoundException;
 import com.flavormetrics.api.exception.UnAuthorizedException;
 import com.flavormetrics.api.factory.AllergyFactory;
 import com.flavormetrics.api.factory.IngredientFactory;
+import com.flavormetrics.api.factory.RecipeDtoFactory;
 import com.flavormetrics.api.factory.RecipeFactory;
 import com.flavormetrics.api.factory.TagFactory;
-import com.flavormetrics.api.mapper.RecipeMapper;
 import com.flavormetrics.api.model.*;
 import com.flavormetrics.api.model.request.AddRecipeRequest;
 import com.flavormetrics.api.repository.RecipeRepository;
 import com.flavormetrics.api.repository.UserRepository;
 import com.flavormetrics.api.service.ImageKitService;
+import com.flavormetrics.api.service.RecipeSearchService;
+import com.flavormetrics.api.service.UserRecommendationService;
 import java.awt.image.BufferedImage;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -35,6 +38,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -42,6 +46,7 @@ import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,6 +78,18 @@ class RecipeServiceImplTest {
   @Mock
   private ImageKitService imageKitService;
 
+  @Mock
+  private RecipeDtoFactory recipeDtoFactory;
+
+  @Mock
+  private RecipeSearchService recipeSearchService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private UserRecommendationService userRecommendationService;
+
   @InjectMocks
   private RecipeServiceImpl recipeService;
 
@@ -150,27 +167,82 @@ class RecipeServiceImplTest {
   @Test
   void findAll_returnsPaginatedData() {
     Pageable pageable = PageRequest.of(0, 10);
-    List<Recipe> recipes = List.of(recipe);
-    when(recipeRepository.findAll(pageable)).thenReturn(new PageImpl<>(recipes));
+    when(recipeRepository.findAllIds(pageable)).thenReturn(new PageImpl<>(List.of(RECIPE_ID)));
+    when(recipeDtoFactory.createAll(List.of(RECIPE_ID))).thenReturn(
+      List.of(new RecipeDto(recipe))
+    );
     DataWithPagination<List<RecipeDto>> result = recipeService.findAll(0, 10);
     assertEquals(1, result.data().size());
   }
 
+  @Test
+  void findAll_withCursor_returnsNextCursorWhenPageIsFull() {
+    KeysetCursor cursor = KeysetCursor.first();
+    ReflectionTestUtils.setField(recipe, "createdAt", LocalDateTime.of(2025, 1, 1, 12, 0));
+    when(
+      recipeRepository.findAllAfter(cursor.createdAt(), cursor.id(), PageRequest.ofSize(1))
+    ).thenReturn(List.of(new KeysetCursor(recipe.getCreatedAt(), RECIPE_ID)));
+    when(recipeDtoFactory.createAll(List.of(RECIPE_ID))).thenReturn(
+      List.of(new RecipeDto(recipe))
+    );
+    DataWithPagination<List<RecipeDto>> result = recipeService.findAll(cursor, 1);
+    assertEquals(1, result.data().size());
+    assertEquals(
+      new KeysetCursor(recipe.getCreatedAt(), RECIPE_ID),
+      KeysetCursor.decode(result.nextCursor())
+    );
+  }
+
+  @Test
+  void findAll_withCursor_lastPage_returnsNoNextCursor() {
+    KeysetCursor cursor = KeysetCursor.first();
+    when(
+      recipeRepository.findAllAfter(cursor.createdAt(), cursor.id(), PageRequest.ofSize(10))
+    ).thenReturn(List.of(new KeysetCursor(LocalDateTime.of(2025, 1, 1, 12, 0), RECIPE_ID)));
+    when(recipeDtoFactory.createAll(List.of(RECIPE_ID))).thenReturn(
+      List.of(new RecipeDto(recipe))
+    );
+    DataWithPagination<List<RecipeDto>> result = recipeService.findAll(cursor, 10);
+    assertEquals(1, result.data().size());
+    assertThat(result.nextCursor()).isNull();
+  }
+
+  @Test
+  void findTopRated_withDietaryPreferenceOnly_usesDietaryIndex() {
+    var top = List.of(
+      new TopRatedRecipe(
+        RECIPE_ID,
+        "Salad",
+        DifficultyType.easy,
+        DietaryPreferenceType.vegan,
+        4,
+        4.2
+      )
+    );
+    when(
+      recipeRepository.findTopRatedByDietaryPreference(
+        DietaryPreferenceType.vegan,
+        PageRequest.ofSize(3)
+      )
+    ).thenReturn(top);
+
+    assertEquals(top, recipeService.findTopRated(null, DietaryPreferenceType.vegan, 3));
+    verify(recipeRepository, never()).findTopRated(any());
+  }
+
   @Test
   void findAllByUserEmail_returnsPaginatedOwnerData() {
-    try (MockedStatic<RecipeMapper> mockedRecipeMapper = mockStatic(RecipeMapper.class)) {
-      Pageable pageable = PageRequest.of(0, 10);
-      String email = "test@example.com";
-      List<Recipe> recipes = List.of(recipe);
-      List<RecipeDto> recipesDto = recipes.stream().map(RecipeDto::new).toList();
-      when(recipeRepository.findByOwner(email, pageable)).thenReturn(new PageImpl<>(recipes));
-      when(RecipeMapper.toRecipeByOwner(any(), eq(email))).thenReturn(
-        new RecipeByOwner(email, recipesDto)
-      );
-      DataWithPagination<RecipeByOwner> result = recipeService.findAllByUserEmail(email, 0, 10);
-      assertEquals(1, result.data().recipes().size());
-      assertEquals(email, result.data().owner());
-    }
+    Pageable pageable = PageRequest.of(0, 10);
+    String email = "test@example.com";
+    when(recipeRepository.findIdsByOwner(email, pageable)).thenReturn(
+      new PageImpl<>(List.of(RECIPE_ID))
+    );
+    when(recipeDtoFactory.createAll(List.of(RECIPE_ID))).thenReturn(
+      List.of(new RecipeDto(recipe))
+    );
+    DataWithPagination<RecipeByOwner> result = recipeService.findAllByUserEmail(email, 0, 10);
+    assertEquals(1, result.data().recipes().size());
+    assertEquals(email, result.data().owner());
   }
 
   @Test
@@ -183,31 +255,78 @@ class RecipeServiceImplTest {
       DifficultyType.easy,
       DietaryPreferenceType.vegan
     );
-    List<Recipe> recipes = List.of(recipe);
     when(
-      recipeRepository.findAllByFilter(
-        10,
+      recipeRepository.findIdsByFilter(
         10,
         200,
+        10,
         DifficultyType.easy,
         DietaryPreferenceType.vegan,
+        0L,
+        0L,
         pageable
       )
-    ).thenReturn(new PageImpl<>(recipes));
+    ).thenReturn(new PageImpl<>(List.of(RECIPE_ID)));
+    when(recipeDtoFactory.createAll(List.of(RECIPE_ID))).thenReturn(
+      List.of(new RecipeDto(recipe))
+    );
     DataWithPagination<List<RecipeDto>> result = recipeService.findAllByRecipeFilter(filter, 0, 10);
     assertEquals(1, result.data().size());
   }
 
   @Test
-  void getRecommendations_returnsPaginatedData() {
-    Pageable pageable = PageRequest.of(0, 10);
-    List<Recipe> recipes = List.of(recipe);
+  void findAllSummaries_withCursor_returnsNextCursorWhenPageIsFull() {
+    KeysetCursor cursor = KeysetCursor.first();
+    LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+    RecipeSummaryDto summary = new RecipeSummaryDto(
+      RECIPE_ID,
+      "mock-name",
+      "test@email.com",
+      null,
+      5,
+      10,
+      DifficultyType.easy,
+      200,
+      4f,
+      createdAt,
+      createdAt
+    );
+    when(
+      recipeRepository.findAllSummariesAfter(cursor.createdAt(), cursor.id(), PageRequest.ofSize(1))
+    ).thenReturn(List.of(summary));
+    DataWithPagination<List<RecipeSummaryDto>> result = recipeService.findAllSummaries(cursor, 1);
+    assertEquals(List.of(summary), result.data());
+    assertEquals(new KeysetCursor(createdAt, RECIPE_ID), KeysetCursor.decode(result.nextCursor()));
+    verifyNoInteractions(recipeDtoFactory);
+  }
+
+  @Test
+  void getRecommendations_returnsStoredPageInOrder() {
+    UUID next = UUID.randomUUID();
+    when(userRepository.hasProfile(any())).thenReturn(true);
+    when(userRecommendationService.findPage(USER_ID, 0, 2, 42L)).thenReturn(
+      new PageImpl<>(List.of(RECIPE_ID, next), PageRequest.of(0, 2), 3)
+    );
+    when(recipeDtoFactory.createAll(List.of(RECIPE_ID, next))).thenReturn(
+      List.of(new RecipeDto(recipe))
+    );
+    DataWithPagination<Set<RecipeDto>> result = recipeService.getRecommendations(0, 2, 42L);
+    assertEquals(1, result.data().size());
+    assertEquals(2, result.pagination().totalPages());
+  }
+
+  @Test
+  void getRecommendations_withCursor_passesCursorOn() {
     when(userRepository.hasProfile(any())).thenReturn(true);
-    when(recipeRepository.findAllRecommendations(USER_ID, pageable)).thenReturn(
-      new PageImpl<>(recipes)
+    when(userRecommendationService.findPageAfter(USER_ID, "cursor", 1, null)).thenReturn(
+      new DataWithPagination<>(List.of(RECIPE_ID), new CursorPageResponse(1), "next")
+    );
+    when(recipeDtoFactory.createAll(List.of(RECIPE_ID))).thenReturn(
+      List.of(new RecipeDto(recipe))
     );
-    DataWithPagination<Set<RecipeDto>> result = recipeService.getRecommendations(0, 10);
+    DataWithPagination<Set<RecipeDto>> result = recipeService.getRecommendations("cursor", 1, null);
     assertEquals(1, result.data().size());
+    assertEquals("next", result.nextCursor());
   }
 
   @Test
@@ -0,0 +1,308 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.flavormetrics.api.entity.UserRecommendation;
+import com.flavormetrics.api.event.ProfileDeletedEvent;
+import com.flavormetrics.api.event.RatingSavedEvent;
+import com.flavormetrics.api.event.RecipeDeletedEvent;
+import com.flavormetrics.api.event.RecipeSavedEvent;
+import com.flavormetrics.api.model.CursorPageResponse;
+import com.flavormetrics.api.model.DataWithPagination;
+import com.flavormetrics.api.model.ListCursor;
+import com.flavormetrics.api.model.ShuffleCursor;
+import com.flavormetrics.api.model.projection.RecommendedRecipeProjection;
+import com.flavormetrics.api.repository.UserRecommendationRepository;
+import com.flavormetrics.api.repository.UserRepository;
+import com.flavormetrics.api.service.RecommendationEngine;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class UserRecommendationServiceImplTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID FIRST = UUID.randomUUID();
+  private static final UUID SECOND = UUID.randomUUID();
+
+  @Mock
+  private UserRecommendationRepository userRecommendationRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private RecommendationEngine recommendationEngine;
+
+  @Mock
+  private RandomRecommendationEngine randomRecommendationEngine;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private UserRecommendationServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    // built by hand: the random engine is also a RecommendationEngine, which @InjectMocks
+    // cannot tell apart by type
+    service = new UserRecommendationServiceImpl(
+      userRecommendationRepository,
+      userRepository,
+      recommendationEngine,
+      randomRecommendationEngine,
+      transactionTemplate
+    );
+  }
+
+  @Test
+  void findPage_storedList_readsPageWithoutCounting() {
+    RecommendedRecipeProjection row = mock(RecommendedRecipeProjection.class);
+    when(row.getRecipeId()).thenReturn(SECOND);
+    when(row.getTotal()).thenReturn(3L);
+    when(userRecommendationRepository.findPage(USER_ID, PageRequest.of(1, 2))).thenReturn(
+      List.of(row)
+    );
+    Page<UUID> page = service.findPage(USER_ID, 1, 2, null);
+    assertEquals(List.of(SECOND), page.getContent());
+    assertEquals(3, page.getTotalElements());
+    verify(userRecommendationRepository, never()).countByUserId(any());
+    verify(recommendationEngine, never()).recommend(any(), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void findPage_nothingStored_asksEngine() {
+    Page<UUID> fromEngine = new PageImpl<>(List.of(FIRST));
+    when(recommendationEngine.recommend(USER_ID, 0, 2, null)).thenReturn(fromEngine);
+    assertEquals(fromEngine, service.findPage(USER_ID, 0, 2, null));
+    verify(userRecommendationRepository, never()).countByUserId(any());
+  }
+
+  @Test
+  void findPage_pastEndOfStoredList_keepsTotal() {
+    when(userRecommendationRepository.countByUserId(USER_ID)).thenReturn(3L);
+    Page<UUID> page = service.findPage(USER_ID, 5, 2, null);
+    assertTrue(page.getContent().isEmpty());
+    assertEquals(3, page.getTotalElements());
+    verify(recommendationEngine, never()).recommend(any(), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void findPage_withSeed_bypassesStoredList() {
+    Page<UUID> fromEngine = new PageImpl<>(List.of(FIRST));
+    when(recommendationEngine.recommend(USER_ID, 0, 2, 7L)).thenReturn(fromEngine);
+    assertEquals(fromEngine, service.findPage(USER_ID, 0, 2, 7L));
+    verify(userRecommendationRepository, never()).countByUserId(any());
+  }
+
+  @Test
+  void findPageAfter_noPageNumberOrSeed_walksStoredListByRank() {
+    when(userRecommendationRepository.findAfter(USER_ID, -1, PageRequest.ofSize(2))).thenReturn(
+      List.of(new UserRecommendation(USER_ID, 0, FIRST), new UserRecommendation(USER_ID, 3, SECOND))
+    );
+    DataWithPagination<List<UUID>> page = service.findPageAfter(USER_ID, null, 2, null);
+    assertEquals(List.of(FIRST, SECOND), page.data());
+    assertEquals(new ListCursor(3), ListCursor.decode(page.nextCursor()));
+    verifyNoInteractions(recommendationEngine, randomRecommendationEngine);
+  }
+
+  @Test
+  void findPageAfter_storedListEnds_continuesWithConfiguredEngine() {
+    UUID third = UUID.randomUUID();
+    when(userRecommendationRepository.findAfter(USER_ID, 3, PageRequest.ofSize(3))).thenReturn(
+      List.of(new UserRecommendation(USER_ID, 4, FIRST))
+    );
+    when(recommendationEngine.recommendFrom(USER_ID, 5, 2, null)).thenReturn(
+      List.of(SECOND, third)
+    );
+    DataWithPagination<List<UUID>> page = service.findPageAfter(
+      USER_ID,
+      new ListCursor(3).encode(),
+      3,
+      null
+    );
+    assertEquals(List.of(FIRST, SECOND, third), page.data());
+    assertEquals(new ListCursor(6), ListCursor.decode(page.nextCursor()));
+    verifyNoInteractions(randomRecommendationEngine);
+  }
+
+  @Test
+  void findPageAfter_engineRunsOut_endsWithoutCursor() {
+    when(userRecommendationRepository.findAfter(USER_ID, -1, PageRequest.ofSize(2))).thenReturn(
+      List.of()
+    );
+    when(recommendationEngine.recommendFrom(USER_ID, 0, 2, null)).thenReturn(List.of(FIRST));
+    DataWithPagination<List<UUID>> page = service.findPageAfter(USER_ID, "", 2, null);
+    assertEquals(List.of(FIRST), page.data());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void findPageAfter_seedOrItsShuffleCursor_walksTheRandomEngine() {
+    DataWithPagination<List<UUID>> page = new DataWithPagination<>(
+      List.of(FIRST),
+      new CursorPageResponse(1),
+      "next"
+    );
+    String shuffleCursor = ShuffleCursor.first(0.5).encode();
+    when(randomRecommendationEngine.recommendAfter(USER_ID, null, 1, 7L)).thenReturn(page);
+    when(randomRecommendationEngine.recommendAfter(USER_ID, shuffleCursor, 1, null)).thenReturn(
+      page
+    );
+    assertEquals(page, service.findPageAfter(USER_ID, null, 1, 7L));
+    assertEquals(page, service.findPageAfter(USER_ID, shuffleCursor, 1, null));
+    verifyNoInteractions(recommendationEngine, userRecommendationRepository);
+  }
+
+  @Test
+  void findPageAfter_randomEngineConfigured_walksItsShuffle() {
+    service = new UserRecommendationServiceImpl(
+      userRecommendationRepository,
+      userRepository,
+      randomRecommendationEngine,
+      randomRecommendationEngine,
+      transactionTemplate
+    );
+    DataWithPagination<List<UUID>> page = new DataWithPagination<>(
+      List.of(FIRST),
+      new CursorPageResponse(1),
+      "next"
+    );
+    when(randomRecommendationEngine.recommendAfter(USER_ID, null, 1, null)).thenReturn(page);
+    assertEquals(page, service.findPageAfter(USER_ID, null, 1, null));
+    verifyNoInteractions(userRecommendationRepository);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void refresh_replacesListInEngineOrder() {
+    when(
+      recommendationEngine.recommend(USER_ID, 0, UserRecommendationServiceImpl.LIST_SIZE, null)
+    ).thenReturn(new PageImpl<>(List.of(FIRST, SECOND)));
+    service.refresh(USER_ID);
+    ArgumentCaptor<List<UserRecommendation>> rows = ArgumentCaptor.forClass(List.class);
+    InOrder order = inOrder(userRecommendationRepository);
+    order.verify(userRecommendationRepository).deleteByUserId(USER_ID);
+    order.verify(userRecommendationRepository).saveAll(rows.capture());
+    assertEquals(
+      List.of(FIRST, SECOND),
+      rows.getValue().stream().map(UserRecommendation::getRecipeId).toList()
+    );
+    assertEquals(1, rows.getValue().get(1).getRank());
+  }
+
+  @Test
+  void onRatingSaved_onlyMarksUserStale() {
+    service.onRatingSaved(new RatingSavedEvent(USER_ID, FIRST, 5));
+    verifyNoInteractions(recommendationEngine, userRecommendationRepository, transactionTemplate);
+  }
+
+  @Test
+  void refreshStale_refreshesEachStaleUserOnce() {
+    UUID otherId = UUID.randomUUID();
+    service.onRatingSaved(new RatingSavedEvent(USER_ID, FIRST, 5));
+    service.onRatingSaved(new RatingSavedEvent(USER_ID, SECOND, 4));
+    service.onRatingSaved(new RatingSavedEvent(otherId, FIRST, 3));
+    runTransactionCallbacks();
+    when(userRepository.hasProfile(USER_ID)).thenReturn(true);
+    when(userRepository.hasProfile(otherId)).thenReturn(false);
+    when(
+      recommendationEngine.recommend(USER_ID, 0, UserRecommendationServiceImpl.LIST_SIZE, null)
+    ).thenReturn(new PageImpl<>(List.of(FIRST)));
+
+    service.refreshStale();
+    service.refreshStale();
+
+    verify(recommendationEngine, times(1)).recommend(any(), anyInt(), anyInt(), any());
+    verify(userRecommendationRepository).deleteByUserId(USER_ID);
+    verify(userRecommendationRepository, never()).deleteByUserId(otherId);
+  }
+
+  @Test
+  void onRecipeDeleted_prunesListsAndMarksTheirUsersStale() {
+    when(userRecommendationRepository.findUserIdsByRecipeIds(List.of(FIRST))).thenReturn(
+      List.of(USER_ID)
+    );
+    service.onRecipeDeleted(new RecipeDeletedEvent(FIRST));
+    verify(userRecommendationRepository).deleteByRecipeIds(List.of(FIRST));
+
+    runTransactionCallbacks();
+    when(userRepository.hasProfile(USER_ID)).thenReturn(true);
+    when(
+      recommendationEngine.recommend(USER_ID, 0, UserRecommendationServiceImpl.LIST_SIZE, null)
+    ).thenReturn(new PageImpl<>(List.of(SECOND)));
+    service.refreshStale();
+    verify(userRecommendationRepository).deleteByUserId(USER_ID);
+  }
+
+  @Test
+  void onRecipeDeleted_recipeInNoList_deletesNothing() {
+    when(userRecommendationRepository.findUserIdsByRecipeIds(List.of(FIRST))).thenReturn(
+      List.of()
+    );
+    service.onRecipeDeleted(new RecipeDeletedEvent(FIRST));
+    verify(userRecommendationRepository, never()).deleteByRecipeIds(any());
+  }
+
+  @Test
+  void onRecipeSaved_prunesListsAndMarksTheirUsersStale() {
+    when(userRecommendationRepository.findUserIdsByRecipeIds(List.of(FIRST))).thenReturn(
+      List.of(USER_ID)
+    );
+    service.onRecipeSaved(new RecipeSavedEvent(FIRST));
+    verify(userRecommendationRepository).deleteByRecipeIds(List.of(FIRST));
+
+    runTransactionCallbacks();
+    when(userRepository.hasProfile(USER_ID)).thenReturn(true);
+    when(
+      recommendationEngine.recommend(USER_ID, 0, UserRecommendationServiceImpl.LIST_SIZE, null)
+    ).thenReturn(new PageImpl<>(List.of(SECOND)));
+    service.refreshStale();
+    verify(userRecommendationRepository).deleteByUserId(USER_ID);
+  }
+
+  @Test
+  void onProfileDeleted_dropsListAndForgetsStaleUser() {
+    service.onRatingSaved(new RatingSavedEvent(USER_ID, FIRST, 5));
+    service.onProfileDeleted(new ProfileDeletedEvent(USER_ID));
+    verify(userRecommendationRepository).deleteByUserId(USER_ID);
+
+    service.refreshStale();
+    verifyNoInteractions(transactionTemplate, recommendationEngine);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void runTransactionCallbacks() {
+    doAnswer(invocation -> {
+      invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+      return null;
+    })
+      .when(transactionTemplate)
+      .executeWithoutResult(any());
+  }
+}
@@ -0,0 +1,188 @@
+package com.flavormetrics.api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flavormetrics.api.entity.Email;
+import com.flavormetrics.api.entity.User;
+import com.flavormetrics.api.event.RatingSavedEvent;
+import com.flavormetrics.api.exception.MaximumNumberOfRatingException;
+import com.flavormetrics.api.exception.RatingBufferFullException;
+import com.flavormetrics.api.model.RatingRow;
+import com.flavormetrics.api.model.UserDetailsImpl;
+import com.flavormetrics.api.recommendation.BayesianAverage;
+import com.flavormetrics.api.repository.RatingBatchRepository;
+import com.flavormetrics.api.repository.RatingRepository;
+import com.flavormetrics.api.repository.RecipeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindRatingServiceTest {
+
+  private final UUID userId = UUID.randomUUID();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Mock
+  private RatingServiceImpl delegate;
+
+  @Mock
+  private RatingRepository ratingRepository;
+
+  @Mock
+  private RecipeRepository recipeRepository;
+
+  @Mock
+  private RatingBatchRepository ratingBatchRepository;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private WriteBehindRatingService service;
+
+  @BeforeEach
+  void setUp() {
+    var email = new Email();
+    email.setAddress("test@email.com");
+    var user = new User();
+    user.setEmail(email);
+    user.setId(userId);
+    SecurityContextHolder.getContext().setAuthentication(
+      new TestingAuthenticationToken(new UserDetailsImpl(user), null)
+    );
+    when(recipeRepository.existsById(any())).thenReturn(true);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    SecurityContextHolder.clearContext();
+    if (service != null) {
+      service.stop();
+    }
+  }
+
+  @Test
+  void addRecipeRating_flushBeforeAck_returnsAfterBatchIsWritten() {
+    service = start(10, true);
+    UUID recipeId = UUID.randomUUID();
+
+    service.addRecipeRating(recipeId, 4);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<RatingRow>> rows = ArgumentCaptor.forClass(List.class);
+    verify(ratingBatchRepository).insertAll(rows.capture(), eq(3.0), eq(10.0));
+    RatingRow row = rows.getValue().getFirst();
+    assertEquals(userId, row.userId());
+    assertEquals(recipeId, row.recipeId());
+    assertEquals(4, row.score());
+    verify(eventPublisher).publishEvent(new RatingSavedEvent(userId, recipeId, 4));
+    assertEquals(1, meterRegistry.get("flavormetrics.ratings.buffer.flush").timer().count());
+  }
+
+  @Test
+  void addRecipeRating_flushBeforeAck_batchNotWrittenInTime_throwsRatingBufferFullException() {
+    CountDownLatch release = blockFlusher();
+    service = start(10, true, Duration.ofMillis(50));
+
+    assertThrows(RatingBufferFullException.class, () ->
+      service.addRecipeRating(UUID.randomUUID(), 4)
+    );
+    release.countDown();
+  }
+
+  @Test
+  void addRecipeRating_pairStillBuffered_throwsMaximumNumberOfRatingException() {
+    CountDownLatch release = blockFlusher();
+    service = start(10, false);
+    UUID recipeId = UUID.randomUUID();
+
+    service.addRecipeRating(recipeId, 4);
+
+    assertThrows(MaximumNumberOfRatingException.class, () ->
+      service.addRecipeRating(recipeId, 5)
+    );
+    release.countDown();
+  }
+
+  @Test
+  void addRecipeRating_bufferFull_rejectsWithBackpressure() throws InterruptedException {
+    CountDownLatch release = blockFlusher();
+    service = start(1, false);
+    service.addRecipeRating(UUID.randomUUID(), 1);
+    while (service.queued() > 0) {
+      Thread.sleep(5);
+    }
+    service.addRecipeRating(UUID.randomUUID(), 2);
+
+    assertThrows(RatingBufferFullException.class, () ->
+      service.addRecipeRating(UUID.randomUUID(), 3)
+    );
+    assertEquals(1, meterRegistry.get("flavormetrics.ratings.buffer.rejected").counter().count());
+    assertEquals(1, meterRegistry.get("flavormetrics.ratings.buffer.depth").gauge().value());
+    release.countDown();
+  }
+
+  private WriteBehindRatingService start(int capacity, boolean flushBeforeAck) {
+    return start(capacity, flushBeforeAck, Duration.ofSeconds(5));
+  }
+
+  private WriteBehindRatingService start(
+    int capacity,
+    boolean flushBeforeAck,
+    Duration ackTimeout
+  ) {
+    WriteBehindRatingService started = new WriteBehindRatingService(
+      delegate,
+      ratingRepository,
+      recipeRepository,
+      ratingBatchRepository,
+      new TransactionTemplate(mock(PlatformTransactionManager.class)),
+      eventPublisher,
+      new ConcurrentMapCacheManager(),
+      new BayesianAverage(3, 10),
+      meterRegistry,
+      capacity,
+      100,
+      Duration.ofMillis(10),
+      flushBeforeAck,
+      ackTimeout
+    );
+    started.start();
+    return started;
+  }
+
+  private CountDownLatch blockFlusher() {
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      release.await();
+      return null;
+    })
+      .when(ratingBatchRepository)
+      .insertAll(anyList(), anyDouble(), anyDouble());
+    return release;
+  }
+}